@@ -37,6 +37,7 @@ import hudson.plugins.analysis.util.ModuleDetector;
 import hudson.plugins.analysis.util.NullModuleDetector;
 import hudson.plugins.analysis.util.PluginLogger;
 import hudson.plugins.analysis.util.model.FileAnnotation;
+import hudson.plugins.warnings.parser.AbstractWarningsParser;
 import hudson.plugins.warnings.parser.FileWarningsParser;
 import hudson.plugins.warnings.parser.ParserRegistry;
 import hudson.plugins.warnings.parser.ParsingCanceledException;
@@ -363,13 +364,19 @@ public class WarningsPublisher extends HealthAwarePublisher {
 
     private List<ParserResult> parseConsoleLog(final Run<?, ?> run, final FilePath workspace, final PluginLogger logger)
             throws IOException, InterruptedException {
-        List<ParserResult> results = Lists.newArrayList();
-        for (ConsoleParser parser : getConsoleParsers()) {
-            String parserName = parser.getParserName();
-            logger.log("Parsing warnings in console log with parser " + parserName);
+        ConsoleParser[] consoleParsers = getConsoleParsers();
+        List<List<AbstractWarningsParser>> groups = Lists.newArrayList();
+        for (ConsoleParser parser : consoleParsers) {
+            logger.log("Parsing warnings in console log with parser " + parser.getParserName());
+            groups.add(ParserRegistry.getParsers(parser.getParserName()));
+        }
+        List<Set<FileAnnotation>> warningsOfConsoleParsers = ParserRegistry.parse(run.getLogFile(), groups,
+                getDefaultEncoding(), logger);
 
-            Collection<FileAnnotation> warnings = new ParserRegistry(ParserRegistry.getParsers(parserName),
-                    getDefaultEncoding()).parse(run.getLogFile());
+        List<ParserResult> results = Lists.newArrayList();
+        for (int i = 0; i < consoleParsers.length; i++) {
+            String parserName = consoleParsers[i].getParserName();
+            Collection<FileAnnotation> warnings = warningsOfConsoleParsers.get(i);
             if (!workspace.isRemote()) {
                 guessModuleNames(workspace, warnings);
             }
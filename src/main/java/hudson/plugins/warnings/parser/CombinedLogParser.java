@@ -0,0 +1,153 @@
+package hudson.plugins.warnings.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.LineIterator;
+
+import io.jenkins.plugins.analysis.core.util.MatchingBudget;
+
+import hudson.console.ConsoleNote;
+import hudson.plugins.analysis.util.model.FileAnnotation;
+
+/**
+ * Parses a log with several parsers at once. All parsers that scan the log line by line (see {@link RegexpLineParser})
+ * share a single pass over the log: each line is read only once and then handed over to each of these parsers. Every
+ * parser keeps its own state (e.g., the current line number or the lines that have been seen before), and skips the
+ * lines that do not pass its prefilter, so the results are the same as if each parser would read the log on its own.
+ * All other parsers (e.g., parsers of XML reports or multi-line regular expressions) still read the log on their own.
+ * The time spent in matching the patterns is limited by a {@link MatchingBudget} that is created for each parser and
+ * each call, since the parser instances are shared by all concurrent builds.
+ *
+ * @author Ullrich Hafner
+ */
+class CombinedLogParser {
+    private final List<AbstractWarningsParser> parsers;
+
+    /**
+     * Creates a new instance of {@link CombinedLogParser}.
+     *
+     * @param parsers
+     *            the parsers to use, if a parser is part of the list several times then only its first occurrence
+     *            takes part in the single pass
+     */
+    CombinedLogParser(final List<? extends AbstractWarningsParser> parsers) {
+        this.parsers = new ArrayList<AbstractWarningsParser>(parsers);
+    }
+
+    /**
+     * Parses the log with all parsers.
+     *
+     * @param log
+     *            opens the log, will be called once for the single pass and once for every other parser
+     * @param timeouts
+     *            the messages of the lines that have been skipped since a parser took too long to match them will
+     *            be added to this list
+     * @return the warnings of each parser, in the order of the parsers
+     * @throws IOException
+     *             if the log could not be read
+     */
+    List<Collection<FileAnnotation>> parse(final LogReaderFactory log, final List<String> timeouts)
+            throws IOException {
+        List<Collection<FileAnnotation>> warnings = new ArrayList<Collection<FileAnnotation>>();
+        Set<AbstractWarningsParser> lineParsers
+                = Collections.newSetFromMap(new IdentityHashMap<AbstractWarningsParser, Boolean>());
+        for (AbstractWarningsParser parser : parsers) {
+            if (parser instanceof RegexpLineParser && ((RegexpLineParser) parser).canParseLineByLine()
+                    && lineParsers.add(parser)) {
+                warnings.add(null); // will be set after the single pass
+            }
+            else {
+                warnings.add(parseSeparately(parser, log, timeouts));
+            }
+        }
+        if (!lineParsers.isEmpty()) {
+            Map<AbstractWarningsParser, Collection<FileAnnotation>> results = parseLineByLine(lineParsers, log, timeouts);
+            for (int i = 0; i < parsers.size(); i++) {
+                if (warnings.get(i) == null) {
+                    warnings.set(i, results.get(parsers.get(i)));
+                }
+            }
+        }
+        return warnings;
+    }
+
+    private Collection<FileAnnotation> parseSeparately(final AbstractWarningsParser parser,
+            final LogReaderFactory log, final List<String> timeouts) throws IOException {
+        Reader input = null;
+        try {
+            input = log.create();
+            if (parser instanceof RegexpParser && ((RegexpParser) parser).canParseWithBudget()) {
+                RegexpParser regexpParser = (RegexpParser) parser;
+                MatchingBudget budget = regexpParser.createBudget();
+                Collection<FileAnnotation> warnings = regexpParser.parse(input, budget);
+                timeouts.addAll(budget.getMessages());
+                return warnings;
+            }
+            return parser.parse(input);
+        }
+        finally {
+            IOUtils.closeQuietly(input);
+        }
+    }
+
+    private Map<AbstractWarningsParser, Collection<FileAnnotation>> parseLineByLine(
+            final Set<AbstractWarningsParser> parsersOfPass, final LogReaderFactory log, final List<String> timeouts)
+            throws IOException {
+        List<RegexpLineParser> lineParsers = new ArrayList<RegexpLineParser>(parsersOfPass.size());
+        List<List<FileAnnotation>> warnings = new ArrayList<List<FileAnnotation>>(parsersOfPass.size());
+        List<MatchingBudget> budgets = new ArrayList<MatchingBudget>(parsersOfPass.size());
+        for (AbstractWarningsParser parser : parsersOfPass) {
+            RegexpLineParser lineParser = (RegexpLineParser) parser;
+            lineParser.startParsing();
+            lineParsers.add(lineParser);
+            warnings.add(new ArrayList<FileAnnotation>());
+            budgets.add(lineParser.createBudget());
+        }
+
+        LineIterator iterator = IOUtils.lineIterator(log.create());
+        try {
+            int size = lineParsers.size();
+            while (iterator.hasNext()) {
+                String line = ConsoleNote.removeNotes(iterator.nextLine());
+                for (int i = 0; i < size; i++) {
+                    lineParsers.get(i).parseLine(line, warnings.get(i), budgets.get(i));
+                }
+            }
+        }
+        finally {
+            iterator.close();
+        }
+
+        Map<AbstractWarningsParser, Collection<FileAnnotation>> results
+                = new IdentityHashMap<AbstractWarningsParser, Collection<FileAnnotation>>();
+        for (int i = 0; i < lineParsers.size(); i++) {
+            RegexpLineParser parser = lineParsers.get(i);
+            results.put(parser, parser.finishParsing(warnings.get(i)));
+            timeouts.addAll(budgets.get(i).getMessages());
+        }
+        return results;
+    }
+
+    /**
+     * Opens a new reader of the log.
+     */
+    interface LogReaderFactory {
+        /**
+         * Creates a new reader of the log, starting at the beginning of the log.
+         *
+         * @return the reader
+         * @throws IOException
+         *             if the log could not be opened
+         */
+        Reader create() throws IOException;
+    }
+}
@@ -8,6 +8,8 @@ import java.util.Collection;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import io.jenkins.plugins.analysis.core.util.MatchingBudget;
+
 import hudson.Extension;
 import hudson.console.ConsoleNote;
 import hudson.plugins.analysis.util.model.FileAnnotation;
@@ -88,6 +90,12 @@ public class LinuxKernelOutputParser extends RegexpParser {
 
     @Override
     public Collection<FileAnnotation> parse(final Reader file) throws IOException, ParsingCanceledException {
+        return parse(file, createBudget());
+    }
+
+    @Override
+    public Collection<FileAnnotation> parse(final Reader file, final MatchingBudget budget)
+            throws IOException, ParsingCanceledException {
         ArrayList<FileAnnotation> warnings = new ArrayList<FileAnnotation>();
         BufferedReader reader = new BufferedReader(file);
         String line = reader.readLine();
@@ -107,14 +115,14 @@ public class LinuxKernelOutputParser extends RegexpParser {
                 } while (!m.matches());
 
                 buf.append(ConsoleNote.removeNotes(line)).append('\n');
-                findAnnotations(buf.toString(), warnings);
+                findAnnotations(buf.toString(), warnings, budget);
                 line = reader.readLine();
                 continue;
             }
 
             m = pOutput.matcher(line);
             if (m.matches()) {
-                findAnnotations(ConsoleNote.removeNotes(line), warnings);
+                findAnnotations(ConsoleNote.removeNotes(line), warnings, budget);
             }
 
             line = reader.readLine();
@@ -0,0 +1,657 @@
+package hudson.plugins.warnings.parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import edu.hm.hafner.util.VisibleForTesting;
+
+/**
+ * Fast check whether a line of text might match a regular expression. When the prefilter is created, the literal
+ * substrings that are part of every match of the regular expression are extracted: a line that contains none of
+ * these literals cannot match, so the regular expression does not need to be applied to this line.
+ * <p>
+ * The extraction is conservative: each construct of the regular expression that is not fully understood (e.g., case
+ * insensitive matching, back references or unknown escapes) either contributes no literal or disables the
+ * prefilter completely. Then every line is accepted.
+ * </p>
+ * <ul>
+ *     <li>Every match of a sequence contains a match of each element, so the literals of any element of the
+ *     sequence are required.</li>
+ *     <li>Every match of an alternation contains a match of one alternative, so the union of the literals of all
+ *     alternatives is required.</li>
+ *     <li>Every match of a quantified element with a minimum of at least one repetition contains a match of this
+ *     element, optional elements do not require anything.</li>
+ * </ul>
+ *
+ * @author Ullrich Hafner
+ */
+final class LiteralPrefilter {
+    private static final int UNSUPPORTED_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.COMMENTS
+            | Pattern.LITERAL | Pattern.CANON_EQ;
+    private static final LiteralPrefilter ACCEPT_ALL = new LiteralPrefilter(Collections.<String>emptySet());
+
+    private final Set<String> literals;
+    private final String literal;
+    private final MultiLiteralMatcher matcher;
+
+    /**
+     * Creates a prefilter for the specified pattern.
+     *
+     * @param pattern
+     *            the pattern to create the prefilter for
+     * @return the prefilter, accepts every line if no required literals have been found
+     */
+    static LiteralPrefilter create(final Pattern pattern) {
+        if ((pattern.flags() & UNSUPPORTED_FLAGS) != 0) {
+            return ACCEPT_ALL;
+        }
+        try {
+            Set<String> required = new RegexAnalyzer(pattern.pattern()).analyze();
+            if (required == null || required.isEmpty()) {
+                return ACCEPT_ALL;
+            }
+            return new LiteralPrefilter(required);
+        }
+        catch (UnsupportedSyntaxException exception) {
+            return ACCEPT_ALL;
+        }
+    }
+
+    private LiteralPrefilter(final Set<String> literals) {
+        this.literals = literals;
+        if (literals.size() == 1) {
+            literal = literals.iterator().next();
+            matcher = null;
+        }
+        else {
+            literal = null;
+            matcher = literals.isEmpty() ? null : new MultiLiteralMatcher(literals);
+        }
+    }
+
+    /**
+     * Returns the literals that are required by the regular expression: every match contains at least one of these
+     * literals.
+     *
+     * @return the required literals, an empty set if the prefilter accepts every line
+     */
+    @VisibleForTesting
+    Set<String> getLiterals() {
+        return Collections.unmodifiableSet(literals);
+    }
+
+    /**
+     * Returns whether this prefilter accepts every line.
+     *
+     * @return {@code true} if every line is accepted, {@code false} otherwise
+     */
+    boolean isAcceptingAll() {
+        return literals.isEmpty();
+    }
+
+    /**
+     * Returns whether the specified line might match the regular expression.
+     *
+     * @param line
+     *            the line to check
+     * @return {@code false} if the line cannot match the regular expression, {@code true} if the line might match
+     */
+    boolean mayMatch(final String line) {
+        if (literal != null) {
+            return line.contains(literal);
+        }
+        if (matcher != null) {
+            return matcher.containsAny(line);
+        }
+        return true;
+    }
+
+    /**
+     * Indicates that the regular expression contains a construct that is not supported by the {@link RegexAnalyzer}.
+     */
+    private static class UnsupportedSyntaxException extends Exception {
+        private static final long serialVersionUID = 2411758373716468420L;
+
+        UnsupportedSyntaxException(final String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Extracts the required literals of a regular expression using a recursive descent over the syntax of {@link
+     * Pattern}. A result of {@code null} means that a match does not need to contain any literal.
+     */
+    private static class RegexAnalyzer {
+        private static final String CHARACTER_CLASS_ESCAPES = "dDsSwWhHvVRX";
+        private static final String BOUNDARY_ESCAPES = "bBAGZz";
+        private static final String UNSUPPORTED_FLAG_CHARACTERS = "ixu";
+        private static final int EXACTLY_ONCE = -1;
+
+        private final String regex;
+        private int position;
+
+        RegexAnalyzer(final String regex) {
+            this.regex = regex;
+        }
+
+        Set<String> analyze() throws UnsupportedSyntaxException {
+            Set<String> required = parseAlternation();
+            if (!isAtEnd()) {
+                throw new UnsupportedSyntaxException("Unexpected character at " + position);
+            }
+            return required;
+        }
+
+        private Set<String> parseAlternation() throws UnsupportedSyntaxException {
+            Set<String> required = parseSequence();
+            while (!isAtEnd() && peek() == '|') {
+                position++;
+                Set<String> alternative = parseSequence();
+                if (required == null || alternative == null) {
+                    required = null;
+                }
+                else {
+                    required.addAll(alternative);
+                }
+            }
+            return required;
+        }
+
+        private Set<String> parseSequence() throws UnsupportedSyntaxException {
+            Set<String> best = null;
+            StringBuilder run = new StringBuilder();
+            while (!isAtEnd() && peek() != '|' && peek() != ')') {
+                Atom atom = parseAtom();
+                int minimum = parseQuantifier();
+
+                if (atom.text != null && minimum == EXACTLY_ONCE) {
+                    run.append(atom.text);
+                }
+                else if (atom.text != null && minimum > 0) {
+                    // the first repetition follows the run, the last repetition precedes the next literals
+                    run.append(atom.text);
+                    best = select(best, toSet(run));
+                    run.setLength(0);
+                    run.append(atom.getLastCharacter());
+                }
+                else {
+                    best = select(best, toSet(run));
+                    run.setLength(0);
+                    if (minimum != 0 && atom.required != null) {
+                        best = select(best, atom.required);
+                    }
+                }
+            }
+            return select(best, toSet(run));
+        }
+
+        private static Set<String> toSet(final CharSequence run) {
+            if (run.length() == 0) {
+                return null;
+            }
+            Set<String> set = new LinkedHashSet<String>();
+            set.add(run.toString());
+            return set;
+        }
+
+        /**
+         * Selects the more selective set of required literals: the set with the longest shortest literal wins.
+         */
+        private static Set<String> select(final Set<String> first, final Set<String> second) {
+            if (first == null) {
+                return second;
+            }
+            if (second == null) {
+                return first;
+            }
+            int firstLength = getShortestLength(first);
+            int secondLength = getShortestLength(second);
+            if (secondLength > firstLength || secondLength == firstLength && second.size() < first.size()) {
+                return second;
+            }
+            return first;
+        }
+
+        private static int getShortestLength(final Set<String> literals) {
+            int shortest = Integer.MAX_VALUE;
+            for (String literal : literals) {
+                shortest = Math.min(shortest, literal.length());
+            }
+            return shortest;
+        }
+
+        /**
+         * Parses an optional quantifier.
+         *
+         * @return the minimum number of repetitions, or {@link #EXACTLY_ONCE} if there is no quantifier
+         */
+        private int parseQuantifier() throws UnsupportedSyntaxException {
+            if (isAtEnd()) {
+                return EXACTLY_ONCE;
+            }
+            int minimum;
+            char c = peek();
+            if (c == '?' || c == '*') {
+                position++;
+                minimum = 0;
+            }
+            else if (c == '+') {
+                position++;
+                minimum = 1;
+            }
+            else if (c == '{') {
+                int end = regex.indexOf('}', position);
+                if (end < 0) {
+                    throw new UnsupportedSyntaxException("Unterminated repetition at " + position);
+                }
+                String bounds = regex.substring(position + 1, end);
+                int comma = bounds.indexOf(',');
+                try {
+                    minimum = Integer.parseInt(comma < 0 ? bounds : bounds.substring(0, comma));
+                }
+                catch (NumberFormatException exception) {
+                    throw new UnsupportedSyntaxException("Invalid repetition at " + position);
+                }
+                position = end + 1;
+            }
+            else {
+                return EXACTLY_ONCE;
+            }
+            if (!isAtEnd() && (peek() == '?' || peek() == '+')) {
+                position++; // reluctant or possessive quantifiers have the same minimum
+            }
+            if (!isAtEnd() && "?*+{".indexOf(peek()) >= 0) {
+                throw new UnsupportedSyntaxException("Nested quantifier at " + position);
+            }
+            return minimum;
+        }
+
+        private Atom parseAtom() throws UnsupportedSyntaxException {
+            char c = peek();
+            switch (c) {
+                case '(':
+                    return parseGroup();
+                case '[':
+                    skipCharacterClass();
+                    return Atom.ANY;
+                case '.':
+                    position++;
+                    return Atom.ANY;
+                case '^':
+                case '$':
+                    position++;
+                    return Atom.ANY;
+                case '\\':
+                    return parseEscape();
+                case '?':
+                case '*':
+                case '+':
+                case '{':
+                    throw new UnsupportedSyntaxException("Dangling quantifier at " + position);
+                default:
+                    int codePoint = regex.codePointAt(position);
+                    position += Character.charCount(codePoint);
+                    return Atom.literal(new String(Character.toChars(codePoint)));
+            }
+        }
+
+        private Atom parseGroup() throws UnsupportedSyntaxException {
+            position++;
+            boolean isLookaround = false;
+            if (!isAtEnd() && peek() == '?') {
+                position++;
+                char type = next();
+                if (type == '=' || type == '!') {
+                    isLookaround = true;
+                }
+                else if (type == '<') {
+                    char name = next();
+                    if (name == '=' || name == '!') {
+                        isLookaround = true;
+                    }
+                    else if (Character.isLetter(name)) {
+                        skipTo('>');
+                    }
+                    else {
+                        throw new UnsupportedSyntaxException("Invalid group name at " + position);
+                    }
+                }
+                else if (type != ':' && type != '>') {
+                    position--;
+                    if (parseFlags()) {
+                        return Atom.ANY;
+                    }
+                }
+            }
+            Set<String> required = parseAlternation();
+            if (isAtEnd() || next() != ')') {
+                throw new UnsupportedSyntaxException("Unterminated group");
+            }
+            return isLookaround ? Atom.ANY : Atom.group(required);
+        }
+
+        /**
+         * Parses embedded flags like {@code (?s)} or {@code (?m:...)}.
+         *
+         * @return {@code true} if the flags are set for the remainder of the group, {@code false} if the flags are
+         *         set for a nested group that still needs to be parsed
+         */
+        private boolean parseFlags() throws UnsupportedSyntaxException {
+            while (!isAtEnd()) {
+                char c = next();
+                if (c == ')') {
+                    return true;
+                }
+                if (c == ':') {
+                    return false;
+                }
+                if (UNSUPPORTED_FLAG_CHARACTERS.indexOf(c) >= 0) {
+                    throw new UnsupportedSyntaxException("Unsupported flag " + c);
+                }
+                if (!Character.isLetter(c) && c != '-') {
+                    throw new UnsupportedSyntaxException("Invalid flag " + c);
+                }
+            }
+            throw new UnsupportedSyntaxException("Unterminated flags");
+        }
+
+        private void skipTo(final char terminator) throws UnsupportedSyntaxException {
+            int end = regex.indexOf(terminator, position);
+            if (end < 0) {
+                throw new UnsupportedSyntaxException("Missing " + terminator);
+            }
+            position = end + 1;
+        }
+
+        private void skipCharacterClass() throws UnsupportedSyntaxException {
+            position++;
+            if (!isAtEnd() && peek() == '^') {
+                position++;
+            }
+            if (!isAtEnd() && peek() == ']') {
+                position++;
+            }
+            int depth = 1;
+            while (depth > 0) {
+                if (isAtEnd()) {
+                    throw new UnsupportedSyntaxException("Unterminated character class");
+                }
+                char c = next();
+                if (c == '\\') {
+                    if (isAtEnd() || peek() == 'Q') {
+                        throw new UnsupportedSyntaxException("Unsupported escape in character class");
+                    }
+                    position++;
+                }
+                else if (c == '[') {
+                    depth++;
+                }
+                else if (c == ']') {
+                    depth--;
+                }
+            }
+        }
+
+        private Atom parseEscape() throws UnsupportedSyntaxException {
+            position++;
+            if (isAtEnd()) {
+                throw new UnsupportedSyntaxException("Trailing backslash");
+            }
+            char c = next();
+            if (c == 'Q') {
+                int end = regex.indexOf("\\E", position);
+                String quoted = end < 0 ? regex.substring(position) : regex.substring(position, end);
+                position = end < 0 ? regex.length() : end + 2;
+                return quoted.isEmpty() ? Atom.ANY : Atom.literal(quoted);
+            }
+            if (c == '0') {
+                return parseNumber(8, 3, 0377);
+            }
+            if (c == 'x') {
+                if (!isAtEnd() && peek() == '{') {
+                    int end = regex.indexOf('}', position);
+                    if (end < 0) {
+                        throw new UnsupportedSyntaxException("Unterminated hexadecimal escape");
+                    }
+                    String digits = regex.substring(position + 1, end);
+                    position = end + 1;
+                    return toLiteral(digits, 16);
+                }
+                return parseNumber(16, 2, Integer.MAX_VALUE);
+            }
+            if (c == 'u') {
+                return parseNumber(16, 4, Integer.MAX_VALUE);
+            }
+            if (c == 'c') {
+                if (isAtEnd()) {
+                    throw new UnsupportedSyntaxException("Missing control character");
+                }
+                return Atom.literal(String.valueOf((char) (next() ^ 64)));
+            }
+            if (c == 'k') {
+                skipTo('>');
+                return Atom.ANY;
+            }
+            if (c == 'p' || c == 'P') {
+                if (!isAtEnd() && peek() == '{') {
+                    skipTo('}');
+                }
+                else {
+                    position++;
+                }
+                return Atom.ANY;
+            }
+            if (c >= '1' && c <= '9') {
+                while (!isAtEnd() && Character.isDigit(peek())) {
+                    position++;
+                }
+                return Atom.ANY;
+            }
+            if (BOUNDARY_ESCAPES.indexOf(c) >= 0) {
+                if (!isAtEnd() && peek() == '{') {
+                    throw new UnsupportedSyntaxException("Unsupported boundary at " + position);
+                }
+                return Atom.ANY;
+            }
+            if (CHARACTER_CLASS_ESCAPES.indexOf(c) >= 0) {
+                return Atom.ANY;
+            }
+            switch (c) {
+                case 't':
+                    return Atom.literal("\t");
+                case 'n':
+                    return Atom.literal("\n");
+                case 'r':
+                    return Atom.literal("\r");
+                case 'f':
+                    return Atom.literal("\f");
+                case 'a':
+                    return Atom.literal("\u0007");
+                case 'e':
+                    return Atom.literal("\u001B");
+                default:
+                    if (Character.isLetterOrDigit(c)) {
+                        throw new UnsupportedSyntaxException("Unsupported escape \\" + c);
+                    }
+                    return Atom.literal(String.valueOf(c));
+            }
+        }
+
+        private Atom parseNumber(final int radix, final int maximumDigits, final int maximumValue)
+                throws UnsupportedSyntaxException {
+            int start = position;
+            int value = 0;
+            while (!isAtEnd() && position - start < maximumDigits && Character.digit(peek(), radix) >= 0
+                    && value * radix + Character.digit(peek(), radix) <= maximumValue) {
+                value = value * radix + Character.digit(next(), radix);
+            }
+            return toLiteral(regex.substring(start, position), radix);
+        }
+
+        private Atom toLiteral(final String digits, final int radix) throws UnsupportedSyntaxException {
+            int codePoint;
+            try {
+                codePoint = Integer.parseInt(digits, radix);
+            }
+            catch (NumberFormatException exception) {
+                throw new UnsupportedSyntaxException("Invalid character code " + digits);
+            }
+            if (!Character.isValidCodePoint(codePoint)
+                    || Character.isSurrogate((char) codePoint) && !Character.isSupplementaryCodePoint(codePoint)) {
+                // a surrogate might be combined with the next escape into a single code point
+                throw new UnsupportedSyntaxException("Unsupported character code " + digits);
+            }
+            return Atom.literal(new String(Character.toChars(codePoint)));
+        }
+
+        private boolean isAtEnd() {
+            return position >= regex.length();
+        }
+
+        private char peek() {
+            return regex.charAt(position);
+        }
+
+        private char next() throws UnsupportedSyntaxException {
+            if (isAtEnd()) {
+                throw new UnsupportedSyntaxException("Unexpected end of regular expression");
+            }
+            return regex.charAt(position++);
+        }
+    }
+
+    /**
+     * An element of a regular expression that can be quantified. Either a literal text or an element that requires a
+     * set of literals (which might be {@code null} if the element requires no literal at all).
+     */
+    private static final class Atom {
+        static final Atom ANY = new Atom(null, null);
+
+        private final String text;
+        private final Set<String> required;
+
+        static Atom literal(final String text) {
+            Set<String> required = new LinkedHashSet<String>();
+            required.add(text);
+            return new Atom(text, required);
+        }
+
+        static Atom group(final Set<String> required) {
+            return new Atom(null, required);
+        }
+
+        private Atom(final String text, final Set<String> required) {
+            this.text = text;
+            this.required = required;
+        }
+
+        String getLastCharacter() {
+            int start = text.offsetByCodePoints(text.length(), -1);
+            return text.substring(start);
+        }
+    }
+
+    /**
+     * Finds occurrences of several literals in a single pass using an Aho-Corasick automaton. For ASCII characters,
+     * the transitions of all states are precomputed, other characters follow the failure links.
+     */
+    private static final class MultiLiteralMatcher {
+        private static final int ALPHABET = 128;
+
+        private final List<Map<Character, Integer>> children = new ArrayList<Map<Character, Integer>>();
+        private final int[] failures;
+        private final boolean[] terminals;
+        private final int[] transitions;
+
+        MultiLiteralMatcher(final Set<String> literals) {
+            List<Boolean> isTerminal = new ArrayList<Boolean>();
+            children.add(new HashMap<Character, Integer>());
+            isTerminal.add(Boolean.FALSE);
+            for (String literal : literals) {
+                int state = 0;
+                for (int i = 0; i < literal.length(); i++) {
+                    Integer child = children.get(state).get(literal.charAt(i));
+                    if (child == null) {
+                        child = children.size();
+                        children.get(state).put(literal.charAt(i), child);
+                        children.add(new HashMap<Character, Integer>());
+                        isTerminal.add(Boolean.FALSE);
+                    }
+                    state = child;
+                }
+                isTerminal.set(state, Boolean.TRUE);
+            }
+
+            int size = children.size();
+            failures = new int[size];
+            terminals = new boolean[size];
+            transitions = new int[size * ALPHABET];
+            for (int state = 0; state < size; state++) {
+                terminals[state] = isTerminal.get(state);
+            }
+
+            Queue<Integer> queue = new ArrayDeque<Integer>();
+            queue.add(0);
+            while (!queue.isEmpty()) {
+                int state = queue.remove();
+                for (Map.Entry<Character, Integer> child : children.get(state).entrySet()) {
+                    int target = child.getValue();
+                    failures[target] = state == 0 ? 0 : follow(failures[state], child.getKey());
+                    terminals[target] |= terminals[failures[target]];
+                    queue.add(target);
+                }
+                for (char c = 0; c < ALPHABET; c++) {
+                    Integer child = children.get(state).get(c);
+                    if (child != null) {
+                        transitions[state * ALPHABET + c] = child;
+                    }
+                    else if (state != 0) {
+                        transitions[state * ALPHABET + c] = transitions[failures[state] * ALPHABET + c];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the state that is reached from the specified state with the specified character.
+         */
+        private int follow(final int start, final char c) {
+            int state = start;
+            while (true) {
+                Integer child = children.get(state).get(c);
+                if (child != null) {
+                    return child;
+                }
+                if (state == 0) {
+                    return 0;
+                }
+                state = failures[state];
+            }
+        }
+
+        boolean containsAny(final String line) {
+            int state = 0;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c < ALPHABET) {
+                    state = transitions[state * ALPHABET + c];
+                }
+                else {
+                    state = follow(state, c);
+                }
+                if (terminals[state]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
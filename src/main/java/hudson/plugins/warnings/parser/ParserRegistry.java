@@ -262,22 +262,88 @@ public class ParserRegistry {
      *             Signals that an I/O exception has occurred.
      */
     public Collection<FileAnnotation> parse(final File file, final PluginLogger logger) throws IOException {
+        List<Collection<FileAnnotation>> warningsOfParsers = parseEach(file, logger);
+
         Set<FileAnnotation> allAnnotations = Sets.newHashSet();
-        for (AbstractWarningsParser parser : parsers) {
-            Reader input = null;
-            try {
-                input = createReader(file);
-                Collection<FileAnnotation> warnings = parser.parse(input);
-                logger.log(String.format("%s : Found %d warnings.", parser.getParserName(), warnings.size()));
-                allAnnotations.addAll(warnings);
-            }
-            finally {
-                IOUtils.closeQuietly(input);
-            }
+        for (int i = 0; i < parsers.size(); i++) {
+            Collection<FileAnnotation> warnings = warningsOfParsers.get(i);
+            logger.log(String.format("%s : Found %d warnings.", parsers.get(i).getParserName(), warnings.size()));
+            allAnnotations.addAll(warnings);
         }
         return allAnnotations;
     }
 
+    /**
+     * Parses the specified file with several groups of parsers. For each group, the same warnings are returned as if
+     * the file would be parsed using a new registry with the parsers of this group. However, the file is read only
+     * once for all parsers that scan the file line by line.
+     *
+     * @param file
+     *            the file to parse
+     * @param groups
+     *            the groups of parsers, an empty group uses all available parsers
+     * @param defaultEncoding
+     *            the default encoding to be used when reading and parsing files
+     * @param logger
+     *            the logger to write the skipped lines to
+     * @return the warnings of each group
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public static List<Set<FileAnnotation>> parse(final File file,
+            final List<? extends List<? extends AbstractWarningsParser>> groups, final String defaultEncoding,
+            final PluginLogger logger) throws IOException {
+        List<Set<FileAnnotation>> warningsOfGroups = Lists.newArrayList();
+        if (groups.isEmpty()) {
+            return warningsOfGroups;
+        }
+
+        List<AbstractWarningsParser> allParsers = Lists.newArrayList();
+        List<Integer> sizes = Lists.newArrayList();
+        for (List<? extends AbstractWarningsParser> group : groups) {
+            ParserRegistry registry = new ParserRegistry(group, defaultEncoding);
+            allParsers.addAll(registry.parsers);
+            sizes.add(registry.parsers.size());
+        }
+
+        List<Collection<FileAnnotation>> warningsOfParsers
+                = new ParserRegistry(allParsers, defaultEncoding).parseEach(file, logger);
+        int position = 0;
+        for (int size : sizes) {
+            Set<FileAnnotation> warnings = Sets.newHashSet();
+            for (int i = 0; i < size; i++) {
+                warnings.addAll(warningsOfParsers.get(position++));
+            }
+            warningsOfGroups.add(warnings);
+        }
+        return warningsOfGroups;
+    }
+
+    /**
+     * Parses the specified file with each parser. All parsers that scan the file line by line share a single pass
+     * over the file. The lines that have been skipped since a parser took too long to match them are reported
+     * using the specified logger.
+     *
+     * @param file
+     *            the file to parse
+     * @param logger
+     *            the logger to write the skipped lines to
+     * @return the warnings of each parser, in the order of the parsers
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    private List<Collection<FileAnnotation>> parseEach(final File file, final PluginLogger logger)
+            throws IOException {
+        List<String> timeouts = new ArrayList<String>();
+        List<Collection<FileAnnotation>> warnings
+                = new CombinedLogParser(parsers).parse(() -> createReader(file), timeouts);
+
+        for (String timeout : timeouts) {
+            logger.log(timeout);
+        }
+        return warnings;
+    }
+
     /**
      * Iterates over the available parsers and parses the specified file with each parser.
      * Returns all found warnings.
@@ -11,6 +11,8 @@ import java.util.regex.Pattern;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.LineIterator;
 
+import io.jenkins.plugins.analysis.core.util.MatchingBudget;
+
 import hudson.Extension;
 import hudson.console.ConsoleNote;
 import hudson.plugins.analysis.util.model.FileAnnotation;
@@ -42,6 +44,11 @@ public class RFLintParser extends RegexpLineParser {
 
     @Override
     public Collection<FileAnnotation> parse(Reader file) throws IOException {
+        return parse(file, createBudget());
+    }
+
+    @Override
+    public Collection<FileAnnotation> parse(Reader file, MatchingBudget budget) throws IOException {
         List<FileAnnotation> warnings = new ArrayList<FileAnnotation>();
         LineIterator iterator = IOUtils.lineIterator(file);
         Pattern filePattern = Pattern.compile(RFLINT_FILE_PATTERN);
@@ -53,7 +60,7 @@ public class RFLintParser extends RegexpLineParser {
                 if (matcher.find()) {
                     fileName = matcher.group(1);
                 }
-                findAnnotations(line, warnings);
+                findAnnotations(line, warnings, budget);
             }
         }
         finally {
@@ -8,6 +8,8 @@ import java.util.Collection;
 
 import org.jvnet.localizer.Localizable;
 
+import io.jenkins.plugins.analysis.core.util.MatchingBudget;
+
 import hudson.console.ConsoleNote;
 
 import hudson.plugins.analysis.util.model.FileAnnotation;
@@ -48,6 +50,12 @@ public abstract class RegexpDocumentParser extends RegexpParser {
 
     @Override
     public Collection<FileAnnotation> parse(final Reader file) throws IOException, ParsingCanceledException {
+        return parse(file, createBudget());
+    }
+
+    @Override
+    public Collection<FileAnnotation> parse(final Reader file, final MatchingBudget budget)
+            throws IOException, ParsingCanceledException {
         BufferedReader reader = new BufferedReader(file);
         StringBuilder buf = new StringBuilder();
         String line = reader.readLine();
@@ -61,11 +69,16 @@ public abstract class RegexpDocumentParser extends RegexpParser {
         file.close();
 
         ArrayList<FileAnnotation> warnings = new ArrayList<FileAnnotation>();
-        findAnnotations(content, warnings);
+        findAnnotations(content, warnings, budget);
 
         return warnings;
     }
 
+    @Override
+    MatchingBudget createBudget() {
+        return MatchingBudget.forDocuments(getGroup());
+    }
+
     /**
      * Creates a new instance of {@link RegexpDocumentParser}.
      *
@@ -10,6 +10,8 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.LineIterator;
 import org.jvnet.localizer.Localizable;
 
+import io.jenkins.plugins.analysis.core.util.MatchingBudget;
+
 import hudson.console.ConsoleNote;
 import hudson.plugins.analysis.util.model.FileAnnotation;
 
@@ -35,6 +37,9 @@ public abstract class RegexpLineParser extends RegexpParser {
 
     private int currentLine;
 
+    /** Skips lines that do not contain a literal required by the pattern, created on demand after deserialization. */
+    private transient LiteralPrefilter prefilter;
+
     /**
      * Creates a new instance of {@link RegexpDocumentParser}.
      *
@@ -76,34 +81,95 @@ public abstract class RegexpLineParser extends RegexpParser {
 
     @Override
     public Collection<FileAnnotation> parse(final Reader file) throws IOException, ParsingCanceledException {
+        return parse(file, createBudget());
+    }
+
+    @Override
+    public Collection<FileAnnotation> parse(final Reader file, final MatchingBudget budget)
+            throws IOException, ParsingCanceledException {
         ArrayList<FileAnnotation> warnings = new ArrayList<FileAnnotation>();
 
         LineIterator iterator = IOUtils.lineIterator(file);
         try {
-            currentLine = 0;
-            if (isStringMatchActivated) {
-                while (iterator.hasNext()) {
-                    String line = getNextLine(iterator);
-                    if (isLineInteresting(line)) {
-                        findAnnotations(line, warnings);
-                    }
-                    currentLine++;
-                }
-            }
-            else {
-                while (iterator.hasNext()) {
-                    findAnnotations(getNextLine(iterator), warnings);
-                    currentLine++;
-                }
+            startParsing();
+            while (iterator.hasNext()) {
+                parseLine(ConsoleNote.removeNotes(iterator.nextLine()), warnings, budget);
             }
         }
         finally {
             iterator.close();
         }
 
+        return finishParsing(warnings);
+    }
+
+    /**
+     * Returns whether this parser can be fed line by line using {@link #startParsing()}, {@link #parseLine(String,
+     * List, MatchingBudget)} and {@link #finishParsing(List)}. This is not possible if a sub class parses the file on its own.
+     *
+     * @return {@code true} if the parser can be fed line by line, {@code false} otherwise
+     */
+    boolean canParseLineByLine() {
+        try {
+            return getClass().getMethod("parse", Reader.class).getDeclaringClass() == RegexpLineParser.class;
+        }
+        catch (NoSuchMethodException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts parsing a new file line by line.
+     */
+    void startParsing() {
+        currentLine = 0;
+    }
+
+    /**
+     * Parses the next line of the file.
+     *
+     * @param line
+     *            the line, console notes already removed
+     * @param warnings
+     *            the found annotations
+     * @param budget
+     *            the budget of the parsed file
+     * @throws ParsingCanceledException
+     *             indicates that the user canceled the operation
+     */
+    void parseLine(final String line, final List<FileAnnotation> warnings, final MatchingBudget budget)
+            throws ParsingCanceledException {
+        if ((!isStringMatchActivated || isLineInteresting(line)) && getPrefilter().mayMatch(line)) {
+            findAnnotations(line, currentLine + 1, warnings, budget);
+        }
+        currentLine++;
+    }
+
+    /**
+     * Finishes parsing the file.
+     *
+     * @param warnings
+     *            the found annotations
+     * @return the post processed warnings
+     */
+    Collection<FileAnnotation> finishParsing(final List<FileAnnotation> warnings) {
         return postProcessWarnings(warnings);
     }
 
+    /**
+     * Returns the prefilter that skips all lines that cannot match the pattern of compiler warnings. The required
+     * literals are extracted from the pattern only once for each parser instance.
+     *
+     * @return the prefilter
+     * @see LiteralPrefilter
+     */
+    LiteralPrefilter getPrefilter() {
+        if (prefilter == null) {
+            prefilter = LiteralPrefilter.create(getPattern());
+        }
+        return prefilter;
+    }
+
     /**
      * Post processes the warnings. This default implementation does nothing.
      *
@@ -124,10 +190,6 @@ public abstract class RegexpLineParser extends RegexpParser {
         return currentLine;
     }
 
-    private String getNextLine(final LineIterator iterator) {
-        return ConsoleNote.removeNotes(iterator.nextLine());
-    }
-
     /**
      * Returns whether the specified line is interesting. Each interesting line
      * will be handled by the defined regular expression. Here a parser can
@@ -1,5 +1,8 @@
 package hudson.plugins.warnings.parser;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collection;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -7,6 +10,9 @@ import java.util.regex.Pattern;
 import org.apache.commons.lang.StringUtils;
 import org.jvnet.localizer.Localizable;
 
+import io.jenkins.plugins.analysis.core.util.DeadlineCharSequence.DeadlineExceededException;
+import io.jenkins.plugins.analysis.core.util.MatchingBudget;
+
 import hudson.plugins.analysis.util.PackageDetectors;
 import hudson.plugins.analysis.util.model.FileAnnotation;
 
@@ -46,6 +52,15 @@ public abstract class RegexpParser extends AbstractWarningsParser {
         }
     }
 
+    /**
+     * Returns the pattern of compiler warnings.
+     *
+     * @return the pattern
+     */
+    Pattern getPattern() {
+        return pattern;
+    }
+
     /**
      * Creates a new instance of {@link RegexpParser}.
      * @param parserName
@@ -70,9 +85,63 @@ public abstract class RegexpParser extends AbstractWarningsParser {
         setPattern(warningPattern, useMultiLine);
     }
 
+    /**
+     * Parses the specified file using the specified budget for the time spent
+     * in matching the pattern. Sub classes that parse the file on their own
+     * should override this method (and delegate {@link #parse(Reader)} to it),
+     * so that the caller can report the lines that have been skipped. The
+     * budget is local to a single call, since a parser instance is shared by
+     * all concurrent builds. This default implementation ignores the budget.
+     *
+     * @param file
+     *            the file to parse
+     * @param budget
+     *            the budget for matching the pattern
+     * @return the found annotations
+     * @throws IOException
+     *             if the file could not be read
+     * @throws ParsingCanceledException
+     *             indicates that the user canceled the operation
+     * @see #canParseWithBudget()
+     */
+    public Collection<FileAnnotation> parse(final Reader file, final MatchingBudget budget)
+            throws IOException, ParsingCanceledException {
+        return parse(file);
+    }
+
+    /**
+     * Returns whether this parser uses the budget that is passed to
+     * {@link #parse(Reader, MatchingBudget)}. This is not the case if a sub
+     * class overrides {@link #parse(Reader)} only.
+     *
+     * @return {@code true} if the parser uses the specified budget, {@code false} otherwise
+     */
+    boolean canParseWithBudget() {
+        try {
+            return getClass().getMethod("parse", Reader.class).getDeclaringClass()
+                    == getClass().getMethod("parse", Reader.class, MatchingBudget.class).getDeclaringClass();
+        }
+        catch (NoSuchMethodException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a new budget for the time spent in matching the pattern while
+     * parsing a single file. By default, the pattern is matched line by line,
+     * so each line has a timeout of its own.
+     *
+     * @return the budget
+     */
+    MatchingBudget createBudget() {
+        return MatchingBudget.forLines(getGroup());
+    }
+
     /**
      * Parses the specified string content and creates annotations for each
-     * found warning.
+     * found warning. Each call uses a budget of its own, and skipped content is
+     * not reported: use {@link #findAnnotations(String, List, MatchingBudget)}
+     * instead.
      *
      * @param content
      *            the content to scan
@@ -82,18 +151,70 @@ public abstract class RegexpParser extends AbstractWarningsParser {
      *             indicates that the user canceled the operation
      */
     protected void findAnnotations(final String content, final List<FileAnnotation> warnings) throws ParsingCanceledException {
-        Matcher matcher = pattern.matcher(content);
+        findAnnotations(content, warnings, createBudget());
+    }
 
-        while (matcher.find()) {
-            Warning warning = createWarning(matcher);
-            if (warning != FALSE_POSITIVE) { // NOPMD
-                detectPackageName(warning);
-                warnings.add(warning);
-            }
-            if (Thread.interrupted()) {
-                throw new ParsingCanceledException();
+    /**
+     * Parses the specified string content and creates annotations for each
+     * found warning. If matching the content takes longer than the specified
+     * budget allows, then the content is skipped and reported in the budget.
+     *
+     * @param content
+     *            the content to scan
+     * @param warnings
+     *            the found annotations
+     * @param budget
+     *            the budget of the file that is parsed
+     * @throws ParsingCanceledException
+     *             indicates that the user canceled the operation
+     */
+    protected void findAnnotations(final String content, final List<FileAnnotation> warnings,
+            final MatchingBudget budget) throws ParsingCanceledException {
+        findAnnotations(content, 0, warnings, budget);
+    }
+
+    /**
+     * Parses the specified string content and creates annotations for each
+     * found warning. If matching the content takes longer than the specified
+     * budget allows, then the content is skipped and reported in the budget.
+     *
+     * @param content
+     *            the content to scan
+     * @param lineNumber
+     *            the number of the line that is scanned (starting at 1), or 0
+     *            if the content is not a single line of the file
+     * @param warnings
+     *            the found annotations
+     * @param budget
+     *            the budget of the file that is parsed
+     * @throws ParsingCanceledException
+     *             indicates that the user canceled the operation
+     */
+    void findAnnotations(final String content, final int lineNumber, final List<FileAnnotation> warnings,
+            final MatchingBudget budget) throws ParsingCanceledException {
+        if (budget.isExhausted()) {
+            return;
+        }
+
+        Matcher matcher = budget.matcher(pattern, content);
+        try {
+            while (matcher.find()) {
+                Warning warning = createWarning(matcher);
+                if (warning != FALSE_POSITIVE) { // NOPMD
+                    detectPackageName(warning);
+                    warnings.add(warning);
+                }
+                if (Thread.interrupted()) {
+                    throw new ParsingCanceledException();
+                }
             }
         }
+        catch (DeadlineExceededException exception) {
+            budget.reportTimeout(lineNumber, content);
+        }
+        finally {
+            budget.stop();
+        }
     }
 
     /**
@@ -1,26 +1,18 @@
 package hudson.plugins.warnings.parser;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.StringReader;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 
 import org.jvnet.localizer.Localizable;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 
 import hudson.Extension;
 import hudson.plugins.analysis.util.model.Priority;
 import hudson.plugins.warnings.WarningsDescriptor;
-import hudson.plugins.warnings.util.XmlElementUtil;
+import hudson.plugins.warnings.util.XmlStreamUtil;
 
 /**
  * A parser for the Resharper InspectCode compiler warnings.
@@ -96,41 +88,44 @@ public class ResharperInspectCodeParser extends RegexpLineParser {
                 // This is a quick workaround to get the IssueType parsing
                 // to work for this parser (which is a RegexpLineParser)
                 // It should probably be entirely xml-based instead
-                DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
-                DocumentBuilder docBuilder;
-                docBuilder = docBuilderFactory.newDocumentBuilder();
-                
-                InputSource is = new InputSource();
-                is.setCharacterStream(new StringReader("<IssueTypes>" + line + "</IssueTypes>"));
-                Document doc = docBuilder.parse(is);
-                
-                NodeList mainNode = doc.getElementsByTagName("IssueTypes");
-                Element issueTypesElement = (Element)mainNode.item(0);
-                parseIssueTypes(XmlElementUtil.getNamedChildElements(issueTypesElement, "IssueType"));
-            } catch (ParserConfigurationException ex) {
-            } catch (SAXException ex) {
-            } catch (IOException ex) {
+                XMLStreamReader xml = XmlStreamUtil.createReader(
+                        new StringReader("<IssueTypes>" + line + "</IssueTypes>"));
+                try {
+                    // the priorities are stored only if the whole line is valid XML
+                    Map<String, Priority> priorities = new HashMap<String, Priority>();
+                    XmlStreamUtil.nextRootElement(xml);
+                    parseIssueTypes(xml, priorities);
+                    priorityByTypeId.putAll(priorities);
+                }
+                finally {
+                    xml.close();
+                }
+            } catch (XMLStreamException ex) {
             }
             return false;
         }        
         return line.contains("<Issue");
     }
     
-    private void parseIssueTypes(final List<Element> issueTypeElements) {
-        for (Element issueTypeElement : issueTypeElements) {
-            String id = issueTypeElement.getAttribute("Id");
-            if (!"".equals(id)) {
-                String severity = issueTypeElement.getAttribute("Severity");
-                if ("ERROR".equals(severity)){
-                    priorityByTypeId.put(id, Priority.HIGH);
-                }
-                else if ("WARNING".equals(severity)) {
-                    priorityByTypeId.put(id, Priority.NORMAL);
-                }
-                else if ("SUGGESTION".equals(severity)) {
-                    priorityByTypeId.put(id, Priority.LOW);
+    private void parseIssueTypes(final XMLStreamReader xml, final Map<String, Priority> priorities)
+            throws XMLStreamException {
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            if ("IssueType".equals(xml.getLocalName())) {
+                String id = XmlStreamUtil.getAttribute(xml, "Id");
+                if (!"".equals(id)) {
+                    String severity = XmlStreamUtil.getAttribute(xml, "Severity");
+                    if ("ERROR".equals(severity)){
+                        priorities.put(id, Priority.HIGH);
+                    }
+                    else if ("WARNING".equals(severity)) {
+                        priorities.put(id, Priority.NORMAL);
+                    }
+                    else if ("SUGGESTION".equals(severity)) {
+                        priorities.put(id, Priority.LOW);
+                    }
                 }
             }
+            XmlStreamUtil.skipElement(xml);
         }
     }
     
@@ -1,22 +1,14 @@
 package hudson.plugins.warnings.parser.fxcop;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
-
-import com.google.common.collect.Lists;
-
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Set;
 
 import hudson.Extension;
 import hudson.plugins.analysis.util.model.FileAnnotation;
@@ -25,15 +17,13 @@ import hudson.plugins.warnings.parser.AbstractWarningsParser;
 import hudson.plugins.warnings.parser.Messages;
 import hudson.plugins.warnings.parser.ParsingCanceledException;
 import hudson.plugins.warnings.parser.Warning;
-import hudson.plugins.warnings.util.XmlElementUtil;
+import hudson.plugins.warnings.util.XmlStreamUtil;
 
 /**
- * Parses a fxcop xml report file. This does not uses the XML Pull parser as it
- * can not handle the FxCop XML files. The bug is registered at Sun as http:
- * //bugs.sun.com/bugdatabase/view_bug.do?bug_id=4508058
- * <p>
- * Note that instances of this parser are not thread safe.
- * </p>
+ * Parses a fxcop xml report file. The report is read as a stream using StAX, so only the element at the current
+ * position of the stream is kept in memory. Since the rules are listed at the end of the report, the issues are
+ * collected first and converted to warnings after the whole report has been read.
+ *
  * @deprecated use the new analysis-model library
  */
 @Deprecated
@@ -42,10 +32,6 @@ import hudson.plugins.warnings.util.XmlElementUtil;
 public class FxCopParser extends AbstractWarningsParser {
     private static final long serialVersionUID = -7208558002331355408L;
 
-    private transient FxCopRuleSet ruleSet;
-    @SuppressFBWarnings("SE")
-    private transient List<FileAnnotation> warnings;
-
     /**
      * Creates a new instance of {@link FxCopParser}.
      */
@@ -59,172 +45,291 @@ public class FxCopParser extends AbstractWarningsParser {
     public Collection<FileAnnotation> parse(final Reader reader)
             throws IOException, ParsingCanceledException {
         try {
-            ruleSet = new FxCopRuleSet();
-            warnings = Lists.newArrayList();
+            FxCopRuleSet ruleSet = new FxCopRuleSet();
+            List<FxCopIssue> issues = new ArrayList<FxCopIssue>();
 
-            DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder docBuilder;
-            docBuilder = docBuilderFactory.newDocumentBuilder();
-
-            Document doc = docBuilder.parse(new InputSource(reader));
-
-            NodeList mainNode = doc.getElementsByTagName("FxCopReport");
-
-            Element rootElement = (Element)mainNode.item(0);
-            parseRules(XmlElementUtil.getFirstElementByTagName(rootElement, "Rules"));
-            parseNamespaces(XmlElementUtil.getFirstElementByTagName(rootElement, "Namespaces"), null);
-            parseTargets(XmlElementUtil.getFirstElementByTagName(rootElement, "Targets"));
+            XMLStreamReader xml = XmlStreamUtil.createReader(reader);
+            try {
+                if (XmlStreamUtil.nextRootElement(xml) && "FxCopReport".equals(xml.getLocalName())) {
+                    parseReport(xml, ruleSet, issues);
+                }
+            }
+            finally {
+                xml.close();
+            }
 
+            List<FileAnnotation> warnings = new ArrayList<FileAnnotation>(issues.size());
+            for (FxCopIssue issue : issues) {
+                warnings.add(createWarning(issue, ruleSet));
+            }
             return warnings;
         }
-        catch (ParserConfigurationException exception) {
-            throw new IOException(exception);
-        }
-        catch (SAXException exception) {
+        catch (XMLStreamException exception) {
             throw new IOException(exception);
         }
     }
 
-    private void parseRules(final Element rulesElement) {
-        if (rulesElement != null) {
-            for (Element rule : XmlElementUtil.getNamedChildElements(rulesElement, "Rule")) {
-                ruleSet.addRule(rule);
+    private void parseReport(final XMLStreamReader xml, final FxCopRuleSet ruleSet, final List<FxCopIssue> issues)
+            throws XMLStreamException {
+        List<FxCopIssue> namespaceIssues = new ArrayList<FxCopIssue>();
+        List<FxCopIssue> targetIssues = new ArrayList<FxCopIssue>();
+        Set<String> seen = new HashSet<String>();
+        String name;
+        while ((name = nextChild(xml, seen, "Rules", "Namespaces", "Targets")) != null) {
+            if ("Rules".equals(name)) {
+                parseRules(xml, ruleSet);
+            }
+            else if ("Namespaces".equals(name)) {
+                parseNamespaces(xml, null, namespaceIssues);
+            }
+            else {
+                parseTargets(xml, targetIssues);
             }
         }
+        issues.addAll(namespaceIssues);
+        issues.addAll(targetIssues);
     }
 
-    private void parseTargets(final Element targetsElement) {
-        if (targetsElement != null) {
-            for (Element target : XmlElementUtil.getNamedChildElements(targetsElement, "Target")) {
-                String name = getString(target, "Name");
-                parseMessages(XmlElementUtil.getFirstElementByTagName(target, "Messages"), name);
-                parseModules(XmlElementUtil.getFirstElementByTagName(target, "Modules"), name);
-                parseResources(XmlElementUtil.getFirstElementByTagName(target, "Resources"), name);
+    private void parseRules(final XMLStreamReader xml, final FxCopRuleSet ruleSet) throws XMLStreamException {
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            if ("Rule".equals(xml.getLocalName())) {
+                FxCopRule rule = new FxCopRule(XmlStreamUtil.getAttribute(xml, "TypeName"),
+                        XmlStreamUtil.getAttribute(xml, "Category"), XmlStreamUtil.getAttribute(xml, "CheckId"));
+                rule.setUrl("");
+                rule.setDescription("");
+                rule.setName("");
+                Set<String> seen = new HashSet<String>();
+                String name;
+                while ((name = nextChild(xml, seen, "Url", "Description", "Name")) != null) {
+                    String text = XmlStreamUtil.getTextContent(xml);
+                    if ("Url".equals(name)) {
+                        rule.setUrl(text);
+                    }
+                    else if ("Description".equals(name)) {
+                        rule.setDescription(text);
+                    }
+                    else {
+                        rule.setName(text);
+                    }
+                }
+                ruleSet.addRule(rule);
+            }
+            else {
+                XmlStreamUtil.skipElement(xml);
             }
         }
     }
 
-    private void parseResources(final Element resources, final String parentName) {
-        if (resources != null) {
-            for (Element target : XmlElementUtil.getNamedChildElements(resources, "Resource")) {
-                String name = getString(target, "Name");
-                parseMessages(XmlElementUtil.getFirstElementByTagName(target, "Messages"), name);
+    private void parseTargets(final XMLStreamReader xml, final List<FxCopIssue> issues) throws XMLStreamException {
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            if ("Target".equals(xml.getLocalName())) {
+                String name = getString(xml, "Name");
+                List<FxCopIssue> messages = new ArrayList<FxCopIssue>();
+                List<FxCopIssue> modules = new ArrayList<FxCopIssue>();
+                List<FxCopIssue> resources = new ArrayList<FxCopIssue>();
+                Set<String> seen = new HashSet<String>();
+                String child;
+                while ((child = nextChild(xml, seen, "Messages", "Modules", "Resources")) != null) {
+                    if ("Messages".equals(child)) {
+                        parseMessages(xml, name, messages);
+                    }
+                    else if ("Modules".equals(child)) {
+                        parseModules(xml, name, modules);
+                    }
+                    else {
+                        parseResources(xml, name, resources);
+                    }
+                }
+                issues.addAll(messages);
+                issues.addAll(modules);
+                issues.addAll(resources);
+            }
+            else {
+                XmlStreamUtil.skipElement(xml);
             }
         }
     }
 
-    private void parseModules(final Element modulesElement, final String parentName) {
-        if (modulesElement != null) {
-            for (Element module : XmlElementUtil.getNamedChildElements(modulesElement, "Module")) {
-                String name = getString(module, "Name");
-                parseMessages(XmlElementUtil.getFirstElementByTagName(module, "Messages"), name);
-                parseNamespaces(XmlElementUtil.getFirstElementByTagName(module, "Namespaces"), name);
+    private void parseResources(final XMLStreamReader xml, final String parentName, final List<FxCopIssue> issues)
+            throws XMLStreamException {
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            if ("Resource".equals(xml.getLocalName())) {
+                String name = getString(xml, "Name");
+                Set<String> seen = new HashSet<String>();
+                while (nextChild(xml, seen, "Messages") != null) {
+                    parseMessages(xml, name, issues);
+                }
+            }
+            else {
+                XmlStreamUtil.skipElement(xml);
             }
         }
     }
 
-    private void parseNamespaces(final Element namespacesElement, final String parentName) {
-        if (namespacesElement != null) {
-            for (Element namespace : XmlElementUtil.getNamedChildElements(namespacesElement,
-                    "Namespace")) {
-                String name = getString(namespace, "Name");
-
-                parseMessages(XmlElementUtil.getFirstElementByTagName(namespace, "Messages"), name);
-                parseTypes(XmlElementUtil.getFirstElementByTagName(namespace, "Types"), name);
+    private void parseModules(final XMLStreamReader xml, final String parentName, final List<FxCopIssue> issues)
+            throws XMLStreamException {
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            if ("Module".equals(xml.getLocalName())) {
+                String name = getString(xml, "Name");
+                parseMessagesAndChildren(xml, name, "Namespaces", issues);
+            }
+            else {
+                XmlStreamUtil.skipElement(xml);
             }
         }
     }
 
-    private void parseTypes(final Element typesElement, final String parentName) {
-        if (typesElement != null) {
-            for (Element type : XmlElementUtil.getNamedChildElements(typesElement, "Type")) {
-                String name = parentName + "." + getString(type, "Name");
-
-                parseMessages(XmlElementUtil.getFirstElementByTagName(type, "Messages"), name);
-                parseMembers(XmlElementUtil.getFirstElementByTagName(type, "Members"), name);
+    private void parseNamespaces(final XMLStreamReader xml, final String parentName, final List<FxCopIssue> issues)
+            throws XMLStreamException {
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            if ("Namespace".equals(xml.getLocalName())) {
+                String name = getString(xml, "Name");
+                parseMessagesAndChildren(xml, name, "Types", issues);
+            }
+            else {
+                XmlStreamUtil.skipElement(xml);
             }
         }
     }
 
-    private void parseMembers(final Element membersElement, final String parentName) {
-        if (membersElement != null) {
-            for (Element member : XmlElementUtil.getNamedChildElements(membersElement, "Member")) {
-                parseMember(member, parentName);
+    private void parseTypes(final XMLStreamReader xml, final String parentName, final List<FxCopIssue> issues)
+            throws XMLStreamException {
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            if ("Type".equals(xml.getLocalName())) {
+                String name = parentName + "." + getString(xml, "Name");
+                parseMessagesAndChildren(xml, name, "Members", issues);
+            }
+            else {
+                XmlStreamUtil.skipElement(xml);
             }
         }
     }
 
-    private void parseAccessors(final Element accessorsElement, final String parentName) {
-        if (accessorsElement != null) {
-            for (Element member : XmlElementUtil
-                    .getNamedChildElements(accessorsElement, "Accessor")) {
-                parseMember(member, parentName);
+    private void parseMembers(final XMLStreamReader xml, final String parentName, final List<FxCopIssue> issues)
+            throws XMLStreamException {
+        parseMemberElements(xml, "Member", parentName, issues);
+    }
+
+    private void parseAccessors(final XMLStreamReader xml, final String parentName, final List<FxCopIssue> issues)
+            throws XMLStreamException {
+        parseMemberElements(xml, "Accessor", parentName, issues);
+    }
+
+    private void parseMemberElements(final XMLStreamReader xml, final String elementName, final String parentName,
+            final List<FxCopIssue> issues) throws XMLStreamException {
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            if (elementName.equals(xml.getLocalName())) {
+                parseMessagesAndChildren(xml, parentName, "Accessors", issues);
+            }
+            else {
+                XmlStreamUtil.skipElement(xml);
             }
         }
     }
 
-    private void parseMember(final Element member, final String parentName) {
-        parseMessages(XmlElementUtil.getFirstElementByTagName(member, "Messages"), parentName);
-        parseAccessors(XmlElementUtil.getFirstElementByTagName(member, "Accessors"), parentName);
+    /**
+     * Parses the first {@code Messages} element and the first element with the specified name of the current
+     * element. The issues of the messages are added before the issues of the children, independent of the order in
+     * the report.
+     */
+    private void parseMessagesAndChildren(final XMLStreamReader xml, final String name, final String childrenName,
+            final List<FxCopIssue> issues) throws XMLStreamException {
+        List<FxCopIssue> messages = new ArrayList<FxCopIssue>();
+        List<FxCopIssue> children = new ArrayList<FxCopIssue>();
+        Set<String> seen = new HashSet<String>();
+        String child;
+        while ((child = nextChild(xml, seen, "Messages", childrenName)) != null) {
+            if ("Messages".equals(child)) {
+                parseMessages(xml, name, messages);
+            }
+            else if ("Namespaces".equals(child)) {
+                parseNamespaces(xml, name, children);
+            }
+            else if ("Types".equals(child)) {
+                parseTypes(xml, name, children);
+            }
+            else if ("Members".equals(child)) {
+                parseMembers(xml, name, children);
+            }
+            else {
+                parseAccessors(xml, name, children);
+            }
+        }
+        issues.addAll(messages);
+        issues.addAll(children);
     }
 
-    private void parseMessages(final Element messages, final String parentName) {
-        parseMessages(messages, parentName, null);
+    private void parseMessages(final XMLStreamReader xml, final String parentName, final List<FxCopIssue> issues)
+            throws XMLStreamException {
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            if ("Message".equals(xml.getLocalName())) {
+                String typeName = getString(xml, "TypeName");
+                String category = getString(xml, "Category");
+                String checkId = getString(xml, "CheckId");
+                while (XmlStreamUtil.nextChildElement(xml)) {
+                    if ("Issue".equals(xml.getLocalName())) {
+                        issues.add(new FxCopIssue(typeName, category, checkId, getString(xml, "Level"),
+                                getString(xml, "Path"), getString(xml, "File"), getString(xml, "Line"),
+                                XmlStreamUtil.getTextContent(xml)));
+                    }
+                    else {
+                        XmlStreamUtil.skipElement(xml);
+                    }
+                }
+            }
+            else {
+                XmlStreamUtil.skipElement(xml);
+            }
+        }
     }
 
-    private void parseMessages(final Element messages, final String parentName, final String subName) {
-        if (messages != null) {
-            for (Element message : XmlElementUtil.getNamedChildElements(messages, "Message")) {
-                for (Element issue : XmlElementUtil.getNamedChildElements(message, "Issue")) {
-                    parseIssue(issue, message, parentName, subName);
+    /**
+     * Moves to the next child element of the current element that has one of the specified names and that is the
+     * first child element with this name. All other child elements are skipped.
+     *
+     * @return the name of the child element, or {@code null} if the end of the current element has been reached
+     */
+    private String nextChild(final XMLStreamReader xml, final Set<String> seen, final String... names)
+            throws XMLStreamException {
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            String name = xml.getLocalName();
+            boolean isFirst = seen.add(name);
+            for (String candidate : names) {
+                if (isFirst && candidate.equals(name)) {
+                    return name;
                 }
             }
+            XmlStreamUtil.skipElement(xml);
         }
+        return null;
     }
 
-    private void parseIssue(final Element issue, final Element parent, final String parentName, final String subName) {
-        String typeName = getString(parent, "TypeName");
-        String category = getString(parent, "Category");
-        String checkId = getString(parent, "CheckId");
-        String issueLevel = getString(issue, "Level");
-
+    private Warning createWarning(final FxCopIssue issue, final FxCopRuleSet ruleSet) {
         StringBuilder msgBuilder = new StringBuilder();
-        if (subName != null) {
-            msgBuilder.append(subName);
-            msgBuilder.append(' ');
-        }
-        FxCopRule rule = ruleSet.getRule(category, checkId);
+        FxCopRule rule = ruleSet.getRule(issue.category, issue.checkId);
         if (rule == null) {
-            msgBuilder.append(typeName);
+            msgBuilder.append(issue.typeName);
         }
         else {
             msgBuilder.append("<a href=\"");
             msgBuilder.append(rule.getUrl());
             msgBuilder.append("\">");
-            msgBuilder.append(typeName);
+            msgBuilder.append(issue.typeName);
             msgBuilder.append("</a>");
         }
         msgBuilder.append(" - ");
-        msgBuilder.append(issue.getTextContent());
-
-        String filePath = getString(issue, "Path");
-        String fileName = getString(issue, "File");
-        String fileLine = getString(issue, "Line");
+        msgBuilder.append(issue.text);
 
-        Warning warning = createWarning(filePath + "/" + fileName, getLineNumber(fileLine), category, msgBuilder.toString(), getPriority(issueLevel));
+        Warning warning = createWarning(issue.filePath + "/" + issue.fileName, getLineNumber(issue.fileLine),
+                issue.category, msgBuilder.toString(), getPriority(issue.level));
         if (rule != null) {
             warning.setToolTip(rule.getDescription());
         }
-        warnings.add(warning);
+        return warning;
     }
 
-    private String getString(final Element element, final String name) {
-        if (element.hasAttribute(name)) {
-            return element.getAttribute(name);
-        }
-        else {
-            return "";
-        }
+    private String getString(final XMLStreamReader xml, final String name) {
+        return XmlStreamUtil.getAttribute(xml, name);
     }
 
     private Priority getPriority(final String issueLevel) {
@@ -244,4 +349,30 @@ public class FxCopParser extends AbstractWarningsParser {
             return Priority.LOW;
         }
     }
+
+    /**
+     * An issue of the report. The rule of the issue is resolved after the whole report has been read.
+     */
+    private static final class FxCopIssue {
+        private final String typeName;
+        private final String category;
+        private final String checkId;
+        private final String level;
+        private final String filePath;
+        private final String fileName;
+        private final String fileLine;
+        private final String text;
+
+        FxCopIssue(final String typeName, final String category, final String checkId, final String level,
+                final String filePath, final String fileName, final String fileLine, final String text) {
+            this.typeName = typeName;
+            this.category = category;
+            this.checkId = checkId;
+            this.level = level;
+            this.filePath = filePath;
+            this.fileName = fileName;
+            this.fileLine = fileLine;
+            this.text = text;
+        }
+    }
 }
@@ -28,6 +28,14 @@ public class FxCopRuleSet {
 		rule.setDescription(getNamedTagText(element, "Description"));
 		rule.setName(getNamedTagText(element, "Name"));
 
+		addRule(rule);
+	}
+
+	/***
+	 * Insert the rule into the rule set.
+	 * @param rule the rule
+	 */
+	public void addRule(final FxCopRule rule) {
 		rules.put(getRuleKey(rule.getCategory(), rule.getCheckId()), rule);
 	}
 
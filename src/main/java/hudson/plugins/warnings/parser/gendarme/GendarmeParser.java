@@ -1,8 +1,7 @@
 package hudson.plugins.warnings.parser.gendarme;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.net.MalformedURLException;
@@ -16,11 +15,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 
 import hudson.Extension;
 import hudson.plugins.analysis.util.model.FileAnnotation;
@@ -28,10 +22,11 @@ import hudson.plugins.analysis.util.model.Priority;
 import hudson.plugins.warnings.parser.AbstractWarningsParser;
 import hudson.plugins.warnings.parser.Messages;
 import hudson.plugins.warnings.parser.ParsingCanceledException;
-import hudson.plugins.warnings.util.XmlElementUtil;
+import hudson.plugins.warnings.util.XmlStreamUtil;
 
 /**
- * Parses Gendarme violations.
+ * Parses Gendarme violations. The report is read as a stream using StAX, so only the element at the current position
+ * of the stream is kept in memory.
  *
  * @author mathias.kluba@gmail.com
  * @deprecated use the new analysis-model library
@@ -55,51 +50,111 @@ public class GendarmeParser extends AbstractWarningsParser {
     @Override
     public Collection<FileAnnotation> parse(final Reader reader) throws IOException, ParsingCanceledException {
         try {
-            DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder docBuilder = docBuilderFactory.newDocumentBuilder();
-            Document doc = docBuilder.parse(new InputSource(reader));
+            Map<String, GendarmeRule> rules = new HashMap<>();
+            List<Violation> violations = new ArrayList<>();
 
-            NodeList mainNode = doc.getElementsByTagName("gendarme-output");
+            XMLStreamReader xml = XmlStreamUtil.createReader(reader);
+            try {
+                if (XmlStreamUtil.nextRootElement(xml) && "gendarme-output".equals(xml.getLocalName())) {
+                    parseOutput(xml, rules, violations);
+                }
+            }
+            finally {
+                xml.close();
+            }
+
+            return createWarnings(violations, rules);
+        }
+        catch (XMLStreamException exception) {
+            throw new IOException(exception);
+        }
+    }
 
-            Element rootElement = (Element)mainNode.item(0);
-            Element resultsElement = (Element)rootElement.getElementsByTagName("results").item(0);
-            Element rulesElement = (Element)rootElement.getElementsByTagName("rules").item(0);
+    private void parseOutput(final XMLStreamReader xml, final Map<String, GendarmeRule> rules,
+            final List<Violation> violations) throws XMLStreamException {
+        boolean hasRules = false;
+        boolean hasResults = false;
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            String name = xml.getLocalName();
+            if ("rules".equals(name) && !hasRules) {
+                hasRules = true;
+                parseRules(xml, rules);
+            }
+            else if ("results".equals(name) && !hasResults) {
+                hasResults = true;
+                parseViolations(xml, violations);
+            }
+            else {
+                XmlStreamUtil.skipElement(xml);
+            }
+        }
+    }
+
+    private void parseViolations(final XMLStreamReader xml, final List<Violation> violations)
+            throws XMLStreamException {
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            if ("rule".equals(xml.getLocalName())) {
+                parseViolationsOfRule(xml, violations);
+            }
+            else {
+                XmlStreamUtil.skipElement(xml);
+            }
+        }
+    }
 
-            Map<String, GendarmeRule> rules = parseRules(XmlElementUtil.getNamedChildElements(rulesElement, "rule"));
-            return parseViolations(XmlElementUtil.getNamedChildElements(resultsElement, "rule"), rules);
+    private void parseViolationsOfRule(final XMLStreamReader xml, final List<Violation> violations)
+            throws XMLStreamException {
+        String ruleName = XmlStreamUtil.getAttribute(xml, "Name");
+        String problem = null;
+        List<Violation> targets = new ArrayList<>();
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            String name = xml.getLocalName();
+            if ("problem".equals(name) && problem == null) {
+                problem = XmlStreamUtil.getTextContent(xml);
+            }
+            else if ("target".equals(name)) {
+                Violation violation = parseTarget(xml, ruleName);
+                if (violation != null) {
+                    targets.add(violation);
+                }
+            }
+            else {
+                XmlStreamUtil.skipElement(xml);
+            }
         }
-        catch (ParserConfigurationException pce) {
-            throw new IOException(pce);
+        for (Violation violation : targets) {
+            violation.problem = problem;
+            violations.add(violation);
         }
-        catch (SAXException se) {
-            throw new IOException(se);
+    }
+
+    private Violation parseTarget(final XMLStreamReader xml, final String ruleName) throws XMLStreamException {
+        Violation violation = null;
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            if ("defect".equals(xml.getLocalName()) && violation == null) {
+                violation = new Violation(ruleName, XmlStreamUtil.getAttribute(xml, "Source"),
+                        extractPriority(XmlStreamUtil.getAttribute(xml, "Severity")));
+            }
+            XmlStreamUtil.skipElement(xml);
         }
+        return violation;
     }
 
-    private List<FileAnnotation> parseViolations(final List<Element> ruleElements, final Map<String, GendarmeRule> rules) {
+    private List<FileAnnotation> createWarnings(final List<Violation> violations,
+            final Map<String, GendarmeRule> rules) {
         List<FileAnnotation> warnings = new ArrayList<>();
-        for (Element ruleElement : ruleElements) {
-            String ruleName = ruleElement.getAttribute("Name");
-            String problem = ruleElement.getElementsByTagName("problem").item(0).getTextContent();
-            List<Element> targetElements = XmlElementUtil.getNamedChildElements(ruleElement, "target");
+        for (Violation violation : violations) {
+            GendarmeRule rule = rules.get(violation.ruleName);
 
-            GendarmeRule rule = rules.get(ruleName);
-            for (Element targetElement : targetElements) {
-                Element defectElement = (Element)targetElement.getElementsByTagName("defect").item(0);
-                String source = defectElement.getAttribute("Source");
+            String fileName = extractFileNameMatch(rule, violation.source, 1);
+            int line = convertLineNumber(extractFileNameMatch(rule, violation.source, 2));
 
-                String fileName = extractFileNameMatch(rule, source, 1);
-                Priority priority = extractPriority(defectElement);
-                int line = convertLineNumber(extractFileNameMatch(rule, source, 2));
-
-                warnings.add(createWarning(fileName, line, rule.getName(), problem, priority));
-            }
+            warnings.add(createWarning(fileName, line, rule.getName(), violation.problem, violation.priority));
         }
         return warnings;
     }
 
-    private Priority extractPriority(final Element defectElement) {
-        String severityString = defectElement.getAttribute("Severity");
+    private Priority extractPriority(final String severityString) {
         Priority priority;
         if ("Low".equals(severityString)) {
             priority = Priority.LOW;
@@ -124,15 +179,18 @@ public class GendarmeParser extends AbstractWarningsParser {
         return fileName;
     }
 
-    private Map<String, GendarmeRule> parseRules(final List<Element> ruleElements) {
-        Map<String, GendarmeRule> rules = new HashMap<>();
+    private void parseRules(final XMLStreamReader xml, final Map<String, GendarmeRule> rules)
+            throws XMLStreamException {
+        while (XmlStreamUtil.nextChildElement(xml)) {
+            if (!"rule".equals(xml.getLocalName())) {
+                XmlStreamUtil.skipElement(xml);
+                continue;
+            }
 
-        for (Element ruleElement : ruleElements) {
             GendarmeRule rule = new GendarmeRule();
-            rule.setName(ruleElement.getAttribute("Name"));
-            rule.setTypeName(ruleElement.getTextContent());
+            rule.setName(XmlStreamUtil.getAttribute(xml, "Name"));
 
-            String typeString = ruleElement.getAttribute("Type");
+            String typeString = XmlStreamUtil.getAttribute(xml, "Type");
             if ("Type".equals(typeString)) {
                 rule.setType(GendarmeRuleType.Type);
             }
@@ -143,16 +201,31 @@ public class GendarmeParser extends AbstractWarningsParser {
                 rule.setType(GendarmeRuleType.Assembly);
             }
             try {
-                rule.setUrl(new URL(ruleElement.getAttribute("Uri")));
+                rule.setUrl(new URL(XmlStreamUtil.getAttribute(xml, "Uri")));
             }
             catch (MalformedURLException e) {
                 rule.setUrl(null);
             }
+            rule.setTypeName(XmlStreamUtil.getTextContent(xml));
 
             // add the rule to the cache
             rules.put(rule.getName(), rule);
         }
+    }
 
-        return rules;
+    /**
+     * A defect of a target. The rule of the defect is resolved after the whole report has been read.
+     */
+    private static final class Violation {
+        private final String ruleName;
+        private final String source;
+        private final Priority priority;
+        private String problem;
+
+        Violation(final String ruleName, final String source, final Priority priority) {
+            this.ruleName = ruleName;
+            this.source = source;
+            this.priority = priority;
+        }
     }
 }
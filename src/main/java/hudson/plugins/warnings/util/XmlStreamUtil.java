@@ -0,0 +1,147 @@
+package hudson.plugins.warnings.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Reader;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Utilities to read XML documents as a stream using StAX. In contrast to {@link XmlElementUtil}, no document object
+ * model is created: only the element at the current position of the {@link XMLStreamReader} is available. So the
+ * memory required to read a document is independent of the size of the document.
+ *
+ * @author Ullrich Hafner
+ */
+public final class XmlStreamUtil {
+    /**
+     * Creates a new stream reader for the specified XML document. External entities and document type definitions are
+     * not resolved.
+     *
+     * @param reader
+     *            the XML document
+     * @return the stream reader, positioned at the start of the document
+     * @throws XMLStreamException
+     *             if the reader could not be created
+     */
+    public static XMLStreamReader createReader(final Reader reader) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory.createXMLStreamReader(reader);
+    }
+
+    /**
+     * Moves the stream reader to the root element of the document.
+     *
+     * @param reader
+     *            the stream reader, positioned at the start of the document
+     * @return {@code true} if the reader is positioned at the start of the root element, {@code false} if the
+     *         document has no root element
+     * @throws XMLStreamException
+     *             if the document is malformed
+     */
+    public static boolean nextRootElement(final XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the stream reader to the next child element of the current element. Text, comments and processing
+     * instructions are skipped.
+     *
+     * @param reader
+     *            the stream reader, positioned at the start of the parent element or at the end of a previous child
+     *            element
+     * @return {@code true} if the reader is positioned at the start of the next child element, {@code false} if the
+     *         reader is positioned at the end of the parent element
+     * @throws XMLStreamException
+     *             if the document is malformed
+     */
+    public static boolean nextChildElement(final XMLStreamReader reader) throws XMLStreamException {
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Skips the current element including all its child elements.
+     *
+     * @param reader
+     *            the stream reader, positioned at the start of the element
+     * @throws XMLStreamException
+     *             if the document is malformed
+     */
+    public static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Returns the text content of the current element, i.e. the concatenated text of the element and all its child
+     * elements. This is the same value as {@link org.w3c.dom.Node#getTextContent()} would return.
+     *
+     * @param reader
+     *            the stream reader, positioned at the start of the element
+     * @return the text content, the reader is positioned at the end of the element afterwards
+     * @throws XMLStreamException
+     *             if the document is malformed
+     */
+    public static String getTextContent(final XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+            else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE) {
+                text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Returns the value of the specified attribute of the current element.
+     *
+     * @param reader
+     *            the stream reader, positioned at the start of the element
+     * @param name
+     *            the name of the attribute
+     * @return the value of the attribute, or an empty string if the element has no such attribute
+     */
+    public static String getAttribute(final XMLStreamReader reader, final String name) {
+        return StringUtils.defaultString(reader.getAttributeValue(null, name));
+    }
+
+    private XmlStreamUtil() {
+        // prevents instantiation
+    }
+}
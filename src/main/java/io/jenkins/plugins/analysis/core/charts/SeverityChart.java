@@ -1,6 +1,7 @@
 package io.jenkins.plugins.analysis.core.charts;
 
 import edu.hm.hafner.analysis.Severity;
+import io.jenkins.plugins.analysis.core.history.TrendIndex;
 import io.jenkins.plugins.analysis.core.model.AnalysisResult;
 import io.jenkins.plugins.analysis.core.views.LocalizedSeverity;
 
@@ -41,6 +42,36 @@ public class SeverityChart {
         return model;
     }
 
+    /**
+     * Creates the chart for the specified entries of the {@link TrendIndex}.
+     *
+     * @param trend
+     *         the entries of the trend index to render, starting with the newest build
+     *
+     * @return the chart model
+     */
+    public LineModel createFromTrend(final Iterable<TrendIndex.Entry> trend) {
+        LineSeries high = createSeries(Severity.WARNING_HIGH);
+        LineSeries normal = createSeries(Severity.WARNING_NORMAL);
+        LineSeries low = createSeries(Severity.WARNING_LOW);
+
+        LineModel model = new LineModel();
+        model.addSeries(low, normal, high);
+
+        for (TrendIndex.Entry entry : trend) {
+            high.add(entry.getTotalSizeOf(Severity.WARNING_HIGH));
+            normal.add(entry.getTotalSizeOf(Severity.WARNING_NORMAL));
+            low.add(entry.getTotalSizeOf(Severity.WARNING_LOW));
+
+            model.addXAxisLabel(entry.getDisplayName());
+            if (model.size() > 50) {
+                break;
+            }
+        }
+
+        return model;
+    }
+
     private LineSeries createSeries(final Severity severity) {
         return new LineSeries(LocalizedSeverity.getLocalizedString(severity), 
                 SeverityPalette.getColor(severity).getNormal());
@@ -0,0 +1,58 @@
+package io.jenkins.plugins.analysis.core.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Report.IssueFilterBuilder;
+
+/**
+ * Filters the issues of a {@link Report} using a set of {@link RegexpFilter regular expression filters}. Filters with
+ * a blank pattern are ignored.
+ *
+ * @author Ullrich Hafner
+ */
+public class ReportFilter {
+    private final List<RegexpFilter> filters;
+
+    /**
+     * Creates a new instance of {@link ReportFilter}.
+     *
+     * @param filters
+     *         the filters to apply
+     */
+    public ReportFilter(final List<? extends RegexpFilter> filters) {
+        this.filters = new ArrayList<>(filters);
+    }
+
+    /**
+     * Returns a new report that contains the issues of the specified report that pass all filters. The number of
+     * removed issues is logged in the new report.
+     *
+     * @param report
+     *         the report to filter
+     *
+     * @return the filtered report
+     */
+    public Report filter(final Report report) {
+        int actualFilterSize = 0;
+        IssueFilterBuilder builder = new IssueFilterBuilder();
+        for (RegexpFilter filter : filters) {
+            if (StringUtils.isNotBlank(filter.getPattern())) {
+                filter.apply(builder);
+                actualFilterSize++;
+            }
+        }
+        Report filtered = report.filter(builder.build());
+        if (actualFilterSize > 0) {
+            filtered.logInfo("Applying %d filters on the set of %d issues (%d issues have been removed, %d issues will be published)",
+                    filters.size(), report.size(), report.size() - filtered.size(), filtered.size());
+        }
+        else {
+            filtered.logInfo("No filter has been set, publishing all %d issues", filtered.size());
+        }
+        return filtered;
+    }
+}
@@ -0,0 +1,426 @@
+package io.jenkins.plugins.analysis.core.history;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import edu.hm.hafner.analysis.Severity;
+import io.jenkins.plugins.analysis.core.model.AnalysisResult;
+import io.jenkins.plugins.analysis.core.quality.AnalysisBuild;
+import io.jenkins.plugins.analysis.core.quality.QualityGateStatus;
+
+import hudson.Extension;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+
+/**
+ * Append only index of the static analysis results of all builds of a job. For each build and static analysis tool the
+ * index stores the totals that are required to render the trend charts: so the charts can be created without loading
+ * the builds and their results. The index is a text file in the folder of the job, each line represents either a new
+ * result or the deletion of a build. If the index contains more lines of results that have been deleted or replaced
+ * than lines of current results, then the index is compacted: the current results are written to a temporary file
+ * that atomically replaces the index.
+ *
+ * @author Ullrich Hafner
+ */
+public class TrendIndex {
+    private static final Logger LOGGER = Logger.getLogger(TrendIndex.class.getName());
+
+    static final String INDEX_FILE_NAME = "analysis-trend.idx";
+    /** Maximum number of previous builds that will be added if a static analysis tool is not yet part of the index. */
+    static final int MAXIMUM_BACKFILL = 100;
+    /** Minimum number of obsolete lines that trigger a compaction of the index. */
+    static final int COMPACTION_THRESHOLD = 100;
+
+    private static final String RESULT = "+";
+    private static final String DELETION = "-";
+    private static final String SEPARATOR = "\t";
+    private static final int RESULT_FIELDS = 12;
+
+    private static final Object LOCK = new Object();
+    private static final Map<File, CachedIndex> INDEXES = Collections.synchronizedMap(new HashMap<>());
+
+    private final File indexFile;
+
+    /**
+     * Creates a new instance of {@link TrendIndex}.
+     *
+     * @param job
+     *         the job that owns the index
+     */
+    public TrendIndex(final Job<?, ?> job) {
+        this(job.getRootDir());
+    }
+
+    /**
+     * Creates a new instance of {@link TrendIndex}.
+     *
+     * @param jobRootDir
+     *         the root folder of the job that owns the index
+     */
+    public TrendIndex(final File jobRootDir) {
+        indexFile = new File(jobRootDir, INDEX_FILE_NAME);
+    }
+
+    /**
+     * Appends the specified result to the index. If the index does not yet contain results of the same static analysis
+     * tool, then the results of the previous builds will be appended as well (but at most {@link #MAXIMUM_BACKFILL}
+     * results).
+     *
+     * @param result
+     *         the result to append
+     * @param previousResults
+     *         the results of the previous builds (of the same static analysis tool), only iterated if required
+     */
+    public void append(final AnalysisResult result, final Iterable<AnalysisResult> previousResults) {
+        synchronized (LOCK) {
+            List<String> lines = new ArrayList<>();
+            if (!read().containsId(result.getId())) {
+                int count = 0;
+                for (AnalysisResult previous : previousResults) {
+                    if (count++ >= MAXIMUM_BACKFILL) {
+                        break;
+                    }
+                    lines.add(Entry.of(previous).toLine());
+                }
+                Collections.reverse(lines);
+            }
+            lines.add(Entry.of(result).toLine());
+            write(lines);
+            compactIfRequired();
+        }
+    }
+
+    /**
+     * Marks the specified build as deleted: all results of this build will be removed from the index.
+     *
+     * @param number
+     *         the number of the deleted build
+     */
+    public void remove(final int number) {
+        synchronized (LOCK) {
+            if (indexFile.exists()) {
+                write(Collections.singletonList(DELETION + SEPARATOR + number));
+                compactIfRequired();
+            }
+        }
+    }
+
+    private void write(final List<String> lines) {
+        try {
+            Files.write(indexFile.toPath(), lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Can't write trend index " + indexFile, exception);
+        }
+    }
+
+    private void compactIfRequired() {
+        ParsedIndex index = read();
+        int obsolete = index.getObsoleteLineCount();
+        if (obsolete >= COMPACTION_THRESHOLD && obsolete > index.getEntryCount()) {
+            compact(index);
+        }
+    }
+
+    private void compact(final ParsedIndex index) {
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(indexFile.getParentFile().toPath(), INDEX_FILE_NAME, ".tmp");
+            Files.write(temporary, index.toLines(), StandardCharsets.UTF_8);
+            Files.move(temporary, indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            temporary = null;
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Can't compact trend index " + indexFile, exception);
+        }
+        finally {
+            if (temporary != null) {
+                temporary.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the index contains results of the specified static analysis tool.
+     *
+     * @param id
+     *         the ID of the static analysis tool
+     *
+     * @return {@code true} if the index contains results of the tool, {@code false} otherwise
+     */
+    public boolean containsId(final String id) {
+        return read().containsId(id);
+    }
+
+    /**
+     * Returns the results of the specified static analysis tool, starting with the newest build.
+     *
+     * @param id
+     *         the ID of the static analysis tool
+     * @param baseline
+     *         the number of the newest build that should be part of the trend
+     *
+     * @return the results
+     */
+    public List<Entry> getTrend(final String id, final int baseline) {
+        return read().getEntries(id).stream()
+                .filter(entry -> entry.getNumber() <= baseline)
+                .collect(Collectors.toList());
+    }
+
+    private ParsedIndex read() {
+        long lastModified = indexFile.lastModified();
+        long length = indexFile.length();
+        CachedIndex cached = INDEXES.get(indexFile);
+        if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+            return cached.index;
+        }
+
+        ParsedIndex index = parse();
+        INDEXES.put(indexFile, new CachedIndex(lastModified, length, index));
+        return index;
+    }
+
+    private ParsedIndex parse() {
+        ParsedIndex index = new ParsedIndex();
+        if (indexFile.exists()) {
+            try {
+                for (String line : Files.readAllLines(indexFile.toPath(), StandardCharsets.UTF_8)) {
+                    index.add(line);
+                }
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, "Can't read trend index " + indexFile, exception);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * The entries of the index file, grouped by the ID of the static analysis tool.
+     */
+    private static class ParsedIndex {
+        private final Map<String, TreeMap<Integer, Entry>> entriesById = new LinkedHashMap<>();
+        private final Map<String, List<Entry>> sortedEntries = new HashMap<>();
+        private int lineCount;
+
+        void add(final String line) {
+            lineCount++;
+            String[] fields = line.split(SEPARATOR, RESULT_FIELDS);
+            try {
+                if (RESULT.equals(fields[0]) && fields.length == RESULT_FIELDS) {
+                    Entry entry = Entry.fromFields(fields);
+                    entriesById.computeIfAbsent(entry.getId(), key -> new TreeMap<>()).put(entry.getNumber(), entry);
+                }
+                else if (DELETION.equals(fields[0]) && fields.length == 2) {
+                    int number = Integer.parseInt(fields[1]);
+                    entriesById.values().forEach(entries -> entries.remove(number));
+                }
+            }
+            catch (IllegalArgumentException exception) {
+                LOGGER.log(Level.FINE, "Skipping invalid line in trend index: " + line, exception);
+            }
+        }
+
+        boolean containsId(final String id) {
+            return entriesById.containsKey(id);
+        }
+
+        int getEntryCount() {
+            return entriesById.values().stream().mapToInt(Map::size).sum();
+        }
+
+        /**
+         * Returns the number of lines that do not contribute to the current results: deletions, deleted or replaced
+         * results, and invalid lines.
+         */
+        int getObsoleteLineCount() {
+            return lineCount - getEntryCount();
+        }
+
+        List<String> toLines() {
+            return entriesById.values().stream()
+                    .flatMap(entries -> entries.values().stream())
+                    .map(Entry::toLine)
+                    .collect(Collectors.toList());
+        }
+
+        synchronized List<Entry> getEntries(final String id) {
+            return sortedEntries.computeIfAbsent(id, key -> {
+                TreeMap<Integer, Entry> entries = entriesById.get(key);
+                if (entries == null) {
+                    return Collections.emptyList();
+                }
+                return Collections.unmodifiableList(new ArrayList<>(entries.descendingMap().values()));
+            });
+        }
+    }
+
+    /**
+     * Parsed index, along with the modification time and length of the file it has been read from.
+     */
+    private static class CachedIndex {
+        private final long lastModified;
+        private final long length;
+        private final ParsedIndex index;
+
+        CachedIndex(final long lastModified, final long length, final ParsedIndex index) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.index = index;
+        }
+    }
+
+    /**
+     * The totals of a static analysis result of a single build.
+     */
+    public static class Entry implements AnalysisBuild {
+        private final String id;
+        private final int number;
+        private final long timeInMillis;
+        private final String displayName;
+        private final Map<Severity, Integer> sizePerSeverity;
+        private final int newSize;
+        private final int fixedSize;
+        private final QualityGateStatus qualityGateStatus;
+
+        static Entry of(final AnalysisResult result) {
+            AnalysisBuild build = result.getBuild();
+            Map<Severity, Integer> sizePerSeverity = new HashMap<>();
+            for (Severity severity : Severity.getPredefinedValues()) {
+                sizePerSeverity.put(severity, result.getTotalSizeOf(severity));
+            }
+            return new Entry(result.getId(), build.getNumber(), build.getTimeInMillis(), build.getDisplayName(),
+                    sizePerSeverity, result.getNewSize(), result.getFixedSize(), result.getQualityGateStatus());
+        }
+
+        static Entry fromFields(final String[] fields) {
+            Map<Severity, Integer> sizePerSeverity = new HashMap<>();
+            sizePerSeverity.put(Severity.ERROR, Integer.parseInt(fields[4]));
+            sizePerSeverity.put(Severity.WARNING_HIGH, Integer.parseInt(fields[5]));
+            sizePerSeverity.put(Severity.WARNING_NORMAL, Integer.parseInt(fields[6]));
+            sizePerSeverity.put(Severity.WARNING_LOW, Integer.parseInt(fields[7]));
+
+            return new Entry(fields[1], Integer.parseInt(fields[2]), Long.parseLong(fields[3]), fields[11],
+                    sizePerSeverity, Integer.parseInt(fields[8]), Integer.parseInt(fields[9]),
+                    QualityGateStatus.valueOf(fields[10]));
+        }
+
+        @SuppressWarnings("ParameterNumber")
+        Entry(final String id, final int number, final long timeInMillis, final String displayName,
+                final Map<Severity, Integer> sizePerSeverity, final int newSize, final int fixedSize,
+                final QualityGateStatus qualityGateStatus) {
+            this.id = id;
+            this.number = number;
+            this.timeInMillis = timeInMillis;
+            this.displayName = displayName;
+            this.sizePerSeverity = sizePerSeverity;
+            this.newSize = newSize;
+            this.fixedSize = fixedSize;
+            this.qualityGateStatus = qualityGateStatus;
+        }
+
+        String toLine() {
+            return String.join(SEPARATOR, RESULT, id, String.valueOf(number), String.valueOf(timeInMillis),
+                    String.valueOf(getTotalSizeOf(Severity.ERROR)),
+                    String.valueOf(getTotalSizeOf(Severity.WARNING_HIGH)),
+                    String.valueOf(getTotalSizeOf(Severity.WARNING_NORMAL)),
+                    String.valueOf(getTotalSizeOf(Severity.WARNING_LOW)),
+                    String.valueOf(newSize), String.valueOf(fixedSize), qualityGateStatus.name(),
+                    displayName.replaceAll("[\\t\\r\\n]", " "));
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public int getNumber() {
+            return number;
+        }
+
+        @Override
+        public long getTimeInMillis() {
+            return timeInMillis;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * Returns the total number of issues that have the specified {@link Severity}.
+         *
+         * @param severity
+         *         the severity of the issues to match
+         *
+         * @return total number of issues
+         */
+        public int getTotalSizeOf(final Severity severity) {
+            return sizePerSeverity.getOrDefault(severity, 0);
+        }
+
+        public int getNewSize() {
+            return newSize;
+        }
+
+        public int getFixedSize() {
+            return fixedSize;
+        }
+
+        public QualityGateStatus getQualityGateStatus() {
+            return qualityGateStatus;
+        }
+
+        @Override
+        public int compareTo(final AnalysisBuild o) {
+            return getNumber() - o.getNumber();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Entry entry = (Entry) o;
+            return number == entry.number && id.equals(entry.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id.hashCode() + number;
+        }
+    }
+
+    /**
+     * Removes the results of builds that will be deleted from the index.
+     */
+    @Extension
+    public static class DeletionListener extends RunListener<Run<?, ?>> {
+        @Override
+        public void onDeleted(final Run<?, ?> run) {
+            new TrendIndex(run.getParent()).remove(run.getNumber());
+        }
+    }
+}
@@ -3,16 +3,16 @@ package io.jenkins.plugins.analysis.core.model; // NOPMD
 import javax.annotation.CheckForNull;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
-import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.BiConsumer;
-import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -70,26 +70,10 @@ public class AnalysisResult implements Serializable {
      */
     private final String referenceBuildId;
     
-    private transient ReentrantLock lock = new ReentrantLock();
     private transient Run<?, ?> owner;
-    
-    /**
-     * All outstanding issues: i.e. all issues, that are part of the current and reference report.
-     */
-    @CheckForNull
-    private transient WeakReference<Report> outstandingIssuesReference;
-    /**
-     * All new issues: i.e. all issues, that are part of the current report but have not been shown up in the reference
-     * report.
-     */
+    /** The issues of results that are not persisted in the build folder. */
     @CheckForNull
-    private transient WeakReference<Report> newIssuesReference;
-    /**
-     * All fixed issues: i.e. all issues, that are part of the reference report but are not present in the current
-     * report anymore.
-     */
-    @CheckForNull
-    private transient WeakReference<Report> fixedIssuesReference;
+    private transient PartitionedIssues unpersistedIssues;
     
     /** Determines since which build we have zero warnings. */
     private int noIssuesSinceBuild;
@@ -191,16 +175,15 @@ public class AnalysisResult implements Serializable {
         referenceBuildId = report.getReferenceBuildId();
 
         Report outstandingIssues = report.getOutstandingIssues();
-        outstandingIssuesReference = new WeakReference<>(outstandingIssues);
-        
+
         Report newIssues = report.getNewIssues();
         newSize = newIssues.getSize();
         newSizePerSeverity = getSizePerSeverity(newIssues);
-        newIssuesReference = new WeakReference<>(newIssues);
 
         Report fixedIssues = report.getFixedIssues();
         fixedSize = fixedIssues.size();
-        fixedIssuesReference = new WeakReference<>(fixedIssues);
+
+        PartitionedIssues issues = new PartitionedIssues(newIssues, outstandingIssues, fixedIssues);
 
         List<String> aggregatedMessages = new ArrayList<>(allIssues.getInfoMessages().castToList());
 
@@ -209,7 +192,11 @@ public class AnalysisResult implements Serializable {
 
         this.qualityGateStatus = qualityGateStatus;
         if (canSerialize) {
-            serializeAnnotations(outstandingIssues, newIssues, fixedIssues);
+            serializeIssues(issues);
+            ReportCache.getInstance().put(getCacheKey(), issues);
+        }
+        else {
+            unpersistedIssues = issues;
         }
     }
 
@@ -245,7 +232,6 @@ public class AnalysisResult implements Serializable {
      */
     public void setOwner(final Run<?, ?> owner) {
         this.owner = owner;
-        lock = new ReentrantLock();
     }
 
     /**
@@ -269,7 +255,8 @@ public class AnalysisResult implements Serializable {
     }
 
     /**
-     * Returns the serialization file for the fixed warnings.
+     * Returns the XML serialization file of the issues. This format has been used by previous releases, it is
+     * still supported for reading.
      *
      * @param suffix
      *         suffix of the file
@@ -282,24 +269,31 @@ public class AnalysisResult implements Serializable {
                         .replaceAll(Matcher.quoteReplacement(suffix + "-issues.xml"))));
     }
 
-    private String getSerializationFileName() {
-        return id + "-issues.xml";
+    /**
+     * Returns the binary serialization file of the issues.
+     *
+     * @return the serialization file.
+     */
+    private File getBinaryDataFile() {
+        return new File(getOwner().getRootDir(),
+                ISSUES_FILE_NAME.matcher(getSerializationFileName()).replaceAll("issues.bin"));
     }
 
-    private void serializeAnnotations(final Report outstandingIssues,
-            final Report newIssues, final Report fixedIssues) {
-        serializeIssues(outstandingIssues, "outstanding");
-        serializeIssues(newIssues, "new");
-        serializeIssues(fixedIssues, "fixed");
+    private String getSerializationFileName() {
+        return id + "-issues.xml";
     }
 
-    private void serializeIssues(final Report report, final String suffix) {
+    private void serializeIssues(final PartitionedIssues issues) {
+        File dataFile = getBinaryDataFile();
+        File temporaryFile = new File(dataFile.getPath() + ".tmp");
         try {
-            getDataFile(suffix).write(report);
+            try (OutputStream output = Files.newOutputStream(temporaryFile.toPath())) {
+                issues.write(output);
+            }
+            Files.move(temporaryFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
         }
         catch (IOException exception) {
-            LOGGER.log(Level.SEVERE, String.format("Failed to serialize the %s issues of the build.", suffix),
-                    exception);
+            LOGGER.log(Level.SEVERE, "Failed to serialize the issues of the build.", exception);
         }
     }
 
@@ -311,9 +305,7 @@ public class AnalysisResult implements Serializable {
      */
     @Exported
     public Report getIssues() {
-        Report merged = new Report();
-        merged.addAll(getNewIssues(), getOutstandingIssues());
-        return merged;
+        return getPartitionedIssues().getIssues();
     }
 
     /**
@@ -324,8 +316,7 @@ public class AnalysisResult implements Serializable {
      */
     @Exported
     public Report getOutstandingIssues() {
-        return getIssues(AnalysisResult::getOutstandingIssuesReference, AnalysisResult::setOutstandingIssuesReference,
-                "outstanding");
+        return getPartitionedIssues().getOutstandingIssues();
     }
 
     /**
@@ -336,8 +327,7 @@ public class AnalysisResult implements Serializable {
      */
     @Exported
     public Report getNewIssues() {
-        return getIssues(AnalysisResult::getNewIssuesReference, AnalysisResult::setNewIssuesReference,
-                "new");
+        return getPartitionedIssues().getNewIssues();
     }
 
     /**
@@ -348,60 +338,43 @@ public class AnalysisResult implements Serializable {
      */
     @Exported
     public Report getFixedIssues() {
-        return getIssues(AnalysisResult::getFixedIssuesReference, AnalysisResult::setFixedIssuesReference,
-                "fixed");
-    }
-
-    private WeakReference<Report> getOutstandingIssuesReference() {
-        return outstandingIssuesReference;
-    }
-
-    private void setOutstandingIssuesReference(final WeakReference<Report> outstandingIssuesReference) {
-        this.outstandingIssuesReference = outstandingIssuesReference;
-    }
-
-    private WeakReference<Report> getNewIssuesReference() {
-        return newIssuesReference;
+        return getPartitionedIssues().getFixedIssues();
     }
 
-    private void setNewIssuesReference(final WeakReference<Report> newIssuesReference) {
-        this.newIssuesReference = newIssuesReference;
+    private PartitionedIssues getPartitionedIssues() {
+        if (unpersistedIssues != null) {
+            return unpersistedIssues;
+        }
+        return ReportCache.getInstance().get(getCacheKey(), this::readIssues);
     }
 
-    private WeakReference<Report> getFixedIssuesReference() {
-        return fixedIssuesReference;
+    private String getCacheKey() {
+        return getBinaryDataFile().getAbsolutePath();
     }
 
-    private void setFixedIssuesReference(final WeakReference<Report> fixedIssuesReference) {
-        this.fixedIssuesReference = fixedIssuesReference;
-    }
+    private PartitionedIssues readIssues() {
+        File dataFile = getBinaryDataFile();
+        if (dataFile.exists()) {
+            try (InputStream input = Files.newInputStream(dataFile.toPath())) {
+                PartitionedIssues issues = PartitionedIssues.read(input);
 
-    private Report getIssues(final Function<AnalysisResult, WeakReference<Report>> getter,
-            final BiConsumer<AnalysisResult, WeakReference<Report>> setter, final String suffix) {
-        lock.lock();
-        try {
-            if (getter.apply(this) == null) {
-                return readIssues(setter, suffix);
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Loaded data file " + dataFile + " for run " + getOwner());
+                }
+                return issues;
             }
-            Report result = getter.apply(this).get();
-            if (result == null) {
-                return readIssues(setter, suffix);
+            catch (IOException exception) {
+                if (LOGGER.isLoggable(Level.SEVERE)) {
+                    LOGGER.log(Level.SEVERE, "Failed to load " + dataFile, exception);
+                }
+                return new PartitionedIssues(new Report(), new Report(), new Report()); // fallback
             }
-            return result;
         }
-        finally {
-            lock.unlock();
-        }
-    }
 
-    private Report readIssues(final BiConsumer<AnalysisResult, WeakReference<Report>> setter,
-            final String suffix) {
-        Report report = readIssues(suffix);
-        setter.accept(this, new WeakReference<>(report));
-        return report;
+        return new PartitionedIssues(readXmlIssues("new"), readXmlIssues("outstanding"), readXmlIssues("fixed"));
     }
 
-    private Report readIssues(final String suffix) {
+    private Report readXmlIssues(final String suffix) {
         XmlFile dataFile = getDataFile(suffix);
         try {
             Object deserialized = dataFile.read();
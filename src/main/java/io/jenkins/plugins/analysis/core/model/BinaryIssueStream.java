@@ -0,0 +1,440 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import javax.annotation.CheckForNull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.LineRange;
+import edu.hm.hafner.analysis.LineRangeList;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+
+import hudson.util.XStream2;
+
+/**
+ * Reads and writes {@link Report} instances using a compact binary format. Compared to the XML format of {@link
+ * IssueStream} the binary format is several times smaller and faster to read.
+ * <p>
+ * The format starts with a header (magic bytes and a version number) followed by a sequence of reports. All strings of
+ * these reports are stored in a dictionary that is built while writing: the first occurrence of a string is written
+ * inline and all subsequent occurrences just refer to the index of this string in the dictionary. So file names,
+ * categories, types, packages, and modules are stored only once. Line and column numbers are stored as variable length
+ * integers.
+ * </p>
+ * <p>
+ * The {@link Issue#getAdditionalProperties() additional properties} of the issues (e.g., the duplication groups of the
+ * duplicate code scanners) are arbitrary objects, so they are stored using the XML format of {@link IssueStream}: all
+ * additional properties of a report are written as a single XML document, so that objects that are shared by several
+ * issues of a report are stored (and restored) only once.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class BinaryIssueStream {
+    private static final byte[] MAGIC = {'W', 'R', 'P', 'T'};
+    private static final int VERSION = 2;
+    /** First version of the format, without additional properties and duplicates. Can still be read. */
+    private static final int VERSION_WITHOUT_PROPERTIES = 1;
+
+    private static final int NULL_STRING = 0;
+    private static final int NEW_STRING = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Returns whether the specified input starts with the header of the binary format.
+     *
+     * @param header
+     *         the first bytes of the input
+     *
+     * @return {@code true} if the input is in the binary format, {@code false} otherwise
+     */
+    public static boolean isBinaryFormat(final byte[] header) {
+        if (header.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (header[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the specified report to the output stream. The output stream will not be closed.
+     *
+     * @param report
+     *         the report to write
+     * @param output
+     *         the output stream
+     *
+     * @throws IOException
+     *         if the report could not be written
+     */
+    public void write(final Report report, final OutputStream output) throws IOException {
+        writeAll(Collections.singletonList(report), output);
+    }
+
+    /**
+     * Writes the specified sequence of reports to the output stream. The output stream will not be closed. All reports
+     * share the same dictionary of strings.
+     *
+     * @param reports
+     *         the reports to write
+     * @param output
+     *         the output stream
+     *
+     * @throws IOException
+     *         if the reports could not be written
+     */
+    public void writeAll(final List<Report> reports, final OutputStream output) throws IOException {
+        ReportWriter writer = new ReportWriter(new DataOutputStream(new BufferedOutputStream(output, BUFFER_SIZE)));
+        writer.write(reports);
+    }
+
+    /**
+     * Reads a report from the input stream. If the input contains a sequence of reports, then the first report is
+     * returned. The input stream will not be closed.
+     *
+     * @param input
+     *         the input stream
+     *
+     * @return the report
+     * @throws IOException
+     *         if the report could not be read or if the input is not in the binary format
+     */
+    public Report read(final InputStream input) throws IOException {
+        List<Report> reports = readAll(input);
+        if (reports.isEmpty()) {
+            throw new IOException("Input contains no report");
+        }
+        return reports.get(0);
+    }
+
+    /**
+     * Reads the sequence of reports from the input stream. The input stream will not be closed.
+     *
+     * @param input
+     *         the input stream
+     *
+     * @return the reports, in the same order as they have been written
+     * @throws IOException
+     *         if the reports could not be read or if the input is not in the binary format
+     */
+    public List<Report> readAll(final InputStream input) throws IOException {
+        ReportReader reader = new ReportReader(new DataInputStream(new BufferedInputStream(input, BUFFER_SIZE)));
+        return reader.read();
+    }
+
+    /**
+     * Writes a report. Strings are replaced by a reference into the dictionary if they have been written before.
+     */
+    private static class ReportWriter {
+        private final DataOutputStream output;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        @CheckForNull
+        private XStream2 xStream;
+
+        ReportWriter(final DataOutputStream output) {
+            this.output = output;
+        }
+
+        void write(final List<Report> reports) throws IOException {
+            output.write(MAGIC);
+            writeInt(VERSION);
+
+            writeInt(reports.size());
+            for (Report report : reports) {
+                writeReport(report);
+            }
+            output.flush();
+        }
+
+        private void writeReport(final Report report) throws IOException {
+            writeString(report.getId());
+            writeMessages(report.getInfoMessages());
+            writeMessages(report.getErrorMessages());
+            writeInt(report.getDuplicatesSize());
+            writeAdditionalProperties(report);
+
+            writeInt(report.size());
+            for (Issue issue : report) {
+                writeIssue(issue);
+            }
+        }
+
+        private void writeAdditionalProperties(final Report report) throws IOException {
+            Serializable[] properties = new Serializable[report.size()];
+            boolean hasProperties = false;
+            int index = 0;
+            for (Issue issue : report) {
+                properties[index] = issue.getAdditionalProperties();
+                hasProperties |= properties[index] != null;
+                index++;
+            }
+            if (!hasProperties) {
+                writeInt(0);
+                return;
+            }
+
+            if (xStream == null) {
+                xStream = new IssueStream().createStream();
+            }
+            ByteArrayOutputStream xml = new ByteArrayOutputStream();
+            xStream.toXMLUTF8(properties, xml);
+            writeInt(xml.size());
+            xml.writeTo(output);
+        }
+
+        private void writeMessages(final Iterable<String> messages) throws IOException {
+            List<String> all = new ArrayList<>();
+            messages.forEach(all::add);
+            writeInt(all.size());
+            for (String message : all) {
+                writeString(message);
+            }
+        }
+
+        private void writeIssue(final Issue issue) throws IOException {
+            UUID id = issue.getId();
+            output.writeLong(id.getMostSignificantBits());
+            output.writeLong(id.getLeastSignificantBits());
+
+            writeString(issue.getFileName());
+            writeString(issue.getCategory());
+            writeString(issue.getType());
+            writeString(issue.getSeverity().getName());
+            writeString(issue.getMessage());
+            writeString(issue.getDescription());
+            writeString(issue.getPackageName());
+            writeString(issue.getModuleName());
+            writeString(issue.getOrigin());
+            writeString(issue.getReference());
+            writeString(issue.getFingerprint());
+
+            writeSignedInt(issue.getLineStart());
+            writeSignedInt(issue.getLineEnd() - issue.getLineStart());
+            writeSignedInt(issue.getColumnStart());
+            writeSignedInt(issue.getColumnEnd() - issue.getColumnStart());
+
+            LineRangeList lineRanges = issue.getLineRanges();
+            writeInt(lineRanges.size());
+            for (LineRange lineRange : lineRanges) {
+                writeSignedInt(lineRange.getStart());
+                writeSignedInt(lineRange.getEnd() - lineRange.getStart());
+            }
+        }
+
+        private void writeString(@CheckForNull final String value) throws IOException {
+            if (value == null) {
+                writeInt(NULL_STRING);
+                return;
+            }
+
+            Integer index = dictionary.get(value);
+            if (index == null) {
+                dictionary.put(value, dictionary.size());
+
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeInt(NEW_STRING);
+                writeInt(bytes.length);
+                output.write(bytes);
+            }
+            else {
+                writeInt(index + 2);
+            }
+        }
+
+        private void writeSignedInt(final int value) throws IOException {
+            writeInt((value << 1) ^ (value >> 31)); // zig zag encoding
+        }
+
+        private void writeInt(final int value) throws IOException {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                output.writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            output.writeByte(remaining);
+        }
+    }
+
+    /**
+     * Reads a report. Builds the same dictionary of strings as the {@link ReportWriter}.
+     */
+    private static class ReportReader {
+        private final DataInputStream input;
+        private final List<String> dictionary = new ArrayList<>();
+        @CheckForNull
+        private XStream2 xStream;
+        private int version;
+
+        ReportReader(final DataInputStream input) {
+            this.input = input;
+        }
+
+        List<Report> read() throws IOException {
+            byte[] header = new byte[MAGIC.length];
+            input.readFully(header);
+            if (!isBinaryFormat(header)) {
+                throw new IOException("Input is not a binary report");
+            }
+            version = readInt();
+            if (version != VERSION && version != VERSION_WITHOUT_PROPERTIES) {
+                throw new IOException("Unsupported version of binary report: " + version);
+            }
+
+            int count = readInt();
+            List<Report> reports = new ArrayList<>(count);
+            IssueBuilder builder = new IssueBuilder();
+            for (int i = 0; i < count; i++) {
+                reports.add(readReport(builder));
+            }
+            return reports;
+        }
+
+        private Report readReport(final IssueBuilder builder) throws IOException {
+            Report report = new Report();
+            String id = readString();
+            if (id != null) {
+                report.setId(id);
+            }
+            int infoMessages = readInt();
+            for (int i = 0; i < infoMessages; i++) {
+                report.logInfo("%s", readString());
+            }
+            int errorMessages = readInt();
+            for (int i = 0; i < errorMessages; i++) {
+                report.logError("%s", readString());
+            }
+            int duplicates = 0;
+            Serializable[] properties = null;
+            if (version != VERSION_WITHOUT_PROPERTIES) {
+                duplicates = readInt();
+                properties = readAdditionalProperties();
+            }
+
+            int size = readInt();
+            if (properties != null && properties.length != size) {
+                throw new IOException("Number of additional properties does not match number of issues: " + size);
+            }
+            for (int i = 0; i < size; i++) {
+                builder.setAdditionalProperties(properties == null ? null : properties[i]);
+                report.add(readIssue(builder));
+            }
+            if (size > 0) {
+                Issue first = report.get(0);
+                for (int i = 0; i < duplicates; i++) {
+                    report.add(first); // an existing issue is not added again, just counted as duplicate
+                }
+            }
+            return report;
+        }
+
+        @CheckForNull
+        private Serializable[] readAdditionalProperties() throws IOException {
+            int length = readInt();
+            if (length == 0) {
+                return null;
+            }
+
+            byte[] xml = new byte[length];
+            input.readFully(xml);
+            if (xStream == null) {
+                xStream = new IssueStream().createStream();
+            }
+            Object properties = xStream.fromXML(new ByteArrayInputStream(xml));
+            if (properties instanceof Serializable[]) {
+                return (Serializable[]) properties;
+            }
+            throw new IOException("Invalid additional properties of binary report");
+        }
+
+        private Issue readIssue(final IssueBuilder builder) throws IOException {
+            builder.setId(new UUID(input.readLong(), input.readLong()));
+
+            builder.setFileName(readString());
+            builder.setCategory(readString());
+            builder.setType(readString());
+            builder.setSeverity(Severity.valueOf(readString()));
+            builder.setMessage(readString());
+            builder.setDescription(readString());
+            builder.setPackageName(readString());
+            builder.setModuleName(readString());
+            builder.setOrigin(readString());
+            builder.setReference(readString());
+            builder.setFingerprint(readString());
+
+            int lineStart = readSignedInt();
+            builder.setLineStart(lineStart);
+            builder.setLineEnd(lineStart + readSignedInt());
+            int columnStart = readSignedInt();
+            builder.setColumnStart(columnStart);
+            builder.setColumnEnd(columnStart + readSignedInt());
+
+            int lineRangesSize = readInt();
+            LineRangeList lineRanges = new LineRangeList();
+            for (int i = 0; i < lineRangesSize; i++) {
+                int start = readSignedInt();
+                lineRanges.add(new LineRange(start, start + readSignedInt()));
+            }
+            builder.setLineRanges(lineRanges);
+
+            return builder.build();
+        }
+
+        @CheckForNull
+        private String readString() throws IOException {
+            int code = readInt();
+            if (code == NULL_STRING) {
+                return null;
+            }
+            if (code == NEW_STRING) {
+                byte[] bytes = new byte[readInt()];
+                input.readFully(bytes);
+                String value = new String(bytes, StandardCharsets.UTF_8);
+                dictionary.add(value);
+                return value;
+            }
+            int index = code - 2;
+            if (index >= dictionary.size()) {
+                throw new IOException("Invalid reference into the string dictionary: " + index);
+            }
+            return dictionary.get(index);
+        }
+
+        private int readSignedInt() throws IOException {
+            int value = readInt();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private int readInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int current = input.readByte();
+                value |= (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable length integer");
+        }
+    }
+}
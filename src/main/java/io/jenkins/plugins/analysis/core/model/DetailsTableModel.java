@@ -1,7 +1,14 @@
 package io.jenkins.plugins.analysis.core.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
@@ -19,11 +26,15 @@ import static j2html.TagCreator.*;
  *     <li>width for each column</li> 
  *     <li>content for each row</li> 
  *     <li>content for whole table</li> 
+ *     <li>content for a single page of the table (sorted and filtered on the server)</li> 
  * </ul>
  *
  * @author Ullrich Hafner
  */
 public class DetailsTableModel {
+    private static final List<Severity> SEVERITY_ORDER = Arrays.asList(
+            Severity.ERROR, Severity.WARNING_HIGH, Severity.WARNING_NORMAL, Severity.WARNING_LOW);
+
     /**
      * Returns the table headers of the report table.
      *
@@ -101,6 +112,153 @@ public class DetailsTableModel {
         return rows;
     }
 
+    /**
+     * Converts the requested page of the specified set of issues into a table. The issues are filtered and sorted
+     * before the page is extracted, so only the rows of the requested page are rendered. The details column of these
+     * rows does not contain the description of the issue: the description needs to be fetched using {@link
+     * #getDescription(Report, String, DescriptionProvider)} when the details are expanded.
+     *
+     * @param report
+     *         the report to show in the table
+     * @param request
+     *         the requested page
+     * @param ageBuilder
+     *         produces the age of an issue based on the current build number
+     * @param fileNameRenderer
+     *         creates a link to the affected file (if accessible)
+     *
+     * @return the rows of the page
+     */
+    public Page getPage(final Report report, final PageRequest request, final AgeBuilder ageBuilder,
+            final FileNameRenderer fileNameRenderer) {
+        List<Issue> filtered = report.stream()
+                .filter(issue -> matches(issue, request.getSearchTerm()))
+                .collect(Collectors.toList());
+
+        List<Comparator<Issue>> comparators = getComparators(report);
+        int column = request.getSortColumn();
+        if (column >= 0 && column < comparators.size() && comparators.get(column) != null) {
+            Comparator<Issue> comparator = comparators.get(column);
+            filtered.sort(request.isAscending() ? comparator : comparator.reversed());
+        }
+
+        int from = Math.min(Math.max(request.getStart(), 0), filtered.size());
+        int to = request.getLength() < 0 ? filtered.size() : Math.min(from + request.getLength(), filtered.size());
+
+        List<List<String>> rows = new ArrayList<>();
+        for (Issue issue : filtered.subList(from, to)) {
+            List<String> row = getRow(report, issue, ageBuilder, fileNameRenderer, StringUtils.EMPTY);
+            row.set(0, formatLazyDetails(issue));
+            rows.add(row);
+        }
+        return new Page(request.getDraw(), report.size(), filtered.size(), rows);
+    }
+
+    /**
+     * Returns the comparators that sort the rows of the table by the corresponding column. The order of the comparators
+     * must match the order of the {@link #getHeaders(Report) columns}. Columns that cannot be sorted use a {@code null}
+     * comparator.
+     *
+     * @param report
+     *         the report to show in the table
+     *
+     * @return the comparators for each column
+     */
+    protected List<Comparator<Issue>> getComparators(final Report report) {
+        List<Comparator<Issue>> comparators = new ArrayList<>();
+        comparators.add(null);
+        comparators.add(compareFileName());
+        if (report.hasPackages()) {
+            comparators.add(Comparator.comparing(Issue::getPackageName));
+        }
+        if (report.hasCategories()) {
+            comparators.add(Comparator.comparing(Issue::getCategory));
+        }
+        if (report.hasTypes()) {
+            comparators.add(Comparator.comparing(Issue::getType));
+        }
+        comparators.add(compareSeverity());
+        comparators.add(compareAge());
+        return comparators;
+    }
+
+    /**
+     * Compares the issues by their file name and line number.
+     *
+     * @return the comparator
+     */
+    protected Comparator<Issue> compareFileName() {
+        return Comparator.comparing(Issue::getFileName).thenComparingInt(Issue::getLineStart);
+    }
+
+    /**
+     * Compares the issues by their severity, starting with the most severe issues.
+     *
+     * @return the comparator
+     */
+    protected Comparator<Issue> compareSeverity() {
+        return Comparator.comparingInt(issue -> SEVERITY_ORDER.indexOf(issue.getSeverity()));
+    }
+
+    /**
+     * Compares the issues by their age, starting with the youngest issues.
+     *
+     * @return the comparator
+     */
+    protected Comparator<Issue> compareAge() {
+        IntegerParser parser = new IntegerParser();
+        return Comparator.<Issue>comparingInt(issue -> parser.parseInt(issue.getReference())).reversed();
+    }
+
+    /**
+     * Returns whether the specified issue matches the search term of the table. The search term is matched against
+     * all textual properties that are shown in the table.
+     *
+     * @param issue
+     *         the issue to check
+     * @param searchTerm
+     *         the search term
+     *
+     * @return {@code true} if the issue matches, {@code false} otherwise
+     */
+    protected boolean matches(final Issue issue, final String searchTerm) {
+        if (StringUtils.isBlank(searchTerm)) {
+            return true;
+        }
+        return StringUtils.containsIgnoreCase(issue.getFileName(), searchTerm)
+                || StringUtils.containsIgnoreCase(issue.getPackageName(), searchTerm)
+                || StringUtils.containsIgnoreCase(issue.getCategory(), searchTerm)
+                || StringUtils.containsIgnoreCase(issue.getType(), searchTerm)
+                || StringUtils.containsIgnoreCase(issue.getMessage(), searchTerm)
+                || StringUtils.containsIgnoreCase(
+                LocalizedSeverity.getLocalizedString(issue.getSeverity()), searchTerm);
+    }
+
+    /**
+     * Returns the description of the issue with the specified ID, as shown in the expanded details of a row.
+     *
+     * @param report
+     *         the report that contains the issue
+     * @param id
+     *         the ID of the issue
+     * @param descriptionProvider
+     *         provides descriptions for issues (if available)
+     *
+     * @return the description or an empty string if the report does not contain such an issue
+     */
+    public String getDescription(final Report report, final String id, final DescriptionProvider descriptionProvider) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        }
+        catch (IllegalArgumentException exception) {
+            return StringUtils.EMPTY;
+        }
+        Optional<Issue> issue = report.stream().filter(candidate -> uuid.equals(candidate.getId())).findAny();
+        return issue.map(found -> formatDescription(found, descriptionProvider.getDescription(found)))
+                .orElse(StringUtils.EMPTY);
+    }
+
     /**
      * Returns an JSON array that represents the columns of the issues table.
      *
@@ -150,10 +308,30 @@ public class DetailsTableModel {
      */
     protected String formatDetails(final Issue issue, final String description) {
         return div().withClass("details-control")
-                .attr("data-description", join(p(strong(issue.getMessage())), description).render())
+                .attr("data-description", formatDescription(issue, description))
+                .render();
+    }
+
+    /**
+     * Formats the text of the details column for tables that are paged on the server. Rather than the description
+     * itself the ID of the issue is stored in the {@code data-id} attribute, so that the description can be fetched
+     * on demand.
+     *
+     * @param issue
+     *         the issue in a table row
+     *
+     * @return the formatted column
+     */
+    protected String formatLazyDetails(final Issue issue) {
+        return div().withClass("details-control")
+                .attr("data-id", issue.getId().toString())
                 .render();
     }
 
+    private String formatDescription(final Issue issue, final String description) {
+        return join(p(strong(issue.getMessage())), description).render();
+    }
+
     /**
      * Formats the text of the age column. The age shows the number of builds a warning is reported.
      *
@@ -209,4 +387,101 @@ public class DetailsTableModel {
     protected String formatFileName(final Issue issue, final FileNameRenderer fileNameRenderer) {
         return fileNameRenderer.renderAffectedFileLink(issue);
     }
+
+    /**
+     * A request for a single page of the table: the position and size of the page, the column to sort by, and a
+     * search term to filter the rows.
+     */
+    public static class PageRequest {
+        private final int draw;
+        private final int start;
+        private final int length;
+        private final int sortColumn;
+        private final boolean ascending;
+        private final String searchTerm;
+
+        /**
+         * Creates a new instance of {@link PageRequest}.
+         *
+         * @param draw
+         *         counter of the request, will be returned unchanged in the {@link Page}
+         * @param start
+         *         index of the first row of the page
+         * @param length
+         *         number of rows of the page, a negative value selects all remaining rows
+         * @param sortColumn
+         *         index of the column to sort by
+         * @param sortDirection
+         *         the direction to sort by ({@code asc} or {@code desc})
+         * @param searchTerm
+         *         the term to filter the rows by, a blank value selects all rows
+         */
+        public PageRequest(final int draw, final int start, final int length, final int sortColumn,
+                final String sortDirection, final String searchTerm) {
+            this.draw = draw;
+            this.start = start;
+            this.length = length;
+            this.sortColumn = sortColumn;
+            this.ascending = !"desc".equalsIgnoreCase(sortDirection);
+            this.searchTerm = StringUtils.defaultString(searchTerm);
+        }
+
+        public int getDraw() {
+            return draw;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public int getSortColumn() {
+            return sortColumn;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+
+        public String getSearchTerm() {
+            return searchTerm;
+        }
+    }
+
+    /**
+     * A single page of the table, along with the number of all rows and the number of rows that match the search
+     * term.
+     */
+    public static class Page {
+        private final int draw;
+        private final int recordsTotal;
+        private final int recordsFiltered;
+        private final List<List<String>> rows;
+
+        Page(final int draw, final int recordsTotal, final int recordsFiltered, final List<List<String>> rows) {
+            this.draw = draw;
+            this.recordsTotal = recordsTotal;
+            this.recordsFiltered = recordsFiltered;
+            this.rows = rows;
+        }
+
+        public int getDraw() {
+            return draw;
+        }
+
+        public int getRecordsTotal() {
+            return recordsTotal;
+        }
+
+        public int getRecordsFiltered() {
+            return recordsFiltered;
+        }
+
+        public List<List<String>> getRows() {
+            return rows;
+        }
+    }
 }
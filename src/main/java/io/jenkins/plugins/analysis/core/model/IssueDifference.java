@@ -1,6 +1,13 @@
 package io.jenkins.plugins.analysis.core.model;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
@@ -8,6 +15,12 @@ import edu.hm.hafner.analysis.Report;
 /**
  * Computes old, new, and fixed issues based on the reports of two consecutive static analysis runs for the same
  * software artifact.
+ * <p>
+ * The issues of the reference report are indexed by equality and by fingerprint so that each issue of the current
+ * report is matched with a constant number of lookups. Both indexes are multimaps that hold the reference issues in
+ * their original order: a reference issue is matched at most once, so duplicate fingerprints are paired one-to-one
+ * in the same order as a linear scan over the reference report would do.
+ * </p>
  *
  * @author Ullrich Hafner
  */
@@ -28,44 +41,27 @@ public class IssueDifference {
      */
     public IssueDifference(final Report currentIssues, final int currentBuildNumber,
             final Report referenceIssues) {
-        newIssues = currentIssues.copy();
-        fixedIssues = referenceIssues.copy();
         outstandingIssues = new Report();
 
+        ReferenceIndex references = new ReferenceIndex(referenceIssues);
+        Set<UUID> outstandingIds = new HashSet<>();
         for (Issue current : currentIssues) {
-            Optional<Issue> referenceToRemove = findReferenceByEquals(current);
+            Optional<Issue> referenceToRemove = references.matchByEquals(current);
 
             if (!referenceToRemove.isPresent()) {
-                referenceToRemove = findReferenceByFingerprint(current);
+                referenceToRemove = references.matchByFingerprint(current);
             }
 
             if (referenceToRemove.isPresent()) {
-                Issue oldIssue = referenceToRemove.get();
-                Issue issueWithLatestProperties = newIssues.remove(current.getId());
-                issueWithLatestProperties.setReference(oldIssue.getReference());
-                outstandingIssues.add(issueWithLatestProperties);
-                fixedIssues.remove(oldIssue.getId());
+                current.setReference(referenceToRemove.get().getReference());
+                outstandingIssues.add(current);
+                outstandingIds.add(current.getId());
             }
         }
-        newIssues.forEach(issue -> issue.setReference(String.valueOf(currentBuildNumber)));
-    }
 
-    private Optional<Issue> findReferenceByFingerprint(final Issue current) {
-        for (Issue reference : fixedIssues) {
-            if (current.getFingerprint().equals(reference.getFingerprint())) {
-                return Optional.of(reference);
-            }
-        }
-        return Optional.empty();
-    }
-
-    private Optional<Issue> findReferenceByEquals(final Issue current) {
-        for (Issue reference : fixedIssues) {
-            if (current.equals(reference)) {
-                return Optional.of(reference);
-            }
-        }
-        return Optional.empty();
+        newIssues = currentIssues.filter(issue -> !outstandingIds.contains(issue.getId()));
+        newIssues.forEach(issue -> issue.setReference(String.valueOf(currentBuildNumber)));
+        fixedIssues = referenceIssues.filter(issue -> !references.isMatched(issue));
     }
 
     /**
@@ -97,5 +93,48 @@ public class IssueDifference {
     public Report getFixedIssues() {
         return fixedIssues;
     }
-}
 
+    /**
+     * Indexes the issues of the reference report by equality and by fingerprint. Each bucket contains the reference
+     * issues in the order of the reference report. Matched issues are not removed from the buckets eagerly, they are
+     * skipped (and dropped) on the next lookup of the same bucket.
+     */
+    private static class ReferenceIndex {
+        private final Map<Issue, Deque<Issue>> byEquals = new HashMap<>();
+        private final Map<String, Deque<Issue>> byFingerprint = new HashMap<>();
+        private final Set<UUID> matched = new HashSet<>();
+
+        ReferenceIndex(final Report referenceIssues) {
+            for (Issue reference : referenceIssues) {
+                byEquals.computeIfAbsent(reference, key -> new ArrayDeque<>()).add(reference);
+                byFingerprint.computeIfAbsent(reference.getFingerprint(), key -> new ArrayDeque<>()).add(reference);
+            }
+        }
+
+        Optional<Issue> matchByEquals(final Issue current) {
+            return match(byEquals, current);
+        }
+
+        Optional<Issue> matchByFingerprint(final Issue current) {
+            return match(byFingerprint, current.getFingerprint());
+        }
+
+        boolean isMatched(final Issue reference) {
+            return matched.contains(reference.getId());
+        }
+
+        private <K> Optional<Issue> match(final Map<K, Deque<Issue>> index, final K key) {
+            Deque<Issue> candidates = index.get(key);
+            if (candidates == null) {
+                return Optional.empty();
+            }
+            while (!candidates.isEmpty()) {
+                Issue candidate = candidates.poll();
+                if (matched.add(candidate.getId())) {
+                    return Optional.of(candidate);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+}
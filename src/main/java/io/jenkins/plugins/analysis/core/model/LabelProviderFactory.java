@@ -7,10 +7,10 @@ import org.apache.commons.lang3.StringUtils;
 
 import edu.hm.hafner.util.VisibleForTesting;
 import io.jenkins.plugins.analysis.core.JenkinsFacade;
-import io.jenkins.plugins.analysis.core.model.StaticAnalysisTool.StaticAnalysisToolDescriptor;
 
-import hudson.DescriptorExtensionList;
 import hudson.ExtensionPoint;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
 
 /**
  * Creates {@link StaticAnalysisLabelProvider} instances based on a provided ID and name.
@@ -18,18 +18,37 @@ import hudson.ExtensionPoint;
  * @author Ullrich Hafner
  */
 public class LabelProviderFactory {
-    private final JenkinsFacade jenkins;
+    private static final LabelProviderRegistry REGISTRY = new LabelProviderRegistry(new JenkinsFacade());
+
+    private final LabelProviderRegistry registry;
 
     /**
      * Creates a new instance of {@link LabelProviderFactory}.
      */
     public LabelProviderFactory() {
-        this(new JenkinsFacade());
+        registry = REGISTRY;
     }
 
     @VisibleForTesting
     LabelProviderFactory(final JenkinsFacade jenkins) {
-        this.jenkins = jenkins;
+        registry = new LabelProviderRegistry(jenkins);
+    }
+
+    /**
+     * Removes all cached label providers. This method needs to be called if the set of available static analysis tools
+     * has been changed without changing the registered extensions, e.g. if the tools of a {@link
+     * StaticAnalysisToolFactory} have been reconfigured.
+     */
+    public static void invalidate() {
+        REGISTRY.invalidate();
+    }
+
+    /**
+     * Removes all cached label providers when Jenkins has been started.
+     */
+    @Initializer(after = InitMilestone.EXTENSIONS_AUGMENTED)
+    public static void resetRegistry() {
+        REGISTRY.reset();
     }
 
     /**
@@ -46,7 +65,8 @@ public class LabelProviderFactory {
     }
 
     /**
-     * Finds the label provider for the static analysis tool with the specified ID.
+     * Finds the label provider for the static analysis tool with the specified ID. The returned label provider is
+     * cached and shared with other callers, so it must not be modified.
      *
      * @param id
      *         the ID of the tool to find
@@ -57,30 +77,7 @@ public class LabelProviderFactory {
      *         provider is returned.
      */
     public StaticAnalysisLabelProvider create(final String id, @CheckForNull final String name) {
-        DescriptorExtensionList<StaticAnalysisTool, StaticAnalysisToolDescriptor> extensions
-                = jenkins.getDescriptorsFor(StaticAnalysisTool.class);
-        for (StaticAnalysisToolDescriptor descriptor : extensions) {
-            if (descriptor.getId().equals(id)) {
-                return createNamedLabelProvider(descriptor.getLabelProvider(), name);
-            }
-        }
-
-        List<StaticAnalysisToolFactory> factories = jenkins.getExtensionsFor(StaticAnalysisToolFactory.class);
-        for (StaticAnalysisToolFactory factory : factories) {
-            for (StaticAnalysisTool tool : factory.getTools()) {
-                if (tool.getId().equals(id)) {
-                    return createNamedLabelProvider(tool.getLabelProvider(), name);
-                }
-            }
-        }
-
-        return new StaticAnalysisLabelProvider(id, name);
-    }
-
-    private StaticAnalysisLabelProvider createNamedLabelProvider(
-            final StaticAnalysisLabelProvider labelProvider, final String name) {
-        labelProvider.setName(name);
-        return labelProvider;
+        return registry.get(id, name);
     }
 
     /**
@@ -0,0 +1,177 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.jenkins.plugins.analysis.core.JenkinsFacade;
+import io.jenkins.plugins.analysis.core.model.LabelProviderFactory.StaticAnalysisToolFactory;
+import io.jenkins.plugins.analysis.core.model.StaticAnalysisTool.StaticAnalysisToolDescriptor;
+
+import hudson.ExtensionList;
+import hudson.ExtensionListListener;
+
+/**
+ * Registry of the {@link StaticAnalysisLabelProvider label providers} of all registered static analysis tools. The
+ * registry indexes the tools by ID, so the descriptors and {@link StaticAnalysisToolFactory tool factories} need to
+ * be scanned only once. The index is rebuilt if one of the extension lists changes or if the registry has been
+ * {@link #invalidate() invalidated} explicitly.
+ * <p>
+ * The registry caches a label provider for each combination of ID and name. These label providers are shared by all
+ * callers, so their names cannot be changed anymore.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+class LabelProviderRegistry {
+    private final JenkinsFacade jenkins;
+    private final Map<ProviderKey, StaticAnalysisLabelProvider> providers = new ConcurrentHashMap<>();
+    private final ExtensionListListener listener = new InvalidationListener();
+
+    private volatile Map<String, Supplier<StaticAnalysisLabelProvider>> index;
+    private boolean isListening;
+
+    LabelProviderRegistry(final JenkinsFacade jenkins) {
+        this.jenkins = jenkins;
+    }
+
+    /**
+     * Returns the label provider for the static analysis tool with the specified ID.
+     *
+     * @param id
+     *         the ID of the tool to find
+     * @param name
+     *         the name of the tool (might be empty or null)
+     *
+     * @return The label provider of the selected static analysis tool. If the tool is not found then a default label
+     *         provider is returned.
+     */
+    StaticAnalysisLabelProvider get(final String id, final String name) {
+        ProviderKey key = new ProviderKey(id, StringUtils.defaultString(name));
+        StaticAnalysisLabelProvider cached = providers.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // create outside of computeIfAbsent: building the index requires the monitor of the registry
+        StaticAnalysisLabelProvider created = create(key, getIndex());
+        StaticAnalysisLabelProvider existing = providers.putIfAbsent(key, created);
+        if (existing == null) {
+            return created;
+        }
+        return existing;
+    }
+
+    private StaticAnalysisLabelProvider create(final ProviderKey key,
+            final Map<String, Supplier<StaticAnalysisLabelProvider>> tools) {
+        Supplier<StaticAnalysisLabelProvider> source = tools.get(key.id);
+        if (source == null) {
+            return new StaticAnalysisLabelProvider(key.id, key.name).share();
+        }
+        return source.get().setName(key.name).share();
+    }
+
+    /**
+     * Removes all cached label providers. The index of the tools will be rebuilt on the next access.
+     */
+    synchronized void invalidate() {
+        index = null;
+        providers.clear();
+    }
+
+    /**
+     * Removes all cached label providers and stops listening to the extension lists. Needs to be called if Jenkins has
+     * been started, since the extension lists will be replaced in this case.
+     */
+    synchronized void reset() {
+        invalidate();
+        isListening = false;
+    }
+
+    private Map<String, Supplier<StaticAnalysisLabelProvider>> getIndex() {
+        Map<String, Supplier<StaticAnalysisLabelProvider>> current = index;
+        if (current == null) {
+            return createIndex();
+        }
+        return current;
+    }
+
+    private synchronized Map<String, Supplier<StaticAnalysisLabelProvider>> createIndex() {
+        if (index != null) {
+            return index;
+        }
+
+        Map<String, Supplier<StaticAnalysisLabelProvider>> tools = new HashMap<>();
+
+        List<StaticAnalysisToolDescriptor> descriptors = jenkins.getDescriptorsFor(StaticAnalysisTool.class);
+        for (StaticAnalysisToolDescriptor descriptor : descriptors) {
+            tools.putIfAbsent(descriptor.getId(), descriptor::getLabelProvider);
+        }
+
+        List<StaticAnalysisToolFactory> factories = jenkins.getExtensionsFor(StaticAnalysisToolFactory.class);
+        for (StaticAnalysisToolFactory factory : factories) {
+            for (StaticAnalysisTool tool : factory.getTools()) {
+                tools.putIfAbsent(tool.getId(), tool::getLabelProvider);
+            }
+        }
+
+        if (!isListening) {
+            listenTo(descriptors);
+            listenTo(factories);
+            isListening = true;
+        }
+        index = tools;
+        return tools;
+    }
+
+    private void listenTo(final List<?> extensions) {
+        if (extensions instanceof ExtensionList) {
+            ((ExtensionList<?>) extensions).addListener(listener);
+        }
+    }
+
+    /**
+     * Invalidates the registry if the extensions change, e.g. if a plug-in has been installed dynamically.
+     */
+    private class InvalidationListener extends ExtensionListListener {
+        @Override
+        public void onChange() {
+            invalidate();
+        }
+    }
+
+    /**
+     * Key of a cached label provider.
+     */
+    private static class ProviderKey {
+        private final String id;
+        private final String name;
+
+        ProviderKey(final String id, final String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ProviderKey that = (ProviderKey) o;
+            return id.equals(that.id) && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, name);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Report;
+
+/**
+ * The issues of a static analysis result, partitioned into new, outstanding, and fixed issues. Each issue is part of
+ * exactly one partition. The partitions and the union of new and outstanding issues are views that share the same
+ * {@link Issue} instances: they are created only once, when the issues are read.
+ * <p>
+ * The issues are persisted as a single sequence of issues using the {@link BinaryIssueStream}: the partitions are
+ * written one after the other, so the index of the partitions simply consists of the size of each partition. Since
+ * the binary format stores the additional properties of the issues as well (e.g., the duplication groups of duplicate
+ * code warnings), no information of the XML format of previous releases is lost.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+class PartitionedIssues {
+    /** Estimated memory of an issue without its message and description (object headers, fields, line ranges). */
+    private static final int ISSUE_OVERHEAD = 320;
+    /** Estimated memory of a reference to an issue in a report. */
+    private static final int REFERENCE_OVERHEAD = 48;
+
+    private final Report newIssues;
+    private final Report outstandingIssues;
+    private final Report fixedIssues;
+    private final Report issues;
+
+    /**
+     * Reads the partitioned issues from the specified input.
+     *
+     * @param input
+     *         the input stream to read from
+     *
+     * @return the partitioned issues
+     * @throws IOException
+     *         if the issues could not be read
+     */
+    static PartitionedIssues read(final InputStream input) throws IOException {
+        List<Report> partitions = new BinaryIssueStream().readAll(input);
+        if (partitions.size() != 3) {
+            throw new IOException("Invalid number of partitions: " + partitions.size());
+        }
+        return new PartitionedIssues(partitions.get(0), partitions.get(1), partitions.get(2));
+    }
+
+    /**
+     * Creates a new instance of {@link PartitionedIssues}.
+     *
+     * @param newIssues
+     *         the new issues
+     * @param outstandingIssues
+     *         the outstanding issues
+     * @param fixedIssues
+     *         the fixed issues
+     */
+    PartitionedIssues(final Report newIssues, final Report outstandingIssues, final Report fixedIssues) {
+        this.newIssues = newIssues;
+        this.outstandingIssues = outstandingIssues;
+        this.fixedIssues = fixedIssues;
+
+        issues = new Report();
+        issues.addAll(newIssues, outstandingIssues);
+    }
+
+    /**
+     * Writes the partitioned issues to the specified output.
+     *
+     * @param output
+     *         the output stream to write to
+     *
+     * @throws IOException
+     *         if the issues could not be written
+     */
+    void write(final OutputStream output) throws IOException {
+        new BinaryIssueStream().writeAll(Arrays.asList(newIssues, outstandingIssues, fixedIssues), output);
+    }
+
+    /**
+     * Returns all issues, i.e. the union of the new and outstanding issues.
+     *
+     * @return all issues
+     */
+    Report getIssues() {
+        return issues;
+    }
+
+    /**
+     * Returns the estimated memory that is required by the issues (in bytes). Strings that are shared by several
+     * issues (file names, packages, modules, categories, and types) are ignored in this estimation.
+     *
+     * @return the estimated memory
+     */
+    long estimateMemory() {
+        return estimateMemory(newIssues) + estimateMemory(outstandingIssues) + estimateMemory(fixedIssues)
+                + (long) issues.size() * REFERENCE_OVERHEAD;
+    }
+
+    private long estimateMemory(final Report report) {
+        long memory = 0;
+        for (Issue issue : report) {
+            memory += ISSUE_OVERHEAD + REFERENCE_OVERHEAD
+                    + 2L * (issue.getMessage().length() + issue.getDescription().length());
+        }
+        return memory;
+    }
+
+    Report getNewIssues() {
+        return newIssues;
+    }
+
+    Report getOutstandingIssues() {
+        return outstandingIssues;
+    }
+
+    Report getFixedIssues() {
+        return fixedIssues;
+    }
+}
@@ -0,0 +1,313 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.hm.hafner.util.VisibleForTesting;
+
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+
+/**
+ * Controller wide cache for the issues of {@link AnalysisResult analysis results} that have been loaded from disk. The
+ * cache is bounded by a budget of bytes: the memory of each entry is estimated using the number and size of the
+ * contained issues. If the budget is exceeded, then the least recently used entries are evicted. The budget can be
+ * configured using the system property {@code io.jenkins.plugins.analysis.core.model.ReportCache.maximumSize} (in
+ * megabytes). The entries are identified by the absolute path of the file that has been loaded, the entries of a
+ * build are removed when the build is deleted.
+ * <p>
+ * Concurrent loads of the same entry are merged: only the first thread reads the file, all other threads wait for the
+ * result of this thread.
+ * </p>
+ * <p>
+ * The {@link #getStatistics() statistics} of the cache are logged with level {@code FINE} whenever an entry has been
+ * loaded, so they can be inspected by adding a log recorder for this class.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class ReportCache {
+    private static final Logger LOGGER = Logger.getLogger(ReportCache.class.getName());
+
+    private static final long MEGA_BYTE = 1024 * 1024;
+    private static final long DEFAULT_MAXIMUM_SIZE = 256;
+    private static final ReportCache INSTANCE = new ReportCache(
+            Long.getLong(ReportCache.class.getName() + ".maximumSize", DEFAULT_MAXIMUM_SIZE) * MEGA_BYTE);
+
+    private final long maximumWeight;
+    private final LinkedHashMap<String, CachedIssues> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<PartitionedIssues>> loading = new ConcurrentHashMap<>();
+    private long weight;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong loadTime = new AtomicLong();
+
+    /**
+     * Returns the singleton instance of the cache.
+     *
+     * @return the cache
+     */
+    public static ReportCache getInstance() {
+        return INSTANCE;
+    }
+
+    @VisibleForTesting
+    ReportCache(final long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * Returns the cached issues for the specified key. If the issues are not in the cache, then they will be loaded
+     * using the specified loader and stored in the cache.
+     *
+     * @param key
+     *         the key of the issues
+     * @param loader
+     *         the loader that reads the issues if they are not in the cache
+     *
+     * @return the issues
+     */
+    PartitionedIssues get(final String key, final Supplier<PartitionedIssues> loader) {
+        PartitionedIssues cached = getIfPresent(key);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return cached;
+        }
+
+        CompletableFuture<PartitionedIssues> load = new CompletableFuture<>();
+        CompletableFuture<PartitionedIssues> running = loading.putIfAbsent(key, load);
+        if (running != null) {
+            hitCount.incrementAndGet();
+            return waitFor(running);
+        }
+
+        try {
+            cached = getIfPresent(key); // might have been loaded in the meantime
+            if (cached == null) {
+                missCount.incrementAndGet();
+                long start = System.nanoTime();
+                cached = loader.get();
+                loadTime.addAndGet(System.nanoTime() - start);
+                put(key, cached);
+
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Loaded issues " + key + " into cache: " + getStatistics());
+                }
+            }
+            load.complete(cached);
+            return cached;
+        }
+        catch (RuntimeException exception) {
+            load.completeExceptionally(exception);
+            throw exception;
+        }
+        finally {
+            loading.remove(key, load);
+        }
+    }
+
+    private PartitionedIssues waitFor(final CompletableFuture<PartitionedIssues> running) {
+        try {
+            return running.get();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for issues", exception);
+        }
+        catch (ExecutionException exception) {
+            throw new IllegalStateException("Loading of issues failed", exception.getCause());
+        }
+    }
+
+    private synchronized PartitionedIssues getIfPresent(final String key) {
+        CachedIssues entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        return entry.issues;
+    }
+
+    /**
+     * Stores the specified issues in the cache. If the cache already contains issues for the key, then these issues
+     * will be replaced.
+     *
+     * @param key
+     *         the key of the issues
+     * @param issues
+     *         the issues to cache
+     */
+    synchronized void put(final String key, final PartitionedIssues issues) {
+        CachedIssues previous = entries.put(key, new CachedIssues(issues));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entries.get(key).weight;
+
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Entry<String, CachedIssues>> iterator = entries.entrySet().iterator();
+        while (weight > maximumWeight && entries.size() > 1 && iterator.hasNext()) {
+            Entry<String, CachedIssues> eldest = iterator.next();
+            weight -= eldest.getValue().weight;
+            iterator.remove();
+            evictionCount.incrementAndGet();
+
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Evicted issues " + eldest.getKey() + " from cache");
+            }
+        }
+    }
+
+    /**
+     * Removes all entries of files in the specified directory (or one of its sub directories) from the cache.
+     *
+     * @param directory
+     *         the directory
+     */
+    synchronized void invalidate(final File directory) {
+        String prefix = directory.getAbsolutePath() + File.separator;
+        Iterator<Entry<String, CachedIssues>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<String, CachedIssues> entry = iterator.next();
+            if (entry.getKey().startsWith(prefix)) {
+                weight -= entry.getValue().weight;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Returns statistics about the usage of this cache.
+     *
+     * @return the statistics
+     */
+    public synchronized Statistics getStatistics() {
+        return new Statistics(entries.size(), weight, maximumWeight, hitCount.get(), missCount.get(),
+                evictionCount.get(), loadTime.get());
+    }
+
+    /**
+     * Removes the issues of builds that will be deleted from the cache.
+     */
+    @Extension
+    public static class DeletionListener extends RunListener<Run<?, ?>> {
+        @Override
+        public void onDeleted(final Run<?, ?> run) {
+            getInstance().invalidate(run.getRootDir());
+        }
+    }
+
+    /**
+     * Cached issues along with their estimated memory.
+     */
+    private static class CachedIssues {
+        private final PartitionedIssues issues;
+        private final long weight;
+
+        CachedIssues(final PartitionedIssues issues) {
+            this.issues = issues;
+            weight = issues.estimateMemory();
+        }
+    }
+
+    /**
+     * Statistics about the usage of the {@link ReportCache}.
+     */
+    public static class Statistics {
+        private final int size;
+        private final long weight;
+        private final long maximumWeight;
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final long totalLoadTime;
+
+        Statistics(final int size, final long weight, final long maximumWeight,
+                final long hitCount, final long missCount, final long evictionCount, final long totalLoadTime) {
+            this.size = size;
+            this.weight = weight;
+            this.maximumWeight = maximumWeight;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.totalLoadTime = totalLoadTime;
+        }
+
+        /**
+         * Returns the number of cached entries.
+         *
+         * @return the number of entries
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Returns the estimated memory of all cached entries (in bytes).
+         *
+         * @return the estimated memory
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        /**
+         * Returns the budget of the cache (in bytes).
+         *
+         * @return the budget
+         */
+        public long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * Returns the total time spent loading entries (in nanoseconds).
+         *
+         * @return the total load time
+         */
+        public long getTotalLoadTime() {
+            return totalLoadTime;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d entries (%d of %d bytes), %d hits, %d misses, %d evictions, %d ms loading",
+                    size, weight, maximumWeight, hitCount, missCount, evictionCount, totalLoadTime / 1_000_000);
+        }
+    }
+}
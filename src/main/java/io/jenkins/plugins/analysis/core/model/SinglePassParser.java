@@ -0,0 +1,230 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import edu.hm.hafner.analysis.AbstractParser;
+import edu.hm.hafner.analysis.ParsingCanceledException;
+import edu.hm.hafner.analysis.ParsingException;
+import edu.hm.hafner.analysis.Report;
+
+/**
+ * Parses a file (or the content of a reader) with several parsers but reads and decodes the input only once. The
+ * decoded characters are distributed in chunks to all parsers, each parser runs in its own thread and consumes the
+ * chunks using a {@link Reader}. So line parsers and document parsers see exactly the same input as if they had read
+ * the file on their own. The reports of the individual parsers are aggregated in the order of the parsers.
+ *
+ * @author Ullrich Hafner
+ */
+class SinglePassParser {
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int OFFER_TIMEOUT = 100;
+
+    private final List<AbstractParser> parsers;
+
+    /**
+     * Creates a new instance of {@link SinglePassParser}.
+     *
+     * @param parsers
+     *         the parsers to use to scan the input file
+     */
+    SinglePassParser(final List<AbstractParser> parsers) {
+        this.parsers = new ArrayList<>(parsers);
+    }
+
+    /**
+     * Parses the specified file with all parsers.
+     *
+     * @param file
+     *         the file to parse
+     * @param charset
+     *         the encoding of the file
+     * @param preProcessor
+     *         pre processor that will be applied by each parser on the lines of the file
+     *
+     * @return the aggregated issues of all parsers
+     * @throws ParsingException
+     *         if the file could not be read or one of the parsers failed
+     * @throws ParsingCanceledException
+     *         if the parsing has been interrupted
+     */
+    Report parse(final File file, final Charset charset, final Function<String, String> preProcessor) {
+        try (Reader input = new InputStreamReader(new FileInputStream(file), charset)) {
+            return parse(input, preProcessor);
+        }
+        catch (IOException exception) {
+            throw new ParsingException(exception, "Can't scan file for issues: %s", file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Parses the content of the specified reader with all parsers.
+     *
+     * @param input
+     *         the input to parse
+     * @param preProcessor
+     *         pre processor that will be applied by each parser on the lines of the input
+     *
+     * @return the aggregated issues of all parsers
+     * @throws ParsingException
+     *         if the input could not be read or one of the parsers failed
+     * @throws ParsingCanceledException
+     *         if the parsing has been interrupted
+     */
+    Report parse(final Reader input, final Function<String, String> preProcessor) {
+        List<ChunkReader> readers = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(parsers.size());
+        try {
+            List<Future<Report>> results = new ArrayList<>();
+            for (AbstractParser parser : parsers) {
+                ChunkReader reader = new ChunkReader();
+                readers.add(reader);
+                results.add(executor.submit(() -> parse(parser, reader, preProcessor)));
+            }
+
+            distribute(input, readers);
+
+            Report aggregated = new Report();
+            for (Future<Report> result : results) {
+                aggregated.addAll(getReport(result));
+            }
+            return aggregated;
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            throw new ParsingCanceledException();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Report parse(final AbstractParser parser, final ChunkReader reader,
+            final Function<String, String> preProcessor) throws IOException {
+        try (ChunkReader input = reader) {
+            return parser.parse(input, preProcessor);
+        }
+    }
+
+    private void distribute(final Reader input, final List<ChunkReader> readers) throws InterruptedException {
+        try {
+            while (true) {
+                char[] chunk = new char[CHUNK_SIZE];
+                int length = input.read(chunk);
+                if (length < 0) {
+                    break;
+                }
+                for (ChunkReader reader : readers) {
+                    reader.offer(CharBuffer.wrap(chunk, 0, length));
+                }
+            }
+        }
+        catch (IOException exception) {
+            throw new ParsingException(exception, "Can't read the input of the parsers");
+        }
+        finally {
+            for (ChunkReader reader : readers) {
+                reader.offer(ChunkReader.END_OF_INPUT);
+            }
+        }
+    }
+
+    private Report getReport(final Future<Report> result) throws InterruptedException {
+        try {
+            return result.get();
+        }
+        catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ParsingException(cause, "Parsing failed due to an exception");
+        }
+    }
+
+    /**
+     * A {@link Reader} that reads the chunks of characters that are provided by another thread. Once the reader is
+     * closed, all remaining and following chunks will be discarded.
+     */
+    private static class ChunkReader extends Reader {
+        static final CharBuffer END_OF_INPUT = CharBuffer.allocate(0);
+
+        private final BlockingQueue<CharBuffer> chunks = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private volatile boolean isClosed;
+
+        private CharBuffer current = CharBuffer.allocate(0);
+        private boolean isFinished;
+
+        /**
+         * Appends the specified chunk to the input of this reader. Blocks if the parser of this reader cannot keep up
+         * with the producer.
+         *
+         * @param chunk
+         *         the chunk to add
+         *
+         * @throws InterruptedException
+         *         if the producer has been interrupted
+         */
+        void offer(final CharBuffer chunk) throws InterruptedException {
+            while (!isClosed) {
+                if (chunks.offer(chunk, OFFER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (!current.hasRemaining()) {
+                if (isFinished) {
+                    return -1;
+                }
+                current = take();
+                if (current == END_OF_INPUT) {
+                    isFinished = true;
+                }
+            }
+            int count = Math.min(length, current.remaining());
+            current.get(buffer, offset, count);
+            return count;
+        }
+
+        private CharBuffer take() throws InterruptedIOException {
+            try {
+                return chunks.take();
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+
+                throw new InterruptedIOException("Parsing has been interrupted");
+            }
+        }
+
+        @Override
+        public void close() {
+            isClosed = true;
+            chunks.clear();
+        }
+    }
+}
@@ -12,6 +12,8 @@ import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.util.VisibleForTesting;
 import io.jenkins.plugins.analysis.core.JenkinsFacade;
+import io.jenkins.plugins.analysis.core.model.DetailsTableModel.Page;
+import io.jenkins.plugins.analysis.core.model.DetailsTableModel.PageRequest;
 import io.jenkins.plugins.analysis.core.quality.QualityGateStatus;
 import static j2html.TagCreator.*;
 import j2html.tags.ContainerTag;
@@ -40,6 +42,7 @@ public class StaticAnalysisLabelProvider implements DescriptionProvider {
     @CheckForNull
     private String name;
     private final JenkinsFacade jenkins;
+    private boolean isShared;
 
     /**
      * Creates a new {@link StaticAnalysisLabelProvider} with the specified ID.
@@ -126,6 +129,50 @@ public class StaticAnalysisLabelProvider implements DescriptionProvider {
         return data;
     }
 
+    /**
+     * Converts the requested page of the specified set of issues into a table. The result follows the server-side
+     * processing protocol of DataTables.
+     *
+     * @param report
+     *         the report to show in the table
+     * @param request
+     *         the requested page
+     * @param ageBuilder
+     *         produces the age of an issue based on the current build number
+     * @param fileNameRenderer
+     *         creates a link to the affected file (if accessible)
+     *
+     * @return the page of the table as JSON object
+     */
+    public JSONObject toJsonPage(final Report report, final PageRequest request, final AgeBuilder ageBuilder,
+            final FileNameRenderer fileNameRenderer) {
+        Page page = createTableModel().getPage(report, request, ageBuilder, fileNameRenderer);
+
+        JSONArray rows = new JSONArray();
+        rows.addAll(page.getRows());
+        JSONObject data = new JSONObject();
+        data.put("draw", page.getDraw());
+        data.put("recordsTotal", page.getRecordsTotal());
+        data.put("recordsFiltered", page.getRecordsFiltered());
+        data.put("data", rows);
+        return data;
+    }
+
+    /**
+     * Returns the description of the issue with the specified ID, as shown in the expanded details of the issues
+     * table.
+     *
+     * @param report
+     *         the report that contains the issue
+     * @param id
+     *         the ID of the issue
+     *
+     * @return the description
+     */
+    public String getDescription(final Report report, final String id) {
+        return createTableModel().getDescription(report, id, this);
+    }
+
     @VisibleForTesting
     String getDefaultName() {
         return Messages.Tool_Default_Name();
@@ -157,8 +204,13 @@ public class StaticAnalysisLabelProvider implements DescriptionProvider {
      * 
      * @param name the name of the tool
      * @return the name
+     * @throws UnsupportedOperationException
+     *         if this label provider is shared by several callers and must not be modified
      */
     public StaticAnalysisLabelProvider setName(@CheckForNull final String name) {
+        if (isShared) {
+            throw new UnsupportedOperationException("Name of shared label provider " + this + " cannot be changed");
+        }
         if (StringUtils.isNotBlank(name)) { // don't overwrite with empty
             this.name = name;
         }
@@ -166,6 +218,18 @@ public class StaticAnalysisLabelProvider implements DescriptionProvider {
         return this;
     }
 
+    /**
+     * Marks this label provider as shared by several callers. The name of a shared label provider cannot be changed
+     * anymore.
+     *
+     * @return this
+     */
+    StaticAnalysisLabelProvider share() {
+        isShared = true;
+
+        return this;
+    }
+
     @Override
     public String toString() {
         return String.format("%s: %s", getId(), getName());
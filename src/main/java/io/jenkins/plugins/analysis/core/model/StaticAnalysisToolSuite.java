@@ -1,6 +1,9 @@
 package io.jenkins.plugins.analysis.core.model;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -8,20 +11,36 @@ import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 
+import org.apache.commons.io.IOUtils;
+
 import edu.hm.hafner.analysis.AbstractParser;
 import edu.hm.hafner.analysis.IssueParser;
+import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.Report;
 
 /**
  * A {@link StaticAnalysisTool} that is composed of several tools. Every parser of this suite will be called on the
- * input file, the results will be aggregated afterwards.
+ * input file, the results will be aggregated afterwards. If the suite {@link #canParseInSinglePass() supports} it, then
+ * the input file is read and decoded only once and the content is distributed to all parsers.
  *
  * @author Ullrich Hafner
  */
 public abstract class StaticAnalysisToolSuite extends StaticAnalysisTool {
     @Override
     public IssueParser createParser() {
-        return new CompositeParser(getParsers());
+        return new CompositeParser(getParsers(), canParseInSinglePass());
+    }
+
+    /**
+     * Returns whether the parsers of this suite can share a single pass over the input file. Then the file is read and
+     * decoded only once and all parsers consume the same characters concurrently. Suites should enable this mode if
+     * their parsers scan large log files (e.g., the console log).
+     *
+     * @return {@code true} if the input file should be read only once, {@code false} if each parser should read the
+     *         input file on its own
+     */
+    protected boolean canParseInSinglePass() {
+        return false;
     }
 
     /**
@@ -51,28 +70,59 @@ public abstract class StaticAnalysisToolSuite extends StaticAnalysisTool {
      *
      * @author Ullrich Hafner
      */
-    private static class CompositeParser extends IssueParser {
+    private static class CompositeParser extends AbstractParser {
         private final List<AbstractParser> parsers = new ArrayList<>();
+        private final boolean isSinglePass;
 
         /**
          * Creates a new instance of {@link CompositeParser}.
          *
          * @param parsers
          *         the parsers to use to scan the input files
+         * @param isSinglePass
+         *         determines whether the input file should be read only once
          */
-        CompositeParser(final Collection<? extends AbstractParser> parsers) {
+        CompositeParser(final Collection<? extends AbstractParser> parsers, final boolean isSinglePass) {
             super();
 
             this.parsers.addAll(parsers);
+            this.isSinglePass = isSinglePass;
         }
 
         @Override
         public Report parse(final File file, final Charset charset, final Function<String, String> preProcessor) {
+            if (isSinglePass && parsers.size() > 1) {
+                return new SinglePassParser(parsers).parse(file, charset, preProcessor);
+            }
+
             Report aggregated = new Report();
             for (AbstractParser parser : parsers) {
                 aggregated.addAll(parser.parse(file, charset, preProcessor));
             }
             return aggregated;
         }
+
+        @Override
+        public Report parse(final Reader reader, final Function<String, String> preProcessor) {
+            if (isSinglePass && parsers.size() > 1) {
+                return new SinglePassParser(parsers).parse(reader, preProcessor);
+            }
+
+            String content = read(reader);
+            Report aggregated = new Report();
+            for (AbstractParser parser : parsers) {
+                aggregated.addAll(parser.parse(new StringReader(content), preProcessor));
+            }
+            return aggregated;
+        }
+
+        private String read(final Reader reader) {
+            try {
+                return IOUtils.toString(reader);
+            }
+            catch (IOException exception) {
+                throw new ParsingException(exception, "Can't read the input of the parsers");
+            }
+        }
     }
 }
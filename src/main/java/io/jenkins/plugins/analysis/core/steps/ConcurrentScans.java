@@ -0,0 +1,119 @@
+package io.jenkins.plugins.analysis.core.steps;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.hm.hafner.analysis.Report;
+
+import hudson.model.TaskListener;
+import hudson.util.StreamTaskListener;
+
+/**
+ * Scans several static analysis tools concurrently using a bounded number of threads. The log of each scan is
+ * buffered and will be written to the actual listener when the report of the scan is requested. So the logs of the
+ * tools are not interleaved, they are shown in the order the reports are requested.
+ *
+ * @author Ullrich Hafner
+ */
+class ConcurrentScans {
+    private final ExecutorService executor;
+    private final List<Future<Report>> scans = new ArrayList<>();
+    private final List<ByteArrayOutputStream> logs = new ArrayList<>();
+
+    /**
+     * Creates a new instance of {@link ConcurrentScans}.
+     *
+     * @param threads
+     *         the maximum number of scans that run concurrently
+     */
+    ConcurrentScans(final int threads) {
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Starts the specified scan. The position of the scan is given by the number of previously started scans.
+     *
+     * @param scan
+     *         the scan to start
+     */
+    void start(final Scan scan) {
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        TaskListener listener = new StreamTaskListener(log, StandardCharsets.UTF_8);
+        logs.add(log);
+        scans.add(executor.submit(() -> scan.run(listener)));
+    }
+
+    /**
+     * Waits for the scan at the specified position and returns its report. The buffered log of the scan is written to
+     * the specified listener.
+     *
+     * @param position
+     *         the position of the scan
+     * @param listener
+     *         the listener to write the log of the scan to
+     *
+     * @return the report of the scan
+     * @throws IOException
+     *         if the scan fails
+     * @throws InterruptedException
+     *         if the scan or the waiting has been interrupted
+     */
+    Report get(final int position, final TaskListener listener) throws IOException, InterruptedException {
+        try {
+            return scans.get(position).get();
+        }
+        catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+        finally {
+            PrintStream logger = listener.getLogger();
+            logs.get(position).writeTo(logger);
+            logger.flush();
+        }
+    }
+
+    /**
+     * Cancels all scans that are still running.
+     */
+    void cancel() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A scan of a static analysis tool.
+     */
+    @FunctionalInterface
+    interface Scan {
+        /**
+         * Scans for issues.
+         *
+         * @param listener
+         *         the listener to write the log to
+         *
+         * @return the report
+         * @throws IOException
+         *         if the scan fails
+         * @throws InterruptedException
+         *         if the scan has been interrupted
+         */
+        Report run(TaskListener listener) throws IOException, InterruptedException;
+    }
+}
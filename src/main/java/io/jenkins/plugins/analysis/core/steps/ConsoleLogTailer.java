@@ -0,0 +1,102 @@
+package io.jenkins.plugins.analysis.core.steps;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.jenkins.plugins.analysis.core.model.StaticAnalysisTool;
+
+import hudson.Extension;
+import hudson.model.AbstractBuild;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+/**
+ * Scans the console log of freestyle builds in the background while the build is running. Only builds that use an
+ * {@link IssuesRecorder} with {@link IssuesRecorder#getIncrementalConsoleScan() incremental console scanning} are
+ * tailed. When the recorder is invoked, then only the tail of the console log needs to be scanned by the {@link
+ * IncrementalConsoleScanner}.
+ * <p>
+ * The tails are scanned by a small pool of threads of its own, so that parsing large console logs does not block
+ * the shared {@link jenkins.util.Timer} of Jenkins.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@Extension
+public class ConsoleLogTailer extends RunListener<Run<?, ?>> {
+    private static final Logger LOGGER = Logger.getLogger(ConsoleLogTailer.class.getName());
+    private static final long SCAN_INTERVAL = 10;
+    private static final int THREADS = 2;
+
+    private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(THREADS,
+            new NamingThreadFactory(new DaemonThreadFactory(), ConsoleLogTailer.class.getSimpleName()));
+
+    private final Map<File, ScheduledFuture<?>> tailers = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStarted(final Run<?, ?> run, final TaskListener listener) {
+        if (run instanceof AbstractBuild) {
+            IssuesRecorder recorder = ((AbstractBuild<?, ?>) run).getProject()
+                    .getPublishersList().get(IssuesRecorder.class);
+            if (recorder != null && recorder.getIncrementalConsoleScan()) {
+                startTailing(run.getLogFile(), recorder);
+            }
+        }
+    }
+
+    private void startTailing(final File consoleLog, final IssuesRecorder recorder) {
+        List<ToolConfiguration> tools = recorder.getTools();
+        if (tools == null) {
+            return;
+        }
+        List<IncrementalConsoleScanner> scanners = new ArrayList<>();
+        for (ToolConfiguration configuration : tools) {
+            StaticAnalysisTool tool = configuration.getTool();
+            if (StringUtils.isBlank(configuration.getPattern())
+                    && tool.getDescriptor().getPattern().isEmpty()
+                    && IncrementalConsoleScanner.isSupported(tool)) {
+                scanners.add(IncrementalConsoleScanner.of(consoleLog, tool, recorder.getReportCharset()));
+            }
+        }
+        if (!scanners.isEmpty()) {
+            tailers.put(consoleLog, EXECUTOR.scheduleWithFixedDelay(() -> scanTail(scanners),
+                    SCAN_INTERVAL, SCAN_INTERVAL, TimeUnit.SECONDS));
+        }
+    }
+
+    private void scanTail(final List<IncrementalConsoleScanner> scanners) {
+        for (IncrementalConsoleScanner scanner : scanners) {
+            try {
+                scanner.scanTail();
+            }
+            catch (IOException | RuntimeException exception) {
+                LOGGER.log(Level.WARNING, "Can't scan the tail of the console log", exception);
+            }
+        }
+    }
+
+    @Override
+    public void onCompleted(final Run<?, ?> run, final TaskListener listener) {
+        File consoleLog = run.getLogFile();
+        ScheduledFuture<?> tailer = tailers.remove(consoleLog);
+        if (tailer != null) {
+            tailer.cancel(false);
+        }
+        IncrementalConsoleScanner.release(consoleLog);
+    }
+}
@@ -0,0 +1,406 @@
+package io.jenkins.plugins.analysis.core.steps;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.analysis.AbstractParser;
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.LineRange;
+import edu.hm.hafner.analysis.LineRangeList;
+import edu.hm.hafner.analysis.Report;
+import io.jenkins.plugins.analysis.core.model.BinaryIssueStream;
+import io.jenkins.plugins.analysis.core.model.StaticAnalysisTool;
+
+import hudson.console.ConsoleNote;
+
+/**
+ * Scans the console log of a running build incrementally. Each scan only parses the bytes that have been appended to
+ * the console log since the last scan. Each scan appends a checkpoint (byte offset and line number) together with the
+ * issues found in the scanned range to a binary file in the build folder (see {@link BinaryIssueStream}), so the cost
+ * of a checkpoint does not depend on the number of issues that have been found before. A checkpoint is always placed
+ * at the end of a line, incomplete lines are scanned again in the next run.
+ * <p>
+ * The scanners are shared by all steps of a build: there is one scanner for each pair of console log and static
+ * analysis tool.
+ * </p>
+ * <p>
+ * Note that parsers that report issues that span several lines will miss such an issue if the lines are split by a
+ * checkpoint. Therefore, incremental scanning needs to be enabled explicitly.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+class IncrementalConsoleScanner {
+    private static final Logger LOGGER = Logger.getLogger(IncrementalConsoleScanner.class.getName());
+
+    private static final Map<String, IncrementalConsoleScanner> SCANNERS = new ConcurrentHashMap<>();
+    private static final String CHECKPOINT_SUFFIX = "-console-checkpoint.bin";
+    private static final int BLOCK_SIZE = 8 * 1024;
+    private static final int CHECKPOINT_HEADER_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final File consoleLog;
+    private final AbstractParser parser;
+    private final Charset charset;
+    private final File checkpointFile;
+
+    private Checkpoint checkpoint;
+
+    /**
+     * Returns whether the console log can be scanned incrementally with the specified tool.
+     *
+     * @param tool
+     *         the static analysis tool
+     *
+     * @return {@code true} if the parser of the tool can scan the console log incrementally, {@code false} otherwise
+     */
+    static boolean isSupported(final StaticAnalysisTool tool) {
+        return tool.canScanConsoleLog() && tool.createParser() instanceof AbstractParser;
+    }
+
+    /**
+     * Returns the incremental scanner for the specified console log and tool. If there is no such scanner yet, then a
+     * new scanner will be created.
+     *
+     * @param consoleLog
+     *         the console log to scan
+     * @param tool
+     *         the static analysis tool that scans the console log, must be {@link #isSupported(StaticAnalysisTool)
+     *         supported}
+     * @param charset
+     *         the encoding of the console log
+     *
+     * @return the scanner
+     */
+    static IncrementalConsoleScanner of(final File consoleLog, final StaticAnalysisTool tool, final Charset charset) {
+        return SCANNERS.computeIfAbsent(createKey(consoleLog, tool.getId()),
+                key -> new IncrementalConsoleScanner(consoleLog, tool, charset));
+    }
+
+    /**
+     * Releases all scanners of the specified console log and deletes the checkpoints in the build folder.
+     *
+     * @param consoleLog
+     *         the console log
+     */
+    static void release(final File consoleLog) {
+        String prefix = createKey(consoleLog, StringUtils.EMPTY);
+        SCANNERS.keySet().removeIf(key -> key.startsWith(prefix));
+
+        File[] checkpoints = consoleLog.getParentFile().listFiles(
+                (directory, name) -> name.endsWith(CHECKPOINT_SUFFIX));
+        if (checkpoints != null) {
+            for (File file : checkpoints) {
+                if (!file.delete()) {
+                    LOGGER.log(Level.WARNING, "Can't delete console log checkpoint " + file);
+                }
+            }
+        }
+    }
+
+    private static String createKey(final File consoleLog, final String id) {
+        return consoleLog.getAbsolutePath() + "#" + id;
+    }
+
+    private IncrementalConsoleScanner(final File consoleLog, final StaticAnalysisTool tool, final Charset charset) {
+        this.consoleLog = consoleLog;
+        this.parser = (AbstractParser) tool.createParser();
+        this.charset = charset;
+
+        checkpointFile = new File(consoleLog.getParentFile(), tool.getId() + CHECKPOINT_SUFFIX);
+    }
+
+    /**
+     * Scans all complete lines that have been appended to the console log since the last scan and moves the checkpoint
+     * to the end of the last complete line.
+     *
+     * @throws IOException
+     *         if the console log could not be read
+     */
+    synchronized void scanTail() throws IOException {
+        Checkpoint current = getCheckpoint();
+        try (RandomAccessFile log = new RandomAccessFile(consoleLog, "r")) {
+            long end = findEndOfLastLine(log, current.getOffset());
+            if (end > current.getOffset()) {
+                Report range = new Report();
+                int lines = parse(log, current, end, range);
+                current.getReport().addAll(range);
+                checkpoint = new Checkpoint(end, current.getLineCount() + lines, current.getReport());
+                save(range);
+            }
+        }
+    }
+
+    /**
+     * Finishes the scanning of the console log: scans all lines that have been appended since the last checkpoint,
+     * including a final incomplete line.
+     *
+     * @return the issues of the whole console log
+     * @throws IOException
+     *         if the console log could not be read
+     */
+    synchronized Report finish() throws IOException {
+        scanTail();
+
+        Report total = checkpoint.getReport().copy();
+        try (RandomAccessFile log = new RandomAccessFile(consoleLog, "r")) {
+            long end = log.length();
+            if (end > checkpoint.getOffset()) {
+                parse(log, checkpoint, end, total);
+            }
+        }
+        total.logInfo("-> scanned console log incrementally up to line %d", checkpoint.getLineCount());
+        return total;
+    }
+
+    private Checkpoint getCheckpoint() {
+        if (checkpoint == null) {
+            checkpoint = load();
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Restores the last checkpoint by reading all checkpoints of the file. An incomplete checkpoint at the end of the
+     * file (e.g., if Jenkins has been stopped while writing) is removed, so the range of this checkpoint will be
+     * scanned again.
+     */
+    private Checkpoint load() {
+        Checkpoint restored = new Checkpoint(0, 0, new Report());
+        if (!checkpointFile.exists()) {
+            return restored;
+        }
+
+        long length = checkpointFile.length();
+        long valid = 0;
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(checkpointFile)))) {
+            while (valid < length) {
+                long offset = input.readLong();
+                int lineCount = input.readInt();
+                int size = input.readInt();
+                if (size < 0 || size > length - valid - CHECKPOINT_HEADER_SIZE) {
+                    throw new IOException("Incomplete checkpoint at position " + valid);
+                }
+                byte[] issues = new byte[size];
+                input.readFully(issues);
+                restored.getReport().addAll(new BinaryIssueStream().read(new ByteArrayInputStream(issues)));
+                restored = new Checkpoint(offset, lineCount, restored.getReport());
+                valid += CHECKPOINT_HEADER_SIZE + size;
+            }
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Can't read console log checkpoint " + checkpointFile, exception);
+            truncate(valid);
+        }
+        return restored;
+    }
+
+    private void truncate(final long length) {
+        try (RandomAccessFile file = new RandomAccessFile(checkpointFile, "rw")) {
+            file.setLength(length);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Can't truncate console log checkpoint " + checkpointFile, exception);
+        }
+    }
+
+    /**
+     * Appends the current checkpoint along with the issues of the scanned range to the file of checkpoints.
+     */
+    private void save(final Report range) {
+        try {
+            ByteArrayOutputStream issues = new ByteArrayOutputStream();
+            new BinaryIssueStream().write(range, issues);
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(checkpointFile, true)))) {
+                output.writeLong(checkpoint.getOffset());
+                output.writeInt(checkpoint.getLineCount());
+                output.writeInt(issues.size());
+                issues.writeTo(output);
+            }
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Can't write console log checkpoint " + checkpointFile, exception);
+        }
+    }
+
+    /**
+     * Returns the position after the last newline character in the console log.
+     */
+    private long findEndOfLastLine(final RandomAccessFile log, final long start) throws IOException {
+        byte[] block = new byte[BLOCK_SIZE];
+        long position = log.length();
+        while (position > start) {
+            int length = (int) Math.min(BLOCK_SIZE, position - start);
+            position -= length;
+            log.seek(position);
+            log.readFully(block, 0, length);
+            for (int i = length - 1; i >= 0; i--) {
+                if (block[i] == '\n') {
+                    return position + i + 1;
+                }
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Parses the specified range of the console log and adds the issues to the report. Returns the number of
+     * parsed lines.
+     */
+    private int parse(final RandomAccessFile log, final Checkpoint start, final long end, final Report report)
+            throws IOException {
+        log.seek(start.getOffset());
+        InputStream range = new BoundedInputStream(Channels.newInputStream(log.getChannel()),
+                end - start.getOffset());
+        try (LineCountingReader reader = new LineCountingReader(new InputStreamReader(range, charset))) {
+            report.addAll(shift(parser.parse(reader, ConsoleNote::removeNotes), start.getLineCount()));
+            return reader.getLineCount();
+        }
+    }
+
+    /**
+     * Shifts the line numbers of the issues in the specified range of the console log by the number of lines before
+     * this range, so that the line numbers refer to the whole console log.
+     */
+    private Report shift(final Report range, final int lines) {
+        if (lines == 0) {
+            return range;
+        }
+
+        Report shifted = new Report();
+        range.getInfoMessages().forEach(message -> shifted.logInfo("%s", message));
+        range.getErrorMessages().forEach(message -> shifted.logError("%s", message));
+
+        IssueBuilder builder = new IssueBuilder();
+        for (Issue issue : range) {
+            LineRangeList lineRanges = new LineRangeList();
+            for (LineRange lineRange : issue.getLineRanges()) {
+                lineRanges.add(new LineRange(shift(lineRange.getStart(), lines), shift(lineRange.getEnd(), lines)));
+            }
+            shifted.add(builder.setId(issue.getId())
+                    .setFileName(issue.getFileName())
+                    .setCategory(issue.getCategory())
+                    .setType(issue.getType())
+                    .setSeverity(issue.getSeverity())
+                    .setMessage(issue.getMessage())
+                    .setDescription(issue.getDescription())
+                    .setPackageName(issue.getPackageName())
+                    .setModuleName(issue.getModuleName())
+                    .setOrigin(issue.getOrigin())
+                    .setReference(issue.getReference())
+                    .setFingerprint(issue.getFingerprint())
+                    .setLineStart(shift(issue.getLineStart(), lines))
+                    .setLineEnd(shift(issue.getLineEnd(), lines))
+                    .setColumnStart(issue.getColumnStart())
+                    .setColumnEnd(issue.getColumnEnd())
+                    .setLineRanges(lineRanges)
+                    .setAdditionalProperties(issue.getAdditionalProperties())
+                    .build());
+        }
+        return shifted;
+    }
+
+    private int shift(final int line, final int lines) {
+        return line > 0 ? line + lines : line;
+    }
+
+    /**
+     * Position of the last scan in the console log, along with the issues that have been found so far.
+     */
+    static class Checkpoint {
+        private final long offset;
+        private final int lineCount;
+        private final Report report;
+
+        Checkpoint(final long offset, final int lineCount, final Report report) {
+            this.offset = offset;
+            this.lineCount = lineCount;
+            this.report = report;
+        }
+
+        long getOffset() {
+            return offset;
+        }
+
+        int getLineCount() {
+            return lineCount;
+        }
+
+        Report getReport() {
+            return report;
+        }
+    }
+
+    /**
+     * A reader that counts the number of lines of the content.
+     */
+    private static class LineCountingReader extends FilterReader {
+        private int lineCount;
+
+        LineCountingReader(final Reader content) {
+            super(content);
+        }
+
+        int getLineCount() {
+            return lineCount;
+        }
+
+        @Override
+        public int read() throws IOException {
+            char[] single = new char[1];
+            int count = read(single, 0, 1);
+            if (count < 0) {
+                return -1;
+            }
+            return single[0];
+        }
+
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            int count = super.read(buffer, offset, length);
+            for (int i = 0; i < count; i++) {
+                if (buffer[offset + i] == '\n') {
+                    lineCount++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(final long count) throws IOException {
+            throw new IOException("skip is not supported");
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
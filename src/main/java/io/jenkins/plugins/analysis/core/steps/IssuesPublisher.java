@@ -5,10 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-import org.apache.commons.lang3.StringUtils;
-
 import edu.hm.hafner.analysis.Report;
-import edu.hm.hafner.analysis.Report.IssueFilterBuilder;
 import io.jenkins.plugins.analysis.core.JenkinsFacade;
 import io.jenkins.plugins.analysis.core.history.AnalysisHistory;
 import io.jenkins.plugins.analysis.core.history.AnalysisHistory.JobResultEvaluationMode;
@@ -16,10 +13,12 @@ import static io.jenkins.plugins.analysis.core.history.AnalysisHistory.JobResult
 import io.jenkins.plugins.analysis.core.history.AnalysisHistory.QualityGateEvaluationMode;
 import static io.jenkins.plugins.analysis.core.history.AnalysisHistory.QualityGateEvaluationMode.*;
 import io.jenkins.plugins.analysis.core.history.ResultSelector;
+import io.jenkins.plugins.analysis.core.history.TrendIndex;
 import io.jenkins.plugins.analysis.core.model.AnalysisResult;
 import io.jenkins.plugins.analysis.core.model.ByIdResultSelector;
 import io.jenkins.plugins.analysis.core.model.DeltaReport;
 import io.jenkins.plugins.analysis.core.filter.RegexpFilter;
+import io.jenkins.plugins.analysis.core.filter.ReportFilter;
 import io.jenkins.plugins.analysis.core.quality.HealthDescriptor;
 import io.jenkins.plugins.analysis.core.quality.QualityGate;
 import io.jenkins.plugins.analysis.core.quality.QualityGateStatus;
@@ -84,6 +83,13 @@ class IssuesPublisher {
         ResultAction action = new ResultAction(run, result, healthDescriptor, id, name, sourceCodeEncoding);
         run.addAction(action);
 
+        Iterable<AnalysisResult> previousResults = new ArrayList<>();
+        Run<?, ?> previousBuild = run.getPreviousBuild();
+        if (previousBuild != null) {
+            previousResults = new AnalysisHistory(previousBuild, selector);
+        }
+        new TrendIndex(run.getParent()).append(result, previousResults);
+
         return action;
     }
 
@@ -107,22 +113,7 @@ class IssuesPublisher {
     }
 
     private Report filter() {
-        int actualFilterSize = 0;
-        IssueFilterBuilder builder = new IssueFilterBuilder();
-        for (RegexpFilter filter : filters) {
-            if (StringUtils.isNotBlank(filter.getPattern())) {
-                filter.apply(builder);
-                actualFilterSize++;
-            }
-        }
-        Report filtered = report.filter(builder.build());
-        if (actualFilterSize > 0) {
-            filtered.logInfo("Applying %d filters on the set of %d issues (%d issues have been removed, %d issues will be published)",
-                    filters.size(), report.size(), report.size() - filtered.size(), filtered.size());
-        }
-        else {
-            filtered.logInfo("No filter has been set, publishing all %d issues", filtered.size());
-        }
+        Report filtered = new ReportFilter(filters).filter(report);
         logger.log(filtered);
 
         return filtered;
@@ -6,6 +6,7 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -69,6 +70,9 @@ public class IssuesRecorder extends Recorder implements SimpleBuildStep {
     
     private String reportEncoding;
     private String sourceCodeEncoding;
+    private int parsingThreads;
+    private int toolThreads;
+    private boolean isIncrementalConsoleScan;
 
     private boolean ignoreAnalysisResult;
     private boolean overallResultMustBeSuccess;
@@ -153,6 +157,55 @@ public class IssuesRecorder extends Recorder implements SimpleBuildStep {
         this.sourceCodeEncoding = sourceCodeEncoding;
     }
 
+    public int getParsingThreads() {
+        return parsingThreads;
+    }
+
+    /**
+     * Sets the number of threads that will be used to parse the report files of a static analysis tool. If the value
+     * is less than two, then all report files will be parsed sequentially.
+     *
+     * @param parsingThreads
+     *         the number of threads to parse report files
+     */
+    @DataBoundSetter
+    public void setParsingThreads(final int parsingThreads) {
+        this.parsingThreads = parsingThreads;
+    }
+
+    public int getToolThreads() {
+        return toolThreads;
+    }
+
+    /**
+     * Sets the number of threads that will be used to scan the static analysis tools concurrently. If the value is less
+     * than two, then all tools will be scanned sequentially. The results are published in the order of the configured
+     * tools in any case.
+     *
+     * @param toolThreads
+     *         the number of threads to scan the tools
+     */
+    @DataBoundSetter
+    public void setToolThreads(final int toolThreads) {
+        this.toolThreads = toolThreads;
+    }
+
+    public boolean getIncrementalConsoleScan() {
+        return isIncrementalConsoleScan;
+    }
+
+    /**
+     * If {@code true}, then the console log will be scanned incrementally while the build is running. Otherwise, the
+     * whole console log will be scanned when this recorder is invoked.
+     *
+     * @param incrementalConsoleScan
+     *         determines whether the console log should be scanned incrementally
+     */
+    @DataBoundSetter
+    public void setIncrementalConsoleScan(final boolean incrementalConsoleScan) {
+        isIncrementalConsoleScan = incrementalConsoleScan;
+    }
+
     /* -------------------------------------------------------------------------------------------------------------- */
 
     /**
@@ -472,35 +525,72 @@ public class IssuesRecorder extends Recorder implements SimpleBuildStep {
     private void record(final Run<?, ?> run, final FilePath workspace, final Launcher launcher,
             final TaskListener listener)
             throws IOException, InterruptedException {
-        if (isAggregatingResults) {
-            Report totalIssues = new Report();
-            totalIssues.setId("analysis");
-            for (ToolConfiguration toolConfiguration : tools) {
-                totalIssues.addAll(scanWithTool(run, workspace, listener, toolConfiguration));
-            }
-            publishResult(run, launcher, listener, Messages.Tool_Default_Name(),
-                    totalIssues, Messages.Tool_Default_Name());
-        }
-        else {
-            for (ToolConfiguration toolConfiguration : tools) {
-                Report report = scanWithTool(run, workspace, listener, toolConfiguration);
-                String actualName;
-                if (toolConfiguration.hasName()) {
-                    actualName = toolConfiguration.getName();
+        String workspaceIndexKey = UUID.randomUUID().toString(); // all tools share the same index of the workspace
+        ConcurrentScans concurrentScans = startConcurrentScans(run, workspace, workspaceIndexKey);
+        try {
+            if (isAggregatingResults) {
+                Report totalIssues = new Report();
+                totalIssues.setId("analysis");
+                for (int position = 0; position < tools.size(); position++) {
+                    totalIssues.addAll(getReport(concurrentScans, position,
+                            run, workspace, listener, workspaceIndexKey));
                 }
-                else {
-                    actualName = StringUtils.EMPTY;
+                publishResult(run, launcher, listener, Messages.Tool_Default_Name(),
+                        totalIssues, Messages.Tool_Default_Name());
+            }
+            else {
+                for (int position = 0; position < tools.size(); position++) {
+                    ToolConfiguration toolConfiguration = tools.get(position);
+                    Report report = getReport(concurrentScans, position, run, workspace, listener,
+                            workspaceIndexKey);
+                    String actualName;
+                    if (toolConfiguration.hasName()) {
+                        actualName = toolConfiguration.getName();
+                    }
+                    else {
+                        actualName = StringUtils.EMPTY;
+                    }
+                    publishResult(run, launcher, listener, toolConfiguration.getActualName(), report,
+                            actualName);
                 }
-                publishResult(run, launcher, listener, toolConfiguration.getActualName(), report,
-                        actualName);
+            }
+        }
+        finally {
+            if (concurrentScans != null) {
+                concurrentScans.cancel();
             }
         }
     }
 
+    @CheckForNull
+    private ConcurrentScans startConcurrentScans(final Run<?, ?> run, final FilePath workspace,
+            final String workspaceIndexKey) {
+        if (toolThreads < 2 || tools.size() < 2) {
+            return null;
+        }
+        ConcurrentScans scans = new ConcurrentScans(Math.min(toolThreads, tools.size()));
+        for (ToolConfiguration toolConfiguration : tools) {
+            scans.start(listener -> scanWithTool(run, workspace, listener, toolConfiguration, workspaceIndexKey));
+        }
+        return scans;
+    }
+
+    @SuppressWarnings("ParameterNumber")
+    private Report getReport(@CheckForNull final ConcurrentScans concurrentScans, final int position,
+            final Run<?, ?> run, final FilePath workspace, final TaskListener listener,
+            final String workspaceIndexKey) throws IOException, InterruptedException {
+        if (concurrentScans == null) {
+            return scanWithTool(run, workspace, listener, tools.get(position), workspaceIndexKey);
+        }
+        return concurrentScans.get(position, listener);
+    }
+
     private Report scanWithTool(final Run<?, ?> run, final FilePath workspace, final TaskListener listener,
-            final ToolConfiguration toolConfiguration) throws IOException, InterruptedException {
+            final ToolConfiguration toolConfiguration, final String workspaceIndexKey)
+            throws IOException, InterruptedException {
         IssuesScanner issuesScanner = new IssuesScanner(toolConfiguration.getTool(), workspace,
-                getReportCharset(), getSourceCodeCharset(), new FilePath(run.getRootDir()), 
+                getReportCharset(), getSourceCodeCharset(), run, parsingThreads,
+                isIncrementalConsoleScan, workspaceIndexKey,
                 new LogHandler(listener, toolConfiguration.getActualName()));
         Report report = issuesScanner.scan(expandEnvironmentVariables(run, listener, toolConfiguration.getPattern()),
                 run.getLogFile());
@@ -514,7 +604,7 @@ public class IssuesRecorder extends Recorder implements SimpleBuildStep {
         return getCharset(sourceCodeEncoding);
     }
 
-    private Charset getReportCharset() {
+    Charset getReportCharset() {
         return getCharset(reportEncoding);
     }
 
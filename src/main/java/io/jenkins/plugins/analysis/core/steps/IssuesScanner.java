@@ -5,27 +5,35 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
 import java.nio.charset.Charset;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 
-import edu.hm.hafner.analysis.FingerprintGenerator;
-import edu.hm.hafner.analysis.FullTextFingerprint;
 import edu.hm.hafner.analysis.ModuleDetector;
 import edu.hm.hafner.analysis.ModuleDetector.FileSystem;
-import edu.hm.hafner.analysis.PackageNameResolver;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.util.Ensure;
 import io.jenkins.plugins.analysis.core.model.StaticAnalysisTool;
 import io.jenkins.plugins.analysis.core.util.AbsolutePathGenerator;
-import io.jenkins.plugins.analysis.core.util.AffectedFilesResolver;
+import io.jenkins.plugins.analysis.core.util.AffectedFilesProcessor;
+import io.jenkins.plugins.analysis.core.util.AffectedFilesStore;
 import io.jenkins.plugins.analysis.core.util.FilesScanner;
+import io.jenkins.plugins.analysis.core.util.FingerprintCache;
+import io.jenkins.plugins.analysis.core.util.ModuleNameCache;
 import io.jenkins.plugins.analysis.core.util.ModuleResolver;
+import io.jenkins.plugins.analysis.core.util.WorkspaceIndex;
 import jenkins.MasterToSlaveFileCallable;
 
 import hudson.FilePath;
 import hudson.console.ConsoleNote;
 import hudson.model.Computer;
+import hudson.model.Run;
 import hudson.remoting.VirtualChannel;
 
 /**
@@ -34,22 +42,44 @@ import hudson.remoting.VirtualChannel;
  * @author Ullrich Hafner
  */
 class IssuesScanner {
+    private static final int SETTLE_POLL_INTERVAL = 100;
+    private static final int MAX_SETTLE_TIME = 5000;
+
     private final FilePath workspace;
-    private final FilePath jenkinsRootDir;
+    private final Run<?, ?> run;
     private final Charset logFileEncoding;
     private final Charset sourceCodeEncoding;
     private final StaticAnalysisTool tool;
+    private final int parsingThreads;
+    private final boolean isIncrementalConsoleScan;
+    /**
+     * Key of the index of the workspace on the agent. All scanners that use the same key share a single index of the
+     * workspace files, so the same key must not be used by steps that run at different times.
+     */
+    private final String workspaceIndexKey;
 
     private final LogHandler logger;
 
     IssuesScanner(final StaticAnalysisTool tool, final FilePath workspace,
-            final Charset logFileEncoding, final Charset sourceCodeEncoding, final FilePath jenkinsRootDir,
+            final Charset logFileEncoding, final Charset sourceCodeEncoding, final Run<?, ?> run,
+            final int parsingThreads, final LogHandler logger) {
+        this(tool, workspace, logFileEncoding, sourceCodeEncoding, run, parsingThreads, false,
+                UUID.randomUUID().toString(), logger);
+    }
+
+    @SuppressWarnings("ParameterNumber")
+    IssuesScanner(final StaticAnalysisTool tool, final FilePath workspace,
+            final Charset logFileEncoding, final Charset sourceCodeEncoding, final Run<?, ?> run,
+            final int parsingThreads, final boolean isIncrementalConsoleScan, final String workspaceIndexKey,
             final LogHandler logger) {
         this.workspace = workspace; 
         this.logFileEncoding = logFileEncoding;
         this.sourceCodeEncoding = sourceCodeEncoding;
         this.tool = tool;
-        this.jenkinsRootDir = jenkinsRootDir;
+        this.run = run;
+        this.parsingThreads = parsingThreads;
+        this.isIncrementalConsoleScan = isIncrementalConsoleScan;
+        this.workspaceIndexKey = workspaceIndexKey;
         this.logger = logger;
     }
 
@@ -71,7 +101,8 @@ class IssuesScanner {
 
     /**
      * Scans for issues in a set of files specified by a pattern. The pattern will be applied on the files of the given
-     * workspace.
+     * workspace. Scanning and post processing are executed on the agent in a single call, so the report is transferred
+     * only once.
      *
      * @param pattern
      *         the pattern of files
@@ -82,11 +113,22 @@ class IssuesScanner {
      *         if something goes wrong
      */
     public Report scanInWorkspace(final String pattern) throws InterruptedException, IOException {
-        Report report = workspace.act(new FilesScanner(pattern, tool, logFileEncoding.name()));
-
+        AffectedFilesStore store = new AffectedFilesStore(run);
+        FilePath index = store.createIndexLocation();
+        String agentName = getAgentName();
+
+        long start = System.nanoTime();
+        Report report = workspace.act(new AgentPipeline(
+                new FilesScanner(pattern, tool, logFileEncoding.name(), parsingThreads, workspaceIndexKey),
+                new PostProcessingSteps(sourceCodeEncoding.name(), store.getLocation(), index,
+                        run.getExternalizableId(), workspaceIndexKey), agentName));
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        store.register(index, workspace.getChannel());
+
+        report.logInfo("-> scanned and post processed issues on '%s' in %d ms", agentName, duration);
         logger.log(report);
 
-        return postProcess(report);
+        return report;
     }
 
     /**
@@ -105,13 +147,24 @@ class IssuesScanner {
                 "Static analysis tool %s cannot scan console log output, please define a file pattern",
                 tool.getName());
 
-        waitForConsoleToFlush();
-
         Report consoleReport = new Report();
-        consoleReport.logInfo("Parsing console log (workspace: '%s')", workspace);
-        logger.log(consoleReport);
+        Report report;
+        if (isIncrementalConsoleScan && IncrementalConsoleScanner.isSupported(tool)) {
+            waitForConsoleToSettle(consoleLog);
+
+            consoleReport.logInfo("Parsing tail of console log (workspace: '%s')", workspace);
+            logger.log(consoleReport);
+
+            report = IncrementalConsoleScanner.of(consoleLog, tool, logFileEncoding).finish();
+        }
+        else {
+            waitForConsoleToFlush();
+
+            consoleReport.logInfo("Parsing console log (workspace: '%s')", workspace);
+            logger.log(consoleReport);
 
-        Report report = tool.createParser().parse(consoleLog, logFileEncoding, ConsoleNote::removeNotes);
+            report = tool.createParser().parse(consoleLog, logFileEncoding, ConsoleNote::removeNotes);
+        }
         report.setId(tool.getId());
         
         consoleReport.addAll(report);
@@ -131,6 +184,27 @@ class IssuesScanner {
         }
     }
 
+    /**
+     * Waits until the size of the console log does not change anymore. Since the tail of the console log is scanned
+     * only, there is no need to wait the full time of {@link #waitForConsoleToFlush()}.
+     */
+    private void waitForConsoleToSettle(final File consoleLog) {
+        try {
+            long length = consoleLog.length();
+            for (int waited = 0; waited < MAX_SETTLE_TIME; waited += SETTLE_POLL_INTERVAL) {
+                Thread.sleep(SETTLE_POLL_INTERVAL);
+                long current = consoleLog.length();
+                if (current == length) {
+                    return;
+                }
+                length = current;
+            }
+        }
+        catch (final InterruptedException ignored) {
+            // ignore
+        }
+    }
+
     private Report postProcess(final Report report) throws IOException, InterruptedException {
         Report postProcessed;
         if (report.isEmpty()) {
@@ -142,7 +216,12 @@ class IssuesScanner {
         else {
             report.logInfo("Post processing issues on '%s' with encoding '%s'", getAgentName(), sourceCodeEncoding);
 
-            postProcessed = workspace.act(new ReportPostProcessor(report, sourceCodeEncoding.name(), jenkinsRootDir));
+            AffectedFilesStore store = new AffectedFilesStore(run);
+            FilePath index = store.createIndexLocation();
+            postProcessed = workspace.act(new ReportPostProcessor(report,
+                    new PostProcessingSteps(sourceCodeEncoding.name(), store.getLocation(), index,
+                            run.getExternalizableId(), workspaceIndexKey)));
+            store.register(index, workspace.getChannel());
         }
         logger.log(postProcessed);
         return postProcessed;
@@ -168,73 +247,159 @@ class IssuesScanner {
         private static final long serialVersionUID = -9138045560271783096L;
 
         private final Report report;
-        private final String sourceCodeEncoding;
-        private final FilePath jenkinsRootDir;
+        private final PostProcessingSteps steps;
 
-        ReportPostProcessor(final Report report, final String sourceCodeEncoding, final FilePath jenkinsRootDir) {
+        ReportPostProcessor(final Report report, final PostProcessingSteps steps) {
             super();
 
             this.report = report;
-            this.sourceCodeEncoding = sourceCodeEncoding;
-            this.jenkinsRootDir = jenkinsRootDir;
+            this.steps = steps;
         }
 
         @Override
         public Report invoke(final File workspace, final VirtualChannel channel) throws IOException, InterruptedException {
-            resolveAbsolutePaths(workspace);
-            copyAffectedFiles(workspace);
-            resolveModuleNames(workspace);
-            resolvePackageNames();
-            createFingerprints();
+            steps.run(report, workspace);
 
             return report;
         }
+    }
 
-        private void resolveAbsolutePaths(final File workspace) {
-            report.logInfo("Resolving absolute file names for all issues");
+    /**
+     * Scans the workspace for issues and post processes the found issues on the build agent, using a single call.
+     * This avoids transferring the report between Jenkins and the agent several times: the final report is
+     * transferred only once. The report is sent using the serialization of the remoting channel, so the additional
+     * properties of the issues are transferred as well.
+     */
+    private static class AgentPipeline extends MasterToSlaveFileCallable<Report> {
+        private static final long serialVersionUID = 4720498476322545286L;
 
-            AbsolutePathGenerator generator = new AbsolutePathGenerator();
-            generator.run(report, workspace);
+        private final FilesScanner scanner;
+        private final PostProcessingSteps steps;
+        private final String agentName;
+
+        AgentPipeline(final FilesScanner scanner, final PostProcessingSteps steps, final String agentName) {
+            super();
+
+            this.scanner = scanner;
+            this.steps = steps;
+            this.agentName = agentName;
         }
 
-        private void copyAffectedFiles(final File workspace)
+        @Override
+        public Report invoke(final File workspace, final VirtualChannel channel)
                 throws IOException, InterruptedException {
-            report.logInfo("Copying affected files to Jenkins' build folder %s", jenkinsRootDir);
-            
-            new AffectedFilesResolver().copyFilesWithAnnotationsToBuildFolder(report, jenkinsRootDir, workspace);
+            Report report = scanner.invoke(workspace, channel);
+            if (report.isEmpty()) {
+                if (report.hasErrors()) {
+                    report.logInfo("Skipping post processing due to errors");
+                }
+            }
+            else {
+                report.logInfo("Post processing issues on '%s' with encoding '%s'", agentName,
+                        steps.sourceCodeEncoding);
+                steps.run(report, workspace);
+            }
+            return report;
         }
+    }
 
+    /**
+     * The post processing steps that will be executed on the build agent: assigns absolute paths and module names. Then
+     * the affected files are processed in a single pass that copies the files, assigns package names, and computes
+     * fingerprints for each issue.
+     */
+    private static class PostProcessingSteps implements Serializable {
+        private static final long serialVersionUID = 5598046183307245146L;
 
-        private void resolveModuleNames(final File workspace) {
-            report.logInfo("Resolving module names from module definitions (build.xml, pom.xml, or Manifest.mf files)");
+        /**
+         * Files that define a module in the directory that contains the file. Additional entries are harmless: such a
+         * directory is resolved by the module detector rather than reusing the module of its parent directory.
+         */
+        private static final String[] MODULE_DEFINITIONS = {"pom.xml", "build.xml", "build.gradle",
+                "build.gradle.kts", "package.json", "META-INF/MANIFEST.MF"};
 
-            ModuleResolver resolver = new ModuleResolver();
-            resolver.run(report, new ModuleDetector(workspace, new DefaultFileSystem()));
+        private final String sourceCodeEncoding;
+        private final FilePath affectedFilesStore;
+        private final FilePath affectedFilesIndex;
+        private final long fingerprintCacheSize;
+        private final String buildId;
+        private final String workspaceIndexKey;
+
+        PostProcessingSteps(final String sourceCodeEncoding, final FilePath affectedFilesStore,
+                final FilePath affectedFilesIndex, final String buildId, final String workspaceIndexKey) {
+            this.sourceCodeEncoding = sourceCodeEncoding;
+            this.affectedFilesStore = affectedFilesStore;
+            this.affectedFilesIndex = affectedFilesIndex;
+            this.buildId = buildId;
+            this.workspaceIndexKey = workspaceIndexKey;
+            fingerprintCacheSize = FingerprintCache.getConfiguredMaximumSize();
         }
 
-        private void resolvePackageNames() {
-            report.logInfo("Resolving package names (or namespaces) by parsing the affected files");
+        void run(final Report report, final File workspace) throws IOException, InterruptedException {
+            resolveAbsolutePaths(report, workspace);
+            resolveModuleNames(report, workspace);
+            processAffectedFiles(report, workspace);
+        }
 
-            PackageNameResolver resolver = new PackageNameResolver();
-            resolver.run(report, getCharset());
+        private void resolveAbsolutePaths(final Report report, final File workspace) {
+            report.logInfo("Resolving absolute file names for all issues");
+
+            AbsolutePathGenerator generator = new AbsolutePathGenerator(() -> getWorkspaceIndex(workspace));
+            generator.run(report, workspace);
         }
 
-        private Charset getCharset() {
-            return Charset.forName(sourceCodeEncoding);
+        private void resolveModuleNames(final Report report, final File workspace) {
+            report.logInfo("Resolving module names from module definitions (build.xml, pom.xml, or Manifest.mf files)");
+
+            ModuleNameCache cache = ModuleNameCache.getInstance(buildId + "@" + workspace.getAbsolutePath(),
+                    () -> new ModuleDetector(workspace, new DefaultFileSystem(getWorkspaceIndex(workspace))),
+                    directory -> hasModuleDefinition(workspace, directory));
+            ModuleResolver resolver = new ModuleResolver();
+            resolver.run(report, cache);
         }
 
-        private void createFingerprints() {
-            report.logInfo("Creating fingerprints for all affected code blocks to track issues over different builds");
+        private boolean hasModuleDefinition(final File workspace, final String directory) {
+            try {
+                Path root = workspace.getAbsoluteFile().toPath();
+                Path path = Paths.get(directory).normalize();
+                if (!path.startsWith(root)) {
+                    return false; // module definitions are only detected in the workspace
+                }
+                Path relative = root.relativize(path);
+                WorkspaceIndex index = getWorkspaceIndex(workspace);
+                for (String definition : MODULE_DEFINITIONS) {
+                    if (index.resolve(relative.resolve(definition).toString()).isPresent()) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            catch (InvalidPathException exception) {
+                return true; // let the module detector decide
+            }
+        }
+
+        private void processAffectedFiles(final Report report, final File workspace) throws InterruptedException {
+            AffectedFilesProcessor processor = new AffectedFilesProcessor(Charset.forName(sourceCodeEncoding),
+                    FingerprintCache.createInWorkspace(workspace, fingerprintCacheSize));
+            processor.run(report, affectedFilesStore, affectedFilesIndex, workspace);
+        }
 
-            FingerprintGenerator generator = new FingerprintGenerator();
-            generator.run(new FullTextFingerprint(), report, getCharset());
+        private WorkspaceIndex getWorkspaceIndex(final File workspace) {
+            return WorkspaceIndex.getInstance(workspaceIndexKey, workspace);
         }
     }
 
     /**
-     * Provides file system operations using real IO.
+     * Provides file system operations using real IO. Files are found using the index of the workspace.
      */
     private static final class DefaultFileSystem implements FileSystem {
+        private final WorkspaceIndex index;
+
+        DefaultFileSystem(final WorkspaceIndex index) {
+            this.index = index;
+        }
+
         @Override
         public InputStream create(final String fileName) throws FileNotFoundException {
             return new FileInputStream(new File(fileName));
@@ -242,6 +407,9 @@ class IssuesScanner {
 
         @Override
         public String[] find(final File root, final String pattern) {
+            if (index.isIndexOf(root)) {
+                return index.find(pattern);
+            }
             return new FileFinder(pattern).find(root);
         }
     }
@@ -32,6 +32,7 @@ import hudson.util.FormValidation;
 public class ScanForIssuesStep extends Step {
     private String reportEncoding;
     private String sourceCodeEncoding;
+    private int parsingThreads;
     private String pattern;
     private StaticAnalysisTool tool;
 
@@ -110,6 +111,22 @@ public class ScanForIssuesStep extends Step {
         this.sourceCodeEncoding = sourceCodeEncoding;
     }
 
+    public int getParsingThreads() {
+        return parsingThreads;
+    }
+
+    /**
+     * Sets the number of threads that will be used to parse the report files. If the value is less than two, then all
+     * report files will be parsed sequentially.
+     *
+     * @param parsingThreads
+     *         the number of threads to parse report files
+     */
+    @DataBoundSetter
+    public void setParsingThreads(final int parsingThreads) {
+        this.parsingThreads = parsingThreads;
+    }
+
     @Override
     public StepExecution start(final StepContext context) {
         return new Execution(context, this);
@@ -121,6 +138,7 @@ public class ScanForIssuesStep extends Step {
     public static class Execution extends AnalysisExecution<Report> {
         private final String reportEncoding;
         private final String sourceCodeEncoding;
+        private final int parsingThreads;
         private final StaticAnalysisTool tool;
         private final String pattern;
 
@@ -137,6 +155,7 @@ public class ScanForIssuesStep extends Step {
 
             reportEncoding = step.getReportEncoding();
             sourceCodeEncoding = step.getSourceCodeEncoding();
+            parsingThreads = step.getParsingThreads();
             tool = step.getTool();
             pattern = step.getPattern();
         }
@@ -144,7 +163,7 @@ public class ScanForIssuesStep extends Step {
         @Override
         protected Report run() throws IOException, InterruptedException, IllegalStateException {
             IssuesScanner issuesScanner = new IssuesScanner(tool, getWorkspace(), getCharset(reportEncoding),
-                    getCharset(sourceCodeEncoding), new FilePath(getRun().getRootDir()), 
+                    getCharset(sourceCodeEncoding), getRun(), parsingThreads,
                     new LogHandler(getTaskListener(), tool.getName()));
             return issuesScanner.scan(pattern, getRun().getLogFile());
         }
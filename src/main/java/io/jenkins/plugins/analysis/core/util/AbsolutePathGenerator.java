@@ -8,6 +8,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import edu.hm.hafner.analysis.Issue;
@@ -32,6 +33,17 @@ public class AbsolutePathGenerator {
         this(new FileSystem());
     }
 
+    /**
+     * Creates a new instance of {@link AbsolutePathGenerator} that resolves the relative file names using the index
+     * of the workspace. Only file names that are not part of the index will be probed in the file system.
+     *
+     * @param index
+     *         provides the index of the workspace, only called if there are relative file names
+     */
+    public AbsolutePathGenerator(final Supplier<WorkspaceIndex> index) {
+        this(new IndexedFileSystem(index));
+    }
+
     @VisibleForTesting
     AbsolutePathGenerator(final FileSystem fileSystem) {
         this.fileSystem = fileSystem;
@@ -126,4 +138,26 @@ public class AbsolutePathGenerator {
             }
         }
     }
+
+    /**
+     * File system facade that resolves the file names using the index of the workspace.
+     */
+    private static class IndexedFileSystem extends FileSystem {
+        private final Supplier<WorkspaceIndex> index;
+
+        IndexedFileSystem(final Supplier<WorkspaceIndex> index) {
+            super();
+
+            this.index = index;
+        }
+
+        @Override
+        String resolveFile(final String fileName, final File workspace) {
+            WorkspaceIndex workspaceIndex = index.get();
+            if (workspaceIndex.isIndexOf(workspace)) {
+                return workspaceIndex.resolve(fileName).orElseGet(() -> super.resolveFile(fileName, workspace));
+            }
+            return super.resolveFile(fileName, workspace);
+        }
+    }
 }
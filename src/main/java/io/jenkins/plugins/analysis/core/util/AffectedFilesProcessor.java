@@ -0,0 +1,428 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+
+import edu.hm.hafner.analysis.FingerprintGenerator;
+import edu.hm.hafner.analysis.FullTextFingerprint;
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.PackageNameResolver;
+import edu.hm.hafner.analysis.Report;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import hudson.FilePath;
+
+/**
+ * Processes the affected files of a report in a single pass: the issues are grouped by file and the content of each
+ * file is read only once from the workspace. This content is used to copy the file to the {@link AffectedFilesStore},
+ * to resolve the package name, and to create the fingerprints of all issues in this file. The files are processed in
+ * parallel using a bounded number of threads.
+ * <p>
+ * Package detection and fingerprinting of the analysis model read the source files by name. Therefore, the content is
+ * staged in a local temporary folder of the agent so that these steps do not need to access the (possibly slow)
+ * workspace again. If a {@link FingerprintCache} is provided, then the fingerprints of files that have not been
+ * changed since a previous build are taken from this cache.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class AffectedFilesProcessor {
+    /** Files that are larger than this limit are not read into memory: they are processed in the workspace directly. */
+    static final long MAXIMUM_BUFFER_SIZE = 16 * 1024 * 1024;
+    private static final int MAXIMUM_THREADS = 8;
+    private static final int MAXIMUM_LOGGED_ERRORS = 5;
+    private static final String FINGERPRINT_ALGORITHM = FullTextFingerprint.class.getSimpleName();
+
+    private final Charset charset;
+    private final int threads;
+    @CheckForNull
+    private final FingerprintCache fingerprintCache;
+
+    /**
+     * Creates a new instance of {@link AffectedFilesProcessor}.
+     *
+     * @param charset
+     *         the encoding of the source files
+     */
+    public AffectedFilesProcessor(final Charset charset) {
+        this(charset, null);
+    }
+
+    /**
+     * Creates a new instance of {@link AffectedFilesProcessor}.
+     *
+     * @param charset
+     *         the encoding of the source files
+     * @param fingerprintCache
+     *         the cache of the fingerprints of previous builds, or {@code null} if no cache should be used
+     */
+    public AffectedFilesProcessor(final Charset charset, @CheckForNull final FingerprintCache fingerprintCache) {
+        this(charset, Math.min(MAXIMUM_THREADS, Runtime.getRuntime().availableProcessors()), fingerprintCache);
+    }
+
+    AffectedFilesProcessor(final Charset charset, final int threads,
+            @CheckForNull final FingerprintCache fingerprintCache) {
+        this.charset = charset;
+        this.threads = Math.max(1, threads);
+        this.fingerprintCache = fingerprintCache;
+    }
+
+    /**
+     * Copies all files with issues from the workspace to the store of affected files, resolves the package names of
+     * the affected files, and creates the fingerprints of all issues. Only files whose content is not yet part of the
+     * store will be transferred. The content hashes of all affected files are written to the specified index file.
+     *
+     * @param report
+     *         the issues
+     * @param store
+     *         directory of the store to copy the files to
+     * @param index
+     *         the index file that maps the affected files to their content hash
+     * @param workspace
+     *         local directory of the workspace, all source files must be part of this directory
+     *
+     * @throws InterruptedException
+     *         if the user cancels the processing
+     */
+    public void run(final Report report, final FilePath store, final FilePath index, final File workspace)
+            throws InterruptedException {
+        report.logInfo("Copying affected files to Jenkins' store of affected files %s", store);
+        report.logInfo("Resolving package names (or namespaces) by parsing the affected files");
+        report.logInfo("Creating fingerprints for all affected code blocks to track issues over different builds");
+
+        Map<String, Report> issuesByFile = groupByFile(report);
+        if (issuesByFile.isEmpty()) {
+            report.logInfo("-> no affected files found");
+            return;
+        }
+
+        AffectedFilesResolver resolver = new AffectedFilesResolver();
+        Path staging = createStagingFolder(report);
+        int poolSize = Math.min(threads, issuesByFile.size());
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            List<Future<FileResult>> futures = new ArrayList<>();
+            for (Entry<String, Report> file : issuesByFile.entrySet()) {
+                futures.add(executor.submit(
+                        () -> process(file.getKey(), file.getValue(), resolver, store, workspace, staging)));
+            }
+            List<FileResult> results = new ArrayList<>();
+            for (Future<FileResult> future : futures) {
+                results.add(getResult(future));
+            }
+            report.logInfo("-> processed %d affected files using %d threads", results.size(), poolSize);
+            logResults(report, results, issuesByFile.values());
+            writeIndex(report, index, resolver, results);
+            if (fingerprintCache != null) {
+                fingerprintCache.prune();
+            }
+        }
+        finally {
+            executor.shutdownNow();
+            if (staging != null) {
+                FileUtils.deleteQuietly(staging.toFile());
+            }
+        }
+    }
+
+    private Map<String, Report> groupByFile(final Report report) {
+        Map<String, Report> issuesByFile = new LinkedHashMap<>();
+        for (Issue issue : report) {
+            issuesByFile.computeIfAbsent(issue.getFileName(), key -> new Report()).add(issue);
+        }
+        return issuesByFile;
+    }
+
+    @CheckForNull
+    private Path createStagingFolder(final Report report) {
+        try {
+            return Files.createTempDirectory("affected-files");
+        }
+        catch (IOException exception) {
+            report.logError("Can't create temporary folder for affected files, reading files in workspace: %s",
+                    exception);
+            return null;
+        }
+    }
+
+    private FileResult getResult(final Future<FileResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        }
+        catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private FileResult process(final String fileName, final Report issues, final AffectedFilesResolver resolver,
+            final FilePath store, final File workspace, final Path staging)
+            throws InterruptedException {
+        FileResult result = new FileResult(fileName);
+        byte[] content = null;
+        if (resolver.exists(fileName)) {
+            if (resolver.isInWorkspace(fileName, workspace)) {
+                try {
+                    content = read(fileName);
+                    result.hash = content == null
+                            ? AffectedFilesStore.computeHash(Paths.get(fileName))
+                            : AffectedFilesStore.computeHash(content);
+                    if (content == null) {
+                        result.status = resolver.copy(store, fileName, result.hash) ? Status.COPIED : Status.STORED;
+                    }
+                    else {
+                        result.status = resolver.copy(store, content, result.hash) ? Status.COPIED : Status.STORED;
+                    }
+                }
+                catch (IOException exception) {
+                    result.status = Status.ERROR;
+                    result.hash = null;
+                    result.exception = exception;
+                }
+            }
+            else {
+                result.status = Status.NOT_IN_WORKSPACE;
+            }
+        }
+        else {
+            result.status = Status.NOT_FOUND;
+        }
+
+        Path stagedFile = stage(fileName, content, staging);
+        if (stagedFile == null) {
+            analyze(issues, result);
+        }
+        else {
+            String stagedFileName = stagedFile.toString();
+            issues.forEach(issue -> issue.setFileName(stagedFileName));
+            try {
+                analyze(issues, result);
+            }
+            finally {
+                issues.forEach(issue -> issue.setFileName(fileName));
+            }
+            result.replaceInErrors(stagedFileName, fileName);
+        }
+        return result;
+    }
+
+    /**
+     * Reads the content of the specified file. Files that exceed the {@link #MAXIMUM_BUFFER_SIZE} are not read.
+     *
+     * @return the content of the file, or {@code null} if the file is too large
+     */
+    private byte[] read(final String fileName) throws IOException {
+        Path file = Paths.get(fileName);
+        if (Files.size(file) > MAXIMUM_BUFFER_SIZE) {
+            return null;
+        }
+        return Files.readAllBytes(file);
+    }
+
+    /**
+     * Writes the content of an affected file to the staging folder. The name of the staged file ends with the name of
+     * the original file so that the package detectors can still use the file extension.
+     *
+     * @return the staged file, or {@code null} if the file has not been staged
+     */
+    private Path stage(final String fileName, final byte[] content, final Path staging) {
+        if (content == null || staging == null) {
+            return null;
+        }
+        try {
+            Path stagedFile = Files.createTempFile(staging, "affected", "-" + Paths.get(fileName).getFileName());
+            Files.write(stagedFile, content);
+            return stagedFile;
+        }
+        catch (IOException | IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    private void analyze(final Report issues, final FileResult result) {
+        result.hasPackageNames = issues.stream().allMatch(Issue::hasPackageName);
+
+        new PackageNameResolver().run(issues, charset);
+        createFingerprints(issues, result);
+
+        result.errors.addAll(issues.getErrorMessages());
+    }
+
+    private void createFingerprints(final Report issues, final FileResult result) {
+        if (fingerprintCache == null || result.hash == null) {
+            new FingerprintGenerator().run(new FullTextFingerprint(), issues, charset);
+            return;
+        }
+
+        Properties fingerprints = fingerprintCache.get(result.hash);
+        Report missing = new Report();
+        for (Issue issue : issues) {
+            if (!issue.hasFingerprint()) {
+                result.cacheableFingerprints++;
+                String fingerprint = fingerprints.getProperty(createKey(issue));
+                if (fingerprint == null) {
+                    missing.add(issue);
+                }
+                else {
+                    issue.setFingerprint(fingerprint);
+                    result.cachedFingerprints++;
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            new FingerprintGenerator().run(new FullTextFingerprint(), missing, charset);
+            if (missing.hasErrors()) {
+                result.errors.addAll(missing.getErrorMessages());
+            }
+            else {
+                for (Issue issue : missing) {
+                    fingerprints.setProperty(createKey(issue), issue.getFingerprint());
+                }
+                fingerprintCache.put(result.hash, fingerprints);
+            }
+        }
+    }
+
+    private String createKey(final Issue issue) {
+        return FingerprintCache.createKey(FINGERPRINT_ALGORITHM, charset, issue);
+    }
+
+    private void logResults(final Report report, final List<FileResult> results, final Iterable<Report> issues) {
+        int copied = 0;
+        int stored = 0;
+        int notFound = 0;
+        int notInWorkspace = 0;
+        int error = 0;
+        int filesWithoutPackageName = 0;
+        int cachedFingerprints = 0;
+        int cacheableFingerprints = 0;
+        List<String> errorLog = new ArrayList<>();
+        Set<String> analysisErrors = new LinkedHashSet<>();
+
+        for (FileResult result : results) {
+            switch (result.status) {
+                case COPIED:
+                    copied++;
+                    break;
+                case STORED:
+                    stored++;
+                    break;
+                case NOT_IN_WORKSPACE:
+                    notInWorkspace++;
+                    break;
+                case NOT_FOUND:
+                    notFound++;
+                    break;
+                default:
+                    if (error < MAXIMUM_LOGGED_ERRORS) {
+                        errorLog.add(String.format("- '%s', IO exception has been thrown: %s",
+                                result.fileName, result.exception));
+                    }
+                    else if (error == MAXIMUM_LOGGED_ERRORS) {
+                        errorLog.add("  ... skipped logging of additional file errors ...");
+                    }
+                    error++;
+                    break;
+            }
+            if (!result.hasPackageNames) {
+                filesWithoutPackageName++;
+            }
+            cachedFingerprints += result.cachedFingerprints;
+            cacheableFingerprints += result.cacheableFingerprints;
+            analysisErrors.addAll(result.errors);
+        }
+
+        report.logInfo("-> %d copied, %d already stored, %d not in workspace, %d not-found, %d with I/O error",
+                copied, stored, notInWorkspace, notFound, error);
+        if (error > 0) {
+            report.logError("Can't copy %d affected files:", error);
+            errorLog.forEach(report::logError);
+        }
+
+        if (filesWithoutPackageName == 0) {
+            report.logInfo("-> all affected files already have a valid package name");
+        }
+        else {
+            report.logInfo("-> resolved package names of %d affected files", filesWithoutPackageName);
+        }
+
+        int size = 0;
+        for (Report issuesOfFile : issues) {
+            size += issuesOfFile.size();
+        }
+        report.logInfo("-> created fingerprints for %d issues", size);
+        if (fingerprintCache != null && cacheableFingerprints > 0) {
+            report.logInfo("-> reused %d of %d fingerprints from the cache (%d%% hit rate)",
+                    cachedFingerprints, cacheableFingerprints, cachedFingerprints * 100 / cacheableFingerprints);
+        }
+
+        analysisErrors.forEach(report::logError);
+    }
+
+    private void writeIndex(final Report report, final FilePath index, final AffectedFilesResolver resolver,
+            final List<FileResult> results) throws InterruptedException {
+        Properties hashes = new Properties();
+        for (FileResult result : results) {
+            if (result.hash != null) {
+                hashes.setProperty(result.fileName, result.hash);
+            }
+        }
+        if (!hashes.isEmpty()) {
+            resolver.writeIndex(index, hashes, report);
+        }
+    }
+
+    /**
+     * Status of copying an affected file to the store.
+     */
+    private enum Status {
+        COPIED, STORED, NOT_IN_WORKSPACE, NOT_FOUND, ERROR
+    }
+
+    /**
+     * The result of processing a single affected file.
+     */
+    private static class FileResult {
+        private final String fileName;
+        private final List<String> errors = new ArrayList<>();
+        private Status status = Status.ERROR;
+        private String hash;
+        private IOException exception;
+        private boolean hasPackageNames;
+        private int cachedFingerprints;
+        private int cacheableFingerprints;
+
+        FileResult(final String fileName) {
+            this.fileName = fileName;
+        }
+
+        void replaceInErrors(final String stagedFileName, final String originalFileName) {
+            errors.replaceAll(message -> message.replace(stagedFileName, originalFileName));
+        }
+    }
+}
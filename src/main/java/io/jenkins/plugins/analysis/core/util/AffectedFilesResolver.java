@@ -1,15 +1,15 @@
 package io.jenkins.plugins.analysis.core.util;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.Properties;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
@@ -18,13 +18,14 @@ import hudson.FilePath;
 import hudson.model.Run;
 
 /**
- * Copies all affected files that are referenced in at least one of the issues to Jenkins build folder. These files can
- * be inspected in the UI later on.
+ * Provides access to the affected files in the {@link AffectedFilesStore} of the job. Copies single affected files to
+ * this store, see {@link AffectedFilesProcessor}. These files can be inspected in the UI later on. Files that are
+ * already part of the store are not copied again.
  *
  * @author Ullrich Hafner
  */
 public class AffectedFilesResolver {
-    private static final String AFFECTED_FILES_FOLDER_NAME = "files-with-issues";
+    static final String AFFECTED_FILES_FOLDER_NAME = "files-with-issues";
 
     /**
      * Returns whether the affected file in Jenkins' build folder does exist and is readable.
@@ -61,7 +62,8 @@ public class AffectedFilesResolver {
     }
 
     /**
-     * Returns the affected file in Jenkins' build folder.
+     * Returns the affected file in Jenkins' build folder. For builds that have been recorded before the affected files
+     * have been moved to the {@link AffectedFilesStore}, the copy in the build folder will be returned.
      *
      * @param run
      *         the run referencing the build folder
@@ -71,72 +73,78 @@ public class AffectedFilesResolver {
      * @return the file
      */
     public static Path getFile(final Run<?, ?> run, final String fileName) {
-        return run.getRootDir().toPath()
-                .resolve(AFFECTED_FILES_FOLDER_NAME)
-                .resolve(getTempName(fileName));
+        return new AffectedFilesStore(run).getFile(fileName).orElseGet(
+                () -> run.getRootDir().toPath()
+                        .resolve(AFFECTED_FILES_FOLDER_NAME)
+                        .resolve(getTempName(fileName)));
+    }
+
+    void writeIndex(final FilePath index, final Properties hashes, final Report report)
+            throws InterruptedException {
+        try {
+            createDirectory(index.getParent());
+            try (OutputStream output = index.write()) {
+                hashes.store(output, null);
+            }
+        }
+        catch (IOException exception) {
+            report.logError("Can't write index of affected files: %s", exception);
+        }
+    }
+
+    boolean copy(final FilePath store, final String file, final String hash)
+            throws IOException, InterruptedException {
+        return copy(store, hash, target -> new FilePath(Paths.get(file).toFile()).copyTo(target));
     }
 
     /**
-     * Copies all files with issues from the workspace to the build folder.
+     * Copies the content of an affected file that has been read already to the store if there is no file with the same
+     * content hash yet.
      *
-     * @param report
-     *         the issues
-     * @param jenkinsBuildRoot
-     *         directory to store the copied files in
-     * @param workspace
-     *         local directory of the workspace, all source files must be part of this directory
+     * @param store
+     *         directory of the store to copy the file to
+     * @param content
+     *         the content of the affected file
+     * @param hash
+     *         the content hash of the affected file
      *
+     * @return {@code true} if the file has been copied, {@code false} if the store already contains the file
+     * @throws IOException
+     *         if the file could not be written
      * @throws InterruptedException
      *         if the user cancels the processing
      */
-    public void copyFilesWithAnnotationsToBuildFolder(final Report report,
-            final FilePath jenkinsBuildRoot, final File workspace)
-            throws InterruptedException {
-        int copied = 0;
-        int notFound = 0;
-        int notInWorkspace = 0;
-        int error = 0;
-
-        List<String> errorLog = new ArrayList<>();
-        Set<String> files = report.getFiles();
-        for (String file : files) {
-            if (exists(file)) {
-                if (isInWorkspace(file, workspace)) {
-                    try {
-                        copy(jenkinsBuildRoot, file);
-                        copied++;
-                    }
-                    catch (IOException exception) {
-                        if (error < 5) {
-                            errorLog.add(String.format("- '%s', IO exception has been thrown: %s", file, exception));
-                        }
-                        else if (error == 5) {
-                            errorLog.add("  ... skipped logging of additional file errors ...");
-                        }
-                        error++;
-                    }
-                }
-                else {
-                    notInWorkspace++;
-                }
-            }
-            else {
-                notFound++;
-            }
-        }
+    boolean copy(final FilePath store, final byte[] content, final String hash)
+            throws IOException, InterruptedException {
+        return copy(store, hash, target -> target.copyFrom(new ByteArrayInputStream(content)));
+    }
 
-        report.logInfo("-> %d copied, %d not in workspace, %d not-found, %d with I/O error",
-                copied, notInWorkspace, notFound, error);
-        if (error > 0) {
-            report.logError("Can't copy %d affected files:", error);
-            errorLog.forEach(report::logError);
+    /**
+     * Copies the file to the store if there is no file with the same content hash yet.
+     *
+     * @return {@code true} if the file has been copied, {@code false} if the store already contains the file
+     */
+    private boolean copy(final FilePath store, final String hash, final Content content)
+            throws IOException, InterruptedException {
+        FilePath storedFile = store.child(AffectedFilesStore.getRelativePath(hash));
+        if (storedFile.exists()) {
+            return false;
         }
-    }
 
-    private void copy(final FilePath jenkinsBuildRoot, final String file) throws IOException, InterruptedException {
-        FilePath remoteBuildFolderCopy = createBuildDirectory(jenkinsBuildRoot).child(getTempName(file));
-        FilePath localSourceFile = new FilePath(Paths.get(file).toFile());
-        localSourceFile.copyTo(remoteBuildFolderCopy);
+        FilePath directory = createDirectory(storedFile.getParent());
+        FilePath temporaryCopy = directory.createTempFile(hash, ".tmp");
+        content.writeTo(temporaryCopy);
+        try {
+            temporaryCopy.renameTo(storedFile);
+            return true;
+        }
+        catch (IOException exception) {
+            temporaryCopy.delete();
+            if (storedFile.exists()) { // another build stored the same content in the meantime
+                return false;
+            }
+            throw exception;
+        }
     }
 
     /**
@@ -150,7 +158,7 @@ public class AffectedFilesResolver {
      *
      * @return {@code true} if the file is in the workspace, {@code false} otherwise
      */
-    private boolean isInWorkspace(final String fileName, final File workspace) {
+    boolean isInWorkspace(final String fileName, final File workspace) {
         try {
             Path workspaceDirectory = workspace.toPath().toRealPath().normalize();
             Path sourceFile = Paths.get(fileName).toRealPath();
@@ -162,7 +170,7 @@ public class AffectedFilesResolver {
         }
     }
 
-    private boolean exists(final String file) {
+    boolean exists(final String file) {
         try {
             return Files.exists(Paths.get(file));
         }
@@ -171,9 +179,8 @@ public class AffectedFilesResolver {
         }
     }
 
-    private FilePath createBuildDirectory(final FilePath jenkinsBuildRoot)
+    private FilePath createDirectory(final FilePath directory)
             throws IOException, InterruptedException {
-        FilePath directory = jenkinsBuildRoot.child(AFFECTED_FILES_FOLDER_NAME);
         try {
             directory.mkdirs();
         }
@@ -185,11 +192,19 @@ public class AffectedFilesResolver {
     }
 
     /**
-     * Returns a file name for a temporary file that will hold the contents of the source.
+     * Returns the file name of a copy in the build folder. Such copies have been created by older releases.
      *
      * @return the temporary name
      */
     private static String getTempName(final String fileName) {
         return Integer.toHexString(fileName.hashCode()) + ".tmp";
     }
+
+    /**
+     * The content of an affected file that will be copied to the store.
+     */
+    @FunctionalInterface
+    private interface Content {
+        void writeTo(FilePath target) throws IOException, InterruptedException;
+    }
 }
@@ -0,0 +1,412 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+import hudson.remoting.VirtualChannel;
+
+/**
+ * Content addressed store for the affected files of all builds of a job. Each affected file is stored only once in the
+ * folder of the job, the name of the stored file is the SHA-256 hash of its content. Each build has an index that maps
+ * the names of the affected files to the content hashes. The number of builds that reference a stored file is counted,
+ * so that the stored file can be removed if the last build that references the file has been deleted.
+ * <p>
+ * The index of a build is filled on the agent. Since an agent must not be trusted, only valid content hashes are
+ * accepted when the index is registered. Moreover, the location of a stored file is always checked to be part of the
+ * store, so that no files outside of the store are served or deleted.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class AffectedFilesStore {
+    private static final java.util.logging.Logger LOGGER
+            = java.util.logging.Logger.getLogger(AffectedFilesStore.class.getName());
+
+    static final String STORE_FOLDER_NAME = "files-with-issues-store";
+    static final String INDEX_FILE_NAME = "index.properties";
+    private static final String REFERENCES_FILE_NAME = "references.properties";
+    private static final String INDEX_SUFFIX = ".index";
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private static final Object LOCK = new Object();
+    private static final int MAX_CACHED_INDEXES = 32;
+    private static final Map<File, CachedIndex> INDEXES = Collections.synchronizedMap(
+            new LinkedHashMap<File, CachedIndex>(MAX_CACHED_INDEXES, 0.75f, true) {
+                private static final long serialVersionUID = -7381928485413297620L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<File, CachedIndex> eldest) {
+                    return size() > MAX_CACHED_INDEXES;
+                }
+            });
+
+    private final File storeDirectory;
+    private final File indexFile;
+
+    /**
+     * Creates a new instance of {@link AffectedFilesStore}.
+     *
+     * @param run
+     *         the run that references the affected files
+     */
+    public AffectedFilesStore(final Run<?, ?> run) {
+        storeDirectory = new File(run.getParent().getRootDir(), STORE_FOLDER_NAME);
+        indexFile = new File(new File(run.getRootDir(), AffectedFilesResolver.AFFECTED_FILES_FOLDER_NAME),
+                INDEX_FILE_NAME);
+    }
+
+    /**
+     * Returns the location of the store. Affected files are copied from the agent to this location.
+     *
+     * @return the location of the store
+     */
+    public FilePath getLocation() {
+        return new FilePath(storeDirectory);
+    }
+
+    /**
+     * Creates the location of a new index file in the build folder. This file will be filled with the affected files
+     * of a single static analysis tool on the agent and needs to be {@link #register(FilePath, VirtualChannel)
+     * registered} afterwards.
+     *
+     * @return the location of the index file
+     */
+    public FilePath createIndexLocation() {
+        return new FilePath(new File(indexFile.getParentFile(), UUID.randomUUID() + INDEX_SUFFIX));
+    }
+
+    /**
+     * Returns the stored copy of the specified affected file.
+     *
+     * @param fileName
+     *         the name of the affected file
+     *
+     * @return the stored copy of the file or {@link Optional#empty()} if the file is not part of the store
+     */
+    public Optional<Path> getFile(final String fileName) {
+        String hash = getIndex().getProperty(fileName);
+        if (hash == null) {
+            return Optional.empty();
+        }
+        return getStoredFile(hash);
+    }
+
+    private Properties getIndex() {
+        long lastModified = indexFile.lastModified();
+        CachedIndex cached = INDEXES.get(indexFile);
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached.index;
+        }
+        Properties index = read(indexFile);
+        INDEXES.put(indexFile, new CachedIndex(lastModified, index));
+        return index;
+    }
+
+    /**
+     * Adds the affected files of the specified index to the index of the build. The reference count of every stored
+     * file that is new for this build will be incremented. The agent skips files that are already part of the store,
+     * but a concurrent {@link #release()} might have deleted such a file before its reference count has been
+     * incremented. Therefore, the existence of the stored files is checked again while holding the lock: missing files
+     * are copied again from the agent. Entries of the index that do not contain a valid content hash are skipped.
+     *
+     * @param index
+     *         the index that has been filled on the agent
+     * @param channel
+     *         the channel to the agent that contains the affected files, or {@code null} if the files are local
+     *
+     * @throws InterruptedException
+     *         if the user cancels the processing
+     */
+    public void register(final FilePath index, @CheckForNull final VirtualChannel channel)
+            throws InterruptedException {
+        File partialIndexFile = new File(index.getRemote());
+        if (!partialIndexFile.exists()) {
+            return; // no affected files
+        }
+
+        Map<String, String> missing = new LinkedHashMap<>();
+        synchronized (LOCK) {
+            Properties buildIndex = read(indexFile);
+            Set<String> referenced = new HashSet<>(buildIndex.stringPropertyNames().size());
+            buildIndex.stringPropertyNames().forEach(name -> referenced.add(buildIndex.getProperty(name)));
+
+            Properties references = read(getReferencesFile());
+            Properties partialIndex = read(partialIndexFile);
+            for (String fileName : partialIndex.stringPropertyNames()) {
+                String hash = partialIndex.getProperty(fileName);
+                if (!isValidHash(hash)) {
+                    LOGGER.log(Level.WARNING, "Skipping affected file " + fileName + " with invalid content hash");
+                    continue;
+                }
+                buildIndex.setProperty(fileName, hash);
+                if (referenced.add(hash)) {
+                    references.setProperty(hash, String.valueOf(getCount(references, hash) + 1));
+                }
+                if (getStoredFile(hash).map(file -> !Files.exists(file)).orElse(false)) {
+                    missing.put(hash, fileName);
+                }
+            }
+
+            write(getReferencesFile(), references);
+            write(indexFile, buildIndex);
+            INDEXES.remove(indexFile);
+            delete(partialIndexFile);
+        }
+
+        // the files are referenced by this build now, so they can be restored without holding the lock
+        for (Map.Entry<String, String> file : missing.entrySet()) {
+            restore(file.getKey(), new FilePath(channel, file.getValue()));
+        }
+    }
+
+    /**
+     * Copies the affected file again to the store. The file will not be stored if its content does not match the
+     * content hash anymore.
+     */
+    private void restore(final String hash, final FilePath affectedFile) throws InterruptedException {
+        Optional<Path> stored = getStoredFile(hash);
+        if (!stored.isPresent()) {
+            return;
+        }
+        Path storedFile = stored.get();
+        try {
+            Path directory = Files.createDirectories(storedFile.getParent());
+            Path temporaryCopy = Files.createTempFile(directory, hash, ".tmp");
+            try {
+                try (OutputStream output = Files.newOutputStream(temporaryCopy)) {
+                    affectedFile.copyTo(output);
+                }
+                if (hash.equals(computeHash(temporaryCopy))) {
+                    Files.move(temporaryCopy, storedFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+                else {
+                    LOGGER.log(Level.WARNING, "Can't restore affected file " + affectedFile
+                            + ", its content has been changed");
+                }
+            }
+            finally {
+                Files.deleteIfExists(temporaryCopy);
+            }
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Can't restore affected file " + affectedFile, exception);
+        }
+    }
+
+    /**
+     * Releases all affected files of the build. The reference count of every stored file that is referenced by this
+     * build will be decremented. Stored files that are not referenced anymore will be deleted.
+     */
+    public void release() {
+        synchronized (LOCK) {
+            Properties buildIndex = read(indexFile);
+            if (buildIndex.isEmpty()) {
+                return;
+            }
+
+            Set<String> referenced = new HashSet<>();
+            buildIndex.stringPropertyNames().forEach(name -> referenced.add(buildIndex.getProperty(name)));
+
+            Properties references = read(getReferencesFile());
+            for (String hash : referenced) {
+                int count = getCount(references, hash) - 1;
+                if (count > 0) {
+                    references.setProperty(hash, String.valueOf(count));
+                }
+                else {
+                    references.remove(hash);
+                    getStoredFile(hash).map(Path::toFile).ifPresent(AffectedFilesStore::delete);
+                }
+            }
+
+            write(getReferencesFile(), references);
+            delete(indexFile);
+            INDEXES.remove(indexFile);
+        }
+    }
+
+    /**
+     * Returns the location of the stored file with the specified content hash. The hash has been read from an index
+     * that has been written on the agent, so it is validated before it is used as part of a path.
+     *
+     * @param hash
+     *         the content hash
+     *
+     * @return the location of the stored file, or {@link Optional#empty()} if the hash is invalid
+     */
+    private Optional<Path> getStoredFile(final String hash) {
+        if (!isValidHash(hash)) {
+            return Optional.empty();
+        }
+        Path store = storeDirectory.toPath().toAbsolutePath().normalize();
+        Path storedFile = store.resolve(getRelativePath(hash)).normalize();
+        if (!storedFile.startsWith(store)) {
+            return Optional.empty();
+        }
+        return Optional.of(storedFile);
+    }
+
+    /**
+     * Returns whether the specified value is a valid content hash, i.e. the hex representation of a SHA-256 hash.
+     *
+     * @param hash
+     *         the value to check
+     *
+     * @return {@code true} if the value is a valid content hash, {@code false} otherwise
+     */
+    static boolean isValidHash(@CheckForNull final String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    private File getReferencesFile() {
+        return new File(storeDirectory, REFERENCES_FILE_NAME);
+    }
+
+    private int getCount(final Properties references, final String hash) {
+        try {
+            return Integer.parseInt(references.getProperty(hash, "0"));
+        }
+        catch (NumberFormatException exception) {
+            return 0;
+        }
+    }
+
+    private static Properties read(final File file) {
+        Properties properties = new Properties();
+        if (file.exists()) {
+            try (InputStream input = Files.newInputStream(file.toPath())) {
+                properties.load(input);
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, "Can't read index of affected files " + file, exception);
+            }
+        }
+        return properties;
+    }
+
+    private static void write(final File file, final Properties properties) {
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            try (OutputStream output = Files.newOutputStream(file.toPath())) {
+                properties.store(output, null);
+            }
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Can't write index of affected files " + file, exception);
+        }
+    }
+
+    private static void delete(final File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "Can't delete affected file " + file, exception);
+        }
+    }
+
+    /**
+     * Returns the path of the stored file with the specified content hash, relative to the store. Stored files are
+     * distributed into sub folders using the first two characters of the hash.
+     *
+     * @param hash
+     *         the content hash
+     *
+     * @return the relative path
+     */
+    static String getRelativePath(final String hash) {
+        return hash.substring(0, 2) + "/" + hash;
+    }
+
+    /**
+     * Computes the content hash of the specified file.
+     *
+     * @param file
+     *         the file
+     *
+     * @return the content hash
+     * @throws IOException
+     *         if the file could not be read
+     */
+    static String computeHash(final Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            MessageDigest digest = createDigest();
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = input.read(buffer)) >= 0) {
+                digest.update(buffer, 0, length);
+            }
+            return Util.toHexString(digest.digest());
+        }
+    }
+
+    /**
+     * Computes the content hash of an affected file that has been read already.
+     *
+     * @param content
+     *         the content of the file
+     *
+     * @return the content hash
+     */
+    static String computeHash(final byte[] content) {
+        return Util.toHexString(createDigest().digest(content));
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", exception);
+        }
+    }
+
+    /**
+     * Parsed index of a build, along with the modification time of the file it has been read from.
+     */
+    private static class CachedIndex {
+        private final long lastModified;
+        private final Properties index;
+
+        CachedIndex(final long lastModified, final Properties index) {
+            this.lastModified = lastModified;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Releases the affected files of builds that will be deleted.
+     */
+    @Extension
+    public static class ReferenceCleaner extends RunListener<Run<?, ?>> {
+        @Override
+        public void onDeleted(final Run<?, ?> run) {
+            new AffectedFilesStore(run).release();
+        }
+    }
+}
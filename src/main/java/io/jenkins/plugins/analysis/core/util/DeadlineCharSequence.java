@@ -0,0 +1,82 @@
+package io.jenkins.plugins.analysis.core.util;
+
+/**
+ * A {@link CharSequence} that stops a regular expression matcher when a deadline has passed. The regular expression
+ * engine of the JDK cannot be interrupted, but it reads every character of the input using {@link #charAt(int)}. So
+ * the deadline is checked every {@value #CHECK_INTERVAL} character accesses: if the deadline has passed then a {@link
+ * DeadlineExceededException} is thrown, even in the middle of a catastrophic backtracking.
+ *
+ * @author Ullrich Hafner
+ */
+public final class DeadlineCharSequence implements CharSequence {
+    private static final int CHECK_INTERVAL = 1024;
+    private static final int CHECK_MASK = CHECK_INTERVAL - 1;
+
+    private final CharSequence delegate;
+    private final long deadline;
+    private int accesses;
+
+    /**
+     * Creates a new instance of {@link DeadlineCharSequence}.
+     *
+     * @param delegate
+     *         the characters to match
+     * @param deadline
+     *         the deadline in terms of {@link System#nanoTime()}
+     */
+    public DeadlineCharSequence(final CharSequence delegate, final long deadline) {
+        this.delegate = delegate;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Creates a new instance of {@link DeadlineCharSequence} whose deadline passes after the specified time.
+     *
+     * @param delegate
+     *         the characters to match
+     * @param timeoutInMillis
+     *         the time in milliseconds the characters may be accessed
+     *
+     * @return the time bounded characters
+     */
+    public static DeadlineCharSequence withTimeout(final CharSequence delegate, final long timeoutInMillis) {
+        return new DeadlineCharSequence(delegate, System.nanoTime() + timeoutInMillis * 1_000_000L);
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if ((++accesses & CHECK_MASK) == 0 && System.nanoTime() - deadline > 0) {
+            throw new DeadlineExceededException();
+        }
+        return delegate.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return delegate.length();
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return delegate.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    /**
+     * Indicates that the deadline of a {@link DeadlineCharSequence} has passed while the characters have been matched.
+     */
+    public static final class DeadlineExceededException extends RuntimeException {
+        private static final long serialVersionUID = -5474312848498003542L;
+
+        /**
+         * Creates a new instance of {@link DeadlineExceededException}.
+         */
+        public DeadlineExceededException() {
+            super("Deadline exceeded while matching a regular expression", null, false, false);
+        }
+    }
+}
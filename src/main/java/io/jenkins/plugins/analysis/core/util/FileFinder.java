@@ -7,6 +7,8 @@ import org.apache.tools.ant.BuildException;
 import org.apache.tools.ant.Project;
 import org.apache.tools.ant.types.FileSet;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
 import jenkins.MasterToSlaveFileCallable;
 
 import hudson.remoting.VirtualChannel;
@@ -71,4 +73,22 @@ public class FileFinder extends MasterToSlaveFileCallable<String[]> {
             return new String[0];
         }
     }
+
+    /**
+     * Returns an array with the file names of the specified file pattern that have been found in the workspace. If
+     * the specified index belongs to the workspace, then the files are found in the index without scanning the
+     * workspace again.
+     *
+     * @param workspace
+     *            root directory of the workspace
+     * @param index
+     *            the index of the workspace, might be {@code null}
+     * @return the file names of all found files
+     */
+    public String[] find(final File workspace, @CheckForNull final WorkspaceIndex index) {
+        if (index != null && index.isIndexOf(workspace)) {
+            return index.find(pattern);
+        }
+        return find(workspace);
+    }
 }
\ No newline at end of file
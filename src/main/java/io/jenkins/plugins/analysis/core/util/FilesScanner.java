@@ -2,14 +2,23 @@ package io.jenkins.plugins.analysis.core.util;
 
 import java.io.File;
 import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import edu.hm.hafner.analysis.IssueParser;
 import edu.hm.hafner.analysis.ParsingCanceledException;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.Report;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import io.jenkins.plugins.analysis.core.model.StaticAnalysisTool;
 import io.jenkins.plugins.analysis.core.steps.JobConfigurationModel;
 import jenkins.MasterToSlaveFileCallable;
@@ -20,6 +29,12 @@ import hudson.remoting.VirtualChannel;
  * Scans files that match a specified Ant files pattern for issues and aggregates the found issues into a single {@link
  * Report issues} instance. This callable will be invoked on a slave agent so all fields and the returned issues need to
  * be {@link Serializable}.
+ * <p>
+ * If a parallelism greater than one is specified, then the files are parsed concurrently using a bounded pool of
+ * threads (each thread uses its own copy of the parser). The reports of the individual files are merged afterwards in
+ * the order of the file names, so the resulting report (issues, duplicates, and log messages) is the same as in the
+ * sequential mode.
+ * </p>
  *
  * @author Ullrich Hafner
  */
@@ -30,9 +45,12 @@ public class FilesScanner extends MasterToSlaveFileCallable<Report> {
     private final IssueParser parser;
     private final String encoding;
     private final String id;
+    private final int parallelism;
+    @CheckForNull
+    private final String workspaceIndexKey;
 
     /**
-     * Creates a new instance of {@link FilesScanner}.
+     * Creates a new instance of {@link FilesScanner} that parses the files sequentially.
      *
      * @param filePattern
      *         ant file-set pattern to scan for files to parse
@@ -42,28 +60,80 @@ public class FilesScanner extends MasterToSlaveFileCallable<Report> {
      *         encoding of the files to parse
      */
     public FilesScanner(final String filePattern, final StaticAnalysisTool tool, final String encoding) {
+        this(filePattern, tool, encoding, 1);
+    }
+
+    /**
+     * Creates a new instance of {@link FilesScanner}.
+     *
+     * @param filePattern
+     *         ant file-set pattern to scan for files to parse
+     * @param tool
+     *         the static code analysis tool that reports the issues
+     * @param encoding
+     *         encoding of the files to parse
+     * @param parallelism
+     *         the maximum number of files that will be parsed concurrently, values less than 2 will parse the files
+     *         sequentially
+     */
+    public FilesScanner(final String filePattern, final StaticAnalysisTool tool, final String encoding,
+            final int parallelism) {
+        this(filePattern, tool, encoding, parallelism, null);
+    }
+
+    /**
+     * Creates a new instance of {@link FilesScanner} that finds the files using a shared {@link WorkspaceIndex}.
+     *
+     * @param filePattern
+     *         ant file-set pattern to scan for files to parse
+     * @param tool
+     *         the static code analysis tool that reports the issues
+     * @param encoding
+     *         encoding of the files to parse
+     * @param parallelism
+     *         the maximum number of files that will be parsed concurrently, values less than 2 will parse the files
+     *         sequentially
+     * @param workspaceIndexKey
+     *         the key of the shared workspace index, or {@code null} if the workspace should be scanned directly
+     */
+    public FilesScanner(final String filePattern, final StaticAnalysisTool tool, final String encoding,
+            final int parallelism, @CheckForNull final String workspaceIndexKey) {
         super();
 
         this.filePattern = filePattern;
         this.parser = tool.createParser();
         this.id = tool.getId();
         this.encoding = encoding;
+        this.parallelism = parallelism;
+        this.workspaceIndexKey = workspaceIndexKey;
     }
 
     @Override
-    public Report invoke(final File workspace, final VirtualChannel channel) {
+    public Report invoke(final File workspace, final VirtualChannel channel) throws InterruptedException {
         Report report = new Report();
         report.setId(id);
         report.logInfo("Searching for all files in '%s' that match the pattern '%s'",
                 workspace.getAbsolutePath(), filePattern);
 
-        String[] fileNames = new FileFinder(filePattern).find(workspace);
+        String[] fileNames;
+        if (workspaceIndexKey == null) {
+            fileNames = new FileFinder(filePattern).find(workspace);
+        }
+        else {
+            fileNames = new FileFinder(filePattern).find(workspace,
+                    WorkspaceIndex.getInstance(workspaceIndexKey, workspace));
+        }
         if (fileNames.length == 0) {
             report.logError("No files found for pattern '%s'. Configuration error?", filePattern);
         }
         else {
             report.logInfo("-> found %s", plural(fileNames.length, "file"));
-            scanFiles(workspace, fileNames, report);
+            if (parallelism > 1 && fileNames.length > 1) {
+                scanFilesInParallel(workspace, fileNames, report);
+            }
+            else {
+                scanFiles(workspace, fileNames, report);
+            }
         }
 
         return report;
@@ -71,39 +141,98 @@ public class FilesScanner extends MasterToSlaveFileCallable<Report> {
 
     private void scanFiles(final File workspace, final String[] fileNames, final Report report) {
         for (String fileName : fileNames) {
-            File file = new File(fileName);
+            aggregate(scanFile(workspace, fileName, parser), report);
+        }
+    }
 
-            if (!file.isAbsolute()) {
-                file = new File(workspace, fileName);
-            }
+    private void scanFilesInParallel(final File workspace, final String[] fileNames, final Report report)
+            throws InterruptedException {
+        int threads = Math.min(parallelism, fileNames.length);
+        report.logInfo("Parsing files using %s", plural(threads, "thread"));
 
-            if (!file.canRead()) {
-                report.logError("Skipping file '%s' because Jenkins has no permission to read the file.", fileName);
-            }
-            else if (file.length() <= 0) {
-                report.logError("Skipping file '%s' because it's empty.", fileName);
+        ThreadLocal<IssueParser> parsers = ThreadLocal.withInitial(() -> SerializationUtils.clone(parser));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<FileReport>> results = new ArrayList<>();
+            for (String fileName : fileNames) {
+                results.add(executor.submit(() -> scanFile(workspace, fileName, parsers.get())));
             }
-            else {
-                aggregateIssuesOfFile(file, report);
+            for (Future<FileReport> result : results) {
+                aggregate(getResult(result), report);
             }
         }
+        finally {
+            executor.shutdownNow();
+        }
     }
 
-    private void aggregateIssuesOfFile(final File file, final Report report) {
+    private FileReport getResult(final Future<FileReport> result) throws InterruptedException {
         try {
-            Report result = parser.parse(file, new JobConfigurationModel().getCharset(encoding));
-            result.setId(id);
-            report.addAll(result);
-            report.logInfo("Successfully parsed file %s", file);
-            report.logInfo("-> found %s (skipped %s)", 
-                    plural(report.getSize(), "issue"),
-                    plural(report.getDuplicatesSize(), "duplicate"));
+            return result.get();
+        }
+        catch (ExecutionException exception) {
+            throw new IllegalStateException("Scanning of file failed with an unexpected exception",
+                    exception.getCause());
+        }
+    }
+
+    /**
+     * Parses the specified file. All log messages for this file are recorded in the returned report so that the
+     * results of several files can be aggregated in a deterministic order.
+     */
+    private FileReport scanFile(final File workspace, final String fileName, final IssueParser fileParser) {
+        File file = new File(fileName);
+
+        if (!file.isAbsolute()) {
+            file = new File(workspace, fileName);
+        }
+
+        if (!file.canRead()) {
+            return skipFile("Skipping file '%s' because Jenkins has no permission to read the file.", fileName);
+        }
+        else if (file.length() <= 0) {
+            return skipFile("Skipping file '%s' because it's empty.", fileName);
+        }
+        else {
+            return parseFile(file, fileParser);
+        }
+    }
+
+    private FileReport skipFile(final String format, final String fileName) {
+        Report result = new Report();
+        result.setId(id);
+        result.logError(format, fileName);
+        return new FileReport(result, false);
+    }
+
+    private FileReport parseFile(final File file, final IssueParser fileParser) {
+        Report result = new Report();
+        result.setId(id);
+        try {
+            Report issues = fileParser.parse(file, getCharset());
+            issues.setId(id);
+            issues.logInfo("Successfully parsed file %s", file);
+            return new FileReport(issues, true);
         }
         catch (ParsingException exception) {
-            report.logError("Parsing of file '%s' failed due to an exception: \n\n%s", file, getStackTrace(exception));
+            result.logError("Parsing of file '%s' failed due to an exception: \n\n%s", file, getStackTrace(exception));
         }
         catch (ParsingCanceledException ignored) {
-            report.logInfo("Parsing of file %s has been canceled", file);
+            result.logInfo("Parsing of file %s has been canceled", file);
+        }
+        return new FileReport(result, false);
+    }
+
+    private Charset getCharset() {
+        return new JobConfigurationModel().getCharset(encoding);
+    }
+
+    private void aggregate(final FileReport fileReport, final Report report) {
+        report.addAll(fileReport.getReport());
+        if (fileReport.isParsed()) {
+            report.logInfo("-> found %s (skipped %s)",
+                    plural(report.getSize(), "issue"),
+                    plural(report.getDuplicatesSize(), "duplicate"));
         }
     }
 
@@ -120,4 +249,25 @@ public class FilesScanner extends MasterToSlaveFileCallable<Report> {
     private String getStackTrace(final ParsingException exception) {
         return ExceptionUtils.getStackTrace(ObjectUtils.defaultIfNull(exception.getCause(), exception));
     }
-}
\ No newline at end of file
+
+    /**
+     * The issues and log messages of a single file.
+     */
+    private static class FileReport {
+        private final Report report;
+        private final boolean isParsed;
+
+        FileReport(final Report report, final boolean isParsed) {
+            this.report = report;
+            this.isParsed = isParsed;
+        }
+
+        Report getReport() {
+            return report;
+        }
+
+        boolean isParsed() {
+            return isParsed;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import hudson.FilePath;
+import hudson.slaves.WorkspaceList;
+
+/**
+ * Cache of the fingerprints of issues in unchanged source files. The cache is a folder on the agent that survives
+ * builds: for each content hash of an affected file there is a properties file that maps the position of an issue
+ * (and the fingerprint algorithm and the encoding) to the fingerprint of the issue. So the fingerprints of issues in
+ * files that have not been changed since one of the previous builds do not need to be computed again.
+ * <p>
+ * The size of the cache is bounded: if the folder exceeds the maximum size, then the least recently used entries will
+ * be removed. The maximum size (in MB) can be configured using the system property {@code
+ * io.jenkins.plugins.analysis.core.util.FingerprintCache.maximumSize} on the controller, a size of 0 disables the
+ * cache.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class FingerprintCache {
+    private static final Logger LOGGER = Logger.getLogger(FingerprintCache.class.getName());
+
+    static final String CACHE_FOLDER_NAME = "fingerprints-cache";
+    private static final long MEGA_BYTE = 1024 * 1024;
+    private static final long DEFAULT_MAXIMUM_SIZE = 32;
+    private static final String ENTRY_SUFFIX = ".fingerprints";
+    private static final char SEPARATOR = '/';
+
+    private final File directory;
+    private final long maximumSize;
+
+    /**
+     * Returns the maximum size of the cache in bytes as configured on the controller.
+     *
+     * @return the maximum size of the cache, 0 if the cache is disabled
+     */
+    public static long getConfiguredMaximumSize() {
+        return Math.max(0, Long.getLong(FingerprintCache.class.getName() + ".maximumSize", DEFAULT_MAXIMUM_SIZE))
+                * MEGA_BYTE;
+    }
+
+    /**
+     * Creates a cache in the temporary folder of the specified workspace. The cache will be shared by all builds that
+     * use this workspace.
+     *
+     * @param workspace
+     *         the workspace on the agent
+     * @param maximumSize
+     *         the maximum size of the cache in bytes, 0 disables the cache
+     *
+     * @return the cache, or {@code null} if the cache is disabled or if the workspace has no temporary folder
+     */
+    @CheckForNull
+    public static FingerprintCache createInWorkspace(final File workspace, final long maximumSize) {
+        if (maximumSize <= 0) {
+            return null;
+        }
+        FilePath temporaryFolder = WorkspaceList.tempDir(new FilePath(workspace));
+        if (temporaryFolder == null) {
+            return null;
+        }
+        return new FingerprintCache(new File(temporaryFolder.getRemote(), CACHE_FOLDER_NAME), maximumSize);
+    }
+
+    /**
+     * Creates a new instance of {@link FingerprintCache}.
+     *
+     * @param directory
+     *         the folder of the cache
+     * @param maximumSize
+     *         the maximum size of the folder in bytes
+     */
+    public FingerprintCache(final File directory, final long maximumSize) {
+        this.directory = directory;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Creates the key of a fingerprint in the cache.
+     *
+     * @param algorithm
+     *         the name of the fingerprint algorithm
+     * @param charset
+     *         the encoding of the affected file
+     * @param issue
+     *         the issue to get the fingerprint for
+     *
+     * @return the key
+     */
+    static String createKey(final String algorithm, final Charset charset, final Issue issue) {
+        return algorithm + SEPARATOR + charset.name() + SEPARATOR
+                + issue.getLineStart() + SEPARATOR + issue.getLineEnd() + SEPARATOR
+                + issue.getColumnStart() + SEPARATOR + issue.getColumnEnd() + SEPARATOR
+                + issue.getCategory() + SEPARATOR + issue.getType();
+    }
+
+    /**
+     * Returns the cached fingerprints of the affected file with the specified content hash.
+     *
+     * @param hash
+     *         the content hash of the affected file
+     *
+     * @return the fingerprints, mapped by the keys created with {@link #createKey(String, Charset, Issue)}
+     */
+    Properties get(final String hash) {
+        Properties fingerprints = new Properties();
+        Path entry = getEntry(hash);
+        if (Files.isRegularFile(entry)) {
+            try (InputStream input = Files.newInputStream(entry)) {
+                fingerprints.load(input);
+                markAsUsed(entry);
+            }
+            catch (IOException | IllegalArgumentException exception) {
+                LOGGER.log(Level.FINE, "Skipping invalid fingerprints cache entry " + entry, exception);
+                return new Properties();
+            }
+        }
+        return fingerprints;
+    }
+
+    private void markAsUsed(final Path entry) {
+        if (!entry.toFile().setLastModified(System.currentTimeMillis())) {
+            LOGGER.log(Level.FINE, "Can't update last modification time of " + entry);
+        }
+    }
+
+    /**
+     * Stores the fingerprints of the affected file with the specified content hash. Existing fingerprints of this file
+     * are replaced.
+     *
+     * @param hash
+     *         the content hash of the affected file
+     * @param fingerprints
+     *         the fingerprints, mapped by the keys created with {@link #createKey(String, Charset, Issue)}
+     */
+    void put(final String hash, final Properties fingerprints) {
+        Path entry = getEntry(hash);
+        try {
+            Files.createDirectories(directory.toPath());
+            Path temporary = Files.createTempFile(directory.toPath(), hash, ".tmp");
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                fingerprints.store(output, null);
+            }
+            move(temporary, entry);
+        }
+        catch (IOException exception) {
+            LOGGER.log(Level.FINE, "Can't write fingerprints cache entry " + entry, exception);
+        }
+    }
+
+    private void move(final Path temporary, final Path entry) throws IOException {
+        try {
+            Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING);
+        }
+        finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Removes the least recently used entries if the cache exceeds its maximum size.
+     */
+    void prune() {
+        File[] entries = directory.listFiles((dir, name) -> name.endsWith(ENTRY_SUFFIX));
+        if (entries == null) {
+            return;
+        }
+
+        long size = 0;
+        for (File entry : entries) {
+            size += entry.length();
+        }
+        if (size <= maximumSize) {
+            return;
+        }
+
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+        for (File entry : entries) {
+            if (size <= maximumSize * 3 / 4) {
+                break;
+            }
+            long length = entry.length();
+            if (entry.delete()) {
+                size -= length;
+            }
+        }
+    }
+
+    private Path getEntry(final String hash) {
+        return directory.toPath().resolve(hash + ENTRY_SUFFIX);
+    }
+}
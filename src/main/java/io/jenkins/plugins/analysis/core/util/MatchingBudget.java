@@ -0,0 +1,204 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.jenkins.plugins.analysis.core.util.DeadlineCharSequence.DeadlineExceededException;
+
+/**
+ * Limits the time a parser spends in matching its regular expressions. Some regular expressions backtrack
+ * catastrophically on pathological input, so that a single line of a log might block a build for hours. Each match
+ * of a line gets a time budget of its own (see system property {@code lineTimeout}, in milliseconds), and all matches
+ * of a parser share a total budget (see system property {@code parserBudget}, in milliseconds). If the time of a line
+ * is up, then the line is skipped and reported. If the total budget of the parser is used up, then all remaining lines
+ * are skipped.
+ * <p>
+ * Usage:
+ * </p>
+ * <pre>
+ * if (!budget.isExhausted()) {
+ *     Matcher matcher = budget.matcher(pattern, line);
+ *     try {
+ *         while (matcher.find()) {
+ *             ...
+ *         }
+ *     }
+ *     catch (DeadlineExceededException exception) {
+ *         budget.reportTimeout(lineNumber, line);
+ *     }
+ *     finally {
+ *         budget.stop();
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Ullrich Hafner
+ */
+public class MatchingBudget {
+    private static final long DEFAULT_LINE_TIMEOUT = 2_000;
+    private static final long DEFAULT_PARSER_BUDGET = 300_000;
+    private static final int MAX_REPORTED_LINES = 20;
+    private static final int MAX_EXCERPT_LENGTH = 80;
+    private static final long NO_LINE_TIMEOUT = Long.MAX_VALUE;
+
+    private final String parserName;
+    private final long lineTimeout;
+    private final long parserBudget;
+
+    private final List<String> messages = new ArrayList<>();
+    private long remaining;
+    private long start;
+    private long timeout;
+    private int skippedLines;
+    private boolean exhausted;
+
+    /**
+     * Creates a budget for a parser that matches its regular expression line by line. The timeouts are read from the
+     * system properties {@code io.jenkins.plugins.analysis.core.util.MatchingBudget.lineTimeout} and {@code
+     * io.jenkins.plugins.analysis.core.util.MatchingBudget.parserBudget}.
+     *
+     * @param parserName
+     *         the name of the parser, used in the messages
+     *
+     * @return the budget
+     */
+    public static MatchingBudget forLines(final String parserName) {
+        return new MatchingBudget(parserName, getMillis("lineTimeout", DEFAULT_LINE_TIMEOUT),
+                getMillis("parserBudget", DEFAULT_PARSER_BUDGET));
+    }
+
+    /**
+     * Creates a budget for a parser that matches its regular expression on the whole document. Such a match is only
+     * limited by the total budget of the parser.
+     *
+     * @param parserName
+     *         the name of the parser, used in the messages
+     *
+     * @return the budget
+     */
+    public static MatchingBudget forDocuments(final String parserName) {
+        return new MatchingBudget(parserName, NO_LINE_TIMEOUT, getMillis("parserBudget", DEFAULT_PARSER_BUDGET));
+    }
+
+    private static long getMillis(final String property, final long defaultValue) {
+        long value = Long.getLong(MatchingBudget.class.getName() + "." + property, defaultValue);
+        return value > 0 ? value : NO_LINE_TIMEOUT;
+    }
+
+    /**
+     * Creates a new instance of {@link MatchingBudget}.
+     *
+     * @param parserName
+     *         the name of the parser, used in the messages
+     * @param lineTimeout
+     *         the time in milliseconds a single match may take
+     * @param parserBudget
+     *         the time in milliseconds all matches together may take
+     */
+    public MatchingBudget(final String parserName, final long lineTimeout, final long parserBudget) {
+        this.parserName = parserName;
+        this.lineTimeout = lineTimeout;
+        this.parserBudget = parserBudget;
+
+        remaining = toNanos(parserBudget);
+    }
+
+    private static long toNanos(final long millis) {
+        return millis >= TimeUnit.NANOSECONDS.toMillis(Long.MAX_VALUE) ? Long.MAX_VALUE
+                : TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Returns whether the total budget of the parser is used up. Then no more input should be matched.
+     *
+     * @return {@code true} if the budget is used up, {@code false} otherwise
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * Starts the clock and creates a matcher for the specified input. The matcher throws a {@link
+     * DeadlineExceededException} if the time of the line or the remaining budget of the parser is up. Call {@link
+     * #stop()} when the matcher is not used anymore.
+     *
+     * @param pattern
+     *         the pattern to match
+     * @param input
+     *         the input to match
+     *
+     * @return the time bounded matcher
+     */
+    public Matcher matcher(final Pattern pattern, final CharSequence input) {
+        start = System.nanoTime();
+        timeout = Math.min(toNanos(lineTimeout), remaining);
+        if (timeout == Long.MAX_VALUE) {
+            return pattern.matcher(input);
+        }
+        return pattern.matcher(new DeadlineCharSequence(input, start + timeout));
+    }
+
+    /**
+     * Stops the clock and deducts the elapsed time from the budget of the parser.
+     */
+    public void stop() {
+        if (remaining != Long.MAX_VALUE) {
+            remaining -= System.nanoTime() - start;
+            if (remaining <= 0 && !exhausted) {
+                exhausted = true;
+                messages.add(String.format("%s: matching took longer than %d ms in total, skipped all remaining lines",
+                        parserName, parserBudget));
+            }
+        }
+    }
+
+    /**
+     * Reports that the specified line has been skipped since its match took too long.
+     *
+     * @param lineNumber
+     *         the number of the line (starting at 1), or 0 if the whole document has been matched
+     * @param input
+     *         the skipped input
+     */
+    public void reportTimeout(final int lineNumber, final CharSequence input) {
+        skippedLines++;
+        if (skippedLines > MAX_REPORTED_LINES) {
+            return;
+        }
+        String excerpt = input.length() > MAX_EXCERPT_LENGTH
+                ? input.subSequence(0, MAX_EXCERPT_LENGTH) + "..." : input.toString();
+        if (lineNumber > 0) {
+            messages.add(String.format("%s: matching line %d took longer than %d ms, skipped: '%s'",
+                    parserName, lineNumber, TimeUnit.NANOSECONDS.toMillis(timeout), excerpt));
+        }
+        else {
+            messages.add(String.format("%s: matching the document took too long, skipped: '%s'",
+                    parserName, excerpt));
+        }
+    }
+
+    /**
+     * Returns the number of lines that have been skipped since their match took too long.
+     *
+     * @return the number of skipped lines
+     */
+    public int getSkippedLines() {
+        return skippedLines;
+    }
+
+    /**
+     * Returns the messages that describe the skipped lines and the exhausted budget.
+     *
+     * @return the messages, empty if all matches completed in time
+     */
+    public List<String> getMessages() {
+        List<String> all = new ArrayList<>(messages);
+        if (skippedLines > MAX_REPORTED_LINES) {
+            all.add(String.format("%s: ... and %d more skipped lines", parserName, skippedLines - MAX_REPORTED_LINES));
+        }
+        return all;
+    }
+}
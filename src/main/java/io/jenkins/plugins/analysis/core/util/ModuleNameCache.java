@@ -0,0 +1,134 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import edu.hm.hafner.analysis.ModuleDetector;
+import edu.hm.hafner.util.VisibleForTesting;
+
+/**
+ * Caches the module names of directories. The module name of a directory is guessed only once using a {@link
+ * ModuleDetector}, all subsequent lookups of the same directory are resolved from memory. The cached directories are
+ * stored in a trie of path segments, so a lookup requires one step for each segment of the path.
+ * <p>
+ * If a directory contains no module definition of its own, then it belongs to the same module as its parent
+ * directory: so the module name of the parent directory is resolved first (and cached) and reused for the directory.
+ * Only directories that contain a module definition are resolved using the {@link ModuleDetector}.
+ * </p>
+ * <p>
+ * The caches of the latest builds are kept on the agent: so the module definitions of a workspace are scanned only
+ * once in a build, even if the issues of several static analysis tools are recorded in this build.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class ModuleNameCache {
+    private static final int MAX_CACHED_BUILDS = 8;
+    private static final Map<String, ModuleNameCache> CACHES = Collections.synchronizedMap(
+            new LinkedHashMap<String, ModuleNameCache>(MAX_CACHED_BUILDS, 0.75f, true) {
+                private static final long serialVersionUID = 3329410652342866424L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, ModuleNameCache> eldest) {
+                    return size() > MAX_CACHED_BUILDS;
+                }
+            });
+
+    private final Supplier<ModuleDetector> detectorFactory;
+    private final Predicate<String> hasModuleDefinition;
+    private final Node root = new Node();
+
+    private ModuleDetector detector;
+    private int resolvedDirectories;
+
+    /**
+     * Returns the cache for the specified build and workspace. If there is no such cache yet, then a new cache will be
+     * created.
+     *
+     * @param key
+     *         the key that identifies the build and the workspace
+     * @param detectorFactory
+     *         creates the module detector that guesses the module names (only called once per cache)
+     * @param hasModuleDefinition
+     *         determines whether a directory (absolute path, using '/' as separator) contains a module definition of
+     *         its own, may return {@code true} for additional directories
+     *
+     * @return the cache
+     */
+    public static ModuleNameCache getInstance(final String key, final Supplier<ModuleDetector> detectorFactory,
+            final Predicate<String> hasModuleDefinition) {
+        return CACHES.computeIfAbsent(key, ignored -> new ModuleNameCache(detectorFactory, hasModuleDefinition));
+    }
+
+    /**
+     * Creates a new instance of {@link ModuleNameCache} that is not shared. Since it is unknown which directories
+     * contain a module definition, each directory is resolved using the module detector.
+     *
+     * @param detector
+     *         the module detector that guesses the module names
+     */
+    public ModuleNameCache(final ModuleDetector detector) {
+        this(() -> detector, directory -> true);
+    }
+
+    @VisibleForTesting
+    ModuleNameCache(final Supplier<ModuleDetector> detectorFactory, final Predicate<String> hasModuleDefinition) {
+        this.detectorFactory = detectorFactory;
+        this.hasModuleDefinition = hasModuleDefinition;
+    }
+
+    /**
+     * Returns the module name of the specified directory.
+     *
+     * @param directory
+     *         the absolute path of the directory, using '/' as separator
+     *
+     * @return the module name, or an empty string if no module has been found
+     */
+    public synchronized String getModuleName(final String directory) {
+        Node node = root;
+        for (String segment : directory.split("/")) {
+            node = node.children.computeIfAbsent(segment, ignored -> new Node());
+        }
+        if (node.moduleName == null) {
+            int separator = directory.lastIndexOf('/');
+            if (separator > 0 && !hasModuleDefinition.test(directory)) {
+                node.moduleName = getModuleName(directory.substring(0, separator));
+            }
+            else {
+                node.moduleName = getDetector().guessModuleName(directory + "/");
+                resolvedDirectories++;
+            }
+        }
+        return node.moduleName;
+    }
+
+    private ModuleDetector getDetector() {
+        if (detector == null) {
+            detector = detectorFactory.get();
+        }
+        return detector;
+    }
+
+    /**
+     * Returns the number of directories that have been resolved using the module detector.
+     *
+     * @return the number of resolved directories
+     */
+    @VisibleForTesting
+    synchronized int getResolvedDirectories() {
+        return resolvedDirectories;
+    }
+
+    /**
+     * A node in the trie of path segments.
+     */
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private String moduleName;
+    }
+}
@@ -1,6 +1,9 @@
 package io.jenkins.plugins.analysis.core.util;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import edu.hm.hafner.analysis.Issue;
@@ -22,6 +25,19 @@ public class ModuleResolver {
      *         the module detector to use
      */
     public void run(final Report report, final ModuleDetector detector) {
+        run(report, new ModuleNameCache(detector));
+    }
+
+    /**
+     * Resolves the module names of the specified set of issues. The issues are grouped by the directory of the
+     * affected file, so the module name of each directory is resolved only once.
+     *
+     * @param report
+     *         the issues to resolve the module names
+     * @param cache
+     *         the cache of the module names of directories
+     */
+    public void run(final Report report, final ModuleNameCache cache) {
         List<Issue> issuesWithoutModule = report.stream()
                 .filter(issue -> !issue.hasModuleName())
                 .collect(Collectors.toList());
@@ -32,7 +48,24 @@ public class ModuleResolver {
             return;
         }
 
-        issuesWithoutModule.forEach(issue -> issue.setModuleName(detector.guessModuleName(issue.getFileName())));
+        Map<String, List<Issue>> issuesByDirectory = new LinkedHashMap<>();
+        for (Issue issue : issuesWithoutModule) {
+            issuesByDirectory.computeIfAbsent(getDirectory(issue.getFileName()), key -> new ArrayList<>()).add(issue);
+        }
+        issuesByDirectory.forEach((directory, issues) -> {
+            String moduleName = cache.getModuleName(directory);
+            issues.forEach(issue -> issue.setModuleName(moduleName));
+        });
         report.logInfo("-> resolved module names for %d issues", issuesWithoutModule.size());
+        report.logInfo("-> issues are located in %d directories", issuesByDirectory.size());
+    }
+
+    private String getDirectory(final String fileName) {
+        String normalized = fileName.replace('\\', '/');
+        int separator = normalized.lastIndexOf('/');
+        if (separator < 0) {
+            return ".";
+        }
+        return normalized.substring(0, separator);
     }
 }
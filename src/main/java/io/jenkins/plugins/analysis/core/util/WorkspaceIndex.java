@@ -0,0 +1,253 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.tools.ant.DirectoryScanner;
+import org.apache.tools.ant.types.selectors.SelectorUtils;
+
+/**
+ * In-memory index of all files in a workspace. The index is created once using a single walk of the file tree and is
+ * then shared by all static analysis tools that are recorded by the same step: the files that match an Ant pattern are
+ * found in the index (see {@link FileFinder}) and relative file names are resolved using the index (see {@link
+ * AbsolutePathGenerator}) without probing the file system again.
+ * <p>
+ * The indexes are cached on the agent using the key of the recording step. If a step with the same key runs in a
+ * different workspace, the index of the previous workspace is discarded. Indexes are held by soft references, so they
+ * will be removed if the agent runs out of memory.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class WorkspaceIndex {
+    private static final Logger LOGGER = Logger.getLogger(WorkspaceIndex.class.getName());
+
+    private static final int MAX_CACHED_INDEXES = 2;
+    /** Cached indexes by key, the lock of this map guards the map only: indexes are created outside of this lock. */
+    private static final Map<String, IndexHolder> INDEXES = new LinkedHashMap<String, IndexHolder>(
+            MAX_CACHED_INDEXES, 0.75f, true) {
+        private static final long serialVersionUID = -2546284712968232570L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, IndexHolder> eldest) {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    };
+
+    private final File workspace;
+    /** Relative paths (using the platform separator) of all files in the workspace. */
+    private final Set<String> files;
+    /** Relative paths of all files that are not matched by one of Ant's default excludes, in walk order. */
+    private final List<String> candidates;
+
+    /**
+     * Returns the index of the specified workspace. If the cache contains no index for the specified key or if the
+     * cached index belongs to a different workspace, then a new index will be created.
+     *
+     * @param key
+     *         the key that identifies the step that uses the index
+     * @param workspace
+     *         the workspace to index
+     *
+     * @return the index of the workspace
+     */
+    public static WorkspaceIndex getInstance(final String key, final File workspace) {
+        IndexHolder holder;
+        synchronized (INDEXES) {
+            holder = INDEXES.computeIfAbsent(key, unused -> new IndexHolder());
+        }
+        return holder.get(workspace);
+    }
+
+    /**
+     * Creates a new index of the specified workspace.
+     *
+     * @param workspace
+     *         the workspace to index
+     *
+     * @return the index of the workspace
+     */
+    static WorkspaceIndex create(final File workspace) {
+        IndexBuilder builder = new IndexBuilder(workspace.toPath());
+        if (workspace.isDirectory()) {
+            try {
+                Files.walkFileTree(workspace.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                        builder);
+            }
+            catch (IOException exception) {
+                LOGGER.log(Level.WARNING, "Can't create index of workspace " + workspace, exception);
+            }
+        }
+        return new WorkspaceIndex(workspace, builder.files);
+    }
+
+    private WorkspaceIndex(final File workspace, final List<String> files) {
+        this.workspace = workspace;
+        this.files = new HashSet<>(files);
+
+        List<String> defaultExcludes = new ArrayList<>();
+        for (String exclude : DirectoryScanner.getDefaultExcludes()) {
+            defaultExcludes.add(normalizePattern(exclude));
+        }
+        candidates = new ArrayList<>(files.size());
+        for (String file : files) {
+            if (!matchesAny(defaultExcludes, file)) {
+                candidates.add(file);
+            }
+        }
+    }
+
+    /**
+     * Returns whether this index has been created for the specified workspace.
+     *
+     * @param directory
+     *         the workspace
+     *
+     * @return {@code true} if this index belongs to the specified workspace, {@code false} otherwise
+     */
+    public boolean isIndexOf(final File directory) {
+        return workspace.getAbsoluteFile().equals(directory.getAbsoluteFile());
+    }
+
+    /**
+     * Returns the number of files in the workspace.
+     *
+     * @return the number of files
+     */
+    public int size() {
+        return files.size();
+    }
+
+    /**
+     * Returns the relative file names of all files in the workspace that match the specified Ant pattern. Like Ant's
+     * {@link DirectoryScanner}, the pattern may contain several patterns separated by comma or space, and Ant's default
+     * excludes are applied.
+     *
+     * @param pattern
+     *         the Ant pattern
+     *
+     * @return the relative file names of the matching files
+     */
+    public String[] find(final String pattern) {
+        List<String> includes = new ArrayList<>();
+        StringTokenizer tokenizer = new StringTokenizer(pattern, ", ", false);
+        while (tokenizer.hasMoreTokens()) {
+            includes.add(normalizePattern(tokenizer.nextToken().trim()));
+        }
+        if (includes.isEmpty()) {
+            includes.add("**");
+        }
+
+        List<String> matches = new ArrayList<>();
+        for (String candidate : candidates) {
+            if (matchesAny(includes, candidate)) {
+                matches.add(candidate);
+            }
+        }
+        return matches.toArray(new String[0]);
+    }
+
+    /**
+     * Resolves the specified relative file name using the index.
+     *
+     * @param relativeFileName
+     *         the file name, relative to the workspace
+     *
+     * @return the absolute path of the file, or an empty optional if the file is not part of the index
+     */
+    public Optional<String> resolve(final String relativeFileName) {
+        try {
+            Path normalized = Paths.get(relativeFileName).normalize();
+            if (files.contains(normalized.toString())) {
+                return Optional.of(new File(workspace, relativeFileName).getAbsolutePath());
+            }
+        }
+        catch (InvalidPathException ignored) {
+            // fall through, the file is not part of the index
+        }
+        return Optional.empty();
+    }
+
+    private static boolean matchesAny(final List<String> patterns, final String file) {
+        for (String pattern : patterns) {
+            if (SelectorUtils.matchPath(pattern, file)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Normalizes the pattern in the same way as Ant's {@link DirectoryScanner}: all separators are replaced by the
+     * platform separator and a trailing separator is interpreted as {@code **}.
+     */
+    private static String normalizePattern(final String pattern) {
+        String normalized = pattern.replace('/', File.separatorChar).replace('\\', File.separatorChar);
+        if (normalized.endsWith(File.separator)) {
+            normalized += SelectorUtils.DEEP_TREE_MATCH;
+        }
+        return normalized;
+    }
+
+    /**
+     * Holds the cached index of a single key. The walk of the workspace is guarded by the lock of the holder, so tools
+     * that use the same key wait for a single walk, while the indexes of other keys can be created concurrently.
+     */
+    private static class IndexHolder {
+        private SoftReference<WorkspaceIndex> reference = new SoftReference<>(null);
+
+        synchronized WorkspaceIndex get(final File workspace) {
+            WorkspaceIndex index = reference.get();
+            if (index == null || !index.isIndexOf(workspace)) {
+                index = create(workspace);
+                reference = new SoftReference<>(index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Collects the relative paths of all files while walking the file tree.
+     */
+    private static class IndexBuilder extends SimpleFileVisitor<Path> {
+        private final Path root;
+        private final List<String> files = new ArrayList<>();
+
+        IndexBuilder(final Path root) {
+            this.root = root;
+        }
+
+        @Override
+        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+            if (attributes.isRegularFile()) {
+                files.add(root.relativize(file).toString());
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(final Path file, final IOException exception) {
+            return FileVisitResult.CONTINUE; // skip unreadable files and symbolic link loops
+        }
+    }
+}
@@ -25,8 +25,10 @@ import edu.hm.hafner.analysis.Severity;
 import io.jenkins.plugins.analysis.core.charts.PieModel;
 import io.jenkins.plugins.analysis.core.charts.SeverityChart;
 import io.jenkins.plugins.analysis.core.history.AnalysisHistory;
+import io.jenkins.plugins.analysis.core.history.TrendIndex;
 import io.jenkins.plugins.analysis.core.model.AnalysisResult;
 import io.jenkins.plugins.analysis.core.model.ByIdResultSelector;
+import io.jenkins.plugins.analysis.core.model.DetailsTableModel.PageRequest;
 import io.jenkins.plugins.analysis.core.model.FileNameRenderer;
 import io.jenkins.plugins.analysis.core.model.LabelProviderFactory;
 import io.jenkins.plugins.analysis.core.model.PropertyStatistics;
@@ -187,6 +189,49 @@ public class IssuesDetail implements ModelObject {
                 new FileNameRenderer(owner));
     }
 
+    /**
+     * Returns a single page of the issues table. The issues are filtered and sorted on the server, so that only the
+     * rows of the requested page need to be rendered and transferred.
+     *
+     * @param draw
+     *         counter of the request, will be returned unchanged
+     * @param start
+     *         index of the first row of the page
+     * @param length
+     *         number of rows of the page, a negative value selects all remaining rows
+     * @param sortColumn
+     *         index of the column to sort by
+     * @param sortDirection
+     *         the direction to sort by ({@code asc} or {@code desc})
+     * @param searchTerm
+     *         the term to filter the rows by
+     *
+     * @return the page of the table as JSON object
+     */
+    @JavaScriptMethod
+    @SuppressWarnings({"unused", "ParameterNumber"}) // Called by jelly view
+    public JSONObject getTablePage(final int draw, final int start, final int length, final int sortColumn,
+            final String sortDirection, final String searchTerm) {
+        return labelProvider.toJsonPage(getIssues(),
+                new PageRequest(draw, start, length, sortColumn, sortDirection, searchTerm),
+                new DefaultAgeBuilder(owner.getNumber(), getUrl()), new FileNameRenderer(owner));
+    }
+
+    /**
+     * Returns the description of the issue with the specified ID. The description is shown if the details of a row in
+     * the issues table are expanded.
+     *
+     * @param id
+     *         the ID of the issue
+     *
+     * @return the description
+     */
+    @JavaScriptMethod
+    @SuppressWarnings("unused") // Called by jelly view
+    public String getIssueDescription(final String id) {
+        return labelProvider.getDescription(getIssues(), id);
+    }
+
     /**
      * Returns the UI model for an ECharts doughnut chart that shows the severities. 
      *
@@ -230,6 +275,11 @@ public class IssuesDetail implements ModelObject {
     public JSONObject getBuildTrend() {
         SeverityChart severityChart = new SeverityChart();
 
+        TrendIndex index = new TrendIndex(owner.getParent());
+        if (index.containsId(report.getId())) {
+            return JSONObject.fromObject(
+                    severityChart.createFromTrend(index.getTrend(report.getId(), owner.getNumber())));
+        }
         AnalysisHistory history = new AnalysisHistory(owner, new ByIdResultSelector(report.getId()));
         return JSONObject.fromObject(severityChart.create(history));
     }
@@ -3,6 +3,7 @@ package io.jenkins.plugins.analysis.core.views;
 import javax.annotation.CheckForNull;
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Logger;
 
@@ -13,6 +14,7 @@ import org.kohsuke.stapler.bind.JavaScriptMethod;
 import io.jenkins.plugins.analysis.core.charts.SeverityChart;
 import io.jenkins.plugins.analysis.core.history.AnalysisHistory;
 import io.jenkins.plugins.analysis.core.history.NullAnalysisHistory;
+import io.jenkins.plugins.analysis.core.history.TrendIndex;
 import io.jenkins.plugins.analysis.core.model.AnalysisResult;
 import io.jenkins.plugins.analysis.core.model.ByIdResultSelector;
 import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider;
@@ -87,6 +89,22 @@ public class JobAction implements Action {
         }
     }
 
+    /**
+     * Returns the entries of the {@link TrendIndex} of the job, starting with the last completed build. If the index
+     * does not contain results of this action yet, then {@link Optional#empty()} is returned.
+     */
+    private Optional<List<TrendIndex.Entry>> createTrend() {
+        TrendIndex index = new TrendIndex(owner);
+        if (!index.containsId(labelProvider.getId())) {
+            return Optional.empty();
+        }
+        Run<?, ?> lastFinishedRun = owner.getLastCompletedBuild();
+        if (lastFinishedRun == null) {
+            return Optional.empty();
+        }
+        return Optional.of(index.getTrend(labelProvider.getId(), lastFinishedRun.getNumber()));
+    }
+
     /**
      * Returns the icon URL for the side-panel in the job screen. If there is no valid result yet, then {@code null} is
      * returned.
@@ -134,6 +152,10 @@ public class JobAction implements Action {
     public JSONObject getBuildTrend() {
         SeverityChart severityChart = new SeverityChart();
 
+        Optional<List<TrendIndex.Entry>> trend = createTrend();
+        if (trend.isPresent()) {
+            return JSONObject.fromObject(severityChart.createFromTrend(trend.get()));
+        }
         return JSONObject.fromObject(severityChart.create(createBuildHistory()));
     }
 
@@ -144,6 +166,11 @@ public class JobAction implements Action {
      */
     @SuppressWarnings("unused") // Called by jelly view
     public boolean isTrendVisible() {
+        Optional<List<TrendIndex.Entry>> trend = createTrend();
+        if (trend.isPresent()) {
+            return trend.get().size() >= 2;
+        }
+
         AnalysisHistory history = createBuildHistory();
 
         Iterator<AnalysisResult> iterator = history.iterator();
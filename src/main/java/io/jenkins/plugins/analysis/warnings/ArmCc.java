@@ -33,6 +33,11 @@ public class ArmCc extends StaticAnalysisToolSuite {
         return asList(new Armcc5CompilerParser(), new ArmccCompilerParser());
     }
 
+    @Override
+    protected boolean canParseInSinglePass() {
+        return true;
+    }
+
     /** Descriptor for this static analysis tool. */
     @Extension
     public static class Descriptor extends StaticAnalysisToolDescriptor {
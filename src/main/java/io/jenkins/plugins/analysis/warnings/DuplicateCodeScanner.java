@@ -2,6 +2,7 @@ package io.jenkins.plugins.analysis.warnings;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import org.kohsuke.stapler.DataBoundSetter;
@@ -291,6 +292,21 @@ public abstract class DuplicateCodeScanner extends StaticAnalysisTool {
             return columns;
         }
 
+        @Override
+        protected List<Comparator<Issue>> getComparators(final Report report) {
+            List<Comparator<Issue>> comparators = new ArrayList<>();
+            comparators.add(null);
+            comparators.add(compareFileName());
+            if (report.hasPackages()) {
+                comparators.add(Comparator.comparing(Issue::getPackageName));
+            }
+            comparators.add(compareSeverity());
+            comparators.add(Comparator.comparingInt(issue -> issue.getLineEnd() - issue.getLineStart()));
+            comparators.add(null);
+            comparators.add(compareAge());
+            return comparators;
+        }
+
         private String formatTargets(final Issue issue, final FileNameRenderer fileNameRenderer) {
             Serializable properties = issue.getAdditionalProperties();
             if (properties instanceof DuplicationGroup) {
@@ -33,6 +33,11 @@ public class Gcc4 extends StaticAnalysisToolSuite {
         return asList(new Gcc4CompilerParser(), new Gcc4LinkerParser());
     }
 
+    @Override
+    protected boolean canParseInSinglePass() {
+        return true;
+    }
+
     /** Descriptor for this static analysis tool. */
     @Extension
     public static class Descriptor extends StaticAnalysisToolDescriptor {
@@ -33,6 +33,11 @@ public class MetrowerksCodeWarrior extends StaticAnalysisToolSuite {
         return asList(new MetrowerksCwCompilerParser(), new MetrowerksCwLinkerParser());
     }
 
+    @Override
+    protected boolean canParseInSinglePass() {
+        return true;
+    }
+
     /** Descriptor for this static analysis tool. */
     @Extension
     public static class Descriptor extends StaticAnalysisToolDescriptor {
@@ -35,6 +35,11 @@ public class Scala extends StaticAnalysisToolSuite {
         return asList(new ScalacParser(), new SbtScalacParser());
     }
 
+    @Override
+    protected boolean canParseInSinglePass() {
+        return true;
+    }
+
     /** Descriptor for this static analysis tool. */
     @Extension
     public static class Descriptor extends StaticAnalysisToolDescriptor {
@@ -33,6 +33,11 @@ public class Xlc extends StaticAnalysisToolSuite {
         return asList(new XlcCompilerParser(), new XlcLinkerParser());
     }
 
+    @Override
+    protected boolean canParseInSinglePass() {
+        return true;
+    }
+
     /** Descriptor for this static analysis tool. */
     @Extension
     public static class Descriptor extends StaticAnalysisToolDescriptor {
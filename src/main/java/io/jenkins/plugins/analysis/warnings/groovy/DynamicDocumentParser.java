@@ -26,9 +26,23 @@ public class DynamicDocumentParser extends RegexpDocumentParser {
      *         Groovy script
      */
     public DynamicDocumentParser(final String regexp, final String script) {
+        this(regexp, script, false);
+    }
+
+    /**
+     * Creates a new instance of {@link DynamicDocumentParser}.
+     *
+     * @param regexp
+     *         regular expression
+     * @param script
+     *         Groovy script
+     * @param isStaticCompilation
+     *         determines whether the script should be compiled statically
+     */
+    public DynamicDocumentParser(final String regexp, final String script, final boolean isStaticCompilation) {
         super(regexp, true);
 
-        expressionMatcher = new GroovyExpressionMatcher(script, FALSE_POSITIVE);
+        expressionMatcher = new GroovyExpressionMatcher(script, FALSE_POSITIVE, isStaticCompilation);
     }
 
     @Override
@@ -1,20 +1,37 @@
 package io.jenkins.plugins.analysis.warnings.groovy;
 
+import java.io.Reader;
+import java.util.function.Function;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.RegexpLineParser;
+import edu.hm.hafner.analysis.Report;
+import io.jenkins.plugins.analysis.core.util.DeadlineCharSequence.DeadlineExceededException;
+import io.jenkins.plugins.analysis.core.util.MatchingBudget;
 
 /**
  * A line parser that uses a configurable regular expression and Groovy script to parse warnings.
+ * <p>
+ * Since the regular expression is provided by the user, it might backtrack catastrophically on some lines. So each
+ * line is checked first with a time bounded matcher (see {@link MatchingBudget}): lines that take too long are skipped
+ * and logged in the report. Only lines that are matched in time are handed over to the regular expression scanner of
+ * the parser.
+ * </p>
  *
  * @author Ullrich Hafner
  */
 public class DynamicLineParser extends RegexpLineParser {
     private static final long serialVersionUID = -4450779127190928924L;
+    private static final String PARSER_NAME = "Groovy parser";
 
     private final GroovyExpressionMatcher expressionMatcher;
+    private final String regexp;
+
+    private transient Pattern pattern;
+    private transient MatchingBudget budget;
 
     /**
      * Creates a new instance of {@link DynamicLineParser}.
@@ -25,9 +42,64 @@ public class DynamicLineParser extends RegexpLineParser {
      *         the script to execute
      */
     public DynamicLineParser(final String regexp, final String script) {
+        this(regexp, script, false);
+    }
+
+    /**
+     * Creates a new instance of {@link DynamicLineParser}.
+     *
+     * @param regexp
+     *         regular expression
+     * @param script
+     *         the script to execute
+     * @param isStaticCompilation
+     *         determines whether the script should be compiled statically
+     */
+    public DynamicLineParser(final String regexp, final String script, final boolean isStaticCompilation) {
         super(regexp);
 
-        expressionMatcher = new GroovyExpressionMatcher(script, FALSE_POSITIVE);
+        this.regexp = regexp;
+        expressionMatcher = new GroovyExpressionMatcher(script, FALSE_POSITIVE, isStaticCompilation);
+    }
+
+    @Override
+    public Report parse(final Reader reader, final Function<String, String> preProcessor) {
+        budget = MatchingBudget.forLines(PARSER_NAME);
+
+        Report report = super.parse(reader, preProcessor);
+        for (String message : budget.getMessages()) {
+            report.logError("%s", message);
+        }
+        return report;
+    }
+
+    @Override
+    protected boolean isLineInteresting(final String line) {
+        if (budget == null) {
+            budget = MatchingBudget.forLines(PARSER_NAME);
+        }
+        if (budget.isExhausted()) {
+            return false;
+        }
+
+        Matcher matcher = budget.matcher(getPattern(), line);
+        try {
+            return matcher.find();
+        }
+        catch (DeadlineExceededException exception) {
+            budget.reportTimeout(getCurrentLine(), line);
+            return false;
+        }
+        finally {
+            budget.stop();
+        }
+    }
+
+    private Pattern getPattern() {
+        if (pattern == null) {
+            pattern = Pattern.compile(regexp);
+        }
+        return pattern;
     }
 
     @Override
@@ -35,4 +107,3 @@ public class DynamicLineParser extends RegexpLineParser {
         return expressionMatcher.createIssue(matcher, builder, getCurrentLine(), getFileName());
     }
 }
-
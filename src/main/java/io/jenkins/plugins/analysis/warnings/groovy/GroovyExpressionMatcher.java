@@ -1,22 +1,35 @@
 package io.jenkins.plugins.analysis.warnings.groovy;
 
 import java.io.Serializable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 
 import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.runtime.InvokerHelper;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import groovy.lang.Binding;
-import groovy.lang.GroovyShell;
 import groovy.lang.Script;
 
-import hudson.plugins.warnings.WarningsDescriptor;
-
 /**
  * Creates a warning based on a regular expression match and groovy script.
+ * <p>
+ * The script is compiled only once for all matchers with the same script (see {@link GroovyScriptCache}). Since the
+ * variables of a match are passed to the script using its {@link Binding}, a script instance cannot be shared between
+ * threads. So each thread that runs the script borrows an instance from a pool of script instances, the pool grows up
+ * to the number of threads that use this matcher concurrently. This makes it possible to run the same matcher (and the
+ * same parser) in several threads at once.
+ * </p>
+ * <p>
+ * Optionally, the script is compiled statically (see {@link GroovyParserScript}). Then the method calls of the script
+ * are dispatched statically, which is much faster than the dynamic dispatch of Groovy. If the script does not pass the
+ * static type checks, then it is compiled dynamically as a fallback. This fallback is cached, so the script is
+ * compiled statically only once.
+ * </p>
  *
  * @author Ullrich Hafner
  */
@@ -25,7 +38,11 @@ public class GroovyExpressionMatcher implements Serializable {
     private static final Logger LOGGER = Logger.getLogger(GroovyExpressionMatcher.class.getName());
     private final Issue falsePositive;
     private final String script;
-    private transient Script compiled;
+    private final boolean isStaticCompilation;
+
+    private transient volatile Class<? extends Script> scriptClass;
+    private transient volatile boolean isCompilationFailed;
+    private transient volatile Queue<Script> pool;
 
     /**
      * Creates a new instance of {@link GroovyExpressionMatcher}.
@@ -36,37 +53,64 @@ public class GroovyExpressionMatcher implements Serializable {
      *         indicates a false positive
      */
     public GroovyExpressionMatcher(final String script, final Issue falsePositive) {
+        this(script, falsePositive, false);
+    }
+
+    /**
+     * Creates a new instance of {@link GroovyExpressionMatcher}.
+     *
+     * @param script
+     *         Groovy script
+     * @param falsePositive
+     *         indicates a false positive
+     * @param isStaticCompilation
+     *         determines whether the script should be compiled statically
+     */
+    public GroovyExpressionMatcher(final String script, final Issue falsePositive, final boolean isStaticCompilation) {
         this.script = script;
         this.falsePositive = falsePositive;
+        this.isStaticCompilation = isStaticCompilation;
     }
 
     private boolean compileScriptIfNotYetDone() {
-        synchronized (script) {
-            if (compiled == null) {
-                try {
-                    compiled = compile();
-                }
-                catch (CompilationFailedException exception) {
-                    LOGGER.log(Level.SEVERE, "Groovy dynamic warnings parser: exception during compiling: ", exception);
-                    return false;
+        if (scriptClass == null && !isCompilationFailed) {
+            synchronized (this) {
+                if (scriptClass == null && !isCompilationFailed) {
+                    try {
+                        pool = new ConcurrentLinkedQueue<>();
+                        scriptClass = getScriptClass();
+                    }
+                    catch (CompilationFailedException exception) {
+                        LOGGER.log(Level.SEVERE, "Groovy dynamic warnings parser: exception during compiling: ",
+                                exception);
+                        isCompilationFailed = true;
+                    }
                 }
             }
         }
-        return true;
+        return scriptClass != null;
+    }
+
+    private Class<? extends Script> getScriptClass() throws CompilationFailedException {
+        return GroovyScriptCache.getScriptClass(script, isStaticCompilation);
     }
 
     /**
-     * Compiles the script.
+     * Compiles the script. If the script has been compiled before, then the compiled class is reused. If the script
+     * should be compiled statically but does not pass the static type checks, then it is compiled dynamically.
      *
-     * @return the compiled script
+     * @return a new instance of the compiled script
      * @throws CompilationFailedException
      *         if the script contains compile errors
      */
     public Script compile() throws CompilationFailedException {
+        return createScript(getScriptClass());
+    }
+
+    private Script createScript(final Class<? extends Script> compiledClass) {
         Binding binding = new Binding();
         binding.setVariable("falsePositive", falsePositive);
-        GroovyShell shell = new GroovyShell(WarningsDescriptor.class.getClassLoader(), binding);
-        return shell.parse(script);
+        return InvokerHelper.createScript(compiledClass, binding);
     }
 
     /**
@@ -109,19 +153,33 @@ public class GroovyExpressionMatcher implements Serializable {
      */
     public Object run(final Matcher matcher, final IssueBuilder builder, final int lineNumber, final String fileName) {
         if (compileScriptIfNotYetDone()) {
-            Binding binding = compiled.getBinding();
-            binding.setVariable("matcher", matcher);
-            binding.setVariable("builder", builder);
-            binding.setVariable("lineNumber", lineNumber);
-            binding.setVariable("fileName", fileName);
+            Script compiled = borrowScript();
+            try {
+                Binding binding = compiled.getBinding();
+                binding.setVariable("matcher", matcher);
+                binding.setVariable("builder", builder);
+                binding.setVariable("lineNumber", lineNumber);
+                binding.setVariable("fileName", fileName);
 
-            return runScript();
+                return runScript(compiled);
+            }
+            finally {
+                pool.offer(compiled);
+            }
         }
         return falsePositive;
     }
 
+    private Script borrowScript() {
+        Script compiled = pool.poll();
+        if (compiled == null) {
+            return createScript(scriptClass);
+        }
+        return compiled;
+    }
+
     @SuppressWarnings({"illegalcatch", "OverlyBroadCatchBlock"})
-    private Object runScript() {
+    private Object runScript(final Script compiled) {
         try {
             return compiled.run();
         }
@@ -131,4 +189,3 @@ public class GroovyExpressionMatcher implements Serializable {
         }
     }
 }
-
@@ -11,6 +11,7 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 
 import edu.hm.hafner.analysis.AbstractParser;
@@ -22,6 +23,8 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import groovy.lang.Script;
 import io.jenkins.plugins.analysis.core.JenkinsFacade;
 import io.jenkins.plugins.analysis.core.model.StaticAnalysisTool;
+import io.jenkins.plugins.analysis.core.util.DeadlineCharSequence;
+import io.jenkins.plugins.analysis.core.util.DeadlineCharSequence.DeadlineExceededException;
 import jenkins.model.Jenkins;
 
 import hudson.Extension;
@@ -38,12 +41,14 @@ import hudson.util.FormValidation.Kind;
 public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implements Serializable {
     private static final long serialVersionUID = 2447124045452896581L;
     private static final int MAX_EXAMPLE_SIZE = 4096;
+    private static final long EXAMPLE_TIMEOUT = 5_000;
 
     private final String id;
     private final String name;
     private final String regexp;
     private final String script;
     private final String example;
+    private boolean staticCompilation;
 
     @SuppressFBWarnings("SE")
     private transient JenkinsFacade jenkinsFacade = new JenkinsFacade();
@@ -86,7 +91,7 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
     public boolean isValid() {
         DescriptorImpl d = new DescriptorImpl(getJenkinsFacade());
 
-        return d.doCheckScript(script).kind == Kind.OK
+        return d.doCheckScript(script, false).kind == Kind.OK
                 && d.doCheckRegexp(regexp).kind == Kind.OK
                 && d.validate(name, Messages.GroovyParser_Error_Name_isEmpty()).kind == Kind.OK;
     }
@@ -131,6 +136,27 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
         return StringUtils.defaultString(example);
     }
 
+    /**
+     * Returns whether the Groovy script should be compiled statically. Statically compiled scripts run much faster,
+     * but they need to pass the static type checks. Scripts that do not pass these checks are run dynamically.
+     *
+     * @return {@code true} if the script should be compiled statically, {@code false} otherwise
+     */
+    public boolean isStaticCompilation() {
+        return staticCompilation;
+    }
+
+    /**
+     * Determines whether the Groovy script should be compiled statically.
+     *
+     * @param staticCompilation
+     *         {@code true} if the script should be compiled statically, {@code false} otherwise
+     */
+    @DataBoundSetter
+    public void setStaticCompilation(final boolean staticCompilation) {
+        this.staticCompilation = staticCompilation;
+    }
+
     /**
      * Returns whether the parser can scan messages spanning multiple lines.
      *
@@ -151,6 +177,9 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
 
         GroovyParser that = (GroovyParser) o;
 
+        if (staticCompilation != that.staticCompilation) {
+            return false;
+        }
         if (!regexp.equals(that.regexp)) {
             return false;
         }
@@ -161,6 +190,7 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
     public int hashCode() {
         int result = regexp.hashCode();
         result = 31 * result + script.hashCode();
+        result = 31 * result + (staticCompilation ? 1 : 0);
         return result;
     }
 
@@ -175,10 +205,10 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
         Ensure.that(isValid()).isTrue();
 
         if (hasMultiLineSupport()) {
-            return new DynamicDocumentParser(regexp, script);
+            return new DynamicDocumentParser(regexp, script, staticCompilation);
         }
         else {
-            return new DynamicLineParser(regexp, script);
+            return new DynamicLineParser(regexp, script, staticCompilation);
         }
     }
 
@@ -284,14 +314,18 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
         }
 
         /**
-         * Performs on-the-fly validation on the Groovy script.
+         * Performs on-the-fly validation on the Groovy script. If the script should be compiled statically but does
+         * not pass the static type checks, then a warning is returned since the script will be run dynamically.
          *
          * @param script
          *         the script
+         * @param staticCompilation
+         *         determines whether the script should be compiled statically
          *
          * @return the validation result
          */
-        public FormValidation doCheckScript(@QueryParameter(required = true) final String script) {
+        public FormValidation doCheckScript(@QueryParameter(required = true) final String script,
+                @QueryParameter final boolean staticCompilation) {
             if (isNotAllowedToRunScripts()) {
                 return NO_RUN_SCRIPT_PERMISSION_WARNING;
             }
@@ -304,6 +338,9 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
                 Script compiled = matcher.compile();
                 Ensure.that(compiled).isNotNull();
 
+                if (staticCompilation) {
+                    return checkStaticCompilation(script);
+                }
                 return FormValidation.ok();
             }
             catch (CompilationFailedException exception) {
@@ -312,6 +349,18 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
             }
         }
 
+        private FormValidation checkStaticCompilation(final String script) {
+            try {
+                GroovyScriptCache.getStaticScriptClass(script);
+
+                return FormValidation.ok();
+            }
+            catch (CompilationFailedException exception) {
+                return FormValidation.warning(
+                        Messages.GroovyParser_Warning_Script_notStatic(exception.getLocalizedMessage()));
+            }
+        }
+
         private boolean isNotAllowedToRunScripts() {
             return !jenkinsFacade.hasPermission(Jenkins.RUN_SCRIPTS);
         }
@@ -325,16 +374,20 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
          *         the regular expression
          * @param script
          *         the script
+         * @param staticCompilation
+         *         determines whether the script should be compiled statically
          *
          * @return the validation result
          */
         public FormValidation doCheckExample(@QueryParameter final String example,
-                @QueryParameter final String regexp, @QueryParameter final String script) {
+                @QueryParameter final String regexp, @QueryParameter final String script,
+                @QueryParameter final boolean staticCompilation) {
             if (isNotAllowedToRunScripts()) {
                 return NO_RUN_SCRIPT_PERMISSION_WARNING;
             }
             if (StringUtils.isNotBlank(example) && StringUtils.isNotBlank(regexp) && StringUtils.isNotBlank(script)) {
-                FormValidation response = parseExample(script, example, regexp, containsNewline(regexp));
+                FormValidation response = parseExample(script, staticCompilation, example, regexp,
+                        containsNewline(regexp));
                 if (example.length() <= MAX_EXAMPLE_SIZE) {
                     return response;
                 }
@@ -351,6 +404,8 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
          *
          * @param script
          *         the script that parses the expression
+         * @param staticCompilation
+         *         determines whether the script should be compiled statically
          * @param example
          *         example text that will be matched by the regular expression
          * @param regexp
@@ -361,8 +416,8 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
          * @return a result of {@link Kind#OK} if a warning has been found
          */
         @SuppressWarnings("illegalcatch")
-        private FormValidation parseExample(final String script, final String example, final String regexp,
-                final boolean hasMultiLineSupport) {
+        private FormValidation parseExample(final String script, final boolean staticCompilation,
+                final String example, final String regexp, final boolean hasMultiLineSupport) {
             Pattern pattern;
             if (hasMultiLineSupport) {
                 pattern = Pattern.compile(regexp, Pattern.MULTILINE);
@@ -370,10 +425,10 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
             else {
                 pattern = Pattern.compile(regexp);
             }
-            Matcher matcher = pattern.matcher(example);
+            Matcher matcher = pattern.matcher(DeadlineCharSequence.withTimeout(example, EXAMPLE_TIMEOUT));
             try {
                 if (matcher.find()) {
-                    GroovyExpressionMatcher checker = new GroovyExpressionMatcher(script, null);
+                    GroovyExpressionMatcher checker = new GroovyExpressionMatcher(script, null, staticCompilation);
                     Object result = checker.run(matcher, new IssueBuilder(), 0, "UI Example");
                     if (result instanceof Issue) {
                         return createOkMessage((Issue) result);
@@ -386,6 +441,9 @@ public class GroovyParser extends AbstractDescribableImpl<GroovyParser> implemen
                     return FormValidation.error(Messages.GroovyParser_Error_Example_regexpDoesNotMatch());
                 }
             }
+            catch (DeadlineExceededException exception) {
+                return FormValidation.error(Messages.GroovyParser_Error_Example_timeout(EXAMPLE_TIMEOUT));
+            }
             catch (Exception exception) { // catch all exceptions of the Groovy script
                 return FormValidation.error(
                         Messages.GroovyParser_Error_Example_exception(exception.getMessage()));
@@ -0,0 +1,62 @@
+package io.jenkins.plugins.analysis.warnings.groovy;
+
+import java.util.regex.Matcher;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import groovy.lang.Script;
+
+/**
+ * Base class of Groovy parser scripts that are compiled statically. A statically compiled script cannot access the
+ * untyped variables of its {@link groovy.lang.Binding}. So this base class provides the variables of a match as typed
+ * properties: the script refers to {@code matcher}, {@code builder}, {@code lineNumber}, {@code fileName}, and {@code
+ * falsePositive} just like a dynamic script does, but the calls are type checked and dispatched statically.
+ *
+ * @author Ullrich Hafner
+ */
+public abstract class GroovyParserScript extends Script {
+    /**
+     * Returns the regular expression matcher of the current match.
+     *
+     * @return the matcher
+     */
+    public Matcher getMatcher() {
+        return (Matcher) getBinding().getVariable("matcher");
+    }
+
+    /**
+     * Returns the issue builder to create the issue of the current match.
+     *
+     * @return the issue builder
+     */
+    public IssueBuilder getBuilder() {
+        return (IssueBuilder) getBinding().getVariable("builder");
+    }
+
+    /**
+     * Returns the line number of the current match.
+     *
+     * @return the line number
+     */
+    public int getLineNumber() {
+        return (Integer) getBinding().getVariable("lineNumber");
+    }
+
+    /**
+     * Returns the name of the parsed report file.
+     *
+     * @return the file name
+     */
+    public String getFileName() {
+        return (String) getBinding().getVariable("fileName");
+    }
+
+    /**
+     * Returns the issue that indicates a false positive.
+     *
+     * @return the false positive issue
+     */
+    public Issue getFalsePositive() {
+        return (Issue) getBinding().getVariable("falsePositive");
+    }
+}
@@ -0,0 +1,207 @@
+package io.jenkins.plugins.analysis.warnings.groovy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.customizers.ASTTransformationCustomizer;
+
+import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
+import groovy.transform.CompileStatic;
+
+import hudson.Util;
+import hudson.plugins.warnings.WarningsDescriptor;
+
+/**
+ * Caches the compiled classes of Groovy scripts. Compiling a script with {@link GroovyShell#parse(String)} takes much
+ * longer than creating a new instance of an already compiled script class. So each script is compiled only once on
+ * the controller, all subsequent requests for the same script (e.g., each time a parser is created from the same
+ * configuration) get the cached class. The classes are identified by the SHA-256 hash of the script source code, the
+ * least recently used classes are removed if the cache is full. Scripts that are compiled statically (see {@link
+ * GroovyParserScript}) are cached separately from scripts that are compiled dynamically. If a script does not pass
+ * the static type checks, then this failure is cached as well.
+ *
+ * @author Ullrich Hafner
+ */
+final class GroovyScriptCache {
+    private static final Logger LOGGER = Logger.getLogger(GroovyScriptCache.class.getName());
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String STATIC_PREFIX = "static:";
+    private static final int MAX_CACHED_SCRIPTS = 100;
+    private static final Map<String, CompiledScript> CLASSES = Collections.synchronizedMap(
+            new LinkedHashMap<String, CompiledScript>(MAX_CACHED_SCRIPTS, 0.75f, true) {
+                private static final long serialVersionUID = -1502409213575628213L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, CompiledScript> eldest) {
+                    return size() > MAX_CACHED_SCRIPTS;
+                }
+            });
+
+    /**
+     * Returns the compiled class of the specified script. If the script has not been compiled yet, then it will be
+     * compiled now and added to the cache.
+     *
+     * @param script
+     *         the source code of the script
+     *
+     * @return the compiled class
+     * @throws CompilationFailedException
+     *         if the script contains compile errors
+     */
+    static Class<? extends Script> getScriptClass(final String script) throws CompilationFailedException {
+        return getScriptClass(computeHash(script), script, new CompilerConfiguration());
+    }
+
+    /**
+     * Returns the compiled class of the specified script. If the script should be compiled statically but does not
+     * pass the static type checks (see {@link #getStaticScriptClass(String)}), then the dynamically compiled class is
+     * returned. Since the failure of the static compilation is cached as well, the script is compiled statically (and
+     * the fallback is logged) only once.
+     *
+     * @param script
+     *         the source code of the script
+     * @param isStaticCompilation
+     *         determines whether the script should be compiled statically
+     *
+     * @return the compiled class
+     * @throws CompilationFailedException
+     *         if the script contains compile errors
+     */
+    static Class<? extends Script> getScriptClass(final String script, final boolean isStaticCompilation)
+            throws CompilationFailedException {
+        String hash = computeHash(script);
+        if (isStaticCompilation) {
+            CompiledScript compiled = getStaticScript(hash, script);
+            if (compiled.isCompiled()) {
+                return compiled.getScriptClass();
+            }
+        }
+        return getScriptClass(hash, script, new CompilerConfiguration());
+    }
+
+    /**
+     * Returns the statically compiled class of the specified script. The script is compiled with {@link
+     * CompileStatic} and uses {@link GroovyParserScript} as base class. If the script has not been compiled yet, then
+     * it will be compiled now and added to the cache. If the compilation fails, then the failure is added to the cache
+     * so that the script is not compiled again.
+     *
+     * @param script
+     *         the source code of the script
+     *
+     * @return the compiled class
+     * @throws CompilationFailedException
+     *         if the script contains compile errors or does not pass the static type checks
+     */
+    static Class<? extends Script> getStaticScriptClass(final String script) throws CompilationFailedException {
+        return getStaticScript(computeHash(script), script).getScriptClass();
+    }
+
+    private static CompiledScript getStaticScript(final String hash, final String script) {
+        String key = STATIC_PREFIX + hash;
+        CompiledScript cached = CLASSES.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompilerConfiguration configuration = new CompilerConfiguration();
+        configuration.setScriptBaseClass(GroovyParserScript.class.getName());
+        configuration.addCompilationCustomizers(new ASTTransformationCustomizer(CompileStatic.class));
+        try {
+            return cache(key, new CompiledScript(compile(script, configuration)));
+        }
+        catch (CompilationFailedException exception) {
+            CompiledScript failure = cache(key, new CompiledScript(exception));
+            if (failure.getFailure() == exception) {
+                LOGGER.log(Level.INFO, "Groovy dynamic warnings parser: script cannot be compiled statically, "
+                        + "falling back to dynamic compilation: {0}", exception.getMessage());
+            }
+            return failure;
+        }
+    }
+
+    private static Class<? extends Script> getScriptClass(final String key, final String script,
+            final CompilerConfiguration configuration) {
+        CompiledScript cached = CLASSES.get(key);
+        if (cached == null) {
+            cached = cache(key, new CompiledScript(compile(script, configuration)));
+        }
+        return cached.getScriptClass();
+    }
+
+    private static Class<? extends Script> compile(final String script, final CompilerConfiguration configuration) {
+        return new GroovyShell(WarningsDescriptor.class.getClassLoader(), new Binding(), configuration)
+                .parse(script).getClass();
+    }
+
+    private static CompiledScript cache(final String key, final CompiledScript compiled) {
+        // compiled outside of the lock, if two threads compile the same script then the first result wins
+        CompiledScript cached = CLASSES.putIfAbsent(key, compiled);
+        if (cached == null) {
+            return compiled;
+        }
+        return cached;
+    }
+
+    @VisibleForTesting
+    static String computeHash(final String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return Util.toHexString(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", exception);
+        }
+    }
+
+    private GroovyScriptCache() {
+        // prevents instantiation
+    }
+
+    /**
+     * The result of compiling a script: either the compiled class or the reason why the compilation failed.
+     */
+    private static class CompiledScript {
+        @CheckForNull
+        private final Class<? extends Script> scriptClass;
+        @CheckForNull
+        private final CompilationFailedException failure;
+
+        CompiledScript(final Class<? extends Script> scriptClass) {
+            this.scriptClass = scriptClass;
+            failure = null;
+        }
+
+        CompiledScript(final CompilationFailedException failure) {
+            scriptClass = null;
+            this.failure = failure;
+        }
+
+        boolean isCompiled() {
+            return scriptClass != null;
+        }
+
+        @CheckForNull
+        CompilationFailedException getFailure() {
+            return failure;
+        }
+
+        Class<? extends Script> getScriptClass() throws CompilationFailedException {
+            if (scriptClass == null) {
+                throw failure;
+            }
+            return scriptClass;
+        }
+    }
+}
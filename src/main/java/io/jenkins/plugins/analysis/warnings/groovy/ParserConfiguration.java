@@ -62,6 +62,7 @@ public class ParserConfiguration extends GlobalConfiguration {
     public void setParsers(final List<GroovyParser> parsers) {
         this.parsers = new ArrayList<>(parsers);
         save();
+        LabelProviderFactory.invalidate();
     }
 
     /**
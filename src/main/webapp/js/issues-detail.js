@@ -171,16 +171,27 @@
     });
     
     /**
-     * Create a data table instance for the issues table.
+     * Create a data table instance for the issues table. The rows are paged, sorted, and filtered on the server:
+     * each draw of the table fetches the visible page only using an Ajax call.
      */
     var issues = $('#issues');
+    var issuesLoaded = false;
     var issuesTable = issues.DataTable({
         pagingType: 'numbers',  // Page number button only
         order: [[1, 'asc']],
         columnDefs: [{
             targets: 0,         // First column contains details button
             orderable: false
-        }]
+        }],
+        serverSide: true,
+        deferLoading: 0,        // Issues are loaded when the tab is shown
+        ajax: function (data, callback) {
+            var order = data.order.length > 0 ? data.order[0] : {column: -1, dir: 'asc'};
+            view.getTablePage(data.draw, data.start, data.length, order.column, order.dir, data.search.value,
+                function (t) {
+                    callback(t.responseObject());
+                });
+        }
     });
 
     // Add event listener for opening and closing details
@@ -193,26 +204,32 @@
             row.child.hide();
             tr.removeClass('shown');
         } else {
-            // Open this row
-            row.child($(this).data('description')).show();
-            tr.addClass('shown');
+            // Open this row: the description is fetched on demand
+            var details = $(this);
+            var description = details.data('description');
+            if (description !== undefined) {
+                row.child(description).show();
+                tr.addClass('shown');
+            }
+            else {
+                view.getIssueDescription(details.data('id'), function (t) {
+                    row.child(t.responseObject()).show();
+                    tr.addClass('shown');
+                });
+            }
         }
     });
     
     /**
-     * Issues are loaded on demand: if the active tab shows the issues table, then the content is loaded using an
+     * Issues are loaded on demand: if the active tab shows the issues table, then the first page is loaded using an
      * Ajax call.
      */
     var tabToggleLink = $('a[data-toggle="tab"]');
     tabToggleLink.on('show.bs.tab', function (e) {
         var activeTab = $(e.target).attr('href');
-        if (activeTab === '#issuesContent' && issuesTable.data().length === 0) {
-            view.getTableModel(function (t) {
-                (function ($) {
-                    var table = $('#issues').DataTable();
-                    table.rows.add(t.responseObject().data).draw()
-                })(jQuery);
-            });
+        if (activeTab === '#issuesContent' && !issuesLoaded) {
+            issuesLoaded = true;
+            issuesTable.draw();
         }
     });
 
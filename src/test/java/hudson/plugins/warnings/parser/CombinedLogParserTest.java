@@ -0,0 +1,122 @@
+package hudson.plugins.warnings.parser;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import io.jenkins.plugins.analysis.core.util.MatchingBudget;
+
+import hudson.plugins.analysis.util.model.FileAnnotation;
+
+/**
+ * Tests the class {@link CombinedLogParser}.
+ *
+ * @author Ullrich Hafner
+ */
+public class CombinedLogParserTest {
+    private static final String LOG = "all.txt";
+
+    /**
+     * Verifies that the single pass finds the same warnings as separate runs of each parser.
+     *
+     * @throws IOException
+     *             if the log could not be read
+     */
+    @Test
+    public void shouldFindSameWarningsAsSeparateRuns() throws IOException {
+        List<AbstractWarningsParser> parsers = Arrays.<AbstractWarningsParser>asList(new JavacParser(),
+                new GccParser(), new MavenConsoleParser(), new EclipseParser(), new RFLintParser(),
+                new Gcc4CompilerParser(), new MsBuildParser());
+
+        List<Collection<FileAnnotation>> combined = new CombinedLogParser(parsers).parse(this::openLog,
+                new ArrayList<String>());
+
+        assertEquals(parsers.size(), combined.size());
+        int total = 0;
+        for (int i = 0; i < parsers.size(); i++) {
+            Collection<FileAnnotation> expected = parsers.get(i).parse(openLog());
+            assertEquals(parsers.get(i).getGroup(), describe(expected), describe(combined.get(i)));
+            total += expected.size();
+        }
+        assertTrue("No warnings found in " + LOG, total > 0);
+    }
+
+    /**
+     * Verifies that a parser that is part of the list several times finds distinct warnings for each occurrence.
+     *
+     * @throws IOException
+     *             if the log could not be read
+     */
+    @Test
+    public void shouldParseDuplicateParsersSeparately() throws IOException {
+        JavacParser javac = new JavacParser();
+
+        List<Collection<FileAnnotation>> combined = new CombinedLogParser(Arrays.asList(javac, javac)).parse(
+                this::openLog, new ArrayList<String>());
+
+        assertEquals(describe(combined.get(0)), describe(combined.get(1)));
+        assertFalse(combined.get(0).isEmpty());
+        assertNotSame(combined.get(0).iterator().next(), combined.get(1).iterator().next());
+    }
+
+    /**
+     * Verifies that an exhausted budget of one parse does not affect the next parse with the same parser instance.
+     *
+     * @throws IOException
+     *             if the log could not be read
+     */
+    @Test
+    public void shouldKeepBudgetLocalToEachParse() throws IOException {
+        JavacParser javac = new JavacParser();
+
+        MatchingBudget exhausted = new MatchingBudget(javac.getGroup(), 1, 0);
+        javac.parse(openLog(), exhausted);
+
+        assertTrue(exhausted.isExhausted());
+        assertFalse(exhausted.getMessages().isEmpty());
+
+        List<String> timeouts = new ArrayList<String>();
+        List<Collection<FileAnnotation>> combined = new CombinedLogParser(Arrays.asList(javac)).parse(
+                this::openLog, timeouts);
+
+        assertEquals(describe(javac.parse(openLog())), describe(combined.get(0)));
+        assertFalse(combined.get(0).isEmpty());
+        assertTrue(timeouts.isEmpty());
+    }
+
+    /**
+     * Verifies that only parsers that do not parse the file on their own are fed line by line.
+     */
+    @Test
+    public void shouldDetectLineParsers() {
+        assertTrue(new JavacParser().canParseLineByLine());
+        assertTrue(new MavenConsoleParser().canParseLineByLine());
+        assertFalse(new RFLintParser().canParseLineByLine());
+
+        assertTrue(new RFLintParser().canParseWithBudget());
+        assertTrue(new LinuxKernelOutputParser().canParseWithBudget());
+    }
+
+    private Reader openLog() {
+        return new InputStreamReader(CombinedLogParserTest.class.getResourceAsStream(LOG), StandardCharsets.UTF_8);
+    }
+
+    private List<String> describe(final Collection<FileAnnotation> warnings) {
+        List<String> descriptions = new ArrayList<String>();
+        for (FileAnnotation warning : warnings) {
+            descriptions.add(String.format("%s:%d:%s:%s:%s:%s", warning.getFileName(),
+                    warning.getPrimaryLineNumber(), warning.getType(), warning.getCategory(),
+                    warning.getPriority(), warning.getMessage()));
+        }
+        return descriptions;
+    }
+}
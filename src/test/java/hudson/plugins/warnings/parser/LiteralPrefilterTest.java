@@ -0,0 +1,140 @@
+package hudson.plugins.warnings.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the class {@link LiteralPrefilter}.
+ *
+ * @author Ullrich Hafner
+ */
+public class LiteralPrefilterTest {
+    /**
+     * Verifies that the literals of a sequence are concatenated and that the most selective literal is used.
+     */
+    @Test
+    public void shouldExtractLongestLiteralOfSequence() {
+        assertLiterals("^(.*):(\\d+): warning: (.*)$", ": warning: ");
+        assertLiterals("\\[WARNING\\] (.*)", "[WARNING] ");
+        assertLiterals("a\\.b\\d+cdef", "cdef");
+        assertLiterals("\\Qa.b*c\\E\\s", "a.b*c");
+        assertLiterals("x\\x41\\u0042\\t", "xAB\t");
+    }
+
+    /**
+     * Verifies that alternatives result in a set of literals.
+     */
+    @Test
+    public void shouldExtractLiteralsOfAlternatives() {
+        assertLiterals("(warning|error): (.*)", "warning", "error");
+        assertLiterals("(?:WARNING|ERROR)\\s+\\d+", "WARNING", "ERROR");
+        assertLiterals("warning|error", "warning", "error");
+        assertLiterals("(?<type>[Ww]arning|[Ee]rror): .*", "arning", "rror");
+    }
+
+    /**
+     * Verifies that optional elements do not contribute literals.
+     */
+    @Test
+    public void shouldSkipOptionalElements() {
+        assertLiterals("abc?d", "ab");
+        assertLiterals("ab+c", "ab");
+        assertLiterals("(foo)?bar", "bar");
+        assertLiterals("(warning)*: x", ": x");
+        assertLiterals("(warning){2,}", "warning");
+        assertLiterals("x(warning){0,3}", "x");
+        assertLiterals("(?=warning)a", "a");
+    }
+
+    /**
+     * Verifies that every line is accepted if the pattern does not require a literal or if it uses unsupported
+     * constructs.
+     */
+    @Test
+    public void shouldAcceptAllLinesIfNoLiteralIsRequired() {
+        assertAcceptsAll(".*");
+        assertAcceptsAll("(warning|.*)");
+        assertAcceptsAll("(?i)warning");
+        assertAcceptsAll("a(?i:warning)");
+        assertAcceptsAll("(\\w+)\\1");
+        assertAcceptsAll("[a-z]+\\d");
+        assertAcceptsAll("\\uD83D\\uDE00");
+        assertTrue(LiteralPrefilter.create(Pattern.compile("warning", Pattern.CASE_INSENSITIVE)).isAcceptingAll());
+        assertTrue(LiteralPrefilter.create(Pattern.compile("warning", Pattern.COMMENTS)).isAcceptingAll());
+    }
+
+    /**
+     * Verifies that lines are filtered using several literals.
+     */
+    @Test
+    public void shouldFilterLines() {
+        LiteralPrefilter prefilter = LiteralPrefilter.create(Pattern.compile("(warning|error|he|she|hers)\\d"));
+
+        assertTrue(prefilter.mayMatch("file.c:1: warning: something"));
+        assertTrue(prefilter.mayMatch("ushers"));
+        assertTrue(prefilter.mayMatch("\u00e4\u00f6\u00fc: error"));
+        assertFalse(prefilter.mayMatch("[INFO] Building jar"));
+        assertFalse(prefilter.mayMatch("warnin"));
+        assertFalse(prefilter.mayMatch(""));
+    }
+
+    /**
+     * Verifies that the prefilter of the parsers never skips a line that matches the pattern of the parser.
+     *
+     * @throws IOException
+     *             if the example files could not be read
+     */
+    @Test
+    public void shouldNeverSkipMatchingLines() throws IOException {
+        List<RegexpLineParser> parsers = Arrays.<RegexpLineParser>asList(new GccParser(), new Gcc4CompilerParser(),
+                new Gcc4LinkerParser(), new MavenConsoleParser(), new MsBuildParser(), new JavaDocParser(),
+                new ClangParser(), new IntelParser(), new AntJavacParser());
+        List<String> files = Arrays.asList("gcc.txt", "gcc4.txt", "gcc4ld.txt", "maven-console.txt", "msbuild.txt",
+                "javadoc.txt", "apple-llvm-clang.txt", "intelc.txt", "ant-javac.txt", "issue11675.txt");
+
+        for (RegexpLineParser parser : parsers) {
+            Pattern pattern = parser.getPattern();
+            LiteralPrefilter prefilter = parser.getPrefilter();
+            assertFalse(parser.getGroup(), prefilter.isAcceptingAll());
+            for (String file : files) {
+                for (String line : readLines(file)) {
+                    if (pattern.matcher(line).find()) {
+                        assertTrue(parser.getGroup() + " skips line: " + line, prefilter.mayMatch(line));
+                    }
+                }
+            }
+        }
+    }
+
+    private List<String> readLines(final String fileName) throws IOException {
+        InputStream stream = LiteralPrefilterTest.class.getResourceAsStream(fileName);
+        try {
+            return IOUtils.readLines(stream, StandardCharsets.UTF_8);
+        }
+        finally {
+            IOUtils.closeQuietly(stream);
+        }
+    }
+
+    private void assertLiterals(final String regex, final String... expected) {
+        LiteralPrefilter prefilter = LiteralPrefilter.create(Pattern.compile(regex));
+
+        assertEquals(regex, Arrays.asList(expected), Arrays.asList(prefilter.getLiterals().toArray()));
+    }
+
+    private void assertAcceptsAll(final String regex) {
+        LiteralPrefilter prefilter = LiteralPrefilter.create(Pattern.compile(regex));
+
+        assertTrue(regex, prefilter.isAcceptingAll());
+        assertTrue(regex, prefilter.mayMatch("any line"));
+    }
+}
@@ -0,0 +1,186 @@
+package hudson.plugins.warnings.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the line parsers with and without the {@link LiteralPrefilter} on a synthetic GCC and Maven console log
+ * where only one of 200 lines contains a warning. The benchmarks {@link #matchEveryLine(Blackhole)} and {@link
+ * #prefilterLines(Blackhole)} scan an in-memory sample of the log, the benchmark {@link #parseConsoleLog()} streams
+ * the whole log through the parser. The size of the streamed log can be changed using the parameter {@code
+ * megaBytes}, e.g. {@code -p megaBytes=4096} for a log of 4 GB.
+ *
+ * <p>
+ * This benchmark is not run during the build, start it using the {@link #main(String[])} method.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RegexpLineParserBenchmark {
+    private static final int SAMPLE_LINES = 100_000;
+    private static final int WARNING_RATIO = 200;
+    private static final String[] NOISE = {
+            "[INFO] --- maven-compiler-plugin:3.8.0:compile (default-compile) @ core ---",
+            "[INFO] Changes detected - recompiling the module!",
+            "[INFO] Compiling 542 source files to /home/jenkins/workspace/core/target/classes",
+            "Downloaded from central: https://repo.maven.apache.org/maven2/org/ow2/asm/asm/6.2/asm-6.2.jar (111 kB)",
+            "g++ -DHAVE_CONFIG_H -I. -I../include -O2 -g -MT src/parser.o -MD -MP -c -o src/parser.o src/parser.cpp",
+            "make[2]: Entering directory '/home/jenkins/workspace/native/build/src'",
+            "  CXX      libcore_la-scanner.lo",
+            "[INFO] Tests run: 42, Failures: 0, Errors: 0, Skipped: 0, Time elapsed: 0.371 s - in io.jenkins.CoreTest"};
+    private static final String[] WARNINGS = {
+            "src/parser.cpp:142:17: warning: unused variable 'count' [-Wunused-variable]",
+            "[WARNING] /home/jenkins/workspace/core/src/main/java/Core.java:[42,17] deprecated API used"};
+
+    @Param({"GCC", "MAVEN"})
+    private String parserName;
+
+    @Param("256")
+    private int megaBytes;
+
+    private RegexpLineParser parser;
+    private Pattern pattern;
+    private LiteralPrefilter prefilter;
+    private List<String> sample;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            not used
+     * @throws RunnerException
+     *             if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RegexpLineParserBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Creates the parser and the sample of the console log.
+     */
+    @Setup
+    public void setup() {
+        parser = "GCC".equals(parserName) ? new Gcc4CompilerParser() : new MavenConsoleParser();
+        pattern = parser.getPattern();
+        prefilter = parser.getPrefilter();
+
+        sample = new ArrayList<String>(SAMPLE_LINES);
+        for (int line = 0; line < SAMPLE_LINES; line++) {
+            sample.add(createLine(line));
+        }
+    }
+
+    /**
+     * Applies the regular expression to every line of the sample, like the parsers did before the prefilter has been
+     * introduced.
+     *
+     * @param blackhole
+     *            consumes the results
+     */
+    @Benchmark
+    public void matchEveryLine(final Blackhole blackhole) {
+        for (String line : sample) {
+            blackhole.consume(pattern.matcher(line).find());
+        }
+    }
+
+    /**
+     * Applies the regular expression only to the lines of the sample that pass the prefilter.
+     *
+     * @param blackhole
+     *            consumes the results
+     */
+    @Benchmark
+    public void prefilterLines(final Blackhole blackhole) {
+        for (String line : sample) {
+            blackhole.consume(prefilter.mayMatch(line) && pattern.matcher(line).find());
+        }
+    }
+
+    /**
+     * Parses the whole console log using the parser.
+     *
+     * @return the number of warnings
+     * @throws IOException
+     *             if the log could not be read
+     */
+    @Benchmark
+    public int parseConsoleLog() throws IOException {
+        return parser.parse(new ConsoleLogReader(megaBytes * 1024L * 1024L)).size();
+    }
+
+    private static String createLine(final long line) {
+        if (line % WARNING_RATIO == WARNING_RATIO - 1) {
+            return WARNINGS[(int) (line / WARNING_RATIO % WARNINGS.length)];
+        }
+        return NOISE[(int) (line % NOISE.length)];
+    }
+
+    /**
+     * Generates the console log on the fly, so that logs of several gigabytes do not need to be stored.
+     */
+    private static class ConsoleLogReader extends Reader {
+        private final long size;
+        private long position;
+        private long line;
+        private String current = "";
+        private int offset;
+
+        ConsoleLogReader(final long size) {
+            super();
+
+            this.size = size;
+        }
+
+        @Override
+        public int read(final char[] buffer, final int start, final int length) {
+            if (position >= size) {
+                return -1;
+            }
+            int count = 0;
+            while (count < length && position < size) {
+                if (offset == current.length()) {
+                    current = createLine(line++) + "\n";
+                    offset = 0;
+                }
+                int chunk = (int) Math.min(Math.min(length - count, current.length() - offset), size - position);
+                current.getChars(offset, offset + chunk, buffer, start + count);
+                offset += chunk;
+                count += chunk;
+                position += chunk;
+            }
+            return count;
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package hudson.plugins.warnings.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import hudson.plugins.warnings.parser.fxcop.FxCopParser;
+import hudson.plugins.warnings.parser.gendarme.GendarmeParser;
+
+/**
+ * Measures the peak heap usage of the XML report parsers. The parsers read synthetic FxCop and Gendarme reports of
+ * the size given by the parameter {@code megaBytes}. Each report contains the same number of issues, the remaining
+ * size is filled with elements that do not contain issues. Since the reports are read as a stream, the peak heap usage
+ * that is printed after each invocation should not depend on the size of the report. The reports are generated on the
+ * fly, so reports of several gigabytes do not need to be stored, e.g. {@code -p megaBytes=4096}.
+ *
+ * <p>
+ * This benchmark is not run during the build, start it using the {@link #main(String[])} method. Use a small heap
+ * (e.g. {@code -jvmArgs -Xmx128m}) to verify that large reports can be parsed.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = "-Xmx256m")
+public class XmlReportParserBenchmark {
+    private static final int ISSUES = 1000;
+    private static final long MEGA_BYTE = 1024L * 1024L;
+
+    @Param({"FXCOP", "GENDARME"})
+    private String parserName;
+
+    @Param({"16", "256", "1024"})
+    private int megaBytes;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            not used
+     * @throws RunnerException
+     *             if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(XmlReportParserBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Resets the peak heap usage before each invocation.
+     */
+    @Setup(Level.Invocation)
+    public void resetPeakUsage() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    /**
+     * Prints the peak heap usage of the invocation.
+     */
+    @TearDown(Level.Invocation)
+    public void printPeakUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("%n%s, %d MB report: peak heap usage %d MB%n", parserName, megaBytes, peak / MEGA_BYTE);
+    }
+
+    /**
+     * Parses the report.
+     *
+     * @return the number of warnings
+     * @throws IOException
+     *             if the report could not be read
+     */
+    @Benchmark
+    public int parseReport() throws IOException {
+        if ("FXCOP".equals(parserName)) {
+            return new FxCopParser().parse(new FxCopReportReader(megaBytes * MEGA_BYTE)).size();
+        }
+        return new GendarmeParser().parse(new GendarmeReportReader(megaBytes * MEGA_BYTE)).size();
+    }
+
+    /**
+     * Generates an XML report on the fly. The report consists of a header, a number of elements that are generated
+     * until the report has the requested size, and a footer.
+     */
+    private abstract static class ReportReader extends Reader {
+        private final long size;
+        private long position;
+        private long element;
+        private String current;
+        private int offset;
+        private boolean isFinished;
+
+        ReportReader(final long size, final String header) {
+            super();
+
+            this.size = size;
+            current = header;
+        }
+
+        /**
+         * Creates the element with the specified index.
+         *
+         * @param index
+         *            the index of the element
+         * @return the element
+         */
+        protected abstract String createElement(long index);
+
+        /**
+         * Returns the footer of the report.
+         *
+         * @return the footer
+         */
+        protected abstract String getFooter();
+
+        @Override
+        public int read(final char[] buffer, final int start, final int length) {
+            int count = 0;
+            while (count < length) {
+                if (offset == current.length()) {
+                    if (isFinished) {
+                        break;
+                    }
+                    if (position < size) {
+                        current = createElement(element++);
+                    }
+                    else {
+                        current = getFooter();
+                        isFinished = true;
+                    }
+                    offset = 0;
+                }
+                int chunk = Math.min(length - count, current.length() - offset);
+                current.getChars(offset, offset + chunk, buffer, start + count);
+                offset += chunk;
+                count += chunk;
+                position += chunk;
+            }
+            return count == 0 ? -1 : count;
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+
+    /**
+     * Generates an FxCop report whose rules are listed at the end of the report.
+     */
+    private static class FxCopReportReader extends ReportReader {
+        FxCopReportReader(final long size) {
+            super(size, "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n<FxCopReport Version=\"1.36\">\n <Targets>\n"
+                    + "  <Target Name=\"C:\\build\\bin\\core.dll\">\n   <Modules>\n    <Module Name=\"core.dll\">\n"
+                    + "     <Namespaces>\n");
+        }
+
+        @Override
+        protected String createElement(final long index) {
+            StringBuilder namespace = new StringBuilder(1024);
+            namespace.append("      <Namespace Name=\"Core.Space").append(index).append("\">\n       <Types>\n");
+            namespace.append("        <Type Name=\"Service\" Kind=\"Class\" Accessibility=\"Public\">\n");
+            namespace.append("         <Members>\n");
+            namespace.append("          <Member Name=\"#Price\" Kind=\"Property\" Static=\"False\">\n");
+            if (index < ISSUES) {
+                namespace.append("           <Messages>\n");
+                namespace.append("            <Message TypeName=\"SpecifyIFormatProvider\" ");
+                namespace.append("Category=\"Microsoft.Globalization\" CheckId=\"CA1305\">\n");
+                namespace.append("             <Issue Certainty=\"95\" Level=\"Error\" Path=\"c:\\build\\src\" ");
+                namespace.append("File=\"Service.cs\" Line=\"").append(index + 1).append("\">");
+                namespace.append("Replace this call with a call to 'decimal.ToString(string, IFormatProvider)'.");
+                namespace.append("</Issue>\n            </Message>\n           </Messages>\n");
+            }
+            namespace.append("          </Member>\n         </Members>\n        </Type>\n");
+            namespace.append("       </Types>\n      </Namespace>\n");
+            return namespace.toString();
+        }
+
+        @Override
+        protected String getFooter() {
+            return "     </Namespaces>\n    </Module>\n   </Modules>\n  </Target>\n </Targets>\n <Rules>\n"
+                    + "  <Rule TypeName=\"SpecifyIFormatProvider\" Category=\"Microsoft.Globalization\" "
+                    + "CheckId=\"CA1305\">\n   <Name>Specify IFormatProvider</Name>\n"
+                    + "   <Description>If an overload exists that takes an IFormatProvider, call it.</Description>\n"
+                    + "   <Url>http://msdn2.microsoft.com/library/ms182190(VS.90).aspx</Url>\n  </Rule>\n"
+                    + " </Rules>\n</FxCopReport>\n";
+        }
+    }
+
+    /**
+     * Generates a Gendarme report with a long list of analyzed files.
+     */
+    private static class GendarmeReportReader extends ReportReader {
+        GendarmeReportReader(final long size) {
+            super(size, "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n<gendarme-output date=\"14/07/2009\">\n"
+                    + "  <rules>\n    <rule Name=\"ToStringShouldNotReturnNullRule\" Type=\"Method\" "
+                    + "Uri=\"http://www.mono-project.com/Gendarme.Rules.BadPractice\">"
+                    + "Gendarme.Rules.BadPractice.ToStringShouldNotReturnNullRule</rule>\n  </rules>\n"
+                    + "  <results>\n    <rule Name=\"ToStringShouldNotReturnNullRule\" "
+                    + "Uri=\"http://www.mono-project.com\">\n"
+                    + "      <problem>This type contains a ToString () method that can return null.</problem>\n");
+        }
+
+        @Override
+        protected String createElement(final long index) {
+            if (index < ISSUES) {
+                return "      <target Name=\"System.String Core.Service" + index + "::ToString()\">\n"
+                        + "        <defect Severity=\"Medium\" Confidence=\"Normal\" Source=\"c:\\build\\Service"
+                        + index + ".cs(~" + (index + 1) + ")\">Return an empty string.</defect>\n"
+                        + "      </target>\n";
+            }
+            return "      <target Name=\"System.String Core.Service" + index + "::Clone()\" />\n";
+        }
+
+        @Override
+        protected String getFooter() {
+            return "    </rule>\n  </results>\n</gendarme-output>\n";
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package hudson.plugins.warnings.parser;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+import hudson.plugins.analysis.util.model.FileAnnotation;
+import hudson.plugins.warnings.parser.fxcop.DomFxCopParser;
+import hudson.plugins.warnings.parser.fxcop.FxCopParser;
+import hudson.plugins.warnings.parser.gendarme.DomGendarmeParser;
+import hudson.plugins.warnings.parser.gendarme.GendarmeParser;
+
+/**
+ * Verifies that the streaming parsers {@link FxCopParser} and {@link GendarmeParser} create the same warnings as
+ * their previous DOM based implementations.
+ *
+ * @author Ullrich Hafner
+ */
+public class XmlReportParserEquivalenceTest extends ParserTester {
+    /**
+     * Parses the FxCop reports with both implementations.
+     *
+     * @throws IOException
+     *             if the file could not be read
+     */
+    @Test
+    public void shouldCreateSameFxCopWarnings() throws IOException {
+        for (String report : new String[] {"fxcop.xml", "issue14172.xml"}) {
+            assertSameWarnings(report, new DomFxCopParser(), new FxCopParser());
+        }
+    }
+
+    /**
+     * Parses the Gendarme reports with both implementations.
+     *
+     * @throws IOException
+     *             if the file could not be read
+     */
+    @Test
+    public void shouldCreateSameGendarmeWarnings() throws IOException {
+        for (String report : new String[] {"gendarme/Gendarme.xml", "gendarme/Gendarme_unix.xml"}) {
+            assertSameWarnings(report, new DomGendarmeParser(), new GendarmeParser());
+        }
+    }
+
+    private void assertSameWarnings(final String report, final AbstractWarningsParser expected,
+            final AbstractWarningsParser actual) throws IOException {
+        List<String> expectedWarnings = describe(expected.parse(openFile(report)));
+        assertFalse("No warnings in " + report, expectedWarnings.isEmpty());
+        assertEquals("Different warnings in " + report, expectedWarnings, describe(actual.parse(openFile(report))));
+    }
+
+    private List<String> describe(final Collection<FileAnnotation> warnings) {
+        List<String> descriptions = new ArrayList<String>();
+        for (FileAnnotation warning : warnings) {
+            descriptions.add(String.format("%s:%d [%s/%s, %s] %s (%s)", warning.getFileName(),
+                    warning.getPrimaryLineNumber(), warning.getCategory(), warning.getType(), warning.getPriority(),
+                    warning.getMessage(), warning.getToolTip()));
+        }
+        return descriptions;
+    }
+
+    @Override
+    protected String getWarningsFile() {
+        return "fxcop.xml";
+    }
+}
@@ -0,0 +1,149 @@
+package io.jenkins.plugins.analysis.core.history;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Severity;
+import io.jenkins.plugins.analysis.core.model.AnalysisResult;
+import io.jenkins.plugins.analysis.core.quality.AnalysisBuild;
+import io.jenkins.plugins.analysis.core.quality.QualityGateStatus;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link TrendIndex}.
+ *
+ * @author Ullrich Hafner
+ */
+class TrendIndexTest {
+    private static final String CHECKSTYLE = "checkstyle";
+    private static final String PMD = "pmd";
+
+    @Test
+    void shouldAppendAndReadEntries() throws IOException {
+        TrendIndex index = new TrendIndex(createJobFolder());
+        assertThat(index.containsId(CHECKSTYLE)).isFalse();
+
+        index.append(createResult(CHECKSTYLE, 1, 10), new ArrayList<>());
+        index.append(createResult(PMD, 1, 5), new ArrayList<>());
+        index.append(createResult(CHECKSTYLE, 2, 20), new ArrayList<>());
+
+        assertThat(index.containsId(CHECKSTYLE)).isTrue();
+        List<TrendIndex.Entry> trend = index.getTrend(CHECKSTYLE, 2);
+        assertThat(trend).extracting(TrendIndex.Entry::getNumber).containsExactly(2, 1);
+
+        TrendIndex.Entry newest = trend.get(0);
+        assertThat(newest.getDisplayName()).isEqualTo("#2 name");
+        assertThat(newest.getTimeInMillis()).isEqualTo(2000);
+        assertThat(newest.getTotalSizeOf(Severity.WARNING_HIGH)).isEqualTo(20);
+        assertThat(newest.getTotalSizeOf(Severity.WARNING_NORMAL)).isEqualTo(21);
+        assertThat(newest.getTotalSizeOf(Severity.WARNING_LOW)).isEqualTo(22);
+        assertThat(newest.getTotalSizeOf(Severity.ERROR)).isEqualTo(23);
+        assertThat(newest.getNewSize()).isEqualTo(3);
+        assertThat(newest.getFixedSize()).isEqualTo(4);
+        assertThat(newest.getQualityGateStatus()).isEqualTo(QualityGateStatus.WARNING);
+
+        assertThat(index.getTrend(CHECKSTYLE, 1)).extracting(TrendIndex.Entry::getNumber).containsExactly(1);
+        assertThat(index.getTrend(PMD, 2)).extracting(TrendIndex.Entry::getNumber).containsExactly(1);
+    }
+
+    @Test
+    void shouldBackfillPreviousResultsOfNewTool() throws IOException {
+        TrendIndex index = new TrendIndex(createJobFolder());
+
+        index.append(createResult(CHECKSTYLE, 3, 30),
+                Arrays.asList(createResult(CHECKSTYLE, 2, 20), createResult(CHECKSTYLE, 1, 10)));
+        assertThat(index.getTrend(CHECKSTYLE, 3)).extracting(TrendIndex.Entry::getNumber).containsExactly(3, 2, 1);
+
+        @SuppressWarnings("unchecked")
+        Iterable<AnalysisResult> notUsed = mock(Iterable.class);
+        index.append(createResult(CHECKSTYLE, 4, 40), notUsed);
+        verifyZeroInteractions(notUsed);
+    }
+
+    @Test
+    void shouldRemoveDeletedBuilds() throws IOException {
+        File jobFolder = createJobFolder();
+        TrendIndex index = new TrendIndex(jobFolder);
+
+        index.append(createResult(CHECKSTYLE, 1, 10), new ArrayList<>());
+        index.append(createResult(PMD, 1, 10), new ArrayList<>());
+        index.append(createResult(CHECKSTYLE, 2, 10), new ArrayList<>());
+        index.remove(1);
+
+        assertThat(index.getTrend(CHECKSTYLE, 2)).extracting(TrendIndex.Entry::getNumber).containsExactly(2);
+        assertThat(index.getTrend(PMD, 2)).isEmpty();
+        assertThat(index.containsId(PMD)).isTrue();
+
+        assertThat(new TrendIndex(jobFolder).getTrend(CHECKSTYLE, 2)).hasSize(1);
+    }
+
+    @Test
+    void shouldCompactIndexWithManyDeletions() throws IOException {
+        File jobFolder = createJobFolder();
+        TrendIndex index = new TrendIndex(jobFolder);
+
+        int builds = TrendIndex.COMPACTION_THRESHOLD;
+        int deleted = builds / 2;
+        for (int number = 1; number <= builds; number++) {
+            index.append(createResult(CHECKSTYLE, number, number), new ArrayList<>());
+        }
+        for (int number = 1; number < deleted; number++) {
+            index.remove(number);
+        }
+
+        File indexFile = new File(jobFolder, TrendIndex.INDEX_FILE_NAME);
+        assertThat(Files.readAllLines(indexFile.toPath())).hasSize(builds + deleted - 1);
+
+        index.remove(deleted);
+
+        assertThat(Files.readAllLines(indexFile.toPath())).hasSize(builds - deleted);
+        assertThat(jobFolder.list()).containsExactly(TrendIndex.INDEX_FILE_NAME);
+        assertThat(index.getTrend(CHECKSTYLE, builds)).hasSize(builds - deleted)
+                .extracting(TrendIndex.Entry::getNumber).startsWith(builds).endsWith(deleted + 1);
+        assertThat(new TrendIndex(jobFolder).getTrend(CHECKSTYLE, builds).get(0).getDisplayName())
+                .isEqualTo("#" + builds + " name");
+    }
+
+    @Test
+    void shouldSkipInvalidLines() throws IOException {
+        File jobFolder = createJobFolder();
+        Files.write(new File(jobFolder, TrendIndex.INDEX_FILE_NAME).toPath(),
+                Arrays.asList("+\tcheckstyle\tnot-a-number", "garbage", "-"));
+
+        TrendIndex index = new TrendIndex(jobFolder);
+        index.append(createResult(CHECKSTYLE, 1, 10), new ArrayList<>());
+
+        assertThat(index.getTrend(CHECKSTYLE, 1)).hasSize(1);
+    }
+
+    private File createJobFolder() throws IOException {
+        return Files.createTempDirectory("job").toFile();
+    }
+
+    private AnalysisResult createResult(final String id, final int number, final int high) {
+        AnalysisResult result = mock(AnalysisResult.class);
+        when(result.getId()).thenReturn(id);
+        when(result.getTotalSizeOf(Severity.WARNING_HIGH)).thenReturn(high);
+        when(result.getTotalSizeOf(Severity.WARNING_NORMAL)).thenReturn(high + 1);
+        when(result.getTotalSizeOf(Severity.WARNING_LOW)).thenReturn(high + 2);
+        when(result.getTotalSizeOf(Severity.ERROR)).thenReturn(high + 3);
+        when(result.getNewSize()).thenReturn(3);
+        when(result.getFixedSize()).thenReturn(4);
+        when(result.getQualityGateStatus()).thenReturn(QualityGateStatus.WARNING);
+
+        AnalysisBuild build = mock(AnalysisBuild.class);
+        when(build.getNumber()).thenReturn(number);
+        when(build.getTimeInMillis()).thenReturn(number * 1000L);
+        when(build.getDisplayName()).thenReturn("#" + number + "\tname");
+        when(result.getBuild()).thenReturn(build);
+
+        return result;
+    }
+}
@@ -0,0 +1,78 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.parser.dry.DuplicationGroup;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the additional properties of the class {@link BinaryIssueStream}. These properties are stored using XStream,
+ * so Jenkins is required.
+ *
+ * @author Ullrich Hafner
+ */
+public class BinaryIssueStreamITest {
+    private static final String CODE_FRAGMENT = "int duplicated = 0;";
+
+    /** Required to enable Jenkins security settings during serialization. */
+    @ClassRule
+    public static final JenkinsRule JENKINS = new JenkinsRule();
+
+    /**
+     * Verifies that the duplication groups of duplicate code warnings are restored, including the group that is
+     * shared by the issues.
+     *
+     * @throws IOException
+     *         if the report could not be serialized
+     */
+    @Test
+    public void shouldRestoreDuplicationGroups() throws IOException {
+        DuplicationGroup group = new DuplicationGroup();
+        group.setCodeFragment(CODE_FRAGMENT);
+        IssueBuilder builder = new IssueBuilder().setAdditionalProperties(group);
+        Issue issue = builder.setFileName("/path/to/file-1").setLineStart(15).setLineEnd(29).build();
+        Issue duplicate = builder.setFileName("/path/to/file-2").setLineStart(5).setLineEnd(19).build();
+        group.add(issue);
+        group.add(duplicate);
+        Issue other = new IssueBuilder().setFileName("/path/to/file-3").setLineStart(1).build();
+
+        Report report = new Report().addAll(issue, duplicate, other);
+        report.add(issue);
+
+        Report restored = restore(write(report));
+
+        assertThat(restored).isEqualTo(report);
+        assertThat(restored.getDuplicatesSize()).isEqualTo(1);
+        assertThat(restored.get(2).getAdditionalProperties()).isNull();
+
+        Serializable properties = restored.get(0).getAdditionalProperties();
+        assertThat(properties).isInstanceOf(DuplicationGroup.class);
+        assertThat(restored.get(1).getAdditionalProperties()).isSameAs(properties);
+
+        DuplicationGroup restoredGroup = (DuplicationGroup) properties;
+        assertThat(restoredGroup.getCodeFragment()).isEqualTo(CODE_FRAGMENT);
+        assertThat(restoredGroup.getDuplications()).extracting(Issue::getFileName)
+                .containsExactly("/path/to/file-1", "/path/to/file-2");
+    }
+
+    private byte[] write(final Report report) throws IOException {
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            new BinaryIssueStream().write(report, output);
+            return output.toByteArray();
+        }
+    }
+
+    private Report restore(final byte[] bytes) throws IOException {
+        return new BinaryIssueStream().read(new ByteArrayInputStream(bytes));
+    }
+}
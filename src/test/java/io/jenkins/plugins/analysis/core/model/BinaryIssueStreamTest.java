@@ -0,0 +1,107 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.LineRange;
+import edu.hm.hafner.analysis.LineRangeList;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+import static java.util.Collections.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link BinaryIssueStream}.
+ *
+ * @author Ullrich Hafner
+ */
+class BinaryIssueStreamTest {
+    @Test
+    void shouldRestoreAllPropertiesOfReport() throws IOException {
+        Report report = new Report().addAll(createFilledIssue("1", 1), createFilledIssue("2", 200_000),
+                new IssueBuilder().setMessage("%d").build());
+        report.setId("id");
+        report.logInfo("info with %%");
+        report.logError("error");
+
+        Report restored = restore(write(report));
+
+        assertThat(restored).isEqualTo(report);
+        assertThat(restored.getId()).isEqualTo("id");
+        assertThat(restored.getInfoMessages()).containsExactly("info with %");
+        assertThat(restored.getErrorMessages()).containsExactly("error");
+        assertThat(restored.stream().map(Issue::getId).collect(Collectors.toList()))
+                .isEqualTo(report.stream().map(Issue::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldRestoreNumberOfDuplicates() throws IOException {
+        Issue issue = createFilledIssue("message", 1);
+        Report report = new Report().addAll(issue, createFilledIssue("other", 2));
+        report.add(issue);
+        report.add(issue);
+
+        Report restored = restore(write(report));
+
+        assertThat(restored).isEqualTo(report);
+        assertThat(restored.getDuplicatesSize()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldStoreRepeatedStringsOnlyOnce() throws IOException {
+        Report single = new Report().add(createFilledIssue("message", 1));
+        Report twice = new Report().addAll(createFilledIssue("message", 1), createFilledIssue("message", 2));
+
+        int sizeOfSingle = write(single).length;
+        int sizeOfTwice = write(twice).length;
+
+        assertThat(sizeOfTwice - sizeOfSingle).isLessThan(sizeOfSingle / 2);
+        assertThat(restore(write(twice))).isEqualTo(twice);
+    }
+
+    @Test
+    void shouldRejectXmlInput() {
+        byte[] xml = "<?xml version='1.1' encoding='UTF-8'?>".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(BinaryIssueStream.isBinaryFormat(xml)).isFalse();
+        assertThatThrownBy(() -> restore(xml)).isInstanceOf(IOException.class);
+    }
+
+    private Issue createFilledIssue(final String message, final int line) {
+        return new IssueBuilder().setFileName("/path/to/file.java")
+                .setLineStart(line)
+                .setLineEnd(line + 2)
+                .setColumnStart(3)
+                .setColumnEnd(1)
+                .setCategory("category")
+                .setType("type")
+                .setPackageName("edu.hm.hafner")
+                .setModuleName("module")
+                .setSeverity(Severity.WARNING_HIGH)
+                .setMessage(message)
+                .setDescription("description")
+                .setOrigin("origin")
+                .setLineRanges(new LineRangeList(singletonList(new LineRange(line + 5, line + 6))))
+                .setFingerprint("fingerprint-" + line)
+                .setReference("1")
+                .build();
+    }
+
+    private byte[] write(final Report report) throws IOException {
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            new BinaryIssueStream().write(report, output);
+            return output.toByteArray();
+        }
+    }
+
+    private Report restore(final byte[] bytes) throws IOException {
+        return new BinaryIssueStream().read(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,124 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+import io.jenkins.plugins.analysis.core.model.DetailsTableModel.Page;
+import io.jenkins.plugins.analysis.core.model.DetailsTableModel.PageRequest;
+import io.jenkins.plugins.analysis.core.model.FileNameRenderer.BuildFolderFacade;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the server-side paging of the class {@link DetailsTableModel}.
+ *
+ * @author Ullrich Hafner
+ */
+class DetailsTableModelTest {
+    private static final int FILE_COLUMN = 1;
+    private static final int SEVERITY_COLUMN = 2;
+
+    private final DetailsTableModel model = new DetailsTableModel();
+    private FileNameRenderer fileNameRenderer;
+
+    @BeforeEach
+    void initializeRenderer() {
+        Locale.setDefault(Locale.ENGLISH);
+
+        BuildFolderFacade buildFolder = mock(BuildFolderFacade.class);
+        when(buildFolder.canAccessAffectedFileOf(any())).thenReturn(false);
+        fileNameRenderer = new FileNameRenderer(buildFolder);
+    }
+
+    @Test
+    void shouldReturnRequestedPageOnly() {
+        Report report = createReport(25);
+
+        Page page = model.getPage(report, new PageRequest(7, 10, 10, FILE_COLUMN, "asc", ""),
+                String::valueOf, fileNameRenderer);
+
+        assertThat(page.getDraw()).isEqualTo(7);
+        assertThat(page.getRecordsTotal()).isEqualTo(25);
+        assertThat(page.getRecordsFiltered()).isEqualTo(25);
+        assertThat(page.getRows()).hasSize(10);
+        assertThat(page.getRows().get(0).get(FILE_COLUMN)).contains("file-10");
+        assertThat(page.getRows().get(9).get(FILE_COLUMN)).contains("file-19");
+
+        Page last = model.getPage(report, new PageRequest(8, 20, 10, FILE_COLUMN, "asc", ""),
+                String::valueOf, fileNameRenderer);
+        assertThat(last.getRows()).hasSize(5);
+
+        Page all = model.getPage(report, new PageRequest(9, 0, -1, FILE_COLUMN, "asc", ""),
+                String::valueOf, fileNameRenderer);
+        assertThat(all.getRows()).hasSize(25);
+    }
+
+    @Test
+    void shouldSortByColumn() {
+        Report report = createReport(3);
+
+        Page descending = model.getPage(report, new PageRequest(1, 0, 10, FILE_COLUMN, "desc", ""),
+                String::valueOf, fileNameRenderer);
+        assertThat(descending.getRows().get(0).get(FILE_COLUMN)).contains("file-02");
+
+        Page bySeverity = model.getPage(report, new PageRequest(1, 0, 10, SEVERITY_COLUMN, "asc", ""),
+                String::valueOf, fileNameRenderer);
+        assertThat(bySeverity.getRows()).extracting(row -> row.get(SEVERITY_COLUMN)).containsExactly(
+                "<a href=\"HIGH\">High</a>", "<a href=\"NORMAL\">Normal</a>", "<a href=\"LOW\">Low</a>");
+    }
+
+    @Test
+    void shouldFilterBySearchTerm() {
+        Report report = createReport(25);
+
+        Page page = model.getPage(report, new PageRequest(1, 0, 10, FILE_COLUMN, "asc", "FILE-1"),
+                String::valueOf, fileNameRenderer);
+
+        assertThat(page.getRecordsTotal()).isEqualTo(25);
+        assertThat(page.getRecordsFiltered()).isEqualTo(10);
+        assertThat(page.getRows()).hasSize(10);
+
+        Page bySeverity = model.getPage(report, new PageRequest(1, 0, 10, FILE_COLUMN, "asc", "high"),
+                String::valueOf, fileNameRenderer);
+        assertThat(bySeverity.getRecordsFiltered()).isEqualTo(9);
+    }
+
+    @Test
+    void shouldFetchDescriptionLazily() {
+        Report report = createReport(1);
+        Issue issue = report.iterator().next();
+
+        Page page = model.getPage(report, new PageRequest(1, 0, 10, FILE_COLUMN, "asc", ""),
+                String::valueOf, fileNameRenderer);
+        List<String> row = page.getRows().get(0);
+        assertThat(row.get(0)).contains("data-id=\"" + issue.getId() + "\"").doesNotContain("data-description");
+
+        assertThat(model.getDescription(report, issue.getId().toString(), Issue::getDescription))
+                .isEqualTo("<p><strong>message-00</strong></p>description-00");
+        assertThat(model.getDescription(report, "unknown", Issue::getDescription)).isEmpty();
+    }
+
+    private Report createReport(final int size) {
+        Severity[] severities = {Severity.WARNING_HIGH, Severity.WARNING_NORMAL, Severity.WARNING_LOW};
+
+        Report report = new Report();
+        IssueBuilder builder = new IssueBuilder();
+        for (int i = 0; i < size; i++) {
+            String suffix = String.format("%02d", i);
+            report.add(builder.setFileName("/path/to/file-" + suffix)
+                    .setMessage("message-" + suffix)
+                    .setDescription("description-" + suffix)
+                    .setSeverity(severities[i % severities.length])
+                    .setReference("1")
+                    .build());
+        }
+        return report;
+    }
+}
@@ -0,0 +1,88 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import edu.hm.hafner.analysis.Report;
+
+/**
+ * Measures the {@link IssueDifference}: computes the new, outstanding and fixed issues for reports of increasing size.
+ * The reports of the current and the reference build are created by the {@link ReportGenerator}, so some issues are
+ * equal to a reference issue, some have been moved (i.e. only the fingerprint matches) and some are new. The time
+ * should grow linearly with the number of issues.
+ *
+ * <p>
+ * This benchmark is not run during the build, start it using the {@link #main(String[])} method.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IssueDifferenceBenchmark {
+    private static final int REFERENCE_BUILD = 1;
+    private static final int CURRENT_BUILD = 2;
+
+    @Param({"1000", "10000", "100000"})
+    private int issues;
+    @Param("500")
+    private int files;
+    @Param("10")
+    private int packages;
+    @Param("0.0")
+    private double duplicateRate;
+
+    private Report current;
+    private Report reference;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            not used
+     * @throws RunnerException
+     *             if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(IssueDifferenceBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Creates the reports of the current and the reference build.
+     */
+    @Setup(Level.Trial)
+    public void createReports() {
+        ReportGenerator generator = new ReportGenerator(issues, files, packages, duplicateRate);
+        current = generator.create(CURRENT_BUILD);
+        reference = generator.create(REFERENCE_BUILD);
+    }
+
+    /**
+     * Computes the new, outstanding, and fixed issues of the current report.
+     *
+     * @return the difference
+     */
+    @Benchmark
+    public IssueDifference difference() {
+        return new IssueDifference(current, CURRENT_BUILD, reference);
+    }
+}
@@ -0,0 +1,123 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import static io.jenkins.plugins.analysis.core.model.Assertions.*;
+
+/**
+ * Tests the class {@link IssueDifference}.
+ *
+ * @author Ullrich Hafner
+ */
+class IssueDifferenceTest {
+    private static final String REFERENCE_BUILD = "1";
+    private static final int CURRENT_BUILD = 2;
+
+    @Test
+    void shouldCreateEmptyDifferenceForEmptyReports() {
+        IssueDifference difference = new IssueDifference(new Report(), CURRENT_BUILD, new Report());
+
+        assertThat(difference.getNewIssues()).isEmpty();
+        assertThat(difference.getOutstandingIssues()).isEmpty();
+        assertThat(difference.getFixedIssues()).isEmpty();
+    }
+
+    @Test
+    void shouldMarkAllIssuesAsNewIfThereIsNoReference() {
+        Report current = new Report();
+        current.add(createIssue("OLD 1", 1, "fingerprint-1", ""),
+                createIssue("OLD 2", 2, "fingerprint-2", ""));
+
+        IssueDifference difference = new IssueDifference(current, CURRENT_BUILD, new Report());
+
+        assertThat(messagesOf(difference.getNewIssues())).containsExactly("OLD 1", "OLD 2");
+        assertThat(referencesOf(difference.getNewIssues())).containsExactly("2", "2");
+        assertThat(difference.getOutstandingIssues()).isEmpty();
+        assertThat(difference.getFixedIssues()).isEmpty();
+    }
+
+    @Test
+    void shouldMatchIssuesByEqualsAndByFingerprint() {
+        Report reference = new Report();
+        reference.add(createIssue("EQUALS", 1, "equals", REFERENCE_BUILD),
+                createIssue("MOVED", 100, "moved", REFERENCE_BUILD),
+                createIssue("FIXED", 3, "fixed", REFERENCE_BUILD));
+
+        Report current = new Report();
+        current.add(createIssue("EQUALS", 1, "equals", REFERENCE_BUILD),
+                createIssue("MOVED", 2, "moved", ""),
+                createIssue("NEW", 4, "new", ""));
+
+        IssueDifference difference = new IssueDifference(current, CURRENT_BUILD, reference);
+
+        assertThat(messagesOf(difference.getOutstandingIssues())).containsExactly("EQUALS", "MOVED");
+        assertThat(referencesOf(difference.getOutstandingIssues())).containsExactly(REFERENCE_BUILD, REFERENCE_BUILD);
+        assertThat(messagesOf(difference.getNewIssues())).containsExactly("NEW");
+        assertThat(referencesOf(difference.getNewIssues())).containsExactly("2");
+        assertThat(messagesOf(difference.getFixedIssues())).containsExactly("FIXED");
+    }
+
+    @Test
+    void shouldPairDuplicateFingerprintsOneToOneInReportOrder() {
+        Report reference = new Report();
+        reference.add(createIssue("REFERENCE 1", 10, "duplicate", "A"),
+                createIssue("REFERENCE 2", 11, "duplicate", "B"));
+
+        Report current = new Report();
+        current.add(createIssue("CURRENT 1", 1, "duplicate", ""),
+                createIssue("CURRENT 2", 2, "duplicate", ""),
+                createIssue("CURRENT 3", 3, "duplicate", ""));
+
+        IssueDifference difference = new IssueDifference(current, CURRENT_BUILD, reference);
+
+        assertThat(messagesOf(difference.getOutstandingIssues())).containsExactly("CURRENT 1", "CURRENT 2");
+        assertThat(referencesOf(difference.getOutstandingIssues())).containsExactly("A", "B");
+        assertThat(messagesOf(difference.getNewIssues())).containsExactly("CURRENT 3");
+        assertThat(difference.getFixedIssues()).isEmpty();
+    }
+
+    @Test
+    void shouldPreferEqualIssueOverEarlierIssueWithSameFingerprint() {
+        Report reference = new Report();
+        reference.add(createIssue("OTHER", 10, "same", "A"),
+                createIssue("SAME", 1, "same", "B"));
+
+        Report current = new Report();
+        current.add(createIssue("SAME", 1, "same", "B"));
+
+        IssueDifference difference = new IssueDifference(current, CURRENT_BUILD, reference);
+
+        assertThat(referencesOf(difference.getOutstandingIssues())).containsExactly("B");
+        assertThat(messagesOf(difference.getFixedIssues())).containsExactly("OTHER");
+    }
+
+    private Issue createIssue(final String message, final int line, final String fingerprint,
+            final String reference) {
+        IssueBuilder builder = new IssueBuilder();
+        builder.setFileName("file.txt");
+        builder.setLineStart(line);
+        builder.setMessage(message);
+        builder.setFingerprint(fingerprint);
+        builder.setReference(reference);
+        return builder.build();
+    }
+
+    private List<String> messagesOf(final Report report) {
+        return mapIssues(report, Issue::getMessage);
+    }
+
+    private List<String> referencesOf(final Report report) {
+        return mapIssues(report, Issue::getReference);
+    }
+
+    private List<String> mapIssues(final Report report, final Function<Issue, String> property) {
+        return report.stream().map(property).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,134 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import edu.hm.hafner.analysis.Report;
+
+/**
+ * Compares the XML format of {@link IssueStream} with the binary format of {@link BinaryIssueStream}: measures the
+ * write time and the read time of a report that is created by the {@link ReportGenerator}. The sizes of both formats
+ * are printed once during the setup of the benchmark.
+ *
+ * <p>
+ * This benchmark is not run during the build, start it using the {@link #main(String[])} method.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IssueStreamBenchmark {
+    private static final int BUILD = 1;
+
+    @Param("60000")
+    private int issues;
+    @Param("2000")
+    private int files;
+    @Param("20")
+    private int packages;
+    @Param("0.0")
+    private double duplicateRate;
+
+    private final PipelineStages stages = new PipelineStages();
+
+    private Report report;
+    private byte[] xml;
+    private byte[] binary;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            not used
+     * @throws RunnerException
+     *             if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(IssueStreamBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Creates the report and its serializations. Verifies that both formats restore the same report.
+     *
+     * @throws IOException
+     *         if the report could not be (de)serialized
+     */
+    @Setup(Level.Trial)
+    public void createReport() throws IOException {
+        report = new ReportGenerator(issues, files, packages, duplicateRate).create(BUILD);
+        xml = stages.writeXml(report);
+        binary = stages.writeBinary(report);
+
+        if (!report.equals(stages.readXml(xml)) || !report.equals(stages.readBinary(binary))) {
+            throw new IllegalStateException("Serialized report differs from original report");
+        }
+        System.out.printf("XML: %,d bytes, binary: %,d bytes%n", xml.length, binary.length); // NOCHECKSTYLE NOPMD
+    }
+
+    /**
+     * Writes the report using the XML format.
+     *
+     * @return the serialized report
+     * @throws IOException
+     *         if the report could not be serialized
+     */
+    @Benchmark
+    public byte[] writeXml() throws IOException {
+        return stages.writeXml(report);
+    }
+
+    /**
+     * Reads the report using the XML format.
+     *
+     * @return the report
+     */
+    @Benchmark
+    public Report readXml() {
+        return stages.readXml(xml);
+    }
+
+    /**
+     * Writes the report using the binary format.
+     *
+     * @return the serialized report
+     * @throws IOException
+     *         if the report could not be serialized
+     */
+    @Benchmark
+    public byte[] writeBinary() throws IOException {
+        return stages.writeBinary(report);
+    }
+
+    /**
+     * Reads the report using the binary format.
+     *
+     * @return the report
+     * @throws IOException
+     *         if the report could not be deserialized
+     */
+    @Benchmark
+    public Report readBinary() throws IOException {
+        return stages.readBinary(binary);
+    }
+}
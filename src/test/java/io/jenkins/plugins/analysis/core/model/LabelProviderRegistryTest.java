@@ -0,0 +1,110 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import io.jenkins.plugins.analysis.core.JenkinsFacade;
+import io.jenkins.plugins.analysis.core.model.LabelProviderFactory.StaticAnalysisToolFactory;
+import io.jenkins.plugins.analysis.core.model.StaticAnalysisTool.StaticAnalysisToolDescriptor;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import hudson.DescriptorExtensionList;
+
+/**
+ * Tests the class {@link LabelProviderRegistry}.
+ *
+ * @author Ullrich Hafner
+ */
+class LabelProviderRegistryTest {
+    private static final String DESCRIPTOR_ID = "descriptor";
+    private static final String FACTORY_ID = "factory";
+    private static final String UNKNOWN_ID = "unknown";
+    private static final String NAME = "Name";
+
+    @Test
+    void shouldScanExtensionsOnlyOnce() {
+        JenkinsFacade jenkins = createJenkins();
+        LabelProviderRegistry registry = new LabelProviderRegistry(jenkins);
+
+        StaticAnalysisLabelProvider descriptorProvider = registry.get(DESCRIPTOR_ID, null);
+        assertThat(descriptorProvider.getId()).isEqualTo(DESCRIPTOR_ID);
+        assertThat(descriptorProvider.getName()).isEqualTo("Descriptor Name");
+        assertThat(registry.get(DESCRIPTOR_ID, "")).isSameAs(descriptorProvider);
+
+        StaticAnalysisLabelProvider factoryProvider = registry.get(FACTORY_ID, NAME);
+        assertThat(factoryProvider.getId()).isEqualTo(FACTORY_ID);
+        assertThat(factoryProvider.getName()).isEqualTo(NAME);
+        assertThat(registry.get(FACTORY_ID, NAME)).isSameAs(factoryProvider);
+
+        StaticAnalysisLabelProvider unknownProvider = registry.get(UNKNOWN_ID, NAME);
+        assertThat(unknownProvider.getId()).isEqualTo(UNKNOWN_ID);
+        assertThat(unknownProvider.getName()).isEqualTo(NAME);
+
+        verify(jenkins, times(1)).getDescriptorsFor(StaticAnalysisTool.class);
+        verify(jenkins, times(1)).getExtensionsFor(StaticAnalysisToolFactory.class);
+    }
+
+    @Test
+    void shouldDecorateNameWithoutModifyingOtherProviders() {
+        LabelProviderRegistry registry = new LabelProviderRegistry(createJenkins());
+
+        StaticAnalysisLabelProvider defaultName = registry.get(DESCRIPTOR_ID, null);
+        StaticAnalysisLabelProvider otherName = registry.get(DESCRIPTOR_ID, NAME);
+
+        assertThat(otherName).isNotSameAs(defaultName);
+        assertThat(otherName.getName()).isEqualTo(NAME);
+        assertThat(defaultName.getName()).isEqualTo("Descriptor Name");
+    }
+
+    @Test
+    void shouldNotRenameSharedProviders() {
+        LabelProviderRegistry registry = new LabelProviderRegistry(createJenkins());
+
+        for (String id : new String[] {DESCRIPTOR_ID, FACTORY_ID, UNKNOWN_ID}) {
+            StaticAnalysisLabelProvider provider = registry.get(id, NAME);
+
+            assertThatThrownBy(() -> provider.setName("Other"))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThat(provider.getName()).isEqualTo(NAME);
+            assertThat(registry.get(id, NAME).getName()).isEqualTo(NAME);
+        }
+    }
+
+    @Test
+    void shouldRescanExtensionsAfterInvalidation() {
+        JenkinsFacade jenkins = createJenkins();
+        LabelProviderRegistry registry = new LabelProviderRegistry(jenkins);
+
+        StaticAnalysisLabelProvider provider = registry.get(FACTORY_ID, NAME);
+        registry.invalidate();
+
+        assertThat(registry.get(FACTORY_ID, NAME)).isNotSameAs(provider);
+        verify(jenkins, times(2)).getExtensionsFor(StaticAnalysisToolFactory.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private JenkinsFacade createJenkins() {
+        StaticAnalysisToolDescriptor descriptor = mock(StaticAnalysisToolDescriptor.class);
+        when(descriptor.getId()).thenReturn(DESCRIPTOR_ID);
+        when(descriptor.getLabelProvider()).thenAnswer(
+                invocation -> new StaticAnalysisLabelProvider(DESCRIPTOR_ID, "Descriptor Name"));
+        DescriptorExtensionList<StaticAnalysisTool, StaticAnalysisToolDescriptor> descriptors
+                = mock(DescriptorExtensionList.class);
+        when(descriptors.iterator()).thenAnswer(invocation -> Collections.singletonList(descriptor).iterator());
+
+        StaticAnalysisTool tool = mock(StaticAnalysisTool.class);
+        when(tool.getId()).thenReturn(FACTORY_ID);
+        when(tool.getLabelProvider()).thenAnswer(
+                invocation -> new StaticAnalysisLabelProvider(FACTORY_ID, "Factory Name"));
+        StaticAnalysisToolFactory factory = mock(StaticAnalysisToolFactory.class);
+        when(factory.getTools()).thenReturn(Collections.singletonList(tool));
+
+        JenkinsFacade jenkins = mock(JenkinsFacade.class);
+        when(jenkins.getDescriptorsFor(StaticAnalysisTool.class)).thenReturn(descriptors);
+        when(jenkins.getExtensionsFor(StaticAnalysisToolFactory.class)).thenReturn(
+                Collections.singletonList(factory));
+        return jenkins;
+    }
+}
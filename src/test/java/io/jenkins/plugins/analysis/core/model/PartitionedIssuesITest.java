@@ -0,0 +1,61 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.parser.dry.DuplicationGroup;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the persistence of the class {@link PartitionedIssues} for issues with additional properties.
+ *
+ * @author Ullrich Hafner
+ */
+public class PartitionedIssuesITest {
+    private static final String CODE_FRAGMENT = "int duplicated = 0;";
+
+    /** Required to enable Jenkins security settings during serialization. */
+    @ClassRule
+    public static final JenkinsRule JENKINS = new JenkinsRule();
+
+    /**
+     * Verifies that the duplication groups of duplicate code warnings are still available after the issues have been
+     * persisted and read again, e.g. after a restart of Jenkins.
+     *
+     * @throws IOException
+     *         if the issues could not be persisted
+     */
+    @Test
+    public void shouldRestoreDuplicationGroupsOfAllPartitions() throws IOException {
+        DuplicationGroup group = new DuplicationGroup();
+        group.setCodeFragment(CODE_FRAGMENT);
+        IssueBuilder builder = new IssueBuilder().setAdditionalProperties(group);
+        Issue newIssue = builder.setFileName("new.java").setLineStart(1).setLineEnd(10).build();
+        Issue outstandingIssue = builder.setFileName("outstanding.java").setLineStart(5).setLineEnd(14).build();
+        group.add(newIssue);
+        group.add(outstandingIssue);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new PartitionedIssues(new Report().add(newIssue), new Report().add(outstandingIssue), new Report())
+                .write(output);
+
+        PartitionedIssues restored = PartitionedIssues.read(new ByteArrayInputStream(output.toByteArray()));
+
+        assertThat(restored.getIssues()).hasSize(2);
+        for (Issue issue : restored.getIssues()) {
+            assertThat(issue.getAdditionalProperties()).isInstanceOf(DuplicationGroup.class);
+            DuplicationGroup restoredGroup = (DuplicationGroup) issue.getAdditionalProperties();
+            assertThat(restoredGroup.getCodeFragment()).isEqualTo(CODE_FRAGMENT);
+            assertThat(restoredGroup.getDuplications()).extracting(Issue::getFileName)
+                    .containsExactly("new.java", "outstanding.java");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link PartitionedIssues}.
+ *
+ * @author Ullrich Hafner
+ */
+class PartitionedIssuesTest {
+    @Test
+    void shouldCreateUnionOfNewAndOutstandingIssuesOnlyOnce() {
+        Issue newIssue = createIssue("new");
+        Issue outstandingIssue = createIssue("outstanding");
+        PartitionedIssues issues = new PartitionedIssues(new Report().add(newIssue),
+                new Report().add(outstandingIssue), new Report().add(createIssue("fixed")));
+
+        assertThat(issues.getIssues()).containsExactly(newIssue, outstandingIssue);
+        assertThat(issues.getIssues()).isSameAs(issues.getIssues());
+        assertThat(issues.getIssues().iterator().next()).isSameAs(newIssue);
+    }
+
+    @Test
+    void shouldRestorePartitions() throws IOException {
+        Report newIssues = new Report().add(createIssue("new"));
+        Report outstandingIssues = new Report().addAll(createIssue("outstanding"), createIssue("another"));
+        Report fixedIssues = new Report().add(createIssue("fixed"));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new PartitionedIssues(newIssues, outstandingIssues, fixedIssues).write(output);
+
+        PartitionedIssues restored = PartitionedIssues.read(new ByteArrayInputStream(output.toByteArray()));
+
+        assertThat(restored.getNewIssues()).isEqualTo(newIssues);
+        assertThat(restored.getOutstandingIssues()).isEqualTo(outstandingIssues);
+        assertThat(restored.getFixedIssues()).isEqualTo(fixedIssues);
+        assertThat(restored.getIssues()).hasSize(3);
+    }
+
+    private Issue createIssue(final String message) {
+        return new IssueBuilder().setFileName("file.txt").setMessage(message).build();
+    }
+}
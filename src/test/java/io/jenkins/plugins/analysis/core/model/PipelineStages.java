@@ -0,0 +1,197 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Report;
+
+import io.jenkins.plugins.analysis.core.filter.ExcludeCategory;
+import io.jenkins.plugins.analysis.core.filter.ExcludeFile;
+import io.jenkins.plugins.analysis.core.filter.ExcludeType;
+import io.jenkins.plugins.analysis.core.filter.IncludePackage;
+import io.jenkins.plugins.analysis.core.filter.RegexpFilter;
+import io.jenkins.plugins.analysis.core.filter.ReportFilter;
+import io.jenkins.plugins.analysis.core.model.FileNameRenderer.BuildFolderFacade;
+import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider.DefaultAgeBuilder;
+import io.jenkins.plugins.analysis.core.util.AbsolutePathGenerator;
+import io.jenkins.plugins.analysis.core.util.WorkspaceIndex;
+
+import hudson.util.XStream2;
+
+/**
+ * The expensive stages of publishing a report on the controller, extracted so that {@link
+ * PublishingPipelineBenchmark} and {@link PublishingPipelineProfiler} measure exactly the same work. Each stage calls
+ * the production code in the same way as the publisher or the views do.
+ *
+ * @author Ullrich Hafner
+ */
+final class PipelineStages {
+    /** Properties that are shown in the statistics tabs of the details view. */
+    private static final String[] PROPERTIES = {"fileName", "packageName", "moduleName", "category", "type"};
+    private static final String WORKSPACE_INDEX_KEY = "benchmark";
+
+    private final XStream2 xStream = new IssueStream().createStream();
+    private final BinaryIssueStream binaryStream = new BinaryIssueStream();
+    private final DetailsTableModel tableModel = new DetailsTableModel();
+    private final ReportFilter reportFilter = new ReportFilter(Arrays.<RegexpFilter>asList(
+            new IncludePackage("edu\\.hm\\.hafner\\..*"),
+            new ExcludeFile(".*/File1[0-9]\\.java"),
+            new ExcludeCategory("Category4[0-9]"),
+            new ExcludeType("Type1[0-9][0-9]")));
+
+    /**
+     * Filters the report using the include and exclude filters of a typical job configuration.
+     *
+     * @param report
+     *         the report to filter
+     *
+     * @return the filtered report
+     */
+    Report filter(final Report report) {
+        return reportFilter.filter(report);
+    }
+
+    /**
+     * Computes the new, outstanding, and fixed issues of the current report.
+     *
+     * @param current
+     *         the report of the current build
+     * @param build
+     *         the number of the current build
+     * @param reference
+     *         the report of the reference build
+     *
+     * @return the difference
+     */
+    IssueDifference difference(final Report current, final int build, final Report reference) {
+        return new IssueDifference(current, build, reference);
+    }
+
+    /**
+     * Computes the statistics of all properties that are shown in the details view.
+     *
+     * @param report
+     *         the report to compute the statistics for
+     *
+     * @return the sum of all counts (to prevent dead code elimination)
+     */
+    long statistics(final Report report) {
+        long sum = 0;
+        for (String property : PROPERTIES) {
+            PropertyStatistics statistics = new PropertyStatistics(report, property, Function.identity());
+            for (String key : statistics.getKeys()) {
+                sum += statistics.getCount(key) + statistics.getHighCount(key) + statistics.getNormalCount(key)
+                        + statistics.getLowCount(key);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Renders the rows of the issues table in the details view.
+     *
+     * @param report
+     *         the report to render
+     * @param build
+     *         the number of the current build
+     *
+     * @return the rows of the table
+     */
+    List<List<String>> tableContent(final Report report, final int build) {
+        return tableModel.getContent(report, new DefaultAgeBuilder(build, "url"),
+                new FileNameRenderer(new AccessibleBuildFolder()), Issue::getDescription);
+    }
+
+    /**
+     * Serializes the report using the XML format of {@link IssueStream}.
+     *
+     * @param report
+     *         the report to serialize
+     *
+     * @return the serialized report
+     * @throws IOException
+     *         if the report could not be serialized
+     */
+    byte[] writeXml(final Report report) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        xStream.toXMLUTF8(report, output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Deserializes a report from the XML format of {@link IssueStream}.
+     *
+     * @param xml
+     *         the serialized report
+     *
+     * @return the report
+     */
+    Report readXml(final byte[] xml) {
+        return (Report) xStream.fromXML(new ByteArrayInputStream(xml));
+    }
+
+    /**
+     * Serializes the report using the format of {@link BinaryIssueStream}.
+     *
+     * @param report
+     *         the report to serialize
+     *
+     * @return the serialized report
+     * @throws IOException
+     *         if the report could not be serialized
+     */
+    byte[] writeBinary(final Report report) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        binaryStream.write(report, output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Deserializes a report from the format of {@link BinaryIssueStream}.
+     *
+     * @param binary
+     *         the serialized report
+     *
+     * @return the report
+     * @throws IOException
+     *         if the report could not be deserialized
+     */
+    Report readBinary(final byte[] binary) throws IOException {
+        return binaryStream.read(new ByteArrayInputStream(binary));
+    }
+
+    /**
+     * Resolves the absolute paths of the affected files using the index of the workspace. Note that the file names of
+     * the issues are changed, so each report can be used only once.
+     *
+     * @param report
+     *         the report to resolve the paths for
+     * @param workspace
+     *         the workspace that contains the affected files
+     */
+    void resolveAbsolutePaths(final Report report, final File workspace) {
+        new AbsolutePathGenerator(() -> WorkspaceIndex.getInstance(WORKSPACE_INDEX_KEY, workspace))
+                .run(report, workspace);
+    }
+
+    /**
+     * Build folder that provides access to all affected files, so that the table contains the links to the source
+     * code.
+     */
+    private static class AccessibleBuildFolder extends BuildFolderFacade {
+        AccessibleBuildFolder() {
+            super(null);
+        }
+
+        @Override
+        public boolean canAccessAffectedFileOf(final Issue issue) {
+            return true;
+        }
+    }
+}
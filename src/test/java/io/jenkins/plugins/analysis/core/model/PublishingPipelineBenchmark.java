@@ -0,0 +1,239 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import edu.hm.hafner.analysis.Report;
+
+/**
+ * Measures the stages of publishing a report on the controller: filtering, computing the difference to the reference
+ * build, writing and reading the results (XML and binary format), computing the property statistics, rendering the
+ * issues table, and resolving the absolute paths of the affected files. The reports are created by the {@link
+ * ReportGenerator}, the number of issues, files, and packages as well as the rate of duplicate issues are parameters
+ * of the benchmark. A single parameter combination can be selected on the command line of JMH, e.g. {@code -p
+ * issues=100000 -p files=1000}.
+ *
+ * <p>
+ * This benchmark is not run during the build, start it using the {@link #main(String[])} method. The costs of the
+ * stages of a real report are printed by the {@link PublishingPipelineProfiler}.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PublishingPipelineBenchmark {
+    private static final int REFERENCE_BUILD = 1;
+    private static final int CURRENT_BUILD = 2;
+
+    @Param({"1000", "10000", "100000"})
+    private int issues;
+    @Param({"100", "1000"})
+    private int files;
+    @Param("10")
+    private int packages;
+    @Param({"0.0", "0.2"})
+    private double duplicateRate;
+
+    private final PipelineStages stages = new PipelineStages();
+
+    private ReportGenerator generator;
+    private Report current;
+    private Report reference;
+    private byte[] xml;
+    private byte[] binary;
+    private File workspace;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            not used
+     * @throws RunnerException
+     *             if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PublishingPipelineBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Creates the reports of the current and the reference build, their serializations, and a workspace that contains
+     * all affected files.
+     *
+     * @throws IOException
+     *         if the reports could not be serialized or the workspace could not be created
+     */
+    @Setup(Level.Trial)
+    public void createReports() throws IOException {
+        generator = new ReportGenerator(issues, files, packages, duplicateRate);
+        current = generator.create(CURRENT_BUILD);
+        reference = generator.create(REFERENCE_BUILD);
+        xml = stages.writeXml(current);
+        binary = stages.writeBinary(current);
+
+        workspace = Files.createTempDirectory("workspace").toFile();
+        for (int file = 0; file < generator.getFiles(); file++) {
+            Path affectedFile = workspace.toPath().resolve(generator.getFileName(file));
+            Files.createDirectories(affectedFile.getParent());
+            Files.createFile(affectedFile);
+        }
+    }
+
+    /**
+     * Deletes the workspace.
+     *
+     * @throws IOException
+     *         if the workspace could not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void deleteWorkspace() throws IOException {
+        FileUtils.deleteDirectory(workspace);
+    }
+
+    /**
+     * Filters the current report, see {@code IssuesPublisher}.
+     *
+     * @return the filtered report
+     */
+    @Benchmark
+    public Report filter() {
+        return stages.filter(current);
+    }
+
+    /**
+     * Computes the new, outstanding, and fixed issues of the current report.
+     *
+     * @return the difference
+     */
+    @Benchmark
+    public IssueDifference difference() {
+        return stages.difference(current, CURRENT_BUILD, reference);
+    }
+
+    /**
+     * Writes the current report using the XML format of {@link AnalysisResult}.
+     *
+     * @return the serialized report
+     * @throws IOException
+     *         if the report could not be serialized
+     */
+    @Benchmark
+    public byte[] writeXml() throws IOException {
+        return stages.writeXml(current);
+    }
+
+    /**
+     * Reads the current report using the XML format of {@link AnalysisResult}.
+     *
+     * @return the report
+     */
+    @Benchmark
+    public Report readXml() {
+        return stages.readXml(xml);
+    }
+
+    /**
+     * Writes the current report using the binary format of {@link AnalysisResult}.
+     *
+     * @return the serialized report
+     * @throws IOException
+     *         if the report could not be serialized
+     */
+    @Benchmark
+    public byte[] writeBinary() throws IOException {
+        return stages.writeBinary(current);
+    }
+
+    /**
+     * Reads the current report using the binary format of {@link AnalysisResult}.
+     *
+     * @return the report
+     * @throws IOException
+     *         if the report could not be deserialized
+     */
+    @Benchmark
+    public Report readBinary() throws IOException {
+        return stages.readBinary(binary);
+    }
+
+    /**
+     * Computes the statistics of the properties of the current report.
+     *
+     * @return the sum of all counts
+     */
+    @Benchmark
+    public long statistics() {
+        return stages.statistics(current);
+    }
+
+    /**
+     * Renders the issues table of the current report.
+     *
+     * @return the rows of the table
+     */
+    @Benchmark
+    public List<List<String>> tableContent() {
+        return stages.tableContent(current, CURRENT_BUILD);
+    }
+
+    /**
+     * Resolves the absolute paths of the affected files of a newly created report. The workspace index is cached
+     * between the invocations, just like between the builds of a job.
+     *
+     * @param unresolved
+     *         the report with relative file names
+     *
+     * @return the report with absolute file names
+     */
+    @Benchmark
+    public Report absolutePaths(final UnresolvedReport unresolved) {
+        stages.resolveAbsolutePaths(unresolved.report, workspace);
+        return unresolved.report;
+    }
+
+    /**
+     * Provides a new report with relative file names for each invocation, since resolving the absolute paths changes
+     * the issues of the report.
+     */
+    @State(Scope.Thread)
+    public static class UnresolvedReport {
+        private Report report;
+
+        /**
+         * Creates the report.
+         *
+         * @param benchmark
+         *         the benchmark that provides the generator
+         */
+        @Setup(Level.Invocation)
+        public void createReport(final PublishingPipelineBenchmark benchmark) {
+            report = benchmark.generator.create(CURRENT_BUILD);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.io.FileUtils;
+
+import edu.hm.hafner.analysis.Report;
+
+/**
+ * Prints the cost of each stage of publishing a saved report on the controller. The stages are the same as in the
+ * {@link PublishingPipelineBenchmark}, but the report is read from the results of a build, i.e. from a file {@code
+ * *-issues.xml} (or {@code *issues.bin}) in the build folder. Each stage is run several times, the average time and
+ * the share of the total time are printed for each stage. Since the times are measured without the help of JMH, the
+ * numbers show where the time is spent rather than exact costs.
+ *
+ * <p>
+ * This profiler is not run during the build, start it using the {@link #main(String[])} method. The first argument is
+ * the saved report. The second (optional) argument is the workspace that contains the affected files: if it is
+ * omitted, then an empty workspace is used, i.e. no absolute paths will be resolved.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class PublishingPipelineProfiler {
+    private static final int WARMUP_RUNS = 3;
+    private static final int RUNS = 10;
+    private static final int BUILD = 2;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final PipelineStages stages = new PipelineStages();
+    private final byte[] content;
+    private final File workspace;
+
+    /**
+     * Profiles the stages of the publishing pipeline for a saved report.
+     *
+     * @param args
+     *         the saved report and the workspace (optional)
+     *
+     * @throws IOException
+     *         if the report could not be read
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: PublishingPipelineProfiler <*-issues.xml> [workspace]"); // NOCHECKSTYLE NOPMD
+            return;
+        }
+        File file = new File(args[0]);
+        if (args.length > 1) {
+            new PublishingPipelineProfiler(file, new File(args[1])).profile();
+        }
+        else {
+            File workspace = Files.createTempDirectory("workspace").toFile();
+            try {
+                new PublishingPipelineProfiler(file, workspace).profile();
+            }
+            finally {
+                FileUtils.deleteDirectory(workspace);
+            }
+        }
+    }
+
+    private PublishingPipelineProfiler(final File file, final File workspace) throws IOException {
+        content = Files.readAllBytes(file.toPath());
+        this.workspace = workspace;
+    }
+
+    private void profile() throws IOException {
+        Report report = read();
+        System.out.printf("%,d issues in %,d files, %,d bytes%n", // NOCHECKSTYLE NOPMD
+                report.size(), report.getFiles().size(), content.length);
+
+        Report reference = read();
+        stages.resolveAbsolutePaths(reference, workspace);
+
+        for (int run = 0; run < WARMUP_RUNS; run++) {
+            measure(reference);
+        }
+        Map<String, Long> total = new LinkedHashMap<>();
+        for (int run = 0; run < RUNS; run++) {
+            measure(reference).forEach((stage, nanos) -> total.merge(stage, nanos, Long::sum));
+        }
+
+        long sum = total.values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf("%n%-20s %12s %8s%n", "Stage", "ms", "share"); // NOCHECKSTYLE NOPMD
+        for (Entry<String, Long> stage : total.entrySet()) {
+            System.out.printf("%-20s %12.2f %7.1f%%%n", stage.getKey(), // NOCHECKSTYLE NOPMD
+                    stage.getValue() / NANOS_PER_MILLI / RUNS, 100.0 * stage.getValue() / sum);
+        }
+        System.out.printf("%-20s %12.2f %7.1f%%%n", "Total", sum / NANOS_PER_MILLI / RUNS, 100.0); // NOCHECKSTYLE NOPMD
+    }
+
+    /**
+     * Runs all stages once. The stages are run in the order of the publisher, each stage uses the results of the
+     * previous stages.
+     *
+     * @param reference
+     *         the report of the reference build, with the absolute paths already resolved like in the current report
+     *
+     * @return the time of each stage in nanoseconds
+     * @throws IOException
+     *         if the report could not be (de)serialized
+     */
+    private Map<String, Long> measure(final Report reference) throws IOException {
+        Map<String, Long> times = new LinkedHashMap<>();
+
+        long start = System.nanoTime();
+        Report report = read();
+        times.put("read", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        stages.resolveAbsolutePaths(report, workspace);
+        times.put("absolute paths", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        Report filtered = stages.filter(report);
+        times.put("filter", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        stages.difference(filtered, BUILD, reference);
+        times.put("difference", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        byte[] xml = stages.writeXml(filtered);
+        times.put("write XML", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        stages.readXml(xml);
+        times.put("read XML", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        byte[] binary = stages.writeBinary(filtered);
+        times.put("write binary", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        stages.readBinary(binary);
+        times.put("read binary", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        stages.statistics(filtered);
+        times.put("statistics", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        stages.tableContent(filtered, BUILD);
+        times.put("table content", System.nanoTime() - start);
+
+        return times;
+    }
+
+    /**
+     * Reads the saved report, both the XML format and the binary format of {@link AnalysisResult} are supported.
+     *
+     * @return the report
+     * @throws IOException
+     *         if the report could not be read
+     */
+    private Report read() throws IOException {
+        if (BinaryIssueStream.isBinaryFormat(content)) {
+            return stages.readBinary(content);
+        }
+        return stages.readXml(content);
+    }
+}
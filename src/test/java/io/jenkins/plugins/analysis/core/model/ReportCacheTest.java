@@ -0,0 +1,144 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link ReportCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class ReportCacheTest {
+    private static final String FIRST = "first";
+    private static final String SECOND = "second";
+
+    @Test
+    void shouldLoadEntryOnlyOnce() {
+        ReportCache cache = new ReportCache(Long.MAX_VALUE);
+        AtomicInteger loads = new AtomicInteger();
+
+        PartitionedIssues first = cache.get(FIRST, () -> createIssues(1, loads));
+        PartitionedIssues second = cache.get(FIRST, () -> createIssues(1, loads));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+
+        ReportCache.Statistics statistics = cache.getStatistics();
+        assertThat(statistics.getSize()).isEqualTo(1);
+        assertThat(statistics.getHitCount()).isEqualTo(1);
+        assertThat(statistics.getMissCount()).isEqualTo(1);
+        assertThat(statistics.getWeight()).isEqualTo(first.estimateMemory());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntries() {
+        AtomicInteger loads = new AtomicInteger();
+        long weight = createIssues(10, loads).estimateMemory();
+        ReportCache cache = new ReportCache(weight * 2);
+
+        cache.get(FIRST, () -> createIssues(10, loads));
+        cache.get(SECOND, () -> createIssues(10, loads));
+        cache.get(FIRST, () -> createIssues(10, loads));
+        cache.get("third", () -> createIssues(10, loads));
+
+        assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(1);
+        assertThat(cache.getStatistics().getSize()).isEqualTo(2);
+
+        loads.set(0);
+        cache.get(FIRST, () -> createIssues(10, loads));
+        assertThat(loads).hasValue(0);
+        cache.get(SECOND, () -> createIssues(10, loads));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldInvalidateEntriesOfDirectory() {
+        ReportCache cache = new ReportCache(Long.MAX_VALUE);
+        AtomicInteger loads = new AtomicInteger();
+        File deleted = new File("builds", "1");
+        File kept = new File("builds", "12");
+
+        cache.get(new File(deleted, "issues.bin").getAbsolutePath(), () -> createIssues(1, loads));
+        PartitionedIssues issues = cache.get(new File(kept, "issues.bin").getAbsolutePath(),
+                () -> createIssues(1, loads));
+
+        cache.invalidate(deleted);
+
+        assertThat(cache.getStatistics().getSize()).isEqualTo(1);
+        assertThat(cache.getStatistics().getWeight()).isEqualTo(issues.estimateMemory());
+
+        loads.set(0);
+        cache.get(new File(kept, "issues.bin").getAbsolutePath(), () -> createIssues(1, loads));
+        assertThat(loads).hasValue(0);
+        cache.get(new File(deleted, "issues.bin").getAbsolutePath(), () -> createIssues(1, loads));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldKeepEntryThatExceedsBudget() {
+        ReportCache cache = new ReportCache(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        PartitionedIssues issues = cache.get(FIRST, () -> createIssues(100, loads));
+
+        assertThat(issues.getIssues()).hasSize(100);
+        assertThat(cache.getStatistics().getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMergeConcurrentLoadsOfSameEntry() throws Exception {
+        ReportCache cache = new ReportCache(Long.MAX_VALUE);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<PartitionedIssues> slow = executor.submit(() -> cache.get(FIRST, () -> {
+                started.countDown();
+                await(release);
+                return createIssues(1, loads);
+            }));
+            started.await();
+
+            Future<PartitionedIssues> waiting = executor.submit(() -> cache.get(FIRST, () -> createIssues(1, loads)));
+            release.countDown();
+
+            assertThat(waiting.get(10, TimeUnit.SECONDS)).isSameAs(slow.get(10, TimeUnit.SECONDS));
+            assertThat(loads).hasValue(1);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        }
+        catch (InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private PartitionedIssues createIssues(final int size, final AtomicInteger loads) {
+        loads.incrementAndGet();
+
+        Report report = new Report();
+        for (int i = 0; i < size; i++) {
+            report.add(new IssueBuilder().setMessage("message " + i).build());
+        }
+        return new PartitionedIssues(new Report(), report, new Report());
+    }
+}
@@ -0,0 +1,119 @@
+package io.jenkins.plugins.analysis.core.model;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+
+/**
+ * Creates synthetic reports for benchmarks. The issues are distributed evenly over the given number of files, and the
+ * files are distributed evenly over the given number of packages. A fraction of the issues (see {@code
+ * duplicateRate}) are duplicates: these issues repeat the message, category, type and fingerprint of a previous issue
+ * at another location, like a warning in copied code.
+ *
+ * <p>
+ * The reports of different builds overlap: 60 percent of the issues are the same in every build, 20 percent change
+ * their line number in each build (but keep their fingerprint), and 20 percent are unique for each build.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+final class ReportGenerator {
+    private static final int CATEGORIES = 50;
+    private static final int TYPES = 200;
+    private static final int MODULES = 10;
+    private static final Severity[] SEVERITIES = {
+            Severity.WARNING_NORMAL, Severity.WARNING_NORMAL, Severity.WARNING_LOW, Severity.WARNING_HIGH,
+            Severity.ERROR};
+
+    private final int issues;
+    private final int files;
+    private final int packages;
+    private final double duplicateRate;
+
+    /**
+     * Creates a new instance of {@link ReportGenerator}.
+     *
+     * @param issues
+     *         the number of issues in each report
+     * @param files
+     *         the number of affected files
+     * @param packages
+     *         the number of packages that contain the affected files
+     * @param duplicateRate
+     *         the fraction of issues that duplicate a previous issue (between 0 and 1)
+     */
+    ReportGenerator(final int issues, final int files, final int packages, final double duplicateRate) {
+        this.issues = issues;
+        this.files = Math.max(1, files);
+        this.packages = Math.max(1, Math.min(packages, this.files));
+        this.duplicateRate = duplicateRate;
+    }
+
+    /**
+     * Returns the relative name of the specified affected file.
+     *
+     * @param file
+     *         the index of the file
+     *
+     * @return the file name, relative to the workspace
+     */
+    String getFileName(final int file) {
+        return "src/main/java/" + getPackageName(file).replace('.', '/') + "/File" + file + ".java";
+    }
+
+    /**
+     * Returns the number of affected files.
+     *
+     * @return the number of files
+     */
+    int getFiles() {
+        return files;
+    }
+
+    private String getPackageName(final int file) {
+        return "edu.hm.hafner.package" + file % packages;
+    }
+
+    /**
+     * Creates the report of the specified build.
+     *
+     * @param build
+     *         the number of the build
+     *
+     * @return the report
+     */
+    Report create(final int build) {
+        Report report = new Report();
+        int duplicatesPerHundred = (int) Math.round(duplicateRate * 100);
+        for (int index = 0; index < issues; index++) {
+            int original = index % 100 < duplicatesPerHundred ? index / 2 : index;
+            int file = index % files;
+
+            IssueBuilder builder = new IssueBuilder()
+                    .setFileName(getFileName(file))
+                    .setPackageName(getPackageName(file))
+                    .setModuleName("module-" + file % packages % MODULES)
+                    .setOrigin("benchmark")
+                    .setCategory("Category" + original % CATEGORIES)
+                    .setType("Type" + original % TYPES)
+                    .setSeverity(SEVERITIES[original % SEVERITIES.length])
+                    .setColumnStart(index % 80)
+                    .setMessage("Message " + original);
+            switch (original % 5) {
+                case 0:
+                case 1:
+                case 2:
+                    builder.setLineStart(index + 1).setFingerprint("fingerprint-" + original);
+                    break;
+                case 3:
+                    builder.setLineStart(index + build).setFingerprint("fingerprint-" + original);
+                    break;
+                default:
+                    builder.setLineStart(index + 1).setFingerprint("fingerprint-" + build + "-" + original);
+                    break;
+            }
+            report.add(builder.build());
+        }
+        return report;
+    }
+}
@@ -1,17 +1,23 @@
 package io.jenkins.plugins.analysis.core.model;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Collection;
 import java.util.function.Function;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 
 import edu.hm.hafner.analysis.AbstractParser;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Report;
 import static io.jenkins.plugins.analysis.core.testutil.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
@@ -67,10 +73,45 @@ class StaticAnalysisToolSuiteTest {
         assertThat(compositeIssues).isEqualTo(expected);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadFileOnlyOnceInSinglePassMode() throws IOException {
+        String content = StringUtils.repeat("warning: line\n", 20_000);
+        File file = File.createTempFile("single-pass", ".log");
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes(ENCODING));
+
+        AbstractParser firstParser = createContentParser("first: ");
+        AbstractParser secondParser = createContentParser("second: ");
+
+        TestStaticAnalysisToolSuite suite = new TestStaticAnalysisToolSuite(true, firstParser, secondParser);
+
+        Report compositeIssues = suite.createParser().parse(file, ENCODING, IDENTITY);
+
+        verify(firstParser, never()).parse(any(File.class), any(Charset.class), any(Function.class));
+        verify(secondParser, never()).parse(any(File.class), any(Charset.class), any(Function.class));
+
+        Report expected = new Report();
+        expected.addAll(createIssues("first: " + content), createIssues("second: " + content));
+        assertThat(compositeIssues).isEqualTo(expected);
+    }
+
+    @SuppressWarnings("unchecked")
+    private AbstractParser createContentParser(final String prefix) {
+        AbstractParser parser = mock(AbstractParser.class);
+        when(parser.parse(any(Reader.class), any(Function.class))).thenAnswer(
+                invocation -> createIssues(prefix + IOUtils.toString(invocation.<Reader>getArgument(0))));
+        return parser;
+    }
+
     private Report createIssues(final int id) {
+        return createIssues(String.valueOf(id));
+    }
+
+    private Report createIssues(final String message) {
         Report issues = new Report();
         IssueBuilder issueBuilder = new IssueBuilder();
-        issues.add(issueBuilder.setMessage(String.valueOf(id)).build());
+        issues.add(issueBuilder.setMessage(message).build());
         return issues;
     }
 
@@ -79,16 +120,27 @@ class StaticAnalysisToolSuiteTest {
      */
     private class TestStaticAnalysisToolSuite extends StaticAnalysisToolSuite {
         private final Collection<? extends AbstractParser> parsers;
+        private final boolean canParseInSinglePass;
 
         TestStaticAnalysisToolSuite(final AbstractParser... parsers) {
+            this(false, parsers);
+        }
+
+        TestStaticAnalysisToolSuite(final boolean canParseInSinglePass, final AbstractParser... parsers) {
             super();
 
             this.parsers = asList(parsers);
+            this.canParseInSinglePass = canParseInSinglePass;
         }
 
         @Override
         protected Collection<? extends AbstractParser> getParsers() {
             return parsers;
         }
+
+        @Override
+        protected boolean canParseInSinglePass() {
+            return canParseInSinglePass;
+        }
     }
 }
\ No newline at end of file
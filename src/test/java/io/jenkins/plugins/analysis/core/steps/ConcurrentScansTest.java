@@ -0,0 +1,77 @@
+package io.jenkins.plugins.analysis.core.steps;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Report;
+import static org.assertj.core.api.Assertions.*;
+
+import hudson.model.TaskListener;
+import hudson.util.StreamTaskListener;
+
+/**
+ * Tests the class {@link ConcurrentScans}.
+ *
+ * @author Ullrich Hafner
+ */
+class ConcurrentScansTest {
+    @Test
+    void shouldReturnReportsInOrderOfScansWithGroupedLogs() throws IOException, InterruptedException {
+        CountDownLatch secondFinished = new CountDownLatch(1);
+        ConcurrentScans scans = new ConcurrentScans(2);
+        try {
+            scans.start(listener -> {
+                listener.getLogger().println("first-1");
+                secondFinished.await();
+                listener.getLogger().println("first-2");
+                return createReport("first");
+            });
+            scans.start(listener -> {
+                listener.getLogger().println("second-1");
+                listener.getLogger().println("second-2");
+                secondFinished.countDown();
+                return createReport("second");
+            });
+
+            ByteArrayOutputStream log = new ByteArrayOutputStream();
+            TaskListener listener = new StreamTaskListener(log, StandardCharsets.UTF_8);
+
+            assertThat(scans.get(0, listener).getId()).isEqualTo("first");
+            assertThat(scans.get(1, listener).getId()).isEqualTo("second");
+            assertThat(new String(log.toByteArray(), StandardCharsets.UTF_8).split("\\R"))
+                    .containsExactly("first-1", "first-2", "second-1", "second-2");
+        }
+        finally {
+            scans.cancel();
+        }
+    }
+
+    @Test
+    void shouldRethrowExceptionOfScan() {
+        ConcurrentScans scans = new ConcurrentScans(1);
+        try {
+            scans.start(listener -> {
+                listener.getLogger().println("failing");
+                throw new IOException("Error");
+            });
+
+            ByteArrayOutputStream log = new ByteArrayOutputStream();
+            assertThatThrownBy(() -> scans.get(0, new StreamTaskListener(log, StandardCharsets.UTF_8)))
+                    .isInstanceOf(IOException.class).hasMessage("Error");
+            assertThat(new String(log.toByteArray(), StandardCharsets.UTF_8)).contains("failing");
+        }
+        finally {
+            scans.cancel();
+        }
+    }
+
+    private Report createReport(final String id) {
+        Report report = new Report();
+        report.setId(id);
+        return report;
+    }
+}
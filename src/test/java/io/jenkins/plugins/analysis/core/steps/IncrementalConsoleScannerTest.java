@@ -0,0 +1,164 @@
+package io.jenkins.plugins.analysis.core.steps;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.AbstractParser;
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import io.jenkins.plugins.analysis.core.model.StaticAnalysisTool;
+import static io.jenkins.plugins.analysis.core.testutil.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link IncrementalConsoleScanner}.
+ *
+ * @author Ullrich Hafner
+ */
+class IncrementalConsoleScannerTest {
+    private static final String WARNING = "warning: ";
+
+    private final List<Integer> parsedLines = new ArrayList<>();
+
+    @Test
+    void shouldScanOnlyCompleteLinesOfTail() throws IOException {
+        File consoleLog = createConsoleLog();
+        StaticAnalysisTool tool = createTool("tail");
+
+        try {
+            append(consoleLog, "compiling\nwarning: first\nlinking\n");
+
+            IncrementalConsoleScanner scanner = IncrementalConsoleScanner.of(consoleLog, tool, StandardCharsets.UTF_8);
+            scanner.scanTail();
+
+            append(consoleLog, "warning: second\nwarning: th");
+            scanner.scanTail();
+
+            append(consoleLog, "ird");
+            Report report = scanner.finish();
+
+            assertThat(getMessages(report)).containsExactly("first", "second", "third");
+            assertThat(getLines(report)).containsExactly(2, 4, 5);
+            assertThat(parsedLines).containsExactly(3, 1, 1);
+        }
+        finally {
+            IncrementalConsoleScanner.release(consoleLog);
+        }
+    }
+
+    @Test
+    void shouldDeleteCheckpointsOnRelease() throws IOException {
+        File consoleLog = createConsoleLog();
+        StaticAnalysisTool tool = createTool("release");
+
+        append(consoleLog, "warning: first\n");
+        IncrementalConsoleScanner.of(consoleLog, tool, StandardCharsets.UTF_8).scanTail();
+
+        assertThat(consoleLog.getParentFile().list()).containsExactlyInAnyOrder(
+                consoleLog.getName(), "release-console-checkpoint.bin");
+
+        IncrementalConsoleScanner.release(consoleLog);
+
+        assertThat(consoleLog.getParentFile().list()).containsExactly(consoleLog.getName());
+
+        append(consoleLog, "warning: second\n");
+        Report report = IncrementalConsoleScanner.of(consoleLog, tool, StandardCharsets.UTF_8).finish();
+        IncrementalConsoleScanner.release(consoleLog);
+
+        assertThat(getMessages(report)).containsExactly("first", "second");
+    }
+
+    @Test
+    void shouldRestoreCheckpointsAndDropIncompleteCheckpoint() throws IOException {
+        File consoleLog = createConsoleLog();
+        StaticAnalysisTool tool = createTool("restore");
+        Path checkpoints = consoleLog.toPath().resolveSibling("restore-console-checkpoint.bin");
+        Path backup = consoleLog.toPath().resolveSibling("backup");
+
+        try {
+            IncrementalConsoleScanner scanner = IncrementalConsoleScanner.of(consoleLog, tool, StandardCharsets.UTF_8);
+            append(consoleLog, "warning: first\nlinking\n");
+            scanner.scanTail();
+            long sizeOfFirstCheckpoint = Files.size(checkpoints);
+
+            append(consoleLog, "warning: second\n");
+            scanner.scanTail();
+
+            assertThat(Files.size(checkpoints)).isGreaterThan(sizeOfFirstCheckpoint);
+
+            Files.copy(checkpoints, backup);
+            Files.write(backup, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+            IncrementalConsoleScanner.release(consoleLog);
+            Files.move(backup, checkpoints);
+
+            parsedLines.clear();
+            append(consoleLog, "warning: third\n");
+            Report report = IncrementalConsoleScanner.of(consoleLog, tool, StandardCharsets.UTF_8).finish();
+
+            assertThat(getMessages(report)).containsExactly("first", "second", "third");
+            assertThat(getLines(report)).containsExactly(1, 3, 4);
+            assertThat(parsedLines).containsExactly(1);
+        }
+        finally {
+            IncrementalConsoleScanner.release(consoleLog);
+        }
+    }
+
+    private List<String> getMessages(final Report report) {
+        return report.stream().map(Issue::getMessage).collect(Collectors.toList());
+    }
+
+    private List<Integer> getLines(final Report report) {
+        return report.stream().map(Issue::getLineStart).collect(Collectors.toList());
+    }
+
+    private File createConsoleLog() throws IOException {
+        return Files.createFile(Files.createTempDirectory("build").resolve("log")).toFile();
+    }
+
+    private void append(final File consoleLog, final String content) throws IOException {
+        Files.write(consoleLog.toPath(), content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    @SuppressWarnings("unchecked")
+    private StaticAnalysisTool createTool(final String id) {
+        AbstractParser parser = mock(AbstractParser.class);
+        when(parser.parse(any(Reader.class), any(Function.class))).thenAnswer(
+                invocation -> parseWarnings(invocation.getArgument(0)));
+
+        StaticAnalysisTool tool = mock(StaticAnalysisTool.class);
+        when(tool.getId()).thenReturn(id);
+        when(tool.canScanConsoleLog()).thenReturn(true);
+        when(tool.createParser()).thenReturn(parser);
+        return tool;
+    }
+
+    private Report parseWarnings(final Reader reader) {
+        Report report = new Report();
+        List<String> lines = new BufferedReader(reader).lines().collect(Collectors.toList());
+        parsedLines.add(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.startsWith(WARNING)) {
+                report.add(new IssueBuilder().setLineStart(i + 1)
+                        .setMessage(line.substring(WARNING.length()))
+                        .build());
+            }
+        }
+        return report;
+    }
+}
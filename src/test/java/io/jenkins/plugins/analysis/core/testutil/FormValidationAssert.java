@@ -72,6 +72,23 @@ public class FormValidationAssert extends AbstractAssert<FormValidationAssert, F
         return this;
     }
 
+    /**
+     * Verifies that the kind of the {@link FormValidation} is {@link Kind#WARNING}.
+     *
+     * @return this assertion object.
+     * @throws AssertionError
+     *         if the kind of the {@link FormValidation} is not {@link Kind#WARNING}.
+     */
+    public FormValidationAssert isWarning() {
+        isNotNull();
+
+        if (!ObjectUtils.equals(actual.kind, Kind.WARNING)) {
+            failWithMessage(EXPECTED_BUT_WAS_MESSAGE, "kind", actual, "WARNING", "not a WARNING");
+        }
+
+        return this;
+    }
+
     /**
      * Verifies that the message of the {@link FormValidation} equals to the expected message.
      *
@@ -0,0 +1,165 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.hm.hafner.analysis.FingerprintGenerator;
+import edu.hm.hafner.analysis.FullTextFingerprint;
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.PackageNameResolver;
+import edu.hm.hafner.analysis.Report;
+import static org.assertj.core.api.Assertions.*;
+
+import hudson.FilePath;
+
+/**
+ * Tests the class {@link AffectedFilesProcessor}.
+ *
+ * @author Ullrich Hafner
+ */
+class AffectedFilesProcessorTest {
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    private final List<Path> temporaryDirectories = new ArrayList<>();
+
+    @AfterEach
+    void deleteTemporaryDirectories() {
+        temporaryDirectories.forEach(directory -> FileUtils.deleteQuietly(directory.toFile()));
+    }
+
+    /** Ensures that illegal file names are processed without problems. */
+    @ParameterizedTest(name = "[{index}] Illegal filename = {0}")
+    @ValueSource(strings = {"/does/not/exist", "!<>$$&%/&(", "\0 Null-Byte"})
+    void shouldReturnFallbackOnError(final String fileName) throws IOException, InterruptedException {
+        Path workspace = createTempDirectory("workspace");
+        Path store = createTempDirectory("store");
+
+        Report report = new Report().add(new IssueBuilder().setFileName(fileName).build());
+        new AffectedFilesProcessor(CHARSET).run(report, new FilePath(store.toFile()),
+                new FilePath(store.resolve("index.properties").toFile()), workspace.toFile());
+
+        assertThat(report.getInfoMessages()).contains(
+                "-> 0 copied, 0 already stored, 0 not in workspace, 1 not-found, 0 with I/O error");
+    }
+
+    @Test
+    void shouldProcessEachFileOnce() throws IOException, InterruptedException {
+        Path workspace = createTempDirectory("workspace");
+        Path store = createTempDirectory("store");
+        String first = createSourceFile(workspace, "First.java", "first");
+        String second = createSourceFile(workspace, "Second.java", "second");
+
+        Report report = createReport(first, second);
+        FilePath index = new FilePath(store.resolve("index.properties").toFile());
+        new AffectedFilesProcessor(CHARSET, 2, null).run(report, new FilePath(store.toFile()), index,
+                workspace.toFile());
+
+        assertThat(report.getErrorMessages()).isEmpty();
+        assertThat(report.getInfoMessages()).contains(
+                "-> processed 2 affected files using 2 threads",
+                "-> 2 copied, 0 already stored, 0 not in workspace, 0 not-found, 0 with I/O error",
+                "-> resolved package names of 2 affected files",
+                "-> created fingerprints for 3 issues");
+        assertThat(report).extracting(Issue::getFileName).containsExactly(first, first, second);
+        assertThat(report).extracting(Issue::getPackageName).containsExactly("first", "first", "second");
+        assertThat(index.exists()).isTrue();
+
+        Report expected = createReport(first, second);
+        new PackageNameResolver().run(expected, CHARSET);
+        new FingerprintGenerator().run(new FullTextFingerprint(), expected, CHARSET);
+        Iterator<Issue> expectedIssues = expected.iterator();
+        for (Issue issue : report) {
+            assertThat(issue.getFingerprint()).isEqualTo(expectedIssues.next().getFingerprint());
+        }
+
+        Report again = createReport(first, second);
+        new AffectedFilesProcessor(CHARSET, 2, null).run(again, new FilePath(store.toFile()), index,
+                workspace.toFile());
+        assertThat(again.getInfoMessages()).contains(
+                "-> 0 copied, 2 already stored, 0 not in workspace, 0 not-found, 0 with I/O error");
+    }
+
+    @Test
+    void shouldReuseFingerprintsOfUnchangedFiles() throws IOException, InterruptedException {
+        Path workspace = createTempDirectory("workspace");
+        Path store = createTempDirectory("store");
+        String first = createSourceFile(workspace, "First.java", "first");
+        String second = createSourceFile(workspace, "Second.java", "second");
+        FingerprintCache cache = new FingerprintCache(createTempDirectory("cache").toFile(), 1024 * 1024);
+        FilePath index = new FilePath(store.resolve("index.properties").toFile());
+
+        Report report = createReport(first, second);
+        new AffectedFilesProcessor(CHARSET, 2, cache).run(report, new FilePath(store.toFile()), index,
+                workspace.toFile());
+        assertThat(report.getInfoMessages()).contains("-> reused 0 of 3 fingerprints from the cache (0% hit rate)");
+
+        createSourceFile(workspace, "Second.java", "changed");
+        Report again = createReport(first, second);
+        new AffectedFilesProcessor(CHARSET, 2, cache).run(again, new FilePath(store.toFile()), index,
+                workspace.toFile());
+        assertThat(again.getInfoMessages()).contains("-> reused 2 of 3 fingerprints from the cache (66% hit rate)");
+
+        Iterator<Issue> previous = report.iterator();
+        Iterator<Issue> current = again.iterator();
+        assertThat(current.next().getFingerprint()).isEqualTo(previous.next().getFingerprint());
+        assertThat(current.next().getFingerprint()).isEqualTo(previous.next().getFingerprint());
+    }
+
+    @Test
+    void shouldAnalyzeMissingFilesInPlace() throws IOException, InterruptedException {
+        Path workspace = createTempDirectory("workspace");
+        Path store = createTempDirectory("store");
+        String missing = workspace.resolve("Missing.java").toString();
+
+        Report report = new Report().add(new IssueBuilder().setFileName(missing).setLineStart(1).build());
+        new AffectedFilesProcessor(CHARSET).run(report, new FilePath(store.toFile()),
+                new FilePath(store.resolve("index.properties").toFile()), workspace.toFile());
+
+        assertThat(report.getInfoMessages()).contains(
+                "-> 0 copied, 0 already stored, 0 not in workspace, 1 not-found, 0 with I/O error");
+        assertThat(report.iterator().next().getFileName()).isEqualTo(missing);
+    }
+
+    private Path createTempDirectory(final String prefix) throws IOException {
+        Path directory = Files.createTempDirectory(prefix);
+        temporaryDirectories.add(directory);
+        return directory;
+    }
+
+    private Report createReport(final String first, final String second) {
+        Report report = new Report();
+        IssueBuilder builder = new IssueBuilder();
+        report.add(builder.setFileName(first).setLineStart(3).build());
+        report.add(builder.setFileName(first).setLineStart(5).build());
+        report.add(builder.setFileName(second).setLineStart(4).build());
+        return report;
+    }
+
+    private String createSourceFile(final Path workspace, final String fileName, final String packageName)
+            throws IOException {
+        File file = workspace.resolve(fileName).toFile();
+        Files.write(file.toPath(), Arrays.asList(
+                "package " + packageName + ";",
+                "",
+                "public class " + fileName.replace(".java", "") + " {",
+                "    private int " + packageName + ";",
+                "    private int value;",
+                "}"), CHARSET);
+        return new IssueBuilder().setFileName(file.toPath().toRealPath().toString()).build().getFileName();
+    }
+}
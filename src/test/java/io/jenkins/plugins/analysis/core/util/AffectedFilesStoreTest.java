@@ -0,0 +1,167 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import hudson.FilePath;
+import hudson.model.Job;
+import hudson.model.Run;
+
+/**
+ * Tests the class {@link AffectedFilesStore}.
+ *
+ * @author Ullrich Hafner
+ */
+class AffectedFilesStoreTest {
+    private static final String CONTENT = "public class Main {}";
+
+    @Test
+    void shouldStoreFilesOnlyOnceAndDeleteThemWithTheLastBuild() throws IOException, InterruptedException {
+        Path root = Files.createTempDirectory("store").toRealPath();
+        Path workspace = Files.createDirectories(root.resolve("workspace"));
+        Path sourceFile = Files.write(workspace.resolve("Main.java"), CONTENT.getBytes(StandardCharsets.UTF_8));
+        String fileName = sourceFile.toString();
+
+        Job<?, ?> job = mock(Job.class);
+        when(job.getRootDir()).thenReturn(root.resolve("job").toFile());
+
+        Run<?, ?> first = createRun(job, root.resolve("job/builds/1").toFile());
+        Report firstReport = copyAffectedFiles(first, fileName, workspace);
+        assertThat(firstReport.getInfoMessages()).anySatisfy(
+                message -> assertThat(message).contains("1 copied", "0 already stored"));
+
+        Run<?, ?> second = createRun(job, root.resolve("job/builds/2").toFile());
+        Report secondReport = copyAffectedFiles(second, fileName, workspace);
+        assertThat(secondReport.getInfoMessages()).anySatisfy(
+                message -> assertThat(message).contains("0 copied", "1 already stored"));
+
+        Path stored = AffectedFilesResolver.getFile(second, fileName);
+        assertThat(stored).isEqualTo(AffectedFilesResolver.getFile(first, fileName));
+        assertThat(stored).startsWith(root.resolve("job").resolve(AffectedFilesStore.STORE_FOLDER_NAME));
+        assertThat(stored).hasContent(CONTENT);
+
+        new AffectedFilesStore(first).release();
+        assertThat(stored).exists();
+
+        new AffectedFilesStore(second).release();
+        assertThat(stored).doesNotExist();
+    }
+
+    @Test
+    void shouldRestoreStoredFileThatHasBeenReleasedBeforeRegistration() throws IOException, InterruptedException {
+        Path root = Files.createTempDirectory("store").toRealPath();
+        Path workspace = Files.createDirectories(root.resolve("workspace"));
+        Path sourceFile = Files.write(workspace.resolve("Main.java"), CONTENT.getBytes(StandardCharsets.UTF_8));
+        String fileName = sourceFile.toString();
+
+        Job<?, ?> job = mock(Job.class);
+        when(job.getRootDir()).thenReturn(root.resolve("job").toFile());
+
+        Run<?, ?> first = createRun(job, root.resolve("job/builds/1").toFile());
+        copyAffectedFiles(first, fileName, workspace);
+        Path stored = AffectedFilesResolver.getFile(first, fileName);
+
+        Run<?, ?> second = createRun(job, root.resolve("job/builds/2").toFile());
+        AffectedFilesStore store = new AffectedFilesStore(second);
+        FilePath index = store.createIndexLocation();
+        Report report = copyToStore(store, index, fileName, workspace);
+        assertThat(report.getInfoMessages()).anySatisfy(
+                message -> assertThat(message).contains("0 copied", "1 already stored"));
+
+        new AffectedFilesStore(first).release();
+        assertThat(stored).doesNotExist();
+
+        store.register(index, null);
+        assertThat(AffectedFilesResolver.getFile(second, fileName)).isEqualTo(stored).hasContent(CONTENT);
+    }
+
+    @Test
+    void shouldRejectInvalidHashesOfAgent() throws IOException, InterruptedException {
+        Path root = Files.createTempDirectory("store").toRealPath();
+        Path victim = Files.write(root.resolve("victim.txt"), CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        Job<?, ?> job = mock(Job.class);
+        when(job.getRootDir()).thenReturn(root.resolve("job").toFile());
+        Run<?, ?> run = createRun(job, root.resolve("job/builds/1").toFile());
+
+        AffectedFilesStore store = new AffectedFilesStore(run);
+        FilePath index = store.createIndexLocation();
+        Properties partialIndex = new Properties();
+        partialIndex.setProperty("Traversal.java", "../../../victim.txt");
+        partialIndex.setProperty("Upper.java", StringUtils.repeat("A", 64));
+        partialIndex.setProperty("Short.java", "abc");
+        Files.createDirectories(Paths.get(index.getRemote()).getParent());
+        try (OutputStream output = Files.newOutputStream(Paths.get(index.getRemote()))) {
+            partialIndex.store(output, null);
+        }
+
+        store.register(index, null);
+
+        assertThat(store.getFile("Traversal.java")).isEmpty();
+        assertThat(store.getFile("Upper.java")).isEmpty();
+        assertThat(store.getFile("Short.java")).isEmpty();
+
+        store.release();
+        assertThat(victim).exists();
+    }
+
+    @Test
+    void shouldValidateHashes() {
+        assertThat(AffectedFilesStore.isValidHash(AffectedFilesStore.computeHash(new byte[0]))).isTrue();
+        assertThat(AffectedFilesStore.isValidHash(null)).isFalse();
+        assertThat(AffectedFilesStore.isValidHash("")).isFalse();
+        assertThat(AffectedFilesStore.isValidHash("../" + StringUtils.repeat("a", 61))).isFalse();
+        assertThat(AffectedFilesStore.isValidHash(StringUtils.repeat("a", 65))).isFalse();
+    }
+
+    @Test
+    void shouldFallbackToBuildFolderForUnknownFiles() throws IOException {
+        Path root = Files.createTempDirectory("store").toRealPath();
+
+        Job<?, ?> job = mock(Job.class);
+        when(job.getRootDir()).thenReturn(root.toFile());
+        Run<?, ?> run = createRun(job, root.resolve("builds/1").toFile());
+
+        assertThat(new AffectedFilesStore(run).getFile("Main.java")).isEmpty();
+        assertThat(AffectedFilesResolver.getFile(run, "Main.java"))
+                .startsWith(root.resolve("builds/1").resolve(AffectedFilesResolver.AFFECTED_FILES_FOLDER_NAME));
+    }
+
+    private Report copyAffectedFiles(final Run<?, ?> run, final String fileName, final Path workspace)
+            throws InterruptedException {
+        AffectedFilesStore store = new AffectedFilesStore(run);
+        FilePath index = store.createIndexLocation();
+        Report report = copyToStore(store, index, fileName, workspace);
+        store.register(index, null);
+
+        return report;
+    }
+
+    private Report copyToStore(final AffectedFilesStore store, final FilePath index, final String fileName,
+            final Path workspace) throws InterruptedException {
+        Report report = new Report().add(new IssueBuilder().setFileName(fileName).build());
+        new AffectedFilesProcessor(StandardCharsets.UTF_8).run(report, store.getLocation(), index, workspace.toFile());
+        return report;
+    }
+
+    private Run<?, ?> createRun(final Job<?, ?> job, final File rootDir) {
+        Run<?, ?> run = mock(Run.class);
+        doReturn(job).when(run).getParent();
+        when(run.getRootDir()).thenReturn(rootDir);
+        return run;
+    }
+}
@@ -0,0 +1,42 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import io.jenkins.plugins.analysis.core.util.DeadlineCharSequence.DeadlineExceededException;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link DeadlineCharSequence}.
+ *
+ * @author Ullrich Hafner
+ */
+class DeadlineCharSequenceTest {
+    /** Backtracks catastrophically on a long sequence of 'a' characters that is not followed by 'b'. */
+    static final Pattern CATASTROPHIC = Pattern.compile("(.*a){12}b");
+    static final String MATCHING_LINE = StringUtils.repeat('a', 12) + "b";
+    static final String PATHOLOGICAL_LINE = StringUtils.repeat('a', 64) + "c";
+
+    @Test
+    void shouldMatchBeforeDeadline() {
+        CharSequence input = DeadlineCharSequence.withTimeout("file.c:10: warning: unused", 10_000);
+
+        Matcher matcher = Pattern.compile("(.*):(\\d+): warning: (.*)").matcher(input);
+
+        assertThat(matcher.matches()).isTrue();
+        assertThat(matcher.group(1)).isEqualTo("file.c");
+        assertThat(matcher.group(3)).isEqualTo("unused");
+        assertThat(input.toString()).isEqualTo("file.c:10: warning: unused");
+        assertThat(input.length()).isEqualTo(26);
+    }
+
+    @Test
+    void shouldStopCatastrophicBacktracking() {
+        Matcher matcher = CATASTROPHIC.matcher(DeadlineCharSequence.withTimeout(PATHOLOGICAL_LINE, 50));
+
+        assertThatThrownBy(matcher::find).isInstanceOf(DeadlineExceededException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link FingerprintCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class FingerprintCacheTest {
+    private static final String ALGORITHM = "algorithm";
+    private static final String HASH = "abcdef";
+
+    @Test
+    void shouldStoreAndReadFingerprints() throws IOException {
+        FingerprintCache cache = new FingerprintCache(createCacheFolder(), 1024 * 1024);
+        assertThat(cache.get(HASH)).isEmpty();
+
+        Issue issue = new IssueBuilder().setLineStart(10).setLineEnd(12).build();
+        String key = FingerprintCache.createKey(ALGORITHM, StandardCharsets.UTF_8, issue);
+        Properties fingerprints = new Properties();
+        fingerprints.setProperty(key, "fingerprint");
+        cache.put(HASH, fingerprints);
+
+        assertThat(cache.get(HASH)).containsEntry(key, "fingerprint");
+        assertThat(FingerprintCache.createKey(ALGORITHM, StandardCharsets.ISO_8859_1, issue)).isNotEqualTo(key);
+        assertThat(FingerprintCache.createKey(ALGORITHM, StandardCharsets.UTF_8,
+                new IssueBuilder().setLineStart(11).setLineEnd(12).build())).isNotEqualTo(key);
+    }
+
+    @Test
+    void shouldRemoveLeastRecentlyUsedEntries() throws IOException {
+        File folder = createCacheFolder();
+        FingerprintCache cache = new FingerprintCache(folder, 1);
+
+        Properties fingerprints = new Properties();
+        fingerprints.setProperty("key", "fingerprint");
+        cache.put("old", fingerprints);
+        cache.put("new", fingerprints);
+        assertThat(new File(folder, "old.fingerprints").setLastModified(0)).isTrue();
+
+        cache.prune();
+
+        assertThat(cache.get("old")).isEmpty();
+        assertThat(new File(folder, "old.fingerprints")).doesNotExist();
+    }
+
+    @Test
+    void shouldDisableCache() throws IOException {
+        assertThat(FingerprintCache.createInWorkspace(createCacheFolder(), 0)).isNull();
+    }
+
+    private File createCacheFolder() throws IOException {
+        return Files.createTempDirectory("fingerprints").toFile();
+    }
+}
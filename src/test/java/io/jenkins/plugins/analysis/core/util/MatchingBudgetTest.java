@@ -0,0 +1,72 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.util.regex.Matcher;
+
+import org.junit.jupiter.api.Test;
+
+import io.jenkins.plugins.analysis.core.util.DeadlineCharSequence.DeadlineExceededException;
+import static io.jenkins.plugins.analysis.core.util.DeadlineCharSequenceTest.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link MatchingBudget}.
+ *
+ * @author Ullrich Hafner
+ */
+class MatchingBudgetTest {
+    private static final String PARSER = "Parser";
+
+    @Test
+    void shouldReportLinesThatTakeTooLong() {
+        MatchingBudget budget = new MatchingBudget(PARSER, 100, 60_000);
+
+        assertThat(match(budget, 1, MATCHING_LINE)).isTrue();
+        assertThat(match(budget, 2, PATHOLOGICAL_LINE)).isFalse();
+        assertThat(match(budget, 3, MATCHING_LINE)).isTrue();
+
+        assertThat(budget.isExhausted()).isFalse();
+        assertThat(budget.getSkippedLines()).isEqualTo(1);
+        assertThat(budget.getMessages()).containsExactly(
+                "Parser: matching line 2 took longer than 100 ms, skipped: '" + PATHOLOGICAL_LINE + "'");
+    }
+
+    @Test
+    void shouldSkipRemainingLinesIfBudgetIsExhausted() {
+        MatchingBudget budget = new MatchingBudget(PARSER, 60_000, 20);
+
+        assertThat(match(budget, 1, PATHOLOGICAL_LINE)).isFalse();
+
+        assertThat(budget.isExhausted()).isTrue();
+        assertThat(budget.getMessages()).containsExactly(
+                "Parser: matching line 1 took longer than 20 ms, skipped: '" + PATHOLOGICAL_LINE + "'",
+                "Parser: matching took longer than 20 ms in total, skipped all remaining lines");
+        assertThat(match(budget, 2, MATCHING_LINE)).isFalse();
+    }
+
+    @Test
+    void shouldLimitNumberOfMessages() {
+        MatchingBudget budget = new MatchingBudget(PARSER, 1, 60_000);
+
+        for (int line = 1; line <= 25; line++) {
+            budget.reportTimeout(line, "line");
+        }
+
+        assertThat(budget.getSkippedLines()).isEqualTo(25);
+        assertThat(budget.getMessages()).hasSize(21);
+        assertThat(budget.getMessages().get(20)).isEqualTo("Parser: ... and 5 more skipped lines");
+    }
+
+    private boolean match(final MatchingBudget budget, final int lineNumber, final String line) {
+        Matcher matcher = budget.matcher(CATASTROPHIC, line);
+        try {
+            return matcher.find();
+        }
+        catch (DeadlineExceededException exception) {
+            budget.reportTimeout(lineNumber, line);
+            return false;
+        }
+        finally {
+            budget.stop();
+        }
+    }
+}
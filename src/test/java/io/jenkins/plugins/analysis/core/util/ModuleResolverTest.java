@@ -29,7 +29,7 @@ class ModuleResolverTest {
         report.add(withModule);
 
         ModuleDetector detector = mock(ModuleDetector.class);
-        when(detector.guessModuleName(fileName)).thenReturn("module1");
+        when(detector.guessModuleName("/file/with/")).thenReturn("module1");
 
         ModuleResolver resolver = new ModuleResolver();
         resolver.run(report, detector);
@@ -39,4 +39,66 @@ class ModuleResolverTest {
 
         assertThat(report.getInfoMessages()).contains("-> resolved module names for 1 issues");
     }
+
+    @Test
+    void shouldResolveEachDirectoryOnlyOnce() {
+        Report report = new Report();
+        IssueBuilder builder = new IssueBuilder();
+        report.add(builder.setFileName("/workspace/module/src/A.java").build());
+        report.add(builder.setFileName("/workspace/module/src/B.java").build());
+        report.add(builder.setFileName("/workspace/other/C.java").build());
+
+        ModuleDetector detector = mock(ModuleDetector.class);
+        when(detector.guessModuleName("/workspace/module/src/")).thenReturn("module");
+        when(detector.guessModuleName("/workspace/other/")).thenReturn("other");
+        ModuleNameCache cache = new ModuleNameCache(detector);
+
+        ModuleResolver resolver = new ModuleResolver();
+        resolver.run(report, cache);
+
+        assertThat(report.get(0)).hasModuleName("module");
+        assertThat(report.get(1)).hasModuleName("module");
+        assertThat(report.get(2)).hasModuleName("other");
+        assertThat(report.getInfoMessages()).contains("-> issues are located in 2 directories");
+
+        Report otherTool = new Report();
+        otherTool.add(builder.setFileName("/workspace/module/src/D.java").build());
+        resolver.run(otherTool, cache);
+
+        assertThat(otherTool.get(0)).hasModuleName("module");
+        verify(detector, times(1)).guessModuleName("/workspace/module/src/");
+        assertThat(cache.getResolvedDirectories()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReuseModuleOfParentDirectory() {
+        ModuleDetector detector = mock(ModuleDetector.class);
+        when(detector.guessModuleName("/workspace/")).thenReturn("parent");
+        when(detector.guessModuleName("/workspace/module/")).thenReturn("module");
+        ModuleNameCache cache = new ModuleNameCache(() -> detector,
+                directory -> "/workspace".equals(directory) || "/workspace/module".equals(directory));
+
+        assertThat(cache.getModuleName("/workspace/module/src/main/java")).isEqualTo("module");
+        assertThat(cache.getModuleName("/workspace/module/src/test/java")).isEqualTo("module");
+        assertThat(cache.getModuleName("/workspace/other")).isEqualTo("parent");
+        assertThat(cache.getModuleName("/workspace/module")).isEqualTo("module");
+
+        verify(detector, times(1)).guessModuleName("/workspace/module/");
+        verify(detector, times(1)).guessModuleName("/workspace/");
+        verifyNoMoreInteractions(detector);
+        assertThat(cache.getResolvedDirectories()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldShareCacheOfSameBuild() {
+        ModuleDetector detector = mock(ModuleDetector.class);
+        when(detector.guessModuleName("/workspace/")).thenReturn("module");
+
+        ModuleNameCache cache = ModuleNameCache.getInstance("job#1@/workspace", () -> detector, directory -> true);
+        assertThat(ModuleNameCache.getInstance("job#1@/workspace", () -> mock(ModuleDetector.class),
+                directory -> true)).isSameAs(cache);
+        assertThat(ModuleNameCache.getInstance("job#2@/workspace", () -> detector, directory -> true))
+                .isNotSameAs(cache);
+        assertThat(cache.getModuleName("/workspace")).isEqualTo("module");
+    }
 }
\ No newline at end of file
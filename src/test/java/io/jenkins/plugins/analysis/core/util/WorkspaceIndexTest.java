@@ -0,0 +1,111 @@
+package io.jenkins.plugins.analysis.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link WorkspaceIndex}.
+ *
+ * @author Ullrich Hafner
+ */
+class WorkspaceIndexTest {
+    @ParameterizedTest(name = "[{index}] Pattern = {0}")
+    @ValueSource(strings = {"**/*.xml", "*.xml", "module/**/*.java", "**/target/", "**/*.java, **/pom.xml",
+            "**/*.xml **/*.txt", "**/.git/**", "", "**/does-not-exist"})
+    void shouldFindSameFilesAsAnt(final String pattern) throws IOException {
+        File workspace = createWorkspace().toFile();
+
+        assertThat(WorkspaceIndex.create(workspace).find(pattern))
+                .containsExactlyInAnyOrder(new FileFinder(pattern).find(workspace));
+    }
+
+    @Test
+    void shouldResolveRelativeFileNames() throws IOException {
+        File workspace = createWorkspace().toFile();
+        WorkspaceIndex index = WorkspaceIndex.create(workspace);
+
+        assertThat(index.size()).isEqualTo(7);
+        assertThat(index.resolve("module/src/A.java"))
+                .contains(new File(workspace, "module/src/A.java").getAbsolutePath());
+        assertThat(index.resolve("./module/src/../src/A.java"))
+                .contains(new File(workspace, "./module/src/../src/A.java").getAbsolutePath());
+        assertThat(index.resolve("module/src/Missing.java")).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceIndexOfOtherWorkspace() throws IOException {
+        File first = createWorkspace().toFile();
+        File second = createWorkspace().toFile();
+
+        WorkspaceIndex index = WorkspaceIndex.getInstance("key", first);
+        assertThat(WorkspaceIndex.getInstance("key", first)).isSameAs(index);
+
+        WorkspaceIndex otherWorkspace = WorkspaceIndex.getInstance("key", second);
+        assertThat(otherWorkspace).isNotSameAs(index);
+        assertThat(otherWorkspace.isIndexOf(second)).isTrue();
+        assertThat(otherWorkspace.isIndexOf(first)).isFalse();
+    }
+
+    @Test
+    void shouldCreateIndexOncePerKey() throws IOException, InterruptedException, ExecutionException {
+        File workspace = createWorkspace().toFile();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<WorkspaceIndex>> indexes = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                indexes.add(executor.submit(() -> WorkspaceIndex.getInstance("concurrent", workspace)));
+            }
+            WorkspaceIndex expected = indexes.get(0).get();
+            for (Future<WorkspaceIndex> index : indexes) {
+                assertThat(index.get()).isSameAs(expected);
+            }
+            assertThat(WorkspaceIndex.getInstance("other", workspace)).isNotSameAs(expected);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldUseIndexInFileFinder() throws IOException {
+        File workspace = createWorkspace().toFile();
+        WorkspaceIndex index = WorkspaceIndex.create(workspace);
+        Files.createFile(workspace.toPath().resolve("created-later.xml"));
+
+        assertThat(new FileFinder("*.xml").find(workspace, index)).containsExactly("pom.xml");
+        assertThat(new FileFinder("*.xml").find(createWorkspace().toFile(), index)).containsExactly("pom.xml");
+    }
+
+    private Path createWorkspace() throws IOException {
+        Path workspace = Files.createTempDirectory("workspace");
+        createFile(workspace, "pom.xml");
+        createFile(workspace, "module/pom.xml");
+        createFile(workspace, "module/src/A.java");
+        createFile(workspace, "module/src/B.java");
+        createFile(workspace, "module/target/report.txt");
+        createFile(workspace, ".git/config");
+        createFile(workspace, "backup.xml~");
+        return workspace;
+    }
+
+    private void createFile(final Path workspace, final String fileName) throws IOException {
+        Path file = workspace.resolve(fileName);
+        Files.createDirectories(file.getParent());
+        Files.write(file, fileName.getBytes("UTF-8"));
+    }
+}
@@ -0,0 +1,376 @@
+package io.jenkins.plugins.analysis.warnings;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+
+import edu.hm.hafner.analysis.IssueParser;
+import edu.hm.hafner.analysis.Report;
+import io.jenkins.plugins.analysis.core.model.StaticAnalysisTool;
+
+/**
+ * Measures the throughput of the parsers of all {@link StaticAnalysisTool static analysis tools} of the warnings
+ * plug-in. Each parser reads a report of the size given by the parameter {@code megaBytes} (100 MB by default). The
+ * report is generated by repeating the sample report of the tool (see {@link #SAMPLES}): text reports are repeated as
+ * a whole, for XML reports only the content of the root element is repeated.
+ *
+ * <p>
+ * Besides the number of parsed reports per second, the benchmark reports the counters {@code megaBytes} (MB/s) and
+ * {@code issues} (issues/s) of each parser. The allocation rate of each parser is reported by the GC profiler as
+ * {@code gc.alloc.rate} (MB/s) and {@code gc.alloc.rate.norm} (bytes per parsed report).
+ * </p>
+ *
+ * <p>
+ * This benchmark is not run during the build, start it using the {@link #main(String[])} method. The results are
+ * written in JSON format to the file {@value #RESULT_FILE}, so that the throughput of different releases can be
+ * compared.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParserThroughputBenchmark {
+    private static final String RESULT_FILE = "target/parser-throughput.json";
+    private static final double MEGA_BYTE = 1024 * 1024;
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    /** Sample reports of the tools, the names are relative to the package of this class. */
+    private static final Map<String, String> SAMPLES = new HashMap<>();
+
+    static {
+        SAMPLES.put("AcuCobol", "acu.txt");
+        SAMPLES.put("Ajc", "ajc.txt");
+        SAMPLES.put("AndroidLint", "android-lint.xml");
+        SAMPLES.put("AnsibleLint", "ansibleLint.txt");
+        SAMPLES.put("ArmCc", "armcc5.txt");
+        SAMPLES.put("Buckminster", "buckminster.txt");
+        SAMPLES.put("Cadence", "CadenceIncisive.txt");
+        SAMPLES.put("Ccm", "ccm.xml");
+        SAMPLES.put("CheckStyle", "checkstyle.xml");
+        SAMPLES.put("Clang", "apple-llvm-clang.txt");
+        SAMPLES.put("ClangTidy", "ClangTidy.txt");
+        SAMPLES.put("CodeAnalysis", "codeanalysis.txt");
+        SAMPLES.put("CodeNArc", "codeNarc.xml");
+        SAMPLES.put("Coolflux", "coolfluxchesscc.txt");
+        SAMPLES.put("Cpd", "cpd.xml");
+        SAMPLES.put("CppCheck", "cppcheck.xml");
+        SAMPLES.put("CppLint", "cpplint.txt");
+        SAMPLES.put("CssLint", "csslint.xml");
+        SAMPLES.put("Detekt", "checkstyle.xml");
+        SAMPLES.put("DiabC", "diabc.txt");
+        SAMPLES.put("DocFx", "docfx.json");
+        SAMPLES.put("Doxygen", "doxygen.txt");
+        SAMPLES.put("DrMemory", "drmemory.txt");
+        SAMPLES.put("DupFinder", "dupfinder.xml");
+        SAMPLES.put("Eclipse", "eclipse.txt");
+        SAMPLES.put("Erlc", "erlc.txt");
+        SAMPLES.put("ErrorProne", "error-prone.log");
+        SAMPLES.put("EsLint", "checkstyle.xml");
+        SAMPLES.put("FindBugs", "findbugs-native.xml");
+        SAMPLES.put("Flake8", "flake8.txt");
+        SAMPLES.put("FlexSDK", "flexsdk.txt");
+        SAMPLES.put("Fxcop", "fxcop.xml");
+        SAMPLES.put("Gcc3", "gcc.txt");
+        SAMPLES.put("Gcc4", "gcc4.txt");
+        SAMPLES.put("Gendarme", "Gendarme.xml");
+        SAMPLES.put("GhsMulti", "ghsmulti.txt");
+        SAMPLES.put("Gnat", "gnat.txt");
+        SAMPLES.put("GnuFortran", "GnuFortran.txt");
+        SAMPLES.put("GnuMakeGcc", "gnuMakeGcc.txt");
+        SAMPLES.put("GoLint", "golint.txt");
+        SAMPLES.put("GoVet", "govet.txt");
+        SAMPLES.put("Iar", "/hudson/plugins/warnings/parser/iar-ewarm-6.3.txt");
+        SAMPLES.put("IdeaInspection", "IdeaInspectionExample.xml");
+        SAMPLES.put("Infer", "pmd-6.xml");
+        SAMPLES.put("Intel", "intelc.txt");
+        SAMPLES.put("Invalids", "invalids.txt");
+        SAMPLES.put("Java", "javac.txt");
+        SAMPLES.put("JavaDoc", "javadoc.txt");
+        SAMPLES.put("JcReport", "jcreport.xml");
+        SAMPLES.put("JsHint", "jshint.xml");
+        SAMPLES.put("KlocWork", "klocwork.xml");
+        SAMPLES.put("KtLint", "checkstyle.xml");
+        SAMPLES.put("LinuxKernelOutput", "kernel.log");
+        SAMPLES.put("MavenConsole", "maven-console.txt");
+        SAMPLES.put("MetrowerksCodeWarrior", "MetrowerksCWCompiler.txt");
+        SAMPLES.put("MsBuild", "msbuild.txt");
+        SAMPLES.put("MyPy", "mypy.txt");
+        SAMPLES.put("NagFortran", "NagFortran.txt");
+        SAMPLES.put("PREfast", "PREfast.xml");
+        SAMPLES.put("Pep8", "pep8Test.txt");
+        SAMPLES.put("Perforce", "perforce.txt");
+        SAMPLES.put("PerlCritic", "perlcritic.txt");
+        SAMPLES.put("Php", "php.txt");
+        SAMPLES.put("PhpCodeSniffer", "checkstyle.xml");
+        SAMPLES.put("Pit", "pit.xml");
+        SAMPLES.put("Pmd", "pmd-6.xml");
+        SAMPLES.put("PuppetLint", "puppet-lint.txt");
+        SAMPLES.put("PyDocStyle", "pydocstyle.txt");
+        SAMPLES.put("PyLint", "pyLint.txt");
+        SAMPLES.put("QACSourceCodeAnalyser", "QACSourceCodeAnalyser.txt");
+        SAMPLES.put("RFLint", "rflint.txt");
+        SAMPLES.put("ResharperInspectCode", "ResharperInspectCode.xml");
+        SAMPLES.put("Robocopy", "robocopy.txt");
+        SAMPLES.put("RuboCop", "rubocop.log");
+        SAMPLES.put("Scala", "scalac.txt");
+        SAMPLES.put("Simian", "simian.xml");
+        SAMPLES.put("SphinxBuild", "sphinxbuild.txt");
+        SAMPLES.put("SpotBugs", "spotbugsXml.xml");
+        SAMPLES.put("StyleCop", "stylecop.xml");
+        SAMPLES.put("SunC", "sunc.txt");
+        SAMPLES.put("SwiftLint", "checkstyle.xml");
+        SAMPLES.put("TaskingVx", "tasking-vx.txt");
+        SAMPLES.put("TiCss", "ticcs.txt");
+        SAMPLES.put("Tnsdl", "tnsdl.txt");
+        SAMPLES.put("TsLint", "checkstyle.xml");
+        SAMPLES.put("Xlc", "xlc.txt");
+        SAMPLES.put("XmlLint", "xmllint.txt");
+        SAMPLES.put("YuiCompressor", "yui.txt");
+        SAMPLES.put("ZptLint", "zptlint.log");
+    }
+
+    /** The simple class name of the tool, all tools with a sample report are benchmarked by {@link #main(String[])}. */
+    @Param
+    private String tool;
+
+    @Param("100")
+    private int megaBytes;
+
+    private IssueParser parser;
+    private File report;
+    private double reportMegaBytes;
+
+    /**
+     * Runs the benchmark for all tools or the specified tools.
+     *
+     * @param args
+     *         the simple class names of the tools to benchmark (optional), e.g. {@code Pmd Gcc4}
+     *
+     * @throws RunnerException
+     *         if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        String[] tools = args.length > 0 ? args : findToolsWithSamples();
+        new Runner(new OptionsBuilder().include(ParserThroughputBenchmark.class.getSimpleName())
+                .param("tool", tools)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE)
+                .build()).run();
+    }
+
+    private static String[] findToolsWithSamples() {
+        List<String> tools = new ArrayList<>();
+        for (JavaClass javaClass : new ClassFileImporter().importPackages(
+                ParserThroughputBenchmark.class.getPackage().getName())) {
+            Class<?> type = javaClass.reflect();
+            if (isConcreteTool(type)) {
+                String name = type.getSimpleName();
+                if (SAMPLES.containsKey(name)) {
+                    tools.add(name);
+                }
+                else {
+                    System.out.printf("Skipping tool %s: no sample report available%n", type.getName());
+                }
+            }
+        }
+        tools.sort(String::compareTo);
+        return tools.toArray(new String[0]);
+    }
+
+    private static boolean isConcreteTool(final Class<?> type) {
+        return StaticAnalysisTool.class.isAssignableFrom(type) && !Modifier.isAbstract(type.getModifiers())
+                && Modifier.isPublic(type.getModifiers()) && type.getEnclosingClass() == null;
+    }
+
+    /**
+     * Creates the parser of the tool and generates its report.
+     *
+     * @throws Exception
+     *         if the tool could not be created or the report could not be written
+     */
+    @Setup(Level.Trial)
+    public void createReport() throws Exception {
+        String sample = SAMPLES.get(tool);
+        if (sample == null) {
+            throw new IllegalArgumentException("No sample report available for tool " + tool);
+        }
+        parser = ((StaticAnalysisTool) Class.forName(getClass().getPackage().getName() + "." + tool)
+                .getConstructor().newInstance()).createParser();
+
+        report = File.createTempFile(tool, getExtension(sample));
+        try (Writer writer = Files.newBufferedWriter(report.toPath(), StandardCharsets.UTF_8)) {
+            writeReport(readSample(sample), sample.endsWith(".xml"), writer);
+        }
+        reportMegaBytes = report.length() / MEGA_BYTE;
+    }
+
+    private String readSample(final String sample) throws IOException {
+        try (InputStream stream = ParserThroughputBenchmark.class.getResourceAsStream(sample)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Sample report not found: " + sample);
+            }
+            String content = IOUtils.toString(stream, StandardCharsets.UTF_8);
+            if (content.startsWith(BYTE_ORDER_MARK)) {
+                return content.substring(1);
+            }
+            return content;
+        }
+    }
+
+    private String getExtension(final String sample) {
+        return sample.substring(sample.lastIndexOf('.'));
+    }
+
+    private void writeReport(final String sample, final boolean isXml, final Writer writer) throws IOException {
+        String header = StringUtils.EMPTY;
+        String body = sample;
+        String footer = StringUtils.EMPTY;
+        if (isXml) {
+            int bodyStart = findEndOfRootStartTag(sample);
+            int bodyEnd = sample.lastIndexOf("</");
+            if (bodyStart < 0 || bodyEnd < bodyStart) {
+                throw new IllegalArgumentException("Sample report has no repeatable root element: " + tool);
+            }
+            header = sample.substring(0, bodyStart);
+            body = sample.substring(bodyStart, bodyEnd);
+            footer = sample.substring(bodyEnd);
+        }
+        if (StringUtils.isBlank(body)) {
+            throw new IllegalArgumentException("Sample report is empty: " + tool);
+        }
+        if (!body.endsWith("\n")) {
+            body += "\n";
+        }
+
+        writer.write(header);
+        long size = getSize(header) + getSize(footer);
+        long bodySize = getSize(body);
+        long requested = (long) (megaBytes * MEGA_BYTE);
+        while (size < requested) {
+            writer.write(body);
+            size += bodySize;
+        }
+        writer.write(footer);
+    }
+
+    private long getSize(final String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private int findEndOfRootStartTag(final String xml) {
+        int position = xml.indexOf('<');
+        while (position >= 0) {
+            int end;
+            if (xml.startsWith("<?", position)) {
+                end = xml.indexOf("?>", position);
+            }
+            else if (xml.startsWith("<!--", position)) {
+                end = xml.indexOf("-->", position);
+            }
+            else if (xml.startsWith("<!", position)) {
+                end = xml.indexOf('>', position);
+            }
+            else {
+                end = xml.indexOf('>', position);
+                if (end < 0 || xml.charAt(end - 1) == '/') {
+                    return -1;
+                }
+                return end + 1;
+            }
+            if (end < 0) {
+                return -1;
+            }
+            position = xml.indexOf('<', end);
+        }
+        return -1;
+    }
+
+    /**
+     * Deletes the generated report.
+     *
+     * @throws IOException
+     *         if the report could not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void deleteReport() throws IOException {
+        Files.deleteIfExists(report.toPath());
+    }
+
+    /**
+     * Parses the generated report of the tool.
+     *
+     * @param counters
+     *         the counters of the parsed megabytes and issues
+     *
+     * @return the issues
+     */
+    @Benchmark
+    public Report parseReport(final ParserCounters counters) {
+        Report issues = parser.parse(report, StandardCharsets.UTF_8);
+        counters.megaBytes += reportMegaBytes;
+        counters.issues += issues.size();
+        return issues;
+    }
+
+    /**
+     * Counts the parsed megabytes and issues. The counters are normalized like the operations of the benchmark, i.e.
+     * since the benchmark runs in throughput mode, the counters are reported per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ParserCounters {
+        /** The number of parsed megabytes. */
+        public double megaBytes;
+        /** The number of created issues. */
+        public long issues;
+
+        /**
+         * Resets the counters before each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            megaBytes = 0;
+            issues = 0;
+        }
+    }
+}
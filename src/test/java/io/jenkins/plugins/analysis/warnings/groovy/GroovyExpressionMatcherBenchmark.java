@@ -0,0 +1,147 @@
+package io.jenkins.plugins.analysis.warnings.groovy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
+
+import hudson.plugins.warnings.WarningsDescriptor;
+
+/**
+ * Compares the matches per second of the {@link GroovyExpressionMatcher} with the previous implementation that shared
+ * a single script instance and its binding. Since the previous implementation is not thread safe, its benchmark
+ * {@link #sharedScript()} needs to synchronize the access to the script. The benchmarks {@link #compileEachTime()} and
+ * {@link #compileCached()} compare the time to create a new parser, i.e. to get an executable script.
+ *
+ * <p>
+ * This benchmark is not run during the build, start it using the {@link #main(String[])} method. The number of threads
+ * can be set using the first argument, e.g. {@code 4}.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GroovyExpressionMatcherBenchmark {
+    private static final String SCRIPT = "import edu.hm.hafner.analysis.Severity\n"
+            + "return builder.setFileName(matcher.group(1))\n"
+            + "        .setLineStart(Integer.parseInt(matcher.group(2)))\n"
+            + "        .setSeverity(Severity.WARNING_NORMAL)\n"
+            + "        .setCategory(matcher.group(3))\n"
+            + "        .setMessage(matcher.group(4))\n"
+            + "        .build()";
+    private static final Pattern PATTERN = Pattern.compile("^(.+):(\\d+): (\\w+): (.*)$");
+    private static final String LINE = "src/main/java/Service.java:42: warning: unchecked conversion";
+
+    private GroovyExpressionMatcher expressionMatcher;
+    private Script sharedScript;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            the number of threads (optional)
+     * @throws RunnerException
+     *             if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        new Runner(new OptionsBuilder().include(GroovyExpressionMatcherBenchmark.class.getSimpleName())
+                .threads(threads).build()).run();
+    }
+
+    /**
+     * Creates the matcher and the shared script.
+     */
+    @Setup
+    public void setup() {
+        expressionMatcher = new GroovyExpressionMatcher(SCRIPT, null);
+        sharedScript = compile();
+    }
+
+    /**
+     * Runs the script using the {@link GroovyExpressionMatcher}, each thread uses its own script instance.
+     *
+     * @return the created issue
+     */
+    @Benchmark
+    public Object pooledScript() {
+        return expressionMatcher.run(match(), new IssueBuilder(), 1, "report.txt");
+    }
+
+    /**
+     * Runs the script using a single script instance whose binding is changed for each match, like the previous
+     * implementation of the {@link GroovyExpressionMatcher}.
+     *
+     * @return the created issue
+     */
+    @Benchmark
+    public Object sharedScript() {
+        Matcher matcher = match();
+        synchronized (sharedScript) {
+            Binding binding = sharedScript.getBinding();
+            binding.setVariable("matcher", matcher);
+            binding.setVariable("builder", new IssueBuilder());
+            binding.setVariable("lineNumber", 1);
+            binding.setVariable("fileName", "report.txt");
+            return sharedScript.run();
+        }
+    }
+
+    /**
+     * Compiles the script each time a parser is created, like the previous implementation of the {@link
+     * GroovyExpressionMatcher}.
+     *
+     * @return the compiled script
+     */
+    @Benchmark
+    public Script compileEachTime() {
+        return compile();
+    }
+
+    /**
+     * Creates the script of a new parser using the compiled class of the {@link GroovyScriptCache}.
+     *
+     * @return the compiled script
+     */
+    @Benchmark
+    public Script compileCached() {
+        return new GroovyExpressionMatcher(SCRIPT, null).compile();
+    }
+
+    private Script compile() {
+        Binding binding = new Binding();
+        binding.setVariable("falsePositive", null);
+        return new GroovyShell(WarningsDescriptor.class.getClassLoader(), binding).parse(SCRIPT);
+    }
+
+    private Matcher match() {
+        Matcher matcher = PATTERN.matcher(LINE);
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Pattern does not match: " + LINE);
+        }
+        return matcher;
+    }
+}
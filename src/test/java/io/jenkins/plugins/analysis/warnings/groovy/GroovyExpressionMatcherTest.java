@@ -1,5 +1,12 @@
 package io.jenkins.plugins.analysis.warnings.groovy;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.codehaus.groovy.control.CompilationFailedException;
 import org.junit.jupiter.api.Test;
 
@@ -8,6 +15,7 @@ import edu.hm.hafner.analysis.IssueBuilder;
 import groovy.lang.Script;
 import static io.jenkins.plugins.analysis.core.testutil.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 /**
  * Tests the class {@link GroovyExpressionMatcher}.
@@ -20,6 +28,7 @@ class GroovyExpressionMatcherTest {
     private static final String EXCEPTION_PARSER_SCRIPT = "throw new IllegalArgumentException()";
     private static final String ILLEGAL_PARSER_SCRIPT = "0:0";
     private static final String FILE_NAME = "File.txt";
+    private static final String TYPED_SCRIPT = "return builder.setLineStart(lineNumber).setFileName(fileName).build()";
 
     @Test
     void shouldCreateScriptIfSourceCodeIsValid() {
@@ -77,4 +86,78 @@ class GroovyExpressionMatcherTest {
         Issue issue = (Issue) result;
         assertThat(issue).hasLineStart(15).hasFileName("File.txt");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCompileSameScriptOnlyOnce() {
+        String script = "return builder.setLineStart(lineNumber).build() // " + getClass().getName();
+
+        Script first = new GroovyExpressionMatcher(script, null).compile();
+        Script second = new GroovyExpressionMatcher(script, null).compile();
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(first.getClass()).isSameAs(second.getClass());
+        assertThat(first.getBinding()).isNotSameAs(second.getBinding());
+        assertThat(GroovyScriptCache.computeHash(script)).hasSize(64).isNotEqualTo(
+                GroovyScriptCache.computeHash(TRUE_SCRIPT));
+    }
+
+    @Test
+    void shouldRunSameMatcherConcurrently() throws InterruptedException, ExecutionException {
+        Issue falsePositive = new IssueBuilder().build();
+        GroovyExpressionMatcher matcher = new GroovyExpressionMatcher(
+                "Thread.yield(); return builder.setLineStart(lineNumber).setFileName(fileName).build()",
+                falsePositive);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int line = 1; line <= 200; line++) {
+                int lineNumber = line;
+                results.add(executor.submit(
+                        () -> matcher.run(null, new IssueBuilder(), lineNumber, FILE_NAME + lineNumber)));
+            }
+            for (int line = 1; line <= 200; line++) {
+                Issue issue = (Issue) results.get(line - 1).get();
+                assertThat(issue).hasLineStart(line).hasFileName(FILE_NAME + line);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldCompileTypedScriptStatically() {
+        Issue falsePositive = new IssueBuilder().build();
+        GroovyExpressionMatcher matcher = new GroovyExpressionMatcher(TYPED_SCRIPT, falsePositive, true);
+
+        assertThat(matcher.compile()).isInstanceOf(GroovyParserScript.class);
+
+        Object result = matcher.run(null, new IssueBuilder(), 15, FILE_NAME);
+        assertThat(result).isInstanceOf(Issue.class);
+        assertThat((Issue) result).hasLineStart(15).hasFileName(FILE_NAME);
+    }
+
+    @Test
+    void shouldFallBackToDynamicCompilationIfScriptIsNotTyped() {
+        String untyped = "def line = lineNumber; return builder.setLineStart(line.intValue()).unknownMethod()";
+
+        assertThatThrownBy(() -> GroovyScriptCache.getStaticScriptClass(untyped))
+                .isInstanceOf(CompilationFailedException.class);
+
+        GroovyExpressionMatcher matcher = new GroovyExpressionMatcher(untyped, null, true);
+        assertThat(matcher.compile()).isNotInstanceOf(GroovyParserScript.class);
+    }
+
+    @Test
+    void shouldCompileUntypedScriptStaticallyOnlyOnce() {
+        String untyped = "def line = lineNumber; return builder.setLineStart(line.intValue()).otherMethod()";
+
+        Throwable failure = catchThrowable(() -> GroovyScriptCache.getStaticScriptClass(untyped));
+        assertThat(failure).isInstanceOf(CompilationFailedException.class);
+        assertThatThrownBy(() -> GroovyScriptCache.getStaticScriptClass(untyped)).isSameAs(failure);
+
+        assertThat(GroovyScriptCache.getScriptClass(untyped, true))
+                .isSameAs(GroovyScriptCache.getScriptClass(untyped));
+    }
+}
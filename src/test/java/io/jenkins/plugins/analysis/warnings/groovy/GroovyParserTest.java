@@ -45,7 +45,7 @@ class GroovyParserTest extends SerializableTest<GroovyParser> {
         assertThat(parser.hasMultiLineSupport()).as("Wrong multi line support guess").isTrue();
 
         DescriptorImpl descriptor = createDescriptor();
-        assertThat(descriptor.doCheckExample(textToMatch, multiLineRegexp, script)).isOk();
+        assertThat(descriptor.doCheckExample(textToMatch, multiLineRegexp, script, false)).isOk();
 
         AbstractParser instance = parser.createParser();
         Report warnings = instance.parse(new StringReader(textToMatch));
@@ -102,11 +102,33 @@ class GroovyParserTest extends SerializableTest<GroovyParser> {
     void shouldRejectInvalidScripts() {
         DescriptorImpl descriptor = createDescriptor();
 
-        assertThat(descriptor.doCheckScript(null)).isError();
-        assertThat(descriptor.doCheckScript(StringUtils.EMPTY)).isError();
-        assertThat(descriptor.doCheckScript("Hello World")).isError();
+        assertThat(descriptor.doCheckScript(null, false)).isError();
+        assertThat(descriptor.doCheckScript(StringUtils.EMPTY, false)).isError();
+        assertThat(descriptor.doCheckScript("Hello World", false)).isError();
 
-        assertThat(descriptor.doCheckScript(toString("parser.groovy"))).isOk();
+        assertThat(descriptor.doCheckScript(toString("parser.groovy"), false)).isOk();
+    }
+
+    @Test
+    void shouldWarnIfScriptCannotBeCompiledStatically() {
+        DescriptorImpl descriptor = createDescriptor();
+
+        assertThat(descriptor.doCheckScript(toString("parser.groovy"), true)).isOk();
+        assertThat(descriptor.doCheckScript(toString("pep8.groovy"), true)).isOk();
+        assertThat(descriptor.doCheckScript("return builder.setLineStart(matcher.group(1)).build()", true))
+                .isWarning();
+        assertThat(descriptor.doCheckScript("Hello World", true)).isError();
+    }
+
+    @Test
+    void shouldCreateParserForStaticallyCompiledScript() {
+        GroovyParser parser = createParser(SINGLE_LINE_REGEXP, toString("parser.groovy"));
+        parser.setStaticCompilation(true);
+
+        Report warnings = parser.createParser().parse(new StringReader(SINGLE_LINE_EXAMPLE));
+
+        assertThat(warnings).hasSize(1);
+        assertThat(warnings.get(0)).hasFileName("file/name/relative/unix").hasLineStart(42);
     }
 
     @Test
@@ -114,7 +136,19 @@ class GroovyParserTest extends SerializableTest<GroovyParser> {
         DescriptorImpl descriptor = createDescriptor();
 
         assertThat(descriptor.doCheckExample(SINGLE_LINE_EXAMPLE, SINGLE_LINE_REGEXP,
-                toString("parser.groovy"))).isOk();
+                toString("parser.groovy"), false)).isOk();
+    }
+
+    @Test
+    void shouldFindOneIssueWithStaticallyCompiledScript() {
+        DescriptorImpl descriptor = createDescriptor();
+
+        assertThat(descriptor.doCheckExample(SINGLE_LINE_EXAMPLE, SINGLE_LINE_REGEXP,
+                toString("parser.groovy"), true)).isOk();
+        assertThat(descriptor.doCheckExample(SINGLE_LINE_EXAMPLE, SINGLE_LINE_REGEXP,
+                "Object line = matcher.group(2); "
+                        + "return builder.setFileName(matcher.group(1)).setLineStart(line.toInteger()).build()",
+                true)).isOk();
     }
 
     @Test
@@ -122,7 +156,7 @@ class GroovyParserTest extends SerializableTest<GroovyParser> {
         DescriptorImpl descriptor = createDescriptor();
 
         assertThat(descriptor.doCheckExample("this is a warning message", SINGLE_LINE_REGEXP,
-                toString("parser.groovy"))).isError();
+                toString("parser.groovy"), false)).isError();
     }
 
     @Test
@@ -130,7 +164,7 @@ class GroovyParserTest extends SerializableTest<GroovyParser> {
         DescriptorImpl descriptor = createDescriptor();
 
         assertThat(descriptor.doCheckExample(SINGLE_LINE_EXAMPLE, "^\\s*(.*):(\\d+):(.*)$",
-                toString("parser.groovy"))).isError();
+                toString("parser.groovy"), false)).isError();
     }
 
     @Test
@@ -138,7 +172,7 @@ class GroovyParserTest extends SerializableTest<GroovyParser> {
         DescriptorImpl descriptor = createDescriptor();
 
         assertThat(descriptor.doCheckExample(MULTI_LINE_EXAMPLE, MULTI_LINE_REGEXP,
-                toString("multiline.groovy"))).isOk();
+                toString("multiline.groovy"), false)).isOk();
     }
 
     private DescriptorImpl createDescriptor() {
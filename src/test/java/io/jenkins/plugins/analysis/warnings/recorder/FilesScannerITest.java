@@ -137,6 +137,27 @@ public class FilesScannerITest extends IntegrationTestWithJenkinsPerSuite {
         assertThat(result).hasErrorMessages("Skipping file 'zero_length_file.xml' because it's empty.");
     }
 
+    /**
+     * Runs the {@link FilesScanner} with several parsing threads on a workspace with multiple files where some do
+     * match the criteria. The log messages should be the same as in the sequential mode.
+     */
+    @Test
+    public void findIssuesWithMultipleFilesInParallel() {
+        FreeStyleProject project = createJobWithWorkspaceFile(MULTIPLE_FILES_WORKSPACE);
+        IssuesRecorder recorder = enableWarnings(project, new ToolConfiguration(new CheckStyle(), "*.xml"));
+        recorder.setParsingThreads(4);
+
+        AnalysisResult result = scheduleBuildAndAssertStatus(project, Result.SUCCESS);
+
+        assertThat(result).hasTotalSize(6);
+        assertThat(result).hasInfoMessages(
+                "-> found 2 files",
+                "Parsing files using 2 threads",
+                "Successfully parsed file " + getCheckStyleFile(project),
+                "-> found 6 issues (skipped 0 duplicates)");
+        assertThat(result).hasErrorMessages("Skipping file 'zero_length_file.xml' because it's empty.");
+    }
+
     /**
      * Runs the {@link FilesScanner} on a workspace with a correct file that can be parsed.
      */